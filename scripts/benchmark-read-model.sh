@@ -0,0 +1,110 @@
+#!/bin/bash
+set -e
+
+# Compares the catalog listings served by JPA with the in-memory catalog read model.
+# Starts the packaged service once with the read model disabled and once enabled against
+# the env's database, loads each listing endpoint with hey and prints throughput and latency
+# side by side, then the read model's heap estimate scaled to a million publications.
+#
+# Seed the database first (e.g. with the bulk book endpoint) so that the numbers mean something.
+# Needs hey on the PATH.
+#
+# Usage: ./scripts/benchmark-read-model.sh [env] [concurrency] [duration]
+
+ENV=${1:-dev}
+CONCURRENCY=${2:-50}
+DURATION=${3:-30s}
+PORT=${LOAD_TEST_PORT:-8089}
+REQUEST_PATHS=(
+    "/api/v1/publications?page=0&size=20"
+    "/api/v1/publications?page=500&size=20"
+    "/api/v1/authors?page=0&size=20"
+    "/api/v1/books/author/1?page=0&size=20"
+)
+
+# Paths
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(cd "$SCRIPT_DIR/.." && pwd)"
+SPRING_PROJECT_DIR="$PROJECT_ROOT/spring-publisher-service"
+ENV_CONFIG_FILE="$SPRING_PROJECT_DIR/config/.env.$ENV"
+
+if [[ ! -f "$ENV_CONFIG_FILE" ]]; then
+    echo "Configuration file not found: $ENV_CONFIG_FILE"
+    exit 1
+fi
+if ! command -v hey >/dev/null 2>&1; then
+    echo "hey not found, install it from https://github.com/rakyll/hey"
+    exit 1
+fi
+
+set -o allexport
+source "$ENV_CONFIG_FILE"
+set +o allexport
+
+cd "$SPRING_PROJECT_DIR"
+if ! ls target/*.jar >/dev/null 2>&1; then
+    ./mvnw package -P"$ENV" -DskipTests -B -q
+fi
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+metric() {
+    curl -s "http://localhost:$PORT/actuator/metrics/$1" \
+        | grep -o '"statistic":"'"$2"'","value":[0-9.E+-]*' | head -1 | cut -d: -f3
+}
+
+run_mode() {
+    local enabled=$1
+    local mode=$([[ "$enabled" == "true" ]] && echo read-model || echo jpa)
+
+    CATALOG_READ_MODEL_ENABLED=$enabled SERVER_PORT=$PORT CONCURRENCY_LIMIT_ENABLED=false \
+        LOGGING_LEVEL_ORG_HIBERNATE_SQL=WARN SPRING_JPA_SHOW_SQL=false \
+        java -jar "$JAR" --spring.profiles.active="$ENV" >"target/benchmark-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    local attempts=0
+    until curl -s -f "http://localhost:$PORT/actuator/health" >/dev/null 2>&1; do
+        sleep 2
+        attempts=$((attempts + 1))
+        if [[ $attempts -gt 60 ]]; then
+            echo "Timeout waiting for the $mode service, see target/benchmark-$mode.log"
+            exit 1
+        fi
+    done
+    # The read model is built once the application is ready
+    if [[ "$enabled" == "true" ]]; then
+        until grep -q "Catalog read model built" "target/benchmark-$mode.log"; do
+            sleep 2
+        done
+    fi
+
+    for path in "${REQUEST_PATHS[@]}"; do
+        # Warm up the JIT, pools and caches before measuring
+        hey -z 10s -c 20 "http://localhost:$PORT$path" >/dev/null
+
+        local report rps p50 p99
+        report=$(hey -z "$DURATION" -c "$CONCURRENCY" "http://localhost:$PORT$path")
+        rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+        p50=$(echo "$report" | awk '/ 50% in/ {print $3}')
+        p99=$(echo "$report" | awk '/ 99% in/ {print $3}')
+        printf "%-11s %-42s %10s %10s %10s\n" "$mode" "$path" "$rps" "$p50" "$p99"
+    done
+
+    if [[ "$enabled" == "true" ]]; then
+        local publications memory
+        publications=$(metric catalog.read.model.publications VALUE)
+        memory=$(metric catalog.read.model.memory VALUE)
+        awk -v p="$publications" -v m="$memory" 'BEGIN {
+            printf "Read model: %d publications, %.1f MB, %.1f MB per million publications\n",
+                p, m / 1048576, p > 0 ? m / p * 1000000 / 1048576 : 0
+        }'
+    fi
+
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+echo "Loading the catalog listings for $DURATION at concurrency $CONCURRENCY on $POSTGRES_DB"
+printf "%-11s %-42s %10s %10s %10s\n" mode path "req/s" "p50 (s)" "p99 (s)"
+run_mode false
+run_mode true
@@ -0,0 +1,102 @@
+#!/bin/bash
+set -e
+
+# Compares the serialization of a 1000-book page per format.
+# Starts the packaged service once with the bean serialization of Jackson and once with the tuned
+# serializers against the env's database, loads the book list with hey for JSON and CBOR responses,
+# and prints throughput, latency, response size and heap allocated per request side by side.
+#
+# Allocations are those of the whole request, read from jvm.gc.memory.allocated: the query and the
+# mapping are the same in every row, the difference between rows is the serialization.
+#
+# Seed the database with at least 1000 books first (e.g. with the bulk book endpoint).
+# Needs hey on the PATH.
+#
+# Usage: ./scripts/benchmark-serialization.sh [env] [concurrency] [duration]
+
+ENV=${1:-dev}
+CONCURRENCY=${2:-20}
+DURATION=${3:-30s}
+PORT=${LOAD_TEST_PORT:-8089}
+REQUEST_PATH="/api/v1/books?page=0&size=1000"
+FORMATS=("application/json" "application/cbor")
+
+# Paths
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(cd "$SCRIPT_DIR/.." && pwd)"
+SPRING_PROJECT_DIR="$PROJECT_ROOT/spring-publisher-service"
+ENV_CONFIG_FILE="$SPRING_PROJECT_DIR/config/.env.$ENV"
+
+if [[ ! -f "$ENV_CONFIG_FILE" ]]; then
+    echo "Configuration file not found: $ENV_CONFIG_FILE"
+    exit 1
+fi
+if ! command -v hey >/dev/null 2>&1; then
+    echo "hey not found, install it from https://github.com/rakyll/hey"
+    exit 1
+fi
+
+set -o allexport
+source "$ENV_CONFIG_FILE"
+set +o allexport
+
+cd "$SPRING_PROJECT_DIR"
+if ! ls target/*.jar >/dev/null 2>&1; then
+    ./mvnw package -P"$ENV" -DskipTests -B -q
+fi
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+metric() {
+    curl -s "http://localhost:$PORT/actuator/metrics/$1" \
+        | grep -o '"statistic":"'"$2"'","value":[0-9.E+-]*' | head -1 | cut -d: -f3
+}
+
+run_mode() {
+    local tuned=$1
+    local mode=$([[ "$tuned" == "true" ]] && echo tuned || echo bean)
+
+    JSON_TUNED_SERIALIZERS_ENABLED=$tuned SERVER_PORT=$PORT CONCURRENCY_LIMIT_ENABLED=false \
+        LOGGING_LEVEL_ORG_HIBERNATE_SQL=WARN SPRING_JPA_SHOW_SQL=false \
+        java -jar "$JAR" --spring.profiles.active="$ENV" >"target/benchmark-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    local attempts=0
+    until curl -s -f "http://localhost:$PORT/actuator/health" >/dev/null 2>&1; do
+        sleep 2
+        attempts=$((attempts + 1))
+        if [[ $attempts -gt 60 ]]; then
+            echo "Timeout waiting for the $mode service, see target/benchmark-$mode.log"
+            exit 1
+        fi
+    done
+
+    for format in "${FORMATS[@]}"; do
+        local url="http://localhost:$PORT$REQUEST_PATH"
+        # Warm up the JIT, pools and caches before measuring
+        hey -z 10s -c "$CONCURRENCY" -H "Accept: $format" "$url" >/dev/null
+
+        local bytes allocated_before allocated_after report requests rps p50 p99
+        bytes=$(curl -s -o /dev/null -w '%{size_download}' -H "Accept: $format" "$url")
+        allocated_before=$(metric jvm.gc.memory.allocated COUNT)
+        report=$(hey -z "$DURATION" -c "$CONCURRENCY" -H "Accept: $format" "$url")
+        allocated_after=$(metric jvm.gc.memory.allocated COUNT)
+        requests=$(echo "$report" | awk '/\[200\]/ {print $2}')
+        rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+        p50=$(echo "$report" | awk '/ 50% in/ {print $3}')
+        p99=$(echo "$report" | awk '/ 99% in/ {print $3}')
+        awk -v mode="$mode" -v format="$format" -v rps="$rps" -v p50="$p50" -v p99="$p99" -v bytes="$bytes" \
+            -v before="$allocated_before" -v after="$allocated_after" -v requests="$requests" 'BEGIN {
+                printf "%-6s %-17s %10s %10s %10s %10.1f %14.1f\n", mode, format, rps, p50, p99,
+                    bytes / 1024, requests > 0 ? (after - before) / requests / 1024 : 0
+            }'
+    done
+
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+echo "Loading $REQUEST_PATH for $DURATION at concurrency $CONCURRENCY on $POSTGRES_DB"
+printf "%-6s %-17s %10s %10s %10s %10s %14s\n" mode format "req/s" "p50 (s)" "p99 (s)" "size (KB)" "alloc/req (KB)"
+run_mode false
+run_mode true
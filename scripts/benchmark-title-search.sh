@@ -0,0 +1,33 @@
+#!/bin/bash
+set -e
+
+# Compares the old LOWER(title) LIKE query with the trigram-indexed title search
+# on a seeded scratch table, inside the running database container.
+#
+# Usage: ./scripts/benchmark-title-search.sh [env] [search-term] [rows]
+
+ENV=${1:-dev}
+TERM_TO_SEARCH=${2:-ocean}
+ROWS=${3:-1000000}
+
+# Paths
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(cd "$SCRIPT_DIR/.." && pwd)"
+ENV_CONFIG_FILE="$PROJECT_ROOT/spring-publisher-service/config/.env.$ENV"
+SQL_FILE="$SCRIPT_DIR/sql/title-search-benchmark.sql"
+
+if [[ ! -f "$ENV_CONFIG_FILE" ]]; then
+    echo "Configuration file not found: $ENV_CONFIG_FILE"
+    exit 1
+fi
+
+set -o allexport
+source "$ENV_CONFIG_FILE"
+set +o allexport
+
+cd "$PROJECT_ROOT"
+
+echo "Seeding $ROWS rows and searching for '$TERM_TO_SEARCH' in $POSTGRES_DB..."
+docker compose exec -T db-publisher-service \
+    psql -U "${POSTGRES_USER:-postgres}" -d "$POSTGRES_DB" \
+    -v term="$TERM_TO_SEARCH" -v rows="$ROWS" -f - < "$SQL_FILE"
@@ -0,0 +1,99 @@
+#!/bin/bash
+set -e
+
+# Compares platform and virtual request threads under increasing concurrency.
+# Starts the packaged service once per mode against the env's database, loads a
+# database-bound endpoint with hey at each concurrency level and prints throughput,
+# latency, errors, live JVM threads and pinned virtual-thread time side by side.
+#
+# Needs Java 21+ (virtual mode is ignored on older runtimes) and hey on the PATH.
+# The concurrency limit filter is disabled so that it does not shed the load being measured.
+#
+# Usage: ./scripts/load-test-threads.sh [env] [concurrency-levels] [duration] [path]
+#   e.g. ./scripts/load-test-threads.sh dev "50 200 800" 30s "/api/v1/books?page=0&size=20"
+
+ENV=${1:-dev}
+LEVELS=${2:-"50 200 800"}
+DURATION=${3:-30s}
+REQUEST_PATH=${4:-"/api/v1/books?page=0&size=20"}
+PORT=${LOAD_TEST_PORT:-8089}
+
+# Paths
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(cd "$SCRIPT_DIR/.." && pwd)"
+SPRING_PROJECT_DIR="$PROJECT_ROOT/spring-publisher-service"
+ENV_CONFIG_FILE="$SPRING_PROJECT_DIR/config/.env.$ENV"
+
+if [[ ! -f "$ENV_CONFIG_FILE" ]]; then
+    echo "Configuration file not found: $ENV_CONFIG_FILE"
+    exit 1
+fi
+if ! command -v hey >/dev/null 2>&1; then
+    echo "hey not found, install it from https://github.com/rakyll/hey"
+    exit 1
+fi
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [[ "$JAVA_MAJOR" -lt 21 ]]; then
+    echo "Java $JAVA_MAJOR found, virtual threads need Java 21 or later"
+    exit 1
+fi
+
+set -o allexport
+source "$ENV_CONFIG_FILE"
+set +o allexport
+
+cd "$SPRING_PROJECT_DIR"
+if ! ls target/*.jar >/dev/null 2>&1; then
+    ./mvnw package -P"$ENV" -DskipTests -B -q
+fi
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+metric() {
+    curl -s "http://localhost:$PORT/actuator/metrics/$1" \
+        | grep -o '"statistic":"'"$2"'","value":[0-9.E+-]*' | head -1 | cut -d: -f3
+}
+
+run_mode() {
+    local virtual=$1
+    local mode=$([[ "$virtual" == "true" ]] && echo virtual || echo platform)
+
+    SPRING_THREADS_VIRTUAL_ENABLED=$virtual SERVER_PORT=$PORT CONCURRENCY_LIMIT_ENABLED=false \
+        LOGGING_LEVEL_ORG_HIBERNATE_SQL=WARN SPRING_JPA_SHOW_SQL=false \
+        java -jar "$JAR" --spring.profiles.active="$ENV" >"target/load-test-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    local attempts=0
+    until curl -s -f "http://localhost:$PORT/actuator/health" >/dev/null 2>&1; do
+        sleep 2
+        attempts=$((attempts + 1))
+        if [[ $attempts -gt 60 ]]; then
+            echo "Timeout waiting for the $mode service, see target/load-test-$mode.log"
+            exit 1
+        fi
+    done
+
+    # Warm up the JIT, pools and caches before measuring
+    hey -z 10s -c 20 "http://localhost:$PORT$REQUEST_PATH" >/dev/null
+
+    for level in $LEVELS; do
+        local report
+        report=$(hey -z "$DURATION" -c "$level" "http://localhost:$PORT$REQUEST_PATH")
+        local rps p50 p99 ok total
+        rps=$(echo "$report" | awk '/Requests\/sec/ {print $2}')
+        p50=$(echo "$report" | awk '/ 50% in/ {print $3}')
+        p99=$(echo "$report" | awk '/ 99% in/ {print $3}')
+        ok=$(echo "$report" | awk '/\[200\]/ {print $2}')
+        total=$(echo "$report" | awk '/\[[0-9]+\]/ {sum += $2} END {print sum + 0}')
+        printf "%-9s %6s %10s %10s %10s %8s %8s %12s\n" "$mode" "$level" "$rps" "$p50" "$p99" \
+            "$((total - ${ok:-0}))" "$(metric jvm.threads.live VALUE)" "$(metric jvm.threads.virtual.pinned TOTAL_TIME)"
+    done
+
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+echo "Loading $REQUEST_PATH for $DURATION per level on $POSTGRES_DB"
+printf "%-9s %6s %10s %10s %10s %8s %8s %12s\n" mode conc "req/s" "p50 (s)" "p99 (s)" errors threads "pinned (s)"
+run_mode false
+run_mode true
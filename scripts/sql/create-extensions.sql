@@ -0,0 +1,9 @@
+-- Extensions the service needs, created once per database by its owner or a superuser.
+-- The application user only needs CREATE on its schema, not on the database.
+-- Usage: psql -U <owner> -d <database> -f create-extensions.sql
+-- With the postgres Docker image, it can also be mounted into /docker-entrypoint-initdb.d.
+
+\set ON_ERROR_STOP on
+
+-- Trigram operators and index class of the title search (ILIKE '%text%', word similarity ranking)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
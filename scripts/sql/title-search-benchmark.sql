@@ -0,0 +1,66 @@
+-- Title search benchmark: LOWER(title) LIKE scan vs. trigram-indexed search.
+-- Works on a scratch table so the application data is left untouched.
+-- Usage: psql -v term=ocean -v rows=1000000 -f title-search-benchmark.sql
+
+\set ON_ERROR_STOP on
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP TABLE IF EXISTS bench_publications;
+CREATE TABLE bench_publications (
+    id    bigint PRIMARY KEY,
+    title varchar(255) NOT NULL
+);
+
+INSERT INTO bench_publications (id, title)
+SELECT g,
+       initcap(w.words[1 + abs(hashint4(g)) % 24] || ' '
+           || w.words[1 + abs(hashint4(g * 31)) % 24] || ' '
+           || w.words[1 + abs(hashint4(g * 17)) % 24]) || ' ' || g
+FROM generate_series(1, :rows) g,
+     (SELECT ARRAY['spring', 'ocean', 'history', 'garden', 'winter', 'science', 'journey', 'modern',
+                   'ancient', 'digital', 'kitchen', 'mountain', 'river', 'quantum', 'city', 'silent',
+                   'golden', 'northern', 'design', 'music', 'travel', 'economy', 'forest', 'island'] AS words) w;
+
+CREATE INDEX bench_publications_title_trgm ON bench_publications USING gin (title gin_trgm_ops);
+VACUUM ANALYZE bench_publications;
+
+\echo '=== Baseline: LOWER(title) LIKE (page + count) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_publications p
+WHERE LOWER(p.title) LIKE LOWER('%' || :'term' || '%')
+ORDER BY p.title
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_publications p
+WHERE LOWER(p.title) LIKE LOWER('%' || :'term' || '%');
+
+\echo '=== Trigram: ILIKE ranked by word similarity (page + count) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_publications p
+WHERE p.title ILIKE '%' || :'term' || '%'
+ORDER BY word_similarity(:'term', p.title) DESC, p.title, p.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_publications p
+WHERE p.title ILIKE '%' || :'term' || '%';
+
+\echo '=== Trigram fuzzy: ILIKE or word similarity >= 0.5 (page + count) ==='
+BEGIN;
+SELECT set_config('pg_trgm.word_similarity_threshold', '0.5', true);
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_publications p
+WHERE p.title ILIKE '%' || :'term' || '%' OR :'term' <% p.title
+ORDER BY word_similarity(:'term', p.title) DESC, p.title, p.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_publications p
+WHERE p.title ILIKE '%' || :'term' || '%' OR :'term' <% p.title;
+COMMIT;
+
+DROP TABLE bench_publications;
@@ -0,0 +1,178 @@
+package com.mobelite.publisherManagementSystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of mapped book responses, keyed by ID with a secondary ISBN to ID index.
+ * Hits return the already-mapped DTO without touching Hibernate.
+ * <p>
+ * Writes evict their entries from their {@link CatalogChangeEvent}, both immediately and once their
+ * transaction completes. A load that overlaps an eviction is returned but not cached, so that a reader
+ * loading the old row concurrently cannot put it back after the commit.
+ */
+@Component
+public class BookResponseCache implements MeterBinder {
+
+    private final Cache<Long, BookResponseDto> byId;
+    private final Cache<String, Long> idByIsbn;
+    // Incremented by every eviction, puts from loads started before one are refused
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BookResponseCache(@Value("${cache.books.maximum-size:10000}") long maximumSize,
+                             @Value("${cache.books.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.idByIsbn = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Get the book with the given ID, loading and caching it on a miss.
+     * @param id Book ID
+     * @param loader Loads the mapped book, may throw when it does not exist
+     * @return Book response
+     */
+    public BookResponseDto getById(Long id, Supplier<BookResponseDto> loader) {
+        long seen = evictions.get();
+        BookResponseDto cached = id == null ? null : byId.getIfPresent(id);
+        return cached != null ? cached : put(loader.get(), seen);
+    }
+
+    /**
+     * Get the book with the given ISBN, loading and caching it on a miss.
+     * @param isbn Book ISBN
+     * @param loader Loads the mapped book, may throw when it does not exist
+     * @return Book response
+     */
+    public BookResponseDto getByIsbn(String isbn, Supplier<BookResponseDto> loader) {
+        long seen = evictions.get();
+        Long id = isbn == null ? null : idByIsbn.getIfPresent(isbn);
+        BookResponseDto cached = id == null ? null : byId.getIfPresent(id);
+        // The index may outlive an ISBN change, only trust it when the response still matches
+        if (cached != null && isbn.equals(cached.getIsbn())) {
+            return cached;
+        }
+        return put(loader.get(), seen);
+    }
+
+    /**
+     * Evict updated and deleted books, and the books of deleted authors. Other publications are ignored.
+     */
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.change() == ChangeType.CREATED) {
+            return;
+        }
+        evictAll(event.isPublicationChange() ? event.ids() : event.bookIds());
+    }
+
+    /**
+     * Evict the book with the given ID now and after the current transaction completes.
+     * @param id Book ID
+     */
+    public void evict(Long id) {
+        invalidate(id);
+        afterCompletion(() -> invalidate(id));
+    }
+
+    /**
+     * Evict the books with the given IDs now and after the current transaction completes.
+     * @param ids Book IDs, IDs of other publications are ignored
+     */
+    public void evictAll(Collection<Long> ids) {
+        ids.forEach(this::invalidate);
+        afterCompletion(() -> ids.forEach(this::invalidate));
+    }
+
+    /**
+     * Evict the books of the given author now and after the current transaction completes.
+     * Scans the cache, meant for rare writes such as author deletion.
+     * @param authorId Author ID
+     */
+    public void evictByAuthor(Long authorId) {
+        Predicate<BookResponseDto> byAuthor =
+                book -> book.getAuthor() != null && authorId.equals(book.getAuthor().getId());
+        invalidateWhere(byAuthor);
+        afterCompletion(() -> invalidateWhere(byAuthor));
+    }
+
+    /**
+     * Evict every book, for writes made elsewhere that cannot be listed.
+     */
+    public void clear() {
+        evictions.incrementAndGet();
+        byId.invalidateAll();
+        idByIsbn.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "books");
+    }
+
+    /**
+     * Cache a loaded book unless an eviction happened since the load started. The check runs under the
+     * entry's lock, so an eviction racing with it either refuses the put or removes the entry after it.
+     * @param seen Eviction count read before the load
+     */
+    private BookResponseDto put(BookResponseDto book, long seen) {
+        if (book != null && book.getId() != null) {
+            BookResponseDto cached = byId.asMap().compute(book.getId(),
+                    (id, current) -> evictions.get() == seen ? book : current);
+            if (cached == book && book.getIsbn() != null) {
+                idByIsbn.put(book.getIsbn(), book.getId());
+            }
+        }
+        return book;
+    }
+
+    private void invalidate(Long id) {
+        evictions.incrementAndGet();
+        BookResponseDto removed = byId.asMap().remove(id);
+        if (removed != null && removed.getIsbn() != null) {
+            idByIsbn.asMap().remove(removed.getIsbn(), id);
+        }
+    }
+
+    private void invalidateWhere(Predicate<BookResponseDto> predicate) {
+        byId.asMap().values().stream()
+                .filter(predicate)
+                .map(BookResponseDto::getId)
+                .toList()
+                .forEach(this::invalidate);
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
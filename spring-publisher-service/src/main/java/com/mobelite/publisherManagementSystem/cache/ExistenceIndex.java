@@ -0,0 +1,261 @@
+package com.mobelite.publisherManagementSystem.cache;
+
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.BookRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters answering "definitely absent" for publication IDs and titles, book ISBNs
+ * and author names without a database round trip. A positive answer only means "maybe", callers
+ * confirm it against the database. Only the read-only {@code exists} lookups use it: duplicate checks
+ * before a write always ask the database.
+ * <p>
+ * Filters are built from the primary once the application is ready, then rebuilt periodically. Until the
+ * first build every key is reported as possibly present. Keys written through this instance are added from
+ * the {@link CatalogChangeEvent} of their write before it commits, and again once it commits for a rebuild
+ * that read the catalog before. Keys written through other instances are only seen by the next rebuild, as
+ * deleted keys are only dropped by it: with several instances, an {@code exists} lookup may answer false for
+ * a row created elsewhere for up to the rebuild interval.
+ */
+@Component
+@Slf4j
+public class ExistenceIndex implements DisposableBean {
+
+    public enum KeySpace {
+        PUBLICATION_ID,
+        PUBLICATION_TITLE,
+        BOOK_ISBN,
+        AUTHOR_NAME
+    }
+
+    private final PublicationRepository publicationRepository;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+    private final long minimumCapacity;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+
+    /**
+     * Keys added while the filters are being built, replayed into them before they are published.
+     * Guarded by the publish lock, null when no build is running.
+     */
+    private List<Map.Entry<KeySpace, String>> pendingKeys;
+    private final ReadWriteLock publishLock = new ReentrantReadWriteLock();
+    private volatile Map<KeySpace, BloomFilter> filters;
+    private ScheduledExecutorService rebuilds;
+
+    /**
+     * @param rebuildInterval Time between two rebuilds from the database, zero to only build at startup
+     */
+    public ExistenceIndex(PublicationRepository publicationRepository,
+                          BookRepository bookRepository,
+                          AuthorRepository authorRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${existence-index.enabled:false}") boolean enabled,
+                          @Value("${existence-index.minimum-capacity:100000}") long minimumCapacity,
+                          @Value("${existence-index.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${existence-index.rebuild-interval:10m}") Duration rebuildInterval) {
+        this.publicationRepository = publicationRepository;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.enabled = enabled;
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+        this.pendingKeys = enabled ? new ArrayList<>() : null;
+
+        // Not read-only: a lagging replica would miss keys written since, answering "absent" for them
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param space Key space
+     * @param key Key to look up
+     * @return false only when no row with this key exists
+     */
+    public boolean mightContain(KeySpace space, Object key) {
+        Map<KeySpace, BloomFilter> current = filters;
+        return key == null || current == null || current.get(space).mightContain(key.toString());
+    }
+
+    /**
+     * Add the keys of created and updated entities, before their write commits.
+     */
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        addKeys(event);
+    }
+
+    /**
+     * Add the keys again once their write committed, for a rebuild that read the catalog before the commit.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChangeCommitted(CatalogChangeEvent event) {
+        addKeys(event);
+    }
+
+    private void addKeys(CatalogChangeEvent event) {
+        if (event.change() == ChangeType.DELETED) {
+            return;
+        }
+        if (event.author() != null) {
+            add(KeySpace.AUTHOR_NAME, event.author().getName());
+        }
+        for (Publication publication : event.publications()) {
+            add(KeySpace.PUBLICATION_ID, publication.getId());
+            add(KeySpace.PUBLICATION_TITLE, publication.getTitle());
+            if (publication instanceof Book book) {
+                add(KeySpace.BOOK_ISBN, book.getIsbn());
+            }
+        }
+    }
+
+    /**
+     * Record a key that is about to be written. Must be called before the writing transaction commits.
+     * @param space Key space
+     * @param key New key, ignored when null
+     */
+    public void add(KeySpace space, Object key) {
+        if (key == null || !enabled) {
+            return;
+        }
+
+        publishLock.readLock().lock();
+        try {
+            Map<KeySpace, BloomFilter> current = filters;
+            if (current != null) {
+                current.get(space).put(key.toString());
+            }
+            List<Map.Entry<KeySpace, String>> pending = pendingKeys;
+            if (pending != null) {
+                synchronized (pending) {
+                    pending.add(Map.entry(space, key.toString()));
+                }
+            }
+        } finally {
+            publishLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Build once the application is ready, then start the periodic rebuilds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        buildQuietly();
+
+        if (rebuildInterval.isZero() || rebuildInterval.isNegative()) {
+            return;
+        }
+        rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "existence-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilds.scheduleWithFixedDelay(this::buildQuietly,
+                rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilds != null) {
+            rebuilds.shutdownNow();
+        }
+    }
+
+    /**
+     * Load every existing key, sizing each filter for twice the current row count, and replace the current
+     * filters with them.
+     */
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+
+        publishLock.writeLock().lock();
+        try {
+            if (pendingKeys == null) {
+                pendingKeys = new ArrayList<>();
+            }
+        } finally {
+            publishLock.writeLock().unlock();
+        }
+
+        Map<KeySpace, BloomFilter> built = null;
+        try {
+            built = loadTransaction.execute(status -> {
+                long publications = publicationRepository.count();
+                Map<KeySpace, BloomFilter> loaded = new EnumMap<>(KeySpace.class);
+                loaded.put(KeySpace.PUBLICATION_ID, load(publicationRepository.streamAllIds(), publications));
+                loaded.put(KeySpace.PUBLICATION_TITLE, load(publicationRepository.streamAllTitles(), publications));
+                loaded.put(KeySpace.BOOK_ISBN, load(bookRepository.streamAllIsbns(), publications));
+                loaded.put(KeySpace.AUTHOR_NAME, load(authorRepository.streamAllNames(), authorRepository.count()));
+                log.info("Existence index loaded for {} publications", publications);
+                return loaded;
+            });
+        } finally {
+            publishLock.writeLock().lock();
+            try {
+                if (built != null) {
+                    for (Map.Entry<KeySpace, String> entry : pendingKeys) {
+                        built.get(entry.getKey()).put(entry.getValue());
+                    }
+                    filters = built;
+                    pendingKeys = null;
+                } else if (filters != null) {
+                    // Keys were added to the current filters, only unbuilt filters keep collecting them
+                    pendingKeys = null;
+                }
+            } finally {
+                publishLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void buildQuietly() {
+        try {
+            build();
+        } catch (RuntimeException e) {
+            log.warn("Existence index build failed, keeping the current filters: {}", e.getMessage());
+        }
+    }
+
+    private BloomFilter load(Stream<?> keys, long rowCount) {
+        BloomFilter filter = new BloomFilter(Math.max(minimumCapacity, rowCount * 2), falsePositiveRate);
+        try (keys) {
+            keys.forEach(key -> filter.put(key.toString()));
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mobelite.publisherManagementSystem.cluster;
+
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+
+/**
+ * Kinds of responses kept in the {@link ClusteredCache}, keyed by entity ID.
+ */
+public enum CacheRegion {
+
+    /**
+     * Owned entries are also kept by the {@link com.mobelite.publisherManagementSystem.cache.BookResponseCache},
+     * with its ISBN index.
+     */
+    BOOKS("books", BookResponseDto.class, true),
+    MAGAZINES("magazines", MagazineResponseDto.class, true);
+
+    private final String path;
+    private final Class<?> type;
+    private final boolean nearCached;
+
+    CacheRegion(String path, Class<?> type, boolean nearCached) {
+        this.path = path;
+        this.type = type;
+        this.nearCached = nearCached;
+    }
+
+    /**
+     * @return Name of the region in the peer endpoint paths and metric tags
+     */
+    public String path() {
+        return path;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    public boolean nearCached() {
+        return nearCached;
+    }
+
+    /**
+     * @param path Region name, as returned by {@link #path()}
+     * @return The region
+     * @throws IllegalArgumentException when no region has this name
+     */
+    public static CacheRegion fromPath(String path) {
+        for (CacheRegion region : values()) {
+            if (region.path.equals(path)) {
+                return region;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache region: " + path);
+    }
+}
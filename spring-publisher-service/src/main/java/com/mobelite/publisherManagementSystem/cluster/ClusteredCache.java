@@ -0,0 +1,516 @@
+package com.mobelite.publisherManagementSystem.cluster;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Response cache partitioned across the instances listed in {@code cache.cluster.members}, so that its
+ * capacity grows with the number of instances instead of being repeated on each of them.
+ * <p>
+ * Every key has one owner, picked by rendezvous hashing over the members, which keeps most keys in place
+ * when a member is added or removed. The owner reads through its partition; the other instances ask it over
+ * the peer endpoint and keep hot entries in a small near cache that expires quickly. A key the owner does not
+ * find is missing, it is not loaded again. When the owner cannot be reached, the entry is loaded locally. A member that failed is skipped for a backoff that doubles with each
+ * failure in a row, its keys being served from the local partition meanwhile; they are dropped from it once it
+ * answers again. Every member must list the same members.
+ * <p>
+ * Writes evict the local entries from their {@link CatalogChangeEvent}, now and after their transaction
+ * completes, and the owner's entries once it commits, from a background thread so that the request does not
+ * wait for the peers. Other near caches expire, or are evicted sooner by the
+ * {@link com.mobelite.publisherManagementSystem.invalidation.CacheInvalidationBus} when it is enabled.
+ * Disabled, every lookup goes straight to its loader.
+ */
+@Component
+@Slf4j
+public class ClusteredCache implements MeterBinder, DisposableBean {
+
+    /**
+     * Path of the peer endpoint, see {@link com.mobelite.publisherManagementSystem.controller.ClusteredCacheController}.
+     */
+    public static final String PEER_PATH = "/internal/cache";
+
+    /**
+     * Header carrying {@code cache.cluster.secret} on peer requests.
+     */
+    public static final String SECRET_HEADER = "X-Cache-Cluster-Secret";
+
+    private final boolean enabled;
+    private final List<String> members;
+    private final String self;
+    private final byte[] secret;
+    private final RestClient peers;
+    private final ExecutorService remoteEvictions;
+    private final Map<CacheRegion, Region> regions = new EnumMap<>(CacheRegion.class);
+    private final ThreadLocal<Boolean> servingPeer = ThreadLocal.withInitial(() -> false);
+    private final Map<String, MemberHealth> health = new ConcurrentHashMap<>();
+    private final Duration memberBackoff;
+    private final Duration memberMaxBackoff;
+
+    private final AtomicLong remoteHits = new AtomicLong();
+    private final AtomicLong remoteFailures = new AtomicLong();
+
+    /**
+     * @param members Base URLs of every member, this one included
+     * @param self Base URL of this member, as listed in the members
+     * @param partitionSize Entries owned per region by this member
+     * @param nearSize Entries of other members kept per region
+     * @param nearExpireAfterWrite Time an entry of another member is served without asking it again
+     * @param timeout Connect and read timeout of the peer requests
+     * @param memberBackoff Time a member is skipped after a failure, doubled for each further failure in a row
+     * @param memberMaxBackoff Longest time a member is skipped
+     * @param secret Secret shared by the members, sent with and required on peer requests
+     */
+    public ClusteredCache(ObjectProvider<RestClient.Builder> restClientBuilder,
+                          @Value("${cache.cluster.enabled:false}") boolean enabled,
+                          @Value("${cache.cluster.members:}") List<String> members,
+                          @Value("${cache.cluster.self:}") String self,
+                          @Value("${cache.cluster.partition-size:100000}") long partitionSize,
+                          @Value("${cache.cluster.expire-after-write:10m}") Duration expireAfterWrite,
+                          @Value("${cache.cluster.near-size:1000}") long nearSize,
+                          @Value("${cache.cluster.near-expire-after-write:30s}") Duration nearExpireAfterWrite,
+                          @Value("${cache.cluster.timeout:250ms}") Duration timeout,
+                          @Value("${cache.cluster.member-backoff:1s}") Duration memberBackoff,
+                          @Value("${cache.cluster.member-max-backoff:1m}") Duration memberMaxBackoff,
+                          @Value("${cache.cluster.secret:}") String secret) {
+        if (enabled && !members.contains(self)) {
+            throw new IllegalArgumentException("cache.cluster.self " + self + " is not one of the members " + members);
+        }
+        if (enabled && secret.isBlank()) {
+            throw new IllegalArgumentException("cache.cluster.secret must be set when the cluster is enabled");
+        }
+        this.enabled = enabled;
+        this.members = List.copyOf(members);
+        this.self = self;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.memberBackoff = memberBackoff;
+        this.memberMaxBackoff = memberMaxBackoff;
+        if (enabled) {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                    HttpClient.newBuilder().connectTimeout(timeout).build());
+            requestFactory.setReadTimeout(timeout);
+            this.peers = restClientBuilder.getIfAvailable(RestClient::builder)
+                    .requestFactory(requestFactory)
+                    .defaultHeader(SECRET_HEADER, secret)
+                    .build();
+            // One thread, evictions reach each owner in commit order
+            this.remoteEvictions = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cache-cluster-evictions");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.peers = null;
+            this.remoteEvictions = null;
+        }
+        for (CacheRegion region : CacheRegion.values()) {
+            regions.put(region, new Region(
+                    Caffeine.newBuilder().maximumSize(partitionSize).expireAfterWrite(expireAfterWrite).recordStats().build(),
+                    Caffeine.newBuilder().maximumSize(nearSize).expireAfterWrite(nearExpireAfterWrite).recordStats().build()));
+        }
+    }
+
+    /**
+     * Get a response from the near cache, the owned partition or its owner, loading it on a miss.
+     * @param region Region of the response
+     * @param id Entity ID
+     * @param loader Loads the response from the database, may throw when it does not exist
+     * @return Response
+     */
+    public <T> T get(CacheRegion region, Long id, Supplier<T> loader) {
+        if (!enabled || id == null) {
+            return loader.get();
+        }
+        Region cached = regions.get(region);
+        cached.gets.incrementAndGet();
+        Supplier<T> counted = () -> {
+            cached.loads.incrementAndGet();
+            return loader.get();
+        };
+
+        String owner = owner(region, id);
+        if (owner.equals(self) || servingPeer.get() || isSkipped(owner)) {
+            return fromPartition(cached, id, counted);
+        }
+
+        if (region.nearCached()) {
+            @SuppressWarnings("unchecked")
+            T near = (T) cached.near.getIfPresent(id);
+            if (near != null) {
+                return near;
+            }
+        }
+        return fetch(owner, region, cached, id, counted);
+    }
+
+    /**
+     * Whether lookups of a key are answered by this member, from its partition or its loader. Responses of keys
+     * owned elsewhere must not be kept longer than the near cache, the owner's evictions do not reach them.
+     * @param region Region of the response
+     * @param id Entity ID
+     * @return Whether the cluster is disabled, this member owns the key or serves it for a peer
+     */
+    public boolean isLocal(CacheRegion region, Long id) {
+        return !enabled || id == null || servingPeer.get() || owner(region, id).equals(self);
+    }
+
+    /**
+     * Answer a lookup forwarded by another member from this member's partition, without forwarding it again.
+     * @param lookup Service lookup, reading through {@link #get}
+     * @return Response
+     */
+    public <T> T serveForPeer(Supplier<T> lookup) {
+        servingPeer.set(true);
+        try {
+            return lookup.get();
+        } finally {
+            servingPeer.remove();
+        }
+    }
+
+    /**
+     * Whether a request to the peer endpoint comes from a member.
+     * @param presented Value of the {@link #SECRET_HEADER} header, may be null
+     * @return Whether the cluster is enabled and the secret matches
+     */
+    public boolean isPeer(String presented) {
+        return enabled && presented != null
+                && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Evict updated and deleted publications, and the publications of deleted authors. Deleted IDs are evicted
+     * from both regions, their type is not known.
+     */
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.change()) {
+            case UPDATED -> event.publications().forEach(publication ->
+                    evict(publication instanceof Book ? CacheRegion.BOOKS : CacheRegion.MAGAZINES, List.of(publication.getId())));
+            case DELETED -> {
+                evict(CacheRegion.BOOKS, event.isPublicationChange() ? event.ids() : event.bookIds());
+                evict(CacheRegion.MAGAZINES, event.isPublicationChange() ? event.ids() : event.magazineIds());
+            }
+            default -> {
+                // Nothing is cached before it exists
+            }
+        }
+    }
+
+    /**
+     * Evict responses changed in the current transaction from this member now and after it completes,
+     * and from their owners once it commits.
+     * @param region Region of the responses
+     * @param ids Entity IDs
+     */
+    public void evict(CacheRegion region, Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        List<Long> evicted = List.copyOf(ids);
+        evictLocal(region, evicted);
+        afterTransaction(() -> evictLocal(region, evicted), () -> {
+            Map<String, List<Long>> byOwner = evicted.stream()
+                    .collect(Collectors.groupingBy(id -> owner(region, id), HashMap::new, Collectors.toList()));
+            byOwner.remove(self);
+            byOwner.forEach((owner, owned) -> evictRemote(owner, region, owned));
+        });
+    }
+
+    /**
+     * Evict responses from this member only.
+     * @param region Region of the responses
+     * @param ids Entity IDs
+     */
+    public void evictLocal(CacheRegion region, Collection<Long> ids) {
+        Region cached = regions.get(region);
+        cached.partition.invalidateAll(ids);
+        cached.near.invalidateAll(ids);
+    }
+
+    /**
+     * Evict every response of a region from this member only.
+     * @param region Region to clear
+     */
+    public void clearLocal(CacheRegion region) {
+        Region cached = regions.get(region);
+        cached.partition.invalidateAll();
+        cached.near.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        regions.forEach((region, cached) -> {
+            CaffeineCacheMetrics.monitor(registry, cached.partition, "cluster." + region.path());
+            CaffeineCacheMetrics.monitor(registry, cached.near, "cluster.near." + region.path());
+            Gauge.builder("cache.cluster.hit.ratio", cached, Region::hitRatio)
+                    .description("Share of the lookups on this member answered without loading from the database")
+                    .tag("region", region.path())
+                    .tag("member", self)
+                    .register(registry);
+        });
+        FunctionCounter.builder("cache.cluster.remote.hits", remoteHits, AtomicLong::get)
+                .description("Lookups answered by the member owning the key")
+                .register(registry);
+        FunctionCounter.builder("cache.cluster.remote.failures", remoteFailures, AtomicLong::get)
+                .description("Peer requests that failed, lookups were loaded locally instead")
+                .register(registry);
+        Gauge.builder("cache.cluster.members.skipped", health, ClusteredCache::countSkipped)
+                .description("Members skipped after failing, their keys served from the local partition")
+                .register(registry);
+    }
+
+    /**
+     * Member with the highest score for the key: removing a member only moves the keys it owned.
+     * @return Base URL of the member owning the key
+     */
+    public String owner(CacheRegion region, Long id) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String member : members) {
+            long score = mix((member.hashCode() * 31L + region.ordinal()) ^ mix(id));
+            if (owner == null || score > best) {
+                owner = member;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    private static <T> T fromPartition(Region cached, Long id, Supplier<T> loader) {
+        @SuppressWarnings("unchecked")
+        T owned = (T) cached.partition.get(id, key -> loader.get());
+        return owned;
+    }
+
+    private <T> T fetch(String owner, CacheRegion region, Region cached, Long id, Supplier<T> loader) {
+        try {
+            @SuppressWarnings("unchecked")
+            T value = (T) peers.get()
+                    .uri(owner + PEER_PATH + "/{region}/{id}", region.path(), id)
+                    .retrieve()
+                    .body(region.type());
+            remoteHits.incrementAndGet();
+            answered(owner);
+            if (value != null && region.nearCached()) {
+                cached.near.put(id, value);
+            }
+            return value;
+        } catch (HttpClientErrorException.NotFound e) {
+            String message = notFoundMessage(e);
+            if (message == null) {
+                // Not the peer endpoint answering, the member is misconfigured
+                log.debug("Cache owner {} has no peer endpoint for {} {}", owner, region.path(), id);
+                remoteFailures.incrementAndGet();
+                return loader.get();
+            }
+            remoteHits.incrementAndGet();
+            answered(owner);
+            throw new ResourceNotFoundException(message);
+        } catch (RestClientException | CancellationException e) {
+            // Refused or unreachable: the loader throws or answers
+            remoteFailures.incrementAndGet();
+            log.debug("Cache owner {} did not answer {} {}: {}", owner, region.path(), id, e.getMessage());
+            return failed(owner, e) ? fromPartition(cached, id, loader) : loader.get();
+        }
+    }
+
+    /**
+     * @return Message of the error response of the peer endpoint, null when the body is not one
+     */
+    private static String notFoundMessage(HttpClientErrorException.NotFound e) {
+        try {
+            ApiResponseDto<?> body = e.getResponseBodyAs(ApiResponseDto.class);
+            return body == null ? null : body.getMessage();
+        } catch (RuntimeException unreadable) {
+            return null;
+        }
+    }
+
+    private void evictRemote(String member, CacheRegion region, List<Long> ids) {
+        try {
+            URI uri = UriComponentsBuilder.fromUriString(member + PEER_PATH + "/{region}")
+                    .queryParam("ids", ids.toArray())
+                    .buildAndExpand(region.path())
+                    .toUri();
+            peers.delete()
+                    .uri(uri)
+                    .retrieve()
+                    .toBodilessEntity();
+            answered(member);
+        } catch (RestClientException | CancellationException e) {
+            // Left to expire
+            remoteFailures.incrementAndGet();
+            failed(member, e);
+            log.warn("Failed to evict {} {} from {}: {}", region.path(), ids, member, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether a member failed recently and is still within its backoff.
+     */
+    private boolean isSkipped(String member) {
+        MemberHealth state = health.get(member);
+        return state != null && state.isSkipped();
+    }
+
+    /**
+     * Record a failed request, cancelled when the read timed out. Only failures of the member count, not answers
+     * saying an entity does not exist.
+     * @return Whether the member failed and is now skipped
+     */
+    private boolean failed(String member, RuntimeException e) {
+        if (e instanceof HttpClientErrorException) {
+            answered(member);
+            return false;
+        }
+        MemberHealth state = health.computeIfAbsent(member, key -> new MemberHealth());
+        Duration backoff = state.failed(memberBackoff, memberMaxBackoff);
+        log.warn("Cache member {} failed, skipping it for {}: {}", member, backoff, e.getMessage());
+        return true;
+    }
+
+    /**
+     * Record an answer. A member answering again after failing owns its keys again, the copies loaded
+     * here meanwhile are dropped so that its evictions are not missed.
+     */
+    private void answered(String member) {
+        MemberHealth state = health.get(member);
+        if (state == null || !health.remove(member, state)) {
+            return;
+        }
+        log.info("Cache member {} answers again", member);
+        regions.forEach((region, cached) ->
+                cached.partition.asMap().keySet().removeIf(id -> owner(region, id).equals(member)));
+    }
+
+    private static double countSkipped(Map<String, MemberHealth> health) {
+        return health.values().stream().filter(MemberHealth::isSkipped).count();
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Run the local eviction after the current transaction completes, and queue the remote one after it commits.
+     * Without a transaction, both run now.
+     */
+    private void afterTransaction(Runnable local, Runnable remote) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            local.run();
+            submitRemote(remote);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submitRemote(remote);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                local.run();
+            }
+        });
+    }
+
+    private void submitRemote(Runnable remote) {
+        try {
+            remoteEvictions.execute(remote);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, the peers' entries are left to expire
+            log.debug("Remote eviction dropped on shutdown");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (remoteEvictions != null) {
+            remoteEvictions.shutdown();
+        }
+    }
+
+    /**
+     * Failures in a row of a member and the time until which it is skipped.
+     */
+    private static final class MemberHealth {
+
+        private int failures;
+        private long skippedUntil;
+
+        synchronized Duration failed(Duration backoff, Duration maxBackoff) {
+            failures++;
+            Duration current = backoff.multipliedBy(1L << Math.min(failures - 1, 30));
+            if (current.compareTo(maxBackoff) > 0) {
+                current = maxBackoff;
+            }
+            skippedUntil = System.nanoTime() + current.toNanos();
+            return current;
+        }
+
+        synchronized boolean isSkipped() {
+            return System.nanoTime() - skippedUntil < 0;
+        }
+    }
+
+    private static final class Region {
+
+        private final Cache<Long, Object> partition;
+        private final Cache<Long, Object> near;
+        private final AtomicLong gets = new AtomicLong();
+        private final AtomicLong loads = new AtomicLong();
+
+        Region(Cache<Long, Object> partition, Cache<Long, Object> near) {
+            this.partition = partition;
+            this.near = near;
+        }
+
+        double hitRatio() {
+            long total = gets.get();
+            return total == 0 ? Double.NaN : 1.0 - (double) loads.get() / total;
+        }
+    }
+}
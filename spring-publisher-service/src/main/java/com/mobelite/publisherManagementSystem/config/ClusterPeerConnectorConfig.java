@@ -0,0 +1,66 @@
+package com.mobelite.publisherManagementSystem.config;
+
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves the peer endpoint of the {@link ClusteredCache} on its own connector when {@code cache.cluster.port} is
+ * set, so that it stays off the port behind the public ingress: peer requests are not found on the other ports,
+ * and nothing else is found on this one. The members must then be listed with this port.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.cluster.enabled", havingValue = "true")
+@ConditionalOnExpression("${cache.cluster.port:0} > 0")
+public class ClusterPeerConnectorConfig {
+
+    private final int port;
+
+    public ClusterPeerConnectorConfig(@Value("${cache.cluster.port}") int port) {
+        this.port = port;
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> clusterPeerConnector() {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(port);
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> clusterPeerPortFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                    throws ServletException, IOException {
+                boolean peerPath = request.getRequestURI().startsWith(request.getContextPath() + ClusteredCache.PEER_PATH + "/");
+                if (peerPath != (request.getLocalPort() == port)) {
+                    response.sendError(HttpStatus.NOT_FOUND.value());
+                    return;
+                }
+                filterChain.doFilter(request, response);
+            }
+        });
+        // Before anything else looks at the request, the concurrency limit included
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mobelite.publisherManagementSystem.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.mobelite.publisherManagementSystem.json.CatalogJsonModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Picked up by Spring Boot after the well-known modules, so its serializers take precedence.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "json.tuned-serializers.enabled", havingValue = "true", matchIfMissing = true)
+    public CatalogJsonModule catalogJsonModule() {
+        return new CatalogJsonModule();
+    }
+
+    /**
+     * CBOR for clients sending {@code Accept: application/cbor}, written with the settings and modules of the
+     * application's JSON mapper so that responses hold the same properties. Spring MVC registers a CBOR
+     * converter of its own as soon as the format is on the classpath, built without them: it is replaced, or
+     * removed when CBOR is disabled.
+     */
+    @Bean
+    public WebMvcConfigurer cborConfigurer(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                           @Value("${json.cbor.enabled:true}") boolean enabled) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+                if (enabled) {
+                    // Last, so that JSON stays the answer to Accept: */*
+                    converters.add(new MappingJackson2CborHttpMessageConverter(
+                            objectMapperBuilder.factory(new CBORFactory()).build()));
+                }
+            }
+        };
+    }
+}
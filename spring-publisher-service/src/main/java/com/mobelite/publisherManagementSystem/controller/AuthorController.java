@@ -10,14 +10,22 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.mobelite.publisherManagementSystem.dto.request.BatchGetRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
 import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.service.AuthorService;
 
+import java.util.List;
+
 
 /**
  * REST Controller for Author operations.
@@ -51,7 +59,14 @@ public class AuthorController {
     @Operation(summary = "Get author by ID", description = "Retrieves an author by their unique identifier")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseDto<AuthorResponseDto>> getAuthorById(
-            @Parameter(description = "Author ID") @PathVariable Long id) {
+            @Parameter(description = "Author ID") @PathVariable Long id,
+            WebRequest webRequest) {
+
+        // Read the tag before the author so that the body is never older than its ETag
+        String eTag = ETags.weak(authorService.getAuthorVersionTag(id));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         AuthorResponseDto author = authorService.getAuthorById(id);
 
@@ -61,7 +76,7 @@ public class AuthorController {
                 .data(author)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @Operation(summary = "Get all authors", description = "Retrieves all authors without pagination")
@@ -74,6 +89,44 @@ public class AuthorController {
         return  ResponseEntity.ok(ApiResponseDto.success(response));
     }
 
+    @Operation(summary = "Get all authors by cursor", description = "Retrieves authors ordered by name with keyset (cursor) pagination")
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponseDto<CursorPageResponseDto<AuthorResponseDto>>> getAllAuthorsByCursor(
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page", example = "20") @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPageResponseDto<AuthorResponseDto> response = authorService.getAllAuthors(after, size);
+
+        return ResponseEntity.ok(ApiResponseDto.success(response));
+    }
+
+    @Operation(summary = "Get authors by IDs", description = "Retrieves authors by ID in a single query, in request order, with the IDs not found listed as missing")
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<AuthorResponseDto>>> getAuthorsByIds(
+            @Parameter(description = "Comma-separated author IDs", example = "1,2,3") @RequestParam List<Long> ids
+    ) {
+        BatchGetResponseDto<AuthorResponseDto> response = authorService.getAuthorsByIds(ids);
+
+        return ResponseEntity.ok(ApiResponseDto.success(response));
+    }
+
+    @Hidden
+    @GetMapping(params = {"after", "ids"})
+    public ResponseEntity<ApiResponseDto<Void>> getAuthorsByCursorAndIds() {
+        // Both parameters would otherwise match two handlers equally and fail with a 500
+        throw new BusinessException("Use either 'after' or 'ids', not both");
+    }
+
+    @Operation(summary = "Look up authors by IDs", description = "Same as the ids query parameter, for lists too long for a URL")
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<AuthorResponseDto>>> lookupAuthors(
+            @Valid @RequestBody BatchGetRequestDto request
+    ) {
+        BatchGetResponseDto<AuthorResponseDto> response = authorService.getAuthorsByIds(request.getIds());
+
+        return ResponseEntity.ok(ApiResponseDto.success(response));
+    }
+
     @Operation(summary = "Delete author by ID", description = "Deletes an author by their unique identifier")
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseDto<Void>> deleteAuthor(
@@ -6,19 +6,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.mobelite.publisherManagementSystem.dto.request.BatchGetRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookBulkCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookBulkCreateResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.service.BookService;
 
+import java.util.List;
+
 /**
  * REST Controller for Book entity operations.
  * Provides endpoints for CRUD operations and search functionality.
@@ -48,13 +59,32 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create books in bulk",
+            description = "Creates many books in one transaction using batched inserts. "
+                    + "Books with an unknown author or an ISBN or title already taken are skipped and reported per item")
+    public ResponseEntity<ApiResponseDto<BookBulkCreateResponseDto>> createBooks(
+            @Valid @RequestBody BookBulkCreateRequestDto request) {
+
+        BookBulkCreateResponseDto result = bookService.createBooks(request);
+
+        ApiResponseDto<BookBulkCreateResponseDto> response = ApiResponseDto.<BookBulkCreateResponseDto>builder()
+                .success(true)
+                .message(result.getCreated() + " books created, " + result.getRejected() + " rejected")
+                .data(result)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a book", description = "Updates an existing book by ID")
     public ResponseEntity<ApiResponseDto<BookResponseDto>> updateBook(
             @Parameter(description = "Book ID") @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated, 412 when the book changed since") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody BookUpdateRequestDto request) {
 
-        BookResponseDto updatedBook = bookService.updateBook(id, request);
+        BookResponseDto updatedBook = bookService.updateBook(id, request, ETags.parseVersion(ifMatch));
 
         ApiResponseDto<BookResponseDto> response = ApiResponseDto.<BookResponseDto>builder()
                 .success(true)
@@ -62,13 +92,19 @@ public class BookController {
                 .data(updatedBook)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(updatedBook.getVersion())).body(response);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieves a book by its unique identifier")
     public ResponseEntity<ApiResponseDto<BookResponseDto>> getBookById(
-            @Parameter(description = "Book ID") @PathVariable Long id) {
+            @Parameter(description = "Book ID") @PathVariable Long id,
+            WebRequest webRequest) {
+
+        // 304 straight from the version, without loading or mapping the book
+        if (webRequest.checkNotModified(ETags.of(bookService.getBookVersion(id)))) {
+            return null;
+        }
 
         BookResponseDto book = bookService.getBookById(id);
 
@@ -78,7 +114,7 @@ public class BookController {
                 .data(book)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(book.getVersion())).body(response);
     }
 
     @GetMapping("/isbn/{isbn}")
@@ -113,6 +149,58 @@ public class BookController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "after")
+    @Operation(summary = "Get all books by cursor", description = "Retrieves books ordered by title with keyset (cursor) pagination")
+    public ResponseEntity<ApiResponseDto<CursorPageResponseDto<BookResponseDto>>> getAllBooksByCursor(
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageResponseDto<BookResponseDto> books = bookService.getAllBooks(after, size);
+
+        ApiResponseDto<CursorPageResponseDto<BookResponseDto>> response = ApiResponseDto.<CursorPageResponseDto<BookResponseDto>>builder()
+                .success(true)
+                .message("Books retrieved successfully")
+                .data(books)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get books by IDs", description = "Retrieves books by ID in a single query, in request order, with the IDs not found listed as missing")
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<BookResponseDto>>> getBooksByIds(
+            @Parameter(description = "Comma-separated book IDs", example = "1,2,3") @RequestParam List<Long> ids) {
+
+        return toBatchResponse(bookService.getBooksByIds(ids));
+    }
+
+    @Hidden
+    @GetMapping(params = {"after", "ids"})
+    public ResponseEntity<ApiResponseDto<Void>> getBooksByCursorAndIds() {
+        // Both parameters would otherwise match two handlers equally and fail with a 500
+        throw new BusinessException("Use either 'after' or 'ids', not both");
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up books by IDs", description = "Same as the ids query parameter, for lists too long for a URL")
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<BookResponseDto>>> lookupBooks(
+            @Valid @RequestBody BatchGetRequestDto request) {
+
+        return toBatchResponse(bookService.getBooksByIds(request.getIds()));
+    }
+
+    private ResponseEntity<ApiResponseDto<BatchGetResponseDto<BookResponseDto>>> toBatchResponse(BatchGetResponseDto<BookResponseDto> books) {
+
+        ApiResponseDto<BatchGetResponseDto<BookResponseDto>> response = ApiResponseDto.<BatchGetResponseDto<BookResponseDto>>builder()
+                .success(true)
+                .message(books.getItems().size() - books.getMissingIds().size() + " books found, "
+                        + books.getMissingIds().size() + " missing")
+                .data(books)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/author/{authorId}")
     @Operation(summary = "Get books by author", description = "Retrieves books by author ID")
     public ResponseEntity<ApiResponseDto<Page<BookSummaryResponseDto>>> getBooksByAuthor(
@@ -0,0 +1,77 @@
+package com.mobelite.publisherManagementSystem.controller;
+
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.cluster.CacheRegion;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+import com.mobelite.publisherManagementSystem.service.BookService;
+import com.mobelite.publisherManagementSystem.service.MagazineService;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Peer endpoint of the {@link ClusteredCache}: answers lookups for the keys this instance owns and
+ * evicts entries changed on other instances. Meant for the other members only, keep it off the public routes:
+ * requests without the cluster secret in {@link ClusteredCache#SECRET_HEADER} are refused. Served on the
+ * separate connector of {@code cache.cluster.port} when it is set, see
+ * {@link com.mobelite.publisherManagementSystem.config.ClusterPeerConnectorConfig}, otherwise on the server port,
+ * where the ingress must block it.
+ */
+@RestController
+@RequestMapping(ClusteredCache.PEER_PATH)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.cluster.enabled", havingValue = "true")
+@Hidden
+public class ClusteredCacheController {
+
+    private final ClusteredCache clusteredCache;
+    private final BookResponseCache bookCache;
+    private final BookService bookService;
+    private final MagazineService magazineService;
+
+    @GetMapping("/books/{id}")
+    public ResponseEntity<BookResponseDto> getBook(@PathVariable Long id,
+                                                   @RequestHeader(name = ClusteredCache.SECRET_HEADER, required = false) String secret) {
+        if (!clusteredCache.isPeer(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(clusteredCache.serveForPeer(() -> bookService.getBookById(id)));
+    }
+
+    @GetMapping("/magazines/{id}")
+    public ResponseEntity<MagazineResponseDto> getMagazine(@PathVariable Long id,
+                                                           @RequestHeader(name = ClusteredCache.SECRET_HEADER, required = false) String secret) {
+        if (!clusteredCache.isPeer(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(clusteredCache.serveForPeer(() -> magazineService.getMagazineById(id)));
+    }
+
+    @DeleteMapping("/{region}")
+    public ResponseEntity<Void> evict(@PathVariable String region,
+                                      @RequestParam(required = false) List<Long> ids,
+                                      @RequestHeader(name = ClusteredCache.SECRET_HEADER, required = false) String secret) {
+        if (!clusteredCache.isPeer(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        CacheRegion cacheRegion = CacheRegion.fromPath(region);
+        clusteredCache.evictLocal(cacheRegion, ids);
+        if (cacheRegion == CacheRegion.BOOKS) {
+            // Lookups served for the members go through the book response cache too
+            bookCache.evictAll(ids);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.mobelite.publisherManagementSystem.controller;
+
+import com.mobelite.publisherManagementSystem.exception.PreconditionFailedException;
+
+/**
+ * ETags derived from entity versions: strong for a single entity version, weak for digests.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param version Entity version or version tag
+     * @return Quoted strong ETag
+     */
+    static String of(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param tag Version tag summarizing several entities
+     * @return Quoted weak ETag
+     */
+    static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Parse the version expected by an If-Match header.
+     * @param ifMatch Header value, may be null
+     * @return Expected version, null when the header is absent or matches any version
+     * @throws PreconditionFailedException if the header holds something other than a single strong version ETag
+     */
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // Reported below like any other tag that cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+    }
+}
@@ -1,15 +1,20 @@
 package com.mobelite.publisherManagementSystem.controller;
 
+import com.mobelite.publisherManagementSystem.dto.request.BatchGetRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
 import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.service.MagazineService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,9 +23,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * REST Controller for Magazine Management operations.
@@ -61,9 +70,10 @@ public class MagazinController {
     )
     public ResponseEntity<ApiResponseDto<MagazineResponseDto>> updateMagazine(
             @Parameter(description = "Magazine ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the version being updated, 412 when the magazine changed since") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MagazineRequestDto requestDto) {
 
-        MagazineResponseDto updatedMagazine = magazineService.updateMagazine(id, requestDto);
+        MagazineResponseDto updatedMagazine = magazineService.updateMagazine(id, requestDto, ETags.parseVersion(ifMatch));
 
         ApiResponseDto<MagazineResponseDto> response = ApiResponseDto.<MagazineResponseDto>builder()
                 .success(true)
@@ -71,7 +81,7 @@ public class MagazinController {
                 .data(updatedMagazine)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(updatedMagazine.getVersion())).body(response);
     }
 
     @GetMapping("/{id}")
@@ -80,7 +90,13 @@ public class MagazinController {
             description = "Retrieves a magazine by its unique identifier"
     )
     public ResponseEntity<ApiResponseDto<MagazineResponseDto>> getMagazineById(
-            @Parameter(description = "Magazine ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "Magazine ID", required = true) @PathVariable Long id,
+            WebRequest webRequest) {
+
+        // 304 straight from the version, without loading or mapping the magazine
+        if (webRequest.checkNotModified(ETags.of(magazineService.getMagazineVersion(id)))) {
+            return null;
+        }
 
         MagazineResponseDto magazine = magazineService.getMagazineById(id);
 
@@ -90,7 +106,7 @@ public class MagazinController {
                 .data(magazine)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(magazine.getVersion())).body(response);
     }
 
     @GetMapping
@@ -116,6 +132,67 @@ public class MagazinController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "after")
+    @Operation(
+            summary = "Get all magazines by cursor",
+            description = "Retrieves magazines ordered by title with keyset (cursor) pagination"
+    )
+    public ResponseEntity<ApiResponseDto<CursorPageResponseDto<MagazineSummaryResponseDto>>> getAllMagazinesByCursor(
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageResponseDto<MagazineSummaryResponseDto> magazines = magazineService.getAllMagazines(after, size);
+
+        ApiResponseDto<CursorPageResponseDto<MagazineSummaryResponseDto>> response = ApiResponseDto.<CursorPageResponseDto<MagazineSummaryResponseDto>>builder()
+                .success(true)
+                .message("Magazines retrieved successfully")
+                .data(magazines)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Get magazines by IDs",
+            description = "Retrieves magazines by ID in a single query, in request order, with the IDs not found listed as missing"
+    )
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<MagazineResponseDto>>> getMagazinesByIds(
+            @Parameter(description = "Comma-separated magazine IDs", example = "1,2,3") @RequestParam List<Long> ids) {
+
+        return toBatchResponse(magazineService.getMagazinesByIds(ids));
+    }
+
+    @Hidden
+    @GetMapping(params = {"after", "ids"})
+    public ResponseEntity<ApiResponseDto<Void>> getMagazinesByCursorAndIds() {
+        // Both parameters would otherwise match two handlers equally and fail with a 500
+        throw new BusinessException("Use either 'after' or 'ids', not both");
+    }
+
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Look up magazines by IDs",
+            description = "Same as the ids query parameter, for lists too long for a URL"
+    )
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<MagazineResponseDto>>> lookupMagazines(
+            @Valid @RequestBody BatchGetRequestDto request) {
+
+        return toBatchResponse(magazineService.getMagazinesByIds(request.getIds()));
+    }
+
+    private ResponseEntity<ApiResponseDto<BatchGetResponseDto<MagazineResponseDto>>> toBatchResponse(BatchGetResponseDto<MagazineResponseDto> magazines) {
+
+        ApiResponseDto<BatchGetResponseDto<MagazineResponseDto>> response = ApiResponseDto.<BatchGetResponseDto<MagazineResponseDto>>builder()
+                .success(true)
+                .message(magazines.getItems().size() - magazines.getMissingIds().size() + " magazines found, "
+                        + magazines.getMissingIds().size() + " missing")
+                .data(magazines)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Delete magazine",
@@ -1,14 +1,26 @@
 package com.mobelite.publisherManagementSystem.controller;
 
+import com.mobelite.publisherManagementSystem.dto.request.BatchGetRequestDto;
 import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.CatalogStatisticsResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.GroupedPublicationsResponse;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSearchResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
+import com.mobelite.publisherManagementSystem.repository.PublicationSearchCriteria;
 import com.mobelite.publisherManagementSystem.service.PublicationService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,8 +28,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * REST Controller for Publication entity operations.
@@ -31,6 +52,7 @@ import org.springframework.web.bind.annotation.*;
 public class PublicationController {
 
     private final PublicationService publicationService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get publication by ID", description = "Retrieves a publication by its ID")
@@ -62,6 +84,65 @@ public class PublicationController {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all publications",
+            description = "Streams all publication summaries ordered by title as newline-delimited JSON. "
+                    + "Rows are read from the database in chunks, as fast as the client consumes them")
+    public ResponseEntity<StreamingResponseBody> streamAllPublications() {
+        return toNdjsonResponse(publicationService::streamAllPublications);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Get all publications by cursor", description = "Retrieves publications ordered by title with keyset (cursor) pagination")
+    public ResponseEntity<ApiResponseDto<CursorPageResponseDto<PublicationSummaryResponseDto>>> getAllPublicationsByCursor(
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of items per page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponseDto<PublicationSummaryResponseDto> response = publicationService.getAllPublications(after, size);
+
+        ApiResponseDto<CursorPageResponseDto<PublicationSummaryResponseDto>> apiResponse = ApiResponseDto.<CursorPageResponseDto<PublicationSummaryResponseDto>>builder()
+                .success(true)
+                .message("Publications retrieved successfully")
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get publications by IDs", description = "Retrieves publications by ID in a single query, in request order, with the IDs not found listed as missing")
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<PublicationResponseDto>>> getPublicationsByIds(
+            @Parameter(description = "Comma-separated publication IDs", example = "1,2,3") @RequestParam List<Long> ids) {
+
+        return toBatchResponse(publicationService.getPublicationsByIds(ids));
+    }
+
+    @Hidden
+    @GetMapping(params = {"after", "ids"})
+    public ResponseEntity<ApiResponseDto<Void>> getPublicationsByCursorAndIds() {
+        // Both parameters would otherwise match two handlers equally and fail with a 500
+        throw new BusinessException("Use either 'after' or 'ids', not both");
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up publications by IDs", description = "Same as the ids query parameter, for lists too long for a URL")
+    public ResponseEntity<ApiResponseDto<BatchGetResponseDto<PublicationResponseDto>>> lookupPublications(
+            @Valid @RequestBody BatchGetRequestDto request) {
+
+        return toBatchResponse(publicationService.getPublicationsByIds(request.getIds()));
+    }
+
+    private ResponseEntity<ApiResponseDto<BatchGetResponseDto<PublicationResponseDto>>> toBatchResponse(BatchGetResponseDto<PublicationResponseDto> publications) {
+
+        ApiResponseDto<BatchGetResponseDto<PublicationResponseDto>> response = ApiResponseDto.<BatchGetResponseDto<PublicationResponseDto>>builder()
+                .success(true)
+                .message(publications.getItems().size() - publications.getMissingIds().size() + " publications found, "
+                        + publications.getMissingIds().size() + " missing")
+                .data(publications)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/grouped")
     @Operation(summary = "Get grouped publications", description = "Retrieves all publications grouped by type (book or magazine)")
     public ResponseEntity<ApiResponseDto<GroupedPublicationsResponse>> getAllPublicationsGroupedByType() {
@@ -76,12 +157,117 @@ public class PublicationController {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @GetMapping(value = "/grouped", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream grouped publications",
+            description = "Streams all publications as newline-delimited JSON, books first then magazines. "
+                    + "Each line is a publication summary whose type tells books and magazines apart")
+    public ResponseEntity<StreamingResponseBody> streamAllPublicationsGroupedByType() {
+        return toNdjsonResponse(publicationService::streamAllPublicationsGroupedByType);
+    }
+
+    /**
+     * Write each publication as one JSON line. Writes block while the client is not reading,
+     * which holds back the producer feeding the sink.
+     */
+    private ResponseEntity<StreamingResponseBody> toNdjsonResponse(Consumer<Consumer<PublicationSummaryResponseDto>> producer) {
+        StreamingResponseBody body = outputStream -> producer.accept(publication -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(publication));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Faceted publication search",
+            description = "Searches publications on any combination of type, publication date range, author, "
+                    + "author nationality and issue number range, ordered by title. Returns the page with the number of "
+                    + "matches per type, year, issue number, author and nationality, counted in a single query")
+    public ResponseEntity<ApiResponseDto<PublicationSearchResponseDto>> searchPublications(
+            @Parameter(description = "Publication type") @RequestParam(required = false) PublicationType type,
+            @Parameter(description = "Earliest publication date, inclusive", example = "2020-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+            @Parameter(description = "Latest publication date, inclusive", example = "2024-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo,
+            @Parameter(description = "Book author or one of the magazine authors") @RequestParam(required = false) Long authorId,
+            @Parameter(description = "Nationality of the book author or of one of the magazine authors")
+            @RequestParam(required = false) String nationality,
+            @Parameter(description = "Lowest magazine issue number, inclusive") @RequestParam(required = false) Integer minIssueNumber,
+            @Parameter(description = "Highest magazine issue number, inclusive") @RequestParam(required = false) Integer maxIssueNumber,
+            @PageableDefault(size = 20) Pageable pageable) {
+        PublicationSearchCriteria criteria = PublicationSearchCriteria.builder()
+                .type(type)
+                .publishedFrom(publishedFrom)
+                .publishedTo(publishedTo)
+                .authorId(authorId)
+                .nationality(nationality)
+                .minIssueNumber(minIssueNumber)
+                .maxIssueNumber(maxIssueNumber)
+                .build();
+        PublicationSearchResponseDto response = publicationService.searchPublications(criteria, pageable);
+
+        ApiResponseDto<PublicationSearchResponseDto> apiResponse = ApiResponseDto.<PublicationSearchResponseDto>builder()
+                .success(true)
+                .message("Publications searched successfully")
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get catalog statistics",
+            description = "Retrieves publication totals per type and publication year, author totals per nationality "
+                    + "and the most prolific authors. Totals are maintained as the catalog changes and recounted periodically")
+    public ResponseEntity<ApiResponseDto<CatalogStatisticsResponseDto>> getCatalogStatistics(
+            @Parameter(description = "Number of most prolific authors to list, at most 100", example = "10")
+            @RequestParam(defaultValue = "10") int top) {
+        CatalogStatisticsResponseDto response = publicationService.getCatalogStatistics(top);
+
+        ApiResponseDto<CatalogStatisticsResponseDto> apiResponse = ApiResponseDto.<CatalogStatisticsResponseDto>builder()
+                .success(true)
+                .message("Catalog statistics retrieved successfully")
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest publication titles",
+            description = "Suggests the titles starting with the typed prefix, ignoring case and accents, in title order. "
+                    + "Served from an in-memory index kept up to date as publications are written")
+    public ResponseEntity<ApiResponseDto<List<TitleSuggestionDto>>> suggestTitles(
+            @Parameter(description = "Title prefix typed so far", example = "The Hob") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions, at most 50", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TitleSuggestionDto> response = publicationService.suggestTitles(prefix, limit);
+
+        ApiResponseDto<List<TitleSuggestionDto>> apiResponse = ApiResponseDto.<List<TitleSuggestionDto>>builder()
+                .success(true)
+                .message("Title suggestions retrieved successfully")
+                .data(response)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @GetMapping("/search/title")
-    @Operation(summary = "Search publications by title", description = "Searches publications by title (case-insensitive)")
+    @Operation(summary = "Search publications by title",
+            description = "Searches publications by title (case-insensitive), ranked by relevance. "
+                    + "When minSimilarity is set, titles that are only similar to the search text are returned too")
     public ResponseEntity<ApiResponseDto<Page<PublicationSummaryResponseDto>>> searchPublicationsByTitle(
             @Parameter(description = "Title to search for") @RequestParam String title,
-            @PageableDefault(size = 20, sort = "title") Pageable pageable) {
-        Page<PublicationSummaryResponseDto> response = publicationService.searchPublicationsByTitle(title, pageable);
+            @Parameter(description = "Minimum word similarity between 0 and 1", example = "0.4")
+            @RequestParam(required = false) Double minSimilarity,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<PublicationSummaryResponseDto> response = publicationService.searchPublicationsByTitle(title, minSimilarity, pageable);
 
         ApiResponseDto<Page<PublicationSummaryResponseDto>> apiResponse = ApiResponseDto.<Page<PublicationSummaryResponseDto>>builder()
                 .success(true)
@@ -92,6 +278,21 @@ public class PublicationController {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @GetMapping(value = "/search/title", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream publications by title",
+            description = "Streams every publication matching the title search, ranked by relevance, as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamPublicationsByTitle(
+            @Parameter(description = "Title to search for") @RequestParam String title,
+            @Parameter(description = "Minimum word similarity between 0 and 1", example = "0.4")
+            @RequestParam(required = false) Double minSimilarity) {
+
+        // Checked before streaming starts, once the status is sent an error can only cut the stream short
+        if (minSimilarity != null && (minSimilarity <= 0 || minSimilarity > 1)) {
+            throw new BusinessException("Minimum similarity must be greater than 0 and at most 1");
+        }
+        return toNdjsonResponse(sink -> publicationService.streamPublicationsByTitle(title, minSimilarity, sink));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a publication", description = "Deletes a publication by its ID")
     public ResponseEntity<ApiResponseDto<Void>> deletePublication(
@@ -106,6 +307,23 @@ public class PublicationController {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @DeleteMapping(params = "ids")
+    @Operation(summary = "Delete publications by IDs",
+            description = "Deletes many publications of any type, with their magazine author links, in a fixed number of statements. "
+                    + "IDs that do not exist are skipped")
+    public ResponseEntity<ApiResponseDto<Integer>> deletePublications(
+            @Parameter(description = "Comma-separated publication IDs", example = "1,2,3") @RequestParam List<Long> ids) {
+        int deleted = publicationService.deletePublications(ids);
+
+        ApiResponseDto<Integer> apiResponse = ApiResponseDto.<Integer>builder()
+                .success(true)
+                .message(deleted + " publications deleted")
+                .data(deleted)
+                .build();
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @GetMapping("/{id}/exists")
     @Operation(summary = "Check if publication exists", description = "Checks if a publication exists by its ID")
     public ResponseEntity<ApiResponseDto<Boolean>> existsById(
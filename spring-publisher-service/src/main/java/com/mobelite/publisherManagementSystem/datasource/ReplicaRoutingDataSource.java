@@ -0,0 +1,234 @@
+package com.mobelite.publisherManagementSystem.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions, spread round-robin over the healthy replicas.
+ * <p>
+ * Each replica gets its own pool, configured like the primary one. A background check measures every
+ * replica's replication lag; a replica that cannot be reached or lags behind more than the configured
+ * maximum is skipped until it recovers. When no replica is usable, connections come from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    /**
+     * Recovery and WAL receiver state of a replica, with the seconds since its last replayed transaction.
+     * Replaying all it received only means no lag while the WAL receiver is streaming from the primary.
+     */
+    private static final String LAG_QUERY = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') AS streaming,
+                   pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() AS replayed_all,
+                   EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) AS replay_age
+            """;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+    private ScheduledExecutorService healthChecks;
+
+    /**
+     * @param primary Primary pool, used as the template of the replica pools and as the fallback
+     * @param replicaUrls JDBC URLs of the replicas
+     * @param maxLag Replication lag above which a replica is skipped
+     * @param healthCheckInterval Time between two checks of every replica
+     * @param meterRegistry Registry for the pool and routing metrics, null to disable them
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<String> replicaUrls, Duration maxLag,
+                                    Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.healthCheckInterval = healthCheckInterval;
+
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i));
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            // Start even when a replica is down, the health check keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            if (meterRegistry != null) {
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            replicas.add(new Replica(new HikariDataSource(config), meterRegistry));
+        }
+
+        primaryFallbacks = meterRegistry == null ? null : Counter.builder("datasource.routing.connections")
+                .description("Connections handed out for read-only transactions")
+                .tag("route", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.count();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica {} unavailable, trying the next route: {}", replica.pool.getPoolName(), e.getMessage());
+                replica.markDown();
+            }
+        }
+
+        if (primaryFallbacks != null) {
+            primaryFallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the pool credentials");
+    }
+
+    /**
+     * Measure the lag of every replica and update which ones are used.
+     */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                Double lag = lagSeconds(resultSet);
+                if (lag == null) {
+                    if (replica.healthy) {
+                        log.warn("Replica {} is not streaming from the primary, its lag is unknown", replica.pool.getPoolName());
+                    }
+                    replica.markDown();
+                } else {
+                    replica.update(lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} failed its health check: {}", replica.pool.getPoolName(), e.getMessage());
+                }
+                replica.markDown();
+            }
+        }
+    }
+
+    /**
+     * Replication lag from a row of the lag query.
+     * @param row Row positioned on the result
+     * @return Lag in seconds, 0 when not in recovery or when all streamed WAL is replayed,
+     * null when the WAL receiver is not streaming
+     */
+    private static Double lagSeconds(ResultSet row) throws SQLException {
+        if (!row.getBoolean("in_recovery")) {
+            return 0.0;
+        }
+        if (!row.getBoolean("streaming")) {
+            return null;
+        }
+        if (row.getBoolean("replayed_all")) {
+            return 0.0;
+        }
+        double replayAge = row.getDouble("replay_age");
+        return row.wasNull() ? 0.0 : replayAge;
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource pool;
+        private final Counter connections;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.pool = pool;
+            if (meterRegistry == null) {
+                this.connections = null;
+                return;
+            }
+
+            String name = pool.getPoolName();
+            this.connections = Counter.builder("datasource.routing.connections")
+                    .description("Connections handed out for read-only transactions")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagSeconds)
+                    .description("Replication lag measured by the last health check")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", this, replica -> replica.healthy ? 1 : 0)
+                    .description("Whether the replica receives read-only transactions")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        private void update(double lag) {
+            lagSeconds = lag;
+            boolean withinLag = lag <= maxLag.toMillis() / 1000.0;
+            if (healthy != withinLag) {
+                log.info("Replica {} {} (lag {}s)", pool.getPoolName(), withinLag ? "in rotation" : "lagging, skipped", lag);
+            }
+            healthy = withinLag;
+        }
+
+        private void markDown() {
+            healthy = false;
+            lagSeconds = Double.NaN;
+        }
+
+        private void count() {
+            if (connections != null) {
+                connections.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mobelite.publisherManagementSystem.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for resolving many IDs in one request, for ID lists too long for a query string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "IDs to resolve in one request")
+public class BatchGetRequestDto {
+
+    public static final int MAX_IDS = 1_000;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " IDs can be resolved per request")
+    @Schema(description = "IDs to resolve, results are returned in the same order", example = "[1, 2, 3]")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,27 @@
+package com.mobelite.publisherManagementSystem.dto.request.book;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for creating many books in one request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookBulkCreateRequestDto {
+
+    public static final int MAX_BOOKS = 10_000;
+
+    @NotEmpty(message = "At least one book is required")
+    @Size(max = MAX_BOOKS, message = "At most " + MAX_BOOKS + " books can be created per request")
+    private List<@Valid BookCreateRequestDto> books;
+}
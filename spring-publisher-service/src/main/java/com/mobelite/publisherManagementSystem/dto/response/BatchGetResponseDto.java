@@ -0,0 +1,26 @@
+package com.mobelite.publisherManagementSystem.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of resolving a list of IDs, with one item per requested ID in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of resolving a list of IDs in one request")
+public class BatchGetResponseDto<T> {
+
+    @Schema(description = "One item per requested ID, in request order, null where the ID was not found")
+    private List<T> items;
+
+    @Schema(description = "Requested IDs that were not found, in request order")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,33 @@
+package com.mobelite.publisherManagementSystem.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of results returned by keyset (cursor) pagination.
+ * Unlike a Spring {@code Page}, it carries no totals: the client follows {@code nextCursor} until {@code hasNext} is false.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of results returned by cursor pagination")
+public class CursorPageResponseDto<T> {
+
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Whether another page follows this one")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor to pass as 'after' to get the next page, null on the last page")
+    private String nextCursor;
+}
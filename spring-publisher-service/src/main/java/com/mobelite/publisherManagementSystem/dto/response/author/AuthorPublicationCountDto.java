@@ -0,0 +1,25 @@
+package com.mobelite.publisherManagementSystem.dto.response.author;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An author with the number of books and magazines they wrote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Author with their publication count")
+public class AuthorPublicationCountDto {
+
+    private Long id;
+
+    private String name;
+
+    @Schema(description = "Books and magazines written by the author")
+    private long publications;
+}
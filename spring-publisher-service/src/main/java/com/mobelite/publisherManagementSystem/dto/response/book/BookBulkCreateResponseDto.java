@@ -0,0 +1,24 @@
+package com.mobelite.publisherManagementSystem.dto.response.book;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk book creation, with one result per requested book in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookBulkCreateResponseDto {
+
+    private int created;
+
+    private int rejected;
+
+    private List<BookBulkItemResultDto> results;
+}
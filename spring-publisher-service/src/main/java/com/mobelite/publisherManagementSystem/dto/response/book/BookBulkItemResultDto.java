@@ -0,0 +1,33 @@
+package com.mobelite.publisherManagementSystem.dto.response.book;
+
+import com.mobelite.publisherManagementSystem.enums.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one book of a bulk creation request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookBulkItemResultDto {
+
+    /**
+     * Position of the book in the request.
+     */
+    private int index;
+
+    private BulkItemStatus status;
+
+    /**
+     * ID of the created book, null when it was not created.
+     */
+    private Long id;
+
+    private String isbn;
+
+    private String message;
+}
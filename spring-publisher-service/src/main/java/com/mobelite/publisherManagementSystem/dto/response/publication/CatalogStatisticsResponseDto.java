@@ -0,0 +1,41 @@
+package com.mobelite.publisherManagementSystem.dto.response.publication;
+
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorPublicationCountDto;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog totals, maintained as publications and authors are written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Catalog totals, maintained as publications and authors are written")
+public class CatalogStatisticsResponseDto {
+
+    private long totalPublications;
+
+    @Schema(description = "Publications per type")
+    private Map<PublicationType, Long> byType;
+
+    @Schema(description = "Publications per publication year, in year order")
+    private Map<Integer, Long> byYear;
+
+    @Schema(description = "Authors per nationality, UNKNOWN for authors without one")
+    private Map<String, Long> authorsByNationality;
+
+    @Schema(description = "Authors with the most publications, most prolific first")
+    private List<AuthorPublicationCountDto> topAuthors;
+
+    @Schema(description = "Last time the totals were recounted from the database, null before the first recount")
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,36 @@
+package com.mobelite.publisherManagementSystem.dto.response.publication;
+
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of publications matching a search per value of each filterable dimension.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of matching publications per value of each filterable dimension")
+public class PublicationFacetsDto {
+
+    @Schema(description = "Matching publications per type")
+    private Map<PublicationType, Long> byType;
+
+    @Schema(description = "Matching publications per publication year, in year order")
+    private Map<Integer, Long> byYear;
+
+    @Schema(description = "Matching magazines per issue number, in issue number order")
+    private Map<Integer, Long> byIssueNumber;
+
+    @Schema(description = "Matching publications per author ID, most publications first, limited to the top authors")
+    private Map<Long, Long> byAuthor;
+
+    @Schema(description = "Matching publications per author nationality, UNKNOWN for authors without one")
+    private Map<String, Long> byNationality;
+}
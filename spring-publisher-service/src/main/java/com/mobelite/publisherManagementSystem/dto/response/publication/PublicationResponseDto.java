@@ -29,4 +29,7 @@ public class PublicationResponseDto {
     @JsonFormat(pattern = "yyyy-MM-dd")
     @Schema(description = "Publication date", example = "2024-01-15")
     private LocalDate publicationDate;
+
+    @Schema(description = "Version, incremented on every update and used as the ETag", example = "0")
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package com.mobelite.publisherManagementSystem.dto.response.publication;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of publications matching a faceted search, with the facet counts of all matches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of matching publications with facet counts over all matches")
+public class PublicationSearchResponseDto {
+
+    @Schema(description = "Matching publications ordered by title")
+    private Page<PublicationSummaryResponseDto> results;
+
+    @Schema(description = "Facet counts over all matching publications, not only the current page")
+    private PublicationFacetsDto facets;
+}
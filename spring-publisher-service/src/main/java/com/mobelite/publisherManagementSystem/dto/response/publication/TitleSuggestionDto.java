@@ -0,0 +1,22 @@
+package com.mobelite.publisherManagementSystem.dto.response.publication;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A publication title suggested for a typed prefix.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Publication title suggested for a prefix")
+public class TitleSuggestionDto {
+
+    private Long id;
+
+    private String title;
+}
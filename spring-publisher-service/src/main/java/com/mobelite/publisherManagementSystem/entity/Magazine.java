@@ -1,6 +1,9 @@
 package com.mobelite.publisherManagementSystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -25,6 +28,8 @@ public class Magazine extends Publication {
 
     // Many-to-Many relationship with Author
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "magazine-authors")
     @JoinTable(
             name = "magazine_authors",
             joinColumns = @JoinColumn(name = "magazine_id"),
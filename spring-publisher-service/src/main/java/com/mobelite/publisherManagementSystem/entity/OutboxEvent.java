@@ -0,0 +1,49 @@
+package com.mobelite.publisherManagementSystem.entity;
+
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Change record appended to the outbox in the transaction of the write it reports,
+ * and deleted once delivered to the subscribers.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    /**
+     * Assigned by the database when the row is inserted, after the write it reports has locked its rows,
+     * so the records of one entity are numbered in commit order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private ChangedEntity entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+
+    /**
+     * IDs of the entities the write changed, one record for a whole batch.
+     */
+    @Column(name = "entity_ids", nullable = false)
+    private long[] entityIds;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,22 @@
+package com.mobelite.publisherManagementSystem.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row locked by the instance delivering the outbox, so that only one instance delivers at a time.
+ */
+@Entity
+@Table(name = "outbox_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxLease {
+
+    @Id
+    private Integer id;
+}
@@ -1,9 +1,15 @@
 package com.mobelite.publisherManagementSystem.entity;
 
+import com.mobelite.publisherManagementSystem.suggest.TitleKeys;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -14,18 +20,40 @@ import java.time.LocalDate;
 })
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "publication_type", discriminatorType = DiscriminatorType.STRING)
+// Books and magazines share the hierarchy root region
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "publications")
 @Data
 @NoArgsConstructor
 @SuperBuilder
 public abstract class Publication {
 
+    // Pooled sequence instead of IDENTITY so that inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "publications_seq")
+    @SequenceGenerator(name = "publications_seq", sequenceName = "publications_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
     private String title;
 
+    // Normalized like the title suggestions match it, searched by their database fallback
+    @Column(name = "title_key", length = 1024)
+    @Setter(AccessLevel.NONE)
+    private String titleKey;
+
     @Column(name = "publication_date", nullable = false)
     private LocalDate publicationDate;
+
+    // Optimistic locking, also exposed as the ETag of book and magazine resources
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeTitle() {
+        titleKey = title == null ? null : TitleKeys.normalize(title);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.mobelite.publisherManagementSystem.enums;
+
+/**
+ * Outcome of one item of a bulk request.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    DUPLICATE_ISBN,
+    DUPLICATE_TITLE,
+    AUTHOR_NOT_FOUND
+}
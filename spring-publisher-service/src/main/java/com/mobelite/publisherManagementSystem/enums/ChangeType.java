@@ -0,0 +1,10 @@
+package com.mobelite.publisherManagementSystem.enums;
+
+/**
+ * Kind of write a change record reports.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,9 @@
+package com.mobelite.publisherManagementSystem.enums;
+
+/**
+ * Kind of entity a change record is about. Books and magazines share the publication IDs.
+ */
+public enum ChangedEntity {
+    PUBLICATION,
+    AUTHOR
+}
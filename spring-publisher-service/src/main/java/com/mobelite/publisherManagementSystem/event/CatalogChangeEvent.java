@@ -0,0 +1,87 @@
+package com.mobelite.publisherManagementSystem.event;
+
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+import com.mobelite.publisherManagementSystem.statistics.CatalogStatistics.PublicationKeys;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Write to the catalog, published by the services for the in-process caches, indexes and counters that follow
+ * it, and for the change outbox. Listeners subscribe with {@code @EventListener} instead of being called by
+ * each service.
+ * <p>
+ * Events are published in the transaction of the write: creations and updates once their entities are saved,
+ * deletions before their delete statements, so that listeners can still read the rows being deleted. Listeners
+ * run in the publishing thread and apply their changes once the transaction commits; those that must follow
+ * every write statement listen before the commit instead.
+ *
+ * @param entity Kind of entity
+ * @param change Kind of write
+ * @param ids IDs of the written entities
+ * @param publications Created or updated publications, empty otherwise
+ * @param before Keys of the updated publication before the update, null otherwise
+ * @param author Created author, null otherwise
+ * @param bookIds IDs of the books of a deleted author, deleted with them, empty otherwise
+ * @param magazineIds IDs of the magazines a deleted author is unlinked from, empty otherwise
+ */
+public record CatalogChangeEvent(ChangedEntity entity, ChangeType change, List<Long> ids,
+                                 List<Publication> publications, PublicationKeys before, Author author,
+                                 List<Long> bookIds, List<Long> magazineIds) {
+
+    /**
+     * @param publications Saved publications
+     */
+    public static CatalogChangeEvent publicationsCreated(Collection<? extends Publication> publications) {
+        List<Publication> created = List.copyOf(publications);
+        return new CatalogChangeEvent(ChangedEntity.PUBLICATION, ChangeType.CREATED,
+                created.stream().map(Publication::getId).toList(), created, null, null, List.of(), List.of());
+    }
+
+    /**
+     * @param before Keys captured before the update
+     * @param after Updated publication
+     */
+    public static CatalogChangeEvent publicationUpdated(PublicationKeys before, Publication after) {
+        return new CatalogChangeEvent(ChangedEntity.PUBLICATION, ChangeType.UPDATED, List.of(after.getId()),
+                List.of(after), before, null, List.of(), List.of());
+    }
+
+    /**
+     * To publish before the delete statements.
+     * @param ids Publication IDs, IDs that do not exist are ignored
+     */
+    public static CatalogChangeEvent publicationsDeleting(Collection<Long> ids) {
+        return new CatalogChangeEvent(ChangedEntity.PUBLICATION, ChangeType.DELETED, List.copyOf(ids),
+                List.of(), null, null, List.of(), List.of());
+    }
+
+    /**
+     * @param author Saved author
+     */
+    public static CatalogChangeEvent authorCreated(Author author) {
+        return new CatalogChangeEvent(ChangedEntity.AUTHOR, ChangeType.CREATED, List.of(author.getId()),
+                List.of(), null, author, List.of(), List.of());
+    }
+
+    /**
+     * To publish before the delete statements.
+     * @param id Author ID
+     * @param bookIds IDs of the books of the author
+     * @param magazineIds IDs of the magazines the author is linked to
+     */
+    public static CatalogChangeEvent authorDeleting(Long id, Collection<Long> bookIds, Collection<Long> magazineIds) {
+        return new CatalogChangeEvent(ChangedEntity.AUTHOR, ChangeType.DELETED, List.of(id),
+                List.of(), null, null, List.copyOf(bookIds), List.copyOf(magazineIds));
+    }
+
+    /**
+     * @return Whether publications were changed, as opposed to an author
+     */
+    public boolean isPublicationChange() {
+        return entity == ChangedEntity.PUBLICATION;
+    }
+}
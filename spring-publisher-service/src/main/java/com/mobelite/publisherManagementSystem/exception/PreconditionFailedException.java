@@ -0,0 +1,7 @@
+package com.mobelite.publisherManagementSystem.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
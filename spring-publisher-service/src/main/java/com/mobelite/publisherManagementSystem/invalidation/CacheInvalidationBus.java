@@ -0,0 +1,371 @@
+package com.mobelite.publisherManagementSystem.invalidation;
+
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.cluster.CacheRegion;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the in-process caches of several instances in step over PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * The IDs updated or deleted by a transaction are coalesced and sent as one notification from inside that
+ * transaction, which PostgreSQL only delivers once it commits. Every instance listens on a connection of its own,
+ * opened from the {@code spring.datasource} settings outside the pool, which it would otherwise hold for good,
+ * and evicts the listed books, authors and magazines from the book cache, the catalog snapshot, the clustered
+ * cache and the Hibernate second-level cache. Notifications are lost while the connection is down, so each
+ * (re)connection flushes those caches once listening again, the catalog snapshot by a replay in the background.
+ * <p>
+ * Message: {@code <sender>;<sent at, epoch ms>;P<publication IDs>;A<author IDs>}, or {@code *} in place of
+ * the ID lists to flush everything when they would not fit in a notification.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements DisposableBean, MeterBinder {
+
+    /**
+     * PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    private static final String FLUSH = "*";
+    private static final int LISTEN_TIMEOUT_MILLIS = 1000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookResponseCache bookCache;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ClusteredCache clusteredCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final String node = UUID.randomUUID().toString();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicReference<Timer> lag = new AtomicReference<>();
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * @param channel Notification channel shared by the instances
+     * @param reconnectDelay Wait before reconnecting the listening connection after a failure
+     */
+    public CacheInvalidationBus(DataSource dataSource,
+                                DataSourceProperties dataSourceProperties,
+                                BookResponseCache bookCache,
+                                CatalogSnapshot catalogSnapshot,
+                                ClusteredCache clusteredCache,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${cache-invalidation.enabled:false}") boolean enabled,
+                                @Value("${cache-invalidation.channel:catalog_invalidation}") String channel,
+                                @Value("${cache-invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.bookCache = bookCache;
+        this.catalogSnapshot = catalogSnapshot;
+        this.clusteredCache = clusteredCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Start listening once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Tell the other instances about a write to the catalog, once it commits.
+     */
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        changed(event.entity(), event.change(), event.ids());
+    }
+
+    /**
+     * Tell the other instances about a change made in the current transaction, once it commits.
+     * Creations are not sent: no instance caches an entity before it exists.
+     */
+    public void changed(ChangedEntity entity, ChangeType change, Collection<Long> ids) {
+        if (!enabled || change == ChangeType.CREATED || ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            pending.add(entity, ids);
+            send(pending);
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Delivered by PostgreSQL when this transaction commits, dropped if it rolls back
+                    send(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = created;
+        }
+        pending.add(entity, ids);
+    }
+
+    /**
+     * Apply a message sent by another instance. Messages sent by this instance are ignored,
+     * its caches were evicted by the write itself. Unreadable messages flush the caches.
+     * @param payload Notification payload
+     */
+    public void receive(String payload) {
+        String[] parts = payload.split(";", -1);
+        if (parts.length < 3) {
+            log.warn("Unreadable cache invalidation message, flushing the caches: {}", payload);
+            flush();
+            return;
+        }
+        if (node.equals(parts[0])) {
+            return;
+        }
+        received.incrementAndGet();
+        try {
+            Timer timer = lag.get();
+            if (timer != null) {
+                timer.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(parts[1])), TimeUnit.MILLISECONDS);
+            }
+            if (FLUSH.equals(parts[2])) {
+                flush();
+                return;
+            }
+            List<Long> publications = new ArrayList<>();
+            List<Long> authors = new ArrayList<>();
+            for (int i = 2; i < parts.length; i++) {
+                String part = parts[i];
+                List<Long> ids = switch (part.isEmpty() ? ' ' : part.charAt(0)) {
+                    case 'P' -> publications;
+                    case 'A' -> authors;
+                    default -> throw new IllegalArgumentException("Unknown section " + part);
+                };
+                for (String id : part.substring(1).split(",")) {
+                    if (!id.isEmpty()) {
+                        ids.add(Long.parseLong(id));
+                    }
+                }
+            }
+            evict(publications, authors);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unreadable cache invalidation message, flushing the caches: {}", payload);
+            flush();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lag.set(Timer.builder("cache.invalidation.lag")
+                .description("Time from the commit of a change on another instance to its eviction here")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+        FunctionCounter.builder("cache.invalidation.sent", sent, AtomicLong::get)
+                .description("Cache invalidation messages sent to the other instances")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidation.received", received, AtomicLong::get)
+                .description("Cache invalidation messages received from the other instances")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidation.flushes", flushes, AtomicLong::get)
+                .description("Full cache flushes, on (re)connection or for messages too large to list IDs")
+                .register(registry);
+    }
+
+    /**
+     * Listen on an unpooled connection, reconnecting and flushing the caches after a failure.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.warn("Cache invalidation needs PostgreSQL, not listening");
+                    return;
+                }
+                connection.setAutoCommit(true);
+                statement.execute("LISTEN " + channel);
+                // Anything committed before LISTEN was missed
+                flush();
+                log.info("Listening for cache invalidations on {}", channel);
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] batch = notifications.getNotifications(LISTEN_TIMEOUT_MILLIS);
+                    if (batch != null) {
+                        for (PGNotification notification : batch) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void send(Pending pending) {
+        String payload = node + ';' + System.currentTimeMillis() + ';' + pending.encode();
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            payload = node + ';' + System.currentTimeMillis() + ';' + FLUSH;
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        sent.incrementAndGet();
+    }
+
+    private void evict(List<Long> publications, List<Long> authors) {
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!publications.isEmpty()) {
+            bookCache.evictAll(publications);
+            catalogSnapshot.publicationsChanged(publications);
+            clusteredCache.evictLocal(CacheRegion.BOOKS, publications);
+            clusteredCache.evictLocal(CacheRegion.MAGAZINES, publications);
+            for (Long id : publications) {
+                secondLevelCache.evictEntityData(Publication.class, id);
+                secondLevelCache.evictCollectionData(Magazine.class.getName() + ".authors", id);
+            }
+        }
+        if (!authors.isEmpty()) {
+            for (Long id : authors) {
+                bookCache.evictByAuthor(id);
+                catalogSnapshot.authorChanged(id);
+                secondLevelCache.evictEntityData(Author.class, id);
+            }
+            // The books deleted with an author are not listed, nor the magazines that listed them
+            secondLevelCache.evictEntityData(Publication.class);
+            clusteredCache.clearLocal(CacheRegion.BOOKS);
+            clusteredCache.clearLocal(CacheRegion.MAGAZINES);
+            secondLevelCache.evictCollectionData(Magazine.class.getName() + ".authors");
+        }
+    }
+
+    private void flush() {
+        flushes.incrementAndGet();
+        bookCache.clear();
+        // A full scan, left to the snapshot's own thread so that notifications keep being read meanwhile
+        catalogSnapshot.replayLater();
+        clusteredCache.clearLocal(CacheRegion.BOOKS);
+        clusteredCache.clearLocal(CacheRegion.MAGAZINES);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * IDs changed by one transaction, in first-change order.
+     */
+    private static final class Pending {
+
+        private final Set<Long> publications = new LinkedHashSet<>();
+        private final Set<Long> authors = new LinkedHashSet<>();
+
+        void add(ChangedEntity entity, Collection<Long> ids) {
+            (entity == ChangedEntity.AUTHOR ? authors : publications).addAll(ids);
+        }
+
+        String encode() {
+            StringBuilder payload = new StringBuilder();
+            append(payload, 'P', publications);
+            append(payload, 'A', authors);
+            return payload.toString();
+        }
+
+        private static void append(StringBuilder payload, char section, Set<Long> ids) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            if (!payload.isEmpty()) {
+                payload.append(';');
+            }
+            payload.append(section);
+            boolean first = true;
+            for (Long id : ids) {
+                if (!first) {
+                    payload.append(',');
+                }
+                payload.append(id);
+                first = false;
+            }
+        }
+    }
+}
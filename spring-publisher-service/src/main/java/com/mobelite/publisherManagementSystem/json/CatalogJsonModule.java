@@ -0,0 +1,135 @@
+package com.mobelite.publisherManagementSystem.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Serializers for the books and authors of the list responses, registered with the application's
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} when {@code json.tuned-serializers.enabled} is set.
+ * <p>
+ * Books and their authors are written by hand, calling the getters directly instead of through reflection,
+ * with their field names encoded once and their dates written without a formatter. Their output matches the
+ * bean serialization byte for byte, so a field added to these DTOs must be added here too. Nothing else is
+ * registered: other types, pages and dates elsewhere are written as before.
+ */
+public class CatalogJsonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString PUBLICATION_DATE = new SerializedString("publicationDate");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString ISBN = new SerializedString("isbn");
+    private static final SerializedString AUTHOR = new SerializedString("author");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString NATIONALITY = new SerializedString("nationality");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+
+    public CatalogJsonModule() {
+        super("CatalogJsonModule");
+        addSerializer(BookResponseDto.class, new BookResponseSerializer());
+        addSerializer(AuthorSummaryDto.class, new AuthorSummarySerializer());
+    }
+
+    static final class BookResponseSerializer extends StdSerializer<BookResponseDto> {
+
+        BookResponseSerializer() {
+            super(BookResponseDto.class);
+        }
+
+        @Override
+        public void serialize(BookResponseDto book, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(book);
+            gen.writeFieldName(ID);
+            writeNumber(book.getId(), gen);
+            gen.writeFieldName(TITLE);
+            gen.writeString(book.getTitle());
+            gen.writeFieldName(PUBLICATION_DATE);
+            writeDate(book.getPublicationDate(), gen);
+            gen.writeFieldName(VERSION);
+            writeNumber(book.getVersion(), gen);
+            gen.writeFieldName(ISBN);
+            gen.writeString(book.getIsbn());
+            gen.writeFieldName(AUTHOR);
+            if (book.getAuthor() == null) {
+                gen.writeNull();
+            } else {
+                AuthorSummarySerializer.write(book.getAuthor(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class AuthorSummarySerializer extends StdSerializer<AuthorSummaryDto> {
+
+        AuthorSummarySerializer() {
+            super(AuthorSummaryDto.class);
+        }
+
+        @Override
+        public void serialize(AuthorSummaryDto author, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(author, gen);
+        }
+
+        static void write(AuthorSummaryDto author, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(author);
+            gen.writeFieldName(ID);
+            writeNumber(author.getId(), gen);
+            gen.writeFieldName(NAME);
+            gen.writeString(author.getName());
+            gen.writeFieldName(NATIONALITY);
+            gen.writeString(author.getNationality());
+            gen.writeFieldName(BIRTH_DATE);
+            writeDate(author.getBirthDate(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    /**
+     * Write a date as a {@code yyyy-MM-dd} string straight from its fields, as ISO dates are written with
+     * {@code WRITE_DATES_AS_TIMESTAMPS} disabled, which Spring Boot does.
+     */
+    private static void writeDate(LocalDate value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed or extended years, left to the JDK
+            gen.writeString(value.toString());
+            return;
+        }
+        char[] chars = new char[10];
+        chars[0] = digit(year / 1000);
+        chars[1] = digit(year / 100 % 10);
+        chars[2] = digit(year / 10 % 10);
+        chars[3] = digit(year % 10);
+        chars[4] = '-';
+        chars[5] = digit(value.getMonthValue() / 10);
+        chars[6] = digit(value.getMonthValue() % 10);
+        chars[7] = '-';
+        chars[8] = digit(value.getDayOfMonth() / 10);
+        chars[9] = digit(value.getDayOfMonth() % 10);
+        gen.writeString(chars, 0, chars.length);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
@@ -0,0 +1,183 @@
+package com.mobelite.publisherManagementSystem.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds API requests before they pile up on the connection pool. Requests beyond the adaptive
+ * {@link GradientConcurrencyLimit} wait briefly for a slot and are then answered with 503 and
+ * {@code Retry-After}, instead of tying up a worker thread until the pool times out.
+ */
+@Component
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final GradientConcurrencyLimit limit;
+    private final Duration maxQueueTime;
+    private final Duration retryAfter;
+    private final List<HikariDataSource> pools;
+    private final ObjectMapper objectMapper;
+    private Counter rejected;
+
+    public ConcurrencyLimitFilter(@Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+                                  @Value("${concurrency-limit.min-limit:4}") int minLimit,
+                                  @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+                                  @Value("${concurrency-limit.max-queued:50}") int maxQueued,
+                                  @Value("${concurrency-limit.max-queue-time:50ms}") Duration maxQueueTime,
+                                  @Value("${concurrency-limit.retry-after:1s}") Duration retryAfter,
+                                  ObjectProvider<HikariDataSource> pools,
+                                  ObjectMapper objectMapper) {
+        this.limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, maxQueued);
+        this.maxQueueTime = maxQueueTime;
+        this.retryAfter = retryAfter;
+        this.pools = pools.orderedStream().toList();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Actuator and API docs stay reachable under load
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = limit.tryAcquire(maxQueueTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep the slot until they are written, their latency is the client's
+                request.getAsyncContext().addListener(new AsyncRelease());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limit.release(System.nanoTime() - start, poolWaiters());
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.server.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current adaptive limit of concurrent API requests")
+                .register(registry);
+        Gauge.builder("http.server.concurrency.in-flight", limit, GradientConcurrencyLimit::getInFlight)
+                .description("API requests currently holding a slot")
+                .register(registry);
+        Gauge.builder("http.server.concurrency.queued", limit, GradientConcurrencyLimit::getQueued)
+                .description("API requests waiting for a slot")
+                .register(registry);
+        Gauge.builder("http.server.concurrency.latency", limit, GradientConcurrencyLimit::getLongRttMillis)
+                .description("Long-term average API request latency the limit is measured against")
+                .baseUnit("milliseconds")
+                .register(registry);
+        rejected = Counter.builder("http.server.concurrency.rejected")
+                .description("API requests rejected because the concurrency limit was reached")
+                .register(registry);
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        log.debug("Rejecting request, concurrency limit {} reached", limit.getLimit());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponseDto.error("Service overloaded, retry later"));
+    }
+
+    /**
+     * Releases the slot of an asynchronous request once it completes, errors or times out, without a latency
+     * sample: a stream lasts as long as the client takes to read it.
+     */
+    private final class AsyncRelease implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when the request goes async again
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            // An error or a timeout is followed by completion
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+    }
+
+    /**
+     * Threads waiting for a connection across the pools, 0 before they are started.
+     */
+    private int poolWaiters() {
+        return pools.stream()
+                .map(HikariDataSource::getHikariPoolMXBean)
+                .filter(Objects::nonNull)
+                .mapToInt(HikariPoolMXBean::getThreadsAwaitingConnection)
+                .sum();
+    }
+}
@@ -0,0 +1,180 @@
+package com.mobelite.publisherManagementSystem.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit adjusted from observed latency, after the gradient algorithm: the limit grows while
+ * request latency stays close to its long-term average and shrinks as soon as requests start queuing
+ * somewhere downstream, which shows up as rising latency or as threads waiting on the connection pool.
+ * <p>
+ * Requests above the limit wait a bounded time for a slot, then are rejected.
+ */
+public class GradientConcurrencyLimit {
+
+    /**
+     * Latency increase tolerated before the limit shrinks.
+     */
+    private static final double RTT_TOLERANCE = 1.5;
+
+    /**
+     * Weight of a new limit, to avoid swinging on a single slow or fast request.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * Number of samples averaged by the long-term latency.
+     */
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+
+    // Written under the lock, volatile for the metrics reading them without it
+    private volatile double limit;
+    private volatile double longRttNanos;
+    private volatile int inFlight;
+    private volatile int queued;
+
+    /**
+     * @param initialLimit Limit before any request completed
+     * @param minLimit Lowest limit
+     * @param maxLimit Highest limit
+     * @param maxQueued Requests allowed to wait for a slot at the same time, others are rejected at once
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int maxQueued) {
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Take a slot, waiting at most the given time for one to be released.
+     * @param maxWait Longest time to wait when the limit is reached
+     * @return false when no slot was free in time, the request must then be rejected
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueued) {
+                return false;
+            }
+
+            queued++;
+            try {
+                long remaining = maxWait.toNanos();
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = slotReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a slot and adjust the limit from the request latency.
+     * @param rttNanos Time the request held its slot
+     * @param poolWaiters Threads currently waiting for a database connection
+     */
+    public void release(long rttNanos, int poolWaiters) {
+        lock.lock();
+        try {
+            inFlight--;
+            update(rttNanos, poolWaiters);
+            signalFreeSlots();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a slot without adjusting the limit, for requests whose latency does not reflect the load, such as
+     * streaming responses holding their slot while the client reads.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            signalFreeSlots();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wake one waiter per free slot: the limit may have grown by more than the slot just released.
+     */
+    private void signalFreeSlots() {
+        for (int free = Math.min(queued, (int) limit - inFlight); free > 0; free--) {
+            slotReleased.signal();
+        }
+    }
+
+    private void update(long rttNanos, int poolWaiters) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        // Let the average follow a lasting drop in latency instead of waiting for the window to catch up
+        if (longRttNanos > 2 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // Far below the limit the latency says nothing about it, do not grow out of reach
+        if (inFlight < limit / 2 && poolWaiters == 0) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double growth = Math.sqrt(limit);
+        if (poolWaiters > 0) {
+            // Requests are queuing on the pool: stop growing and back off until they no longer do
+            gradient = Math.min(gradient, 0.9);
+            growth = 0;
+        }
+
+        double newLimit = limit * gradient + growth;
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return Long-term average latency in milliseconds
+     */
+    public double getLongRttMillis() {
+        return longRttNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -5,6 +5,7 @@ import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequest
 import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.repository.projection.BookSummaryView;
 import org.mapstruct.*;
 
 
@@ -22,6 +23,9 @@ public interface BookMapper {
     @Mapping(target = "authorName", source = "author.name")
     BookSummaryResponseDto toSummaryResponse(Book book);
 
+    @Mapping(target = "type", constant = "BOOK")
+    BookSummaryResponseDto toSummaryResponse(BookSummaryView view);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "author", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
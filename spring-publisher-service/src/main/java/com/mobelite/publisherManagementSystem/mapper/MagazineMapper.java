@@ -1,9 +1,12 @@
 package com.mobelite.publisherManagementSystem.mapper;
 
 import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineSummaryView;
 import org.mapstruct.*;
 
 
@@ -28,6 +31,12 @@ public interface MagazineMapper {
     @Mapping(target = "authors", source = "authors")
     MagazineSummaryResponseDto toSummaryDto(Magazine magazine);
 
+    @Mapping(target = "type", constant = "MAGAZINE")
+    @Mapping(target = "authors", ignore = true)
+    MagazineSummaryResponseDto toSummaryDto(MagazineSummaryView view);
+
+    AuthorSummaryDto toAuthorSummaryDto(MagazineAuthorView view);
+
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "authors", ignore = true)
@@ -9,6 +9,8 @@ import com.mobelite.publisherManagementSystem.dto.response.publication.Publicati
 import com.mobelite.publisherManagementSystem.entity.Publication;
 import com.mobelite.publisherManagementSystem.entity.Book;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationSummaryView;
 import org.mapstruct.*;
 
 
@@ -18,7 +20,9 @@ public interface PublicationMapper {
     BookResponseDto bookToResponseDto(Book book);
     MagazineResponseDto magazineToResponseDto(Magazine magazine);
 
+    @Mapping(target = "type", constant = "BOOK")
     BookSummaryResponseDto bookToSummaryDto(Book book);
+    @Mapping(target = "type", constant = "MAGAZINE")
     MagazineSummaryResponseDto magazineToSummaryDto(Magazine magazine);
 
     default PublicationResponseDto toResponseDto(Publication publication) {
@@ -30,6 +34,22 @@ public interface PublicationMapper {
         throw new IllegalArgumentException("Unknown publication type");
     }
 
+    @Mapping(target = "type", constant = "BOOK")
+    BookSummaryResponseDto bookViewToSummaryDto(PublicationSummaryView view);
+
+    @Mapping(target = "type", constant = "MAGAZINE")
+    @Mapping(target = "authors", ignore = true)
+    MagazineSummaryResponseDto magazineViewToSummaryDto(PublicationSummaryView view);
+
+    default PublicationSummaryResponseDto toSummaryResponseDto(PublicationSummaryView view) {
+        if (PublicationType.BOOK.name().equals(view.getType())) {
+            return bookViewToSummaryDto(view);
+        } else if (PublicationType.MAGAZINE.name().equals(view.getType())) {
+            return magazineViewToSummaryDto(view);
+        }
+        throw new IllegalArgumentException("Unknown publication type");
+    }
+
     default PublicationSummaryResponseDto toSummaryResponseDto(Publication publication) {
         if (publication instanceof Book) {
             return bookToSummaryDto((Book) publication);
@@ -0,0 +1,20 @@
+package com.mobelite.publisherManagementSystem.outbox;
+
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+
+import java.time.Instant;
+
+/**
+ * Change of one entity, as delivered to the {@link ChangeSubscriber}s.
+ * <p>
+ * Deleting an author deletes their books, which are not reported separately.
+ *
+ * @param position Position of the change record in the outbox, increasing in commit order for a given entity
+ * @param entity Kind of entity
+ * @param entityId Entity ID
+ * @param change Kind of write
+ * @param occurredAt When the write was made
+ */
+public record ChangeEvent(long position, ChangedEntity entity, long entityId, ChangeType change, Instant occurredAt) {
+}
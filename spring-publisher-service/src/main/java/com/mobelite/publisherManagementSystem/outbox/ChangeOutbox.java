@@ -0,0 +1,91 @@
+package com.mobelite.publisherManagementSystem.outbox;
+
+import com.mobelite.publisherManagementSystem.entity.OutboxEvent;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends change records to the outbox table in the transaction of the write they report, so that a change
+ * is delivered if and only if its write commits, without a second system to keep in step.
+ * <p>
+ * The change of each {@link CatalogChangeEvent} is recorded just before its transaction commits, after the
+ * write has locked the rows it updates or deletes: the record ID is assigned on insert, so the records of one
+ * entity are numbered in commit order.
+ * <p>
+ * Nothing is recorded while no {@link ChangeSubscriber} is registered: the records would only be deleted undelivered.
+ */
+@Component
+@Slf4j
+public class ChangeOutbox implements SmartInitializingSingleton {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<ChangeSubscriber> subscribers;
+    private final boolean enabled;
+    private volatile boolean recording;
+
+    public ChangeOutbox(OutboxEventRepository outboxEventRepository,
+                        ObjectProvider<ChangeSubscriber> subscribers,
+                        @Value("${outbox.enabled:false}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record changes only once a subscriber is known to consume them.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        recording = enabled && subscribers.stream().findAny().isPresent();
+        if (enabled && !recording) {
+            log.info("Outbox enabled without a change subscriber, not recording changes");
+        }
+    }
+
+    /**
+     * Record the change of a write to the catalog, in its transaction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        record(event.entity(), event.change(), event.ids());
+    }
+
+    /**
+     * Record a change of one entity in the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangedEntity entity, ChangeType change, Long id) {
+        record(entity, change, List.of(id));
+    }
+
+    /**
+     * Record a change of several entities in the current transaction, as one record.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangedEntity entity, ChangeType change, Collection<Long> ids) {
+        if (!recording || ids.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .entityType(entity)
+                .changeType(change)
+                .entityIds(ids.stream().mapToLong(Long::longValue).toArray())
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.mobelite.publisherManagementSystem.outbox;
+
+import java.util.List;
+
+/**
+ * In-process consumer of the changes committed to the catalog, registered as a bean.
+ * <p>
+ * Changes are delivered at least once: a batch is delivered again when a subscriber throws or the instance
+ * stops before the batch is acknowledged, so subscribers must be idempotent. The changes of one entity are
+ * delivered in the order they were committed.
+ */
+public interface ChangeSubscriber {
+
+    /**
+     * @param changes Batch of changes, in outbox order
+     */
+    void onChanges(List<ChangeEvent> changes);
+}
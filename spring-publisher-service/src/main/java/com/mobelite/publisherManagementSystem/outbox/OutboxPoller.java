@@ -0,0 +1,176 @@
+package com.mobelite.publisherManagementSystem.outbox;
+
+import com.mobelite.publisherManagementSystem.entity.OutboxEvent;
+import com.mobelite.publisherManagementSystem.entity.OutboxLease;
+import com.mobelite.publisherManagementSystem.repository.OutboxEventRepository;
+import com.mobelite.publisherManagementSystem.repository.OutboxLeaseRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the outbox to the {@link ChangeSubscriber}s in batches, oldest first, and deletes each batch
+ * in the transaction that delivered it.
+ * <p>
+ * Each poll locks the outbox lease with {@code SKIP LOCKED}: the instance holding it delivers, the others skip
+ * the poll instead of waiting. Delivering from one instance at a time keeps the changes of an entity in order.
+ * A poll drains the outbox batch after batch until it finds a partial batch. Without a subscriber, the outbox is
+ * not polled, so that records left by an earlier run are kept for the subscribers of a later one.
+ */
+@Component
+@Slf4j
+public class OutboxPoller implements DisposableBean, MeterBinder {
+
+    private static final int LEASE_ID = 1;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxLeaseRepository outboxLeaseRepository;
+    private final ObjectProvider<ChangeSubscriber> subscribers;
+    private final TransactionTemplate pollTransaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private ScheduledExecutorService polls;
+
+    /**
+     * @param batchSize Change records delivered and deleted per transaction
+     * @param pollInterval Time between two polls once the outbox is drained, zero to only poll on demand
+     */
+    public OutboxPoller(OutboxEventRepository outboxEventRepository,
+                        OutboxLeaseRepository outboxLeaseRepository,
+                        ObjectProvider<ChangeSubscriber> subscribers,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${outbox.enabled:false}") boolean enabled,
+                        @Value("${outbox.batch-size:1000}") int batchSize,
+                        @Value("${outbox.poll-interval:200ms}") Duration pollInterval) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxLeaseRepository = outboxLeaseRepository;
+        this.subscribers = subscribers;
+        this.pollTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Start polling once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || pollInterval.isZero() || pollInterval.isNegative() || !subscribed()) {
+            return;
+        }
+        polls = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        polls.scheduleWithFixedDelay(this::drainQuietly, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (polls != null) {
+            polls.shutdownNow();
+        }
+    }
+
+    /**
+     * Deliver and delete batches until the outbox is drained or another instance holds the lease.
+     * @return Number of change records delivered
+     */
+    public int drain() {
+        if (!subscribed()) {
+            return 0;
+        }
+        int total = 0;
+        int polled;
+        do {
+            polled = poll();
+            total += polled;
+        } while (polled == batchSize);
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("outbox.events.delivered", delivered, AtomicLong::get)
+                .description("Change records delivered to the outbox subscribers")
+                .register(registry);
+        FunctionCounter.builder("outbox.poll.failures", failures, AtomicLong::get)
+                .description("Outbox polls rolled back, their batch is delivered again")
+                .register(registry);
+    }
+
+    private boolean subscribed() {
+        return subscribers.stream().findAny().isPresent();
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Outbox delivery failed, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver and delete the oldest batch of change records, holding the lease.
+     * @return Number of change records delivered
+     */
+    private int poll() {
+        Integer polled = pollTransaction.execute(status -> {
+            if (outboxLeaseRepository.tryLock(LEASE_ID).isEmpty()) {
+                if (outboxLeaseRepository.existsById(LEASE_ID)) {
+                    // Another instance is delivering
+                    return 0;
+                }
+                // First poll ever: the inserted lease stays locked until this transaction ends
+                outboxLeaseRepository.saveAndFlush(new OutboxLease(LEASE_ID));
+            }
+
+            List<OutboxEvent> batch = outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<ChangeEvent> changes = new ArrayList<>();
+            for (OutboxEvent event : batch) {
+                for (long entityId : event.getEntityIds()) {
+                    changes.add(new ChangeEvent(event.getId(), event.getEntityType(), entityId,
+                            event.getChangeType(), event.getCreatedAt()));
+                }
+            }
+            List<ChangeEvent> delivering = Collections.unmodifiableList(changes);
+            subscribers.orderedStream().forEach(subscriber -> subscriber.onChanges(delivering));
+
+            outboxEventRepository.deleteAllByIdIn(batch.stream().map(OutboxEvent::getId).toList());
+            return batch.size();
+        });
+        delivered.addAndGet(polled);
+        return polled;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mobelite.publisherManagementSystem.pagination;
+
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page in a (sort key, id) ordering.
+ * Clients only see its opaque Base64 form and send it back unchanged.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final String key;
+    private final Long id;
+
+    /**
+     * Encode the cursor as an opaque, URL-safe token.
+     * @return The token
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     * @param token The token, blank for the first page
+     * @return The cursor, or null for the first page
+     * @throws BusinessException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Invalid cursor: " + token);
+        }
+    }
+}
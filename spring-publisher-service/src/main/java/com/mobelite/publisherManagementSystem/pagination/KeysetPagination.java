@@ -0,0 +1,55 @@
+package com.mobelite.publisherManagementSystem.pagination;
+
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the keyset (cursor) pagination paths.
+ * Repositories are asked for one row more than the page size, which tells whether a next page exists
+ * without running a count query.
+ */
+public final class KeysetPagination {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Number of rows to fetch for a page of the given size.
+     * @param size Requested page size
+     * @return size + 1
+     * @throws BusinessException if the size is out of range
+     */
+    public static int fetchSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size + 1;
+    }
+
+    /**
+     * Build the cursor page from rows fetched with {@link #fetchSize(int)}.
+     * @param rows Rows in keyset order, at most size + 1
+     * @param size Requested page size
+     * @param cursorOf Extracts the keyset position of a row
+     * @param mapper Maps a row to its response DTO
+     * @return The cursor page
+     */
+    public static <E, T> CursorPageResponseDto<T> toPage(List<E> rows, int size,
+                                                         Function<E, KeysetCursor> cursorOf,
+                                                         Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPageResponseDto.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.get(size - 1)).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,474 @@
+package com.mobelite.publisherManagementSystem.readmodel;
+
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.GroupedPublicationsResponse;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.readmodel.ColumnarCatalog.AuthorRow;
+import com.mobelite.publisherManagementSystem.readmodel.ColumnarCatalog.PublicationRow;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorRowView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorLinkView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRowView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process read model of the catalog, answering the publication, book-by-author and author
+ * listings from a {@link ColumnarCatalog} instead of JPA.
+ * <p>
+ * The catalog is built once the application is ready and rebuilt periodically, which also compacts deleted
+ * rows and picks up writes made outside the services. Every write is followed through its
+ * {@link CatalogChangeEvent}, and applied once its transaction commits. Changes committed during a build are replayed onto it before it is published.
+ * <p>
+ * Listings are served in title or name order, compared by code point rather than by database collation.
+ * Until the catalog is built, when the model is disabled, or for a sort it does not keep, the finders
+ * return empty and callers query the database.
+ */
+@Component
+@Slf4j
+public class CatalogReadModel implements MeterBinder, DisposableBean {
+
+    private static final String ID = "id";
+
+    private final PublicationRepository publicationRepository;
+    private final AuthorRepository authorRepository;
+    private final MagazineRepository magazineRepository;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+    private final Duration rebuildInterval;
+
+    /**
+     * Changes applied while a catalog is being built, replayed onto it before it is published.
+     * Guarded by the write lock, null when no build is running.
+     */
+    private List<Consumer<ColumnarCatalog>> pending;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ColumnarCatalog catalog;
+    private ScheduledExecutorService rebuilds;
+
+    /**
+     * @param rebuildInterval Time between two rebuilds from the database, zero to only build at startup
+     */
+    public CatalogReadModel(PublicationRepository publicationRepository,
+                            AuthorRepository authorRepository,
+                            MagazineRepository magazineRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${catalog-read-model.enabled:false}") boolean enabled,
+                            @Value("${catalog-read-model.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.publicationRepository = publicationRepository;
+        this.authorRepository = authorRepository;
+        this.magazineRepository = magazineRepository;
+        this.enabled = enabled;
+        this.rebuildInterval = rebuildInterval;
+        this.pending = enabled ? new ArrayList<>() : null;
+
+        // The three loads read the same snapshot. Not read-only: a lagging replica would lose recent writes until the next build
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Page of publication summaries in title order.
+     * @param pageable Page request, sorted by title or unsorted
+     * @return Page of summaries, empty when the read model cannot serve the request
+     */
+    public Optional<Page<PublicationSummaryResponseDto>> findAllPublications(Pageable pageable) {
+        Boolean descending = descending(pageable, "title");
+        if (descending == null) {
+            return Optional.empty();
+        }
+        return read(current -> page(pageable, current.publicationCount(),
+                position -> toSummary(current, current.publicationInTitleOrder(position, descending))));
+    }
+
+    /**
+     * All publication summaries, split by type.
+     * @return Books and magazines, empty when the read model is not built
+     */
+    public Optional<GroupedPublicationsResponse> findAllPublicationsGroupedByType() {
+        return read(current -> {
+            List<BookSummaryResponseDto> books = new ArrayList<>();
+            List<MagazineSummaryResponseDto> magazines = new ArrayList<>();
+            for (int row = 0; row < current.publicationRows(); row++) {
+                if (current.type(row) == ColumnarCatalog.BOOK) {
+                    books.add(toBookSummary(current, row));
+                } else if (current.type(row) == ColumnarCatalog.MAGAZINE) {
+                    magazines.add(toMagazineSummary(current, row));
+                }
+            }
+            return GroupedPublicationsResponse.builder().books(books).magazines(magazines).build();
+        });
+    }
+
+    /**
+     * Page of the book summaries of an author.
+     * @param authorId Author ID
+     * @param pageable Page request, sorted by title or unsorted
+     * @return Page of summaries, no books for an unknown author, empty when the read model cannot serve the request
+     */
+    public Optional<Page<BookSummaryResponseDto>> findBooksByAuthor(Long authorId, Pageable pageable) {
+        Boolean descending = descending(pageable, "title");
+        if (descending == null) {
+            return Optional.empty();
+        }
+        return read(current -> {
+            int author = current.authorRow(authorId);
+            int[] books = author < 0 ? new int[0] : sortedBooks(current, current.authorBooks(author), descending);
+            return page(pageable, books.length, position -> toBookSummary(current, books[position]));
+        });
+    }
+
+    /**
+     * Page of authors in name order, with their books and magazines.
+     * @param pageable Page request, sorted by name or unsorted
+     * @return Page of authors, empty when the read model cannot serve the request
+     */
+    public Optional<Page<AuthorResponseDto>> findAllAuthors(Pageable pageable) {
+        Boolean descending = descending(pageable, "name");
+        if (descending == null) {
+            return Optional.empty();
+        }
+        return read(current -> page(pageable, current.authorCount(),
+                position -> toAuthor(current, current.authorInNameOrder(position, descending))));
+    }
+
+    /**
+     * Follow a write to the catalog once it commits, see the methods it is dispatched to.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.isPublicationChange()) {
+            switch (event.change()) {
+                case CREATED -> publicationsCreated(event.publications());
+                case UPDATED -> event.publications().forEach(this::publicationUpdated);
+                case DELETED -> publicationsDeleted(event.ids());
+            }
+            return;
+        }
+        switch (event.change()) {
+            case CREATED -> authorCreated(event.author());
+            case DELETED -> authorDeleted(event.ids().get(0));
+            default -> {
+                // Authors are not updated in place
+            }
+        }
+    }
+
+    /**
+     * Add a new publication.
+     */
+    public void publicationCreated(Publication publication) {
+        publicationsCreated(List.of(publication));
+    }
+
+    /**
+     * Add new publications.
+     */
+    public void publicationsCreated(Collection<? extends Publication> publications) {
+        if (!enabled) {
+            return;
+        }
+        List<PublicationRow> rows = publications.stream().map(PublicationRow::of).toList();
+        apply(current -> rows.forEach(current::putPublication));
+    }
+
+    /**
+     * Replace the columns of an updated publication.
+     */
+    public void publicationUpdated(Publication publication) {
+        publicationCreated(publication);
+    }
+
+    /**
+     * Remove deleted publications. IDs that do not exist are ignored.
+     */
+    public void publicationsDeleted(Collection<Long> ids) {
+        List<Long> deleted = List.copyOf(ids);
+        apply(current -> deleted.forEach(current::removePublication));
+    }
+
+    /**
+     * Add a new author.
+     */
+    public void authorCreated(Author author) {
+        AuthorRow row = AuthorRow.of(author);
+        apply(current -> current.putAuthor(row));
+    }
+
+    /**
+     * Remove a deleted author with their books.
+     */
+    public void authorDeleted(Long id) {
+        apply(current -> current.removeAuthor(id));
+    }
+
+    /**
+     * Build once the application is ready, then start the periodic rebuilds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuildQuietly();
+
+        if (rebuildInterval.isZero() || rebuildInterval.isNegative()) {
+            return;
+        }
+        rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-read-model-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilds.scheduleWithFixedDelay(this::rebuildQuietly,
+                rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilds != null) {
+            rebuilds.shutdownNow();
+        }
+    }
+
+    /**
+     * Load the whole catalog from the database and replace the current one with it.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        ColumnarCatalog built = null;
+        try {
+            built = loadTransaction.execute(status -> load());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built != null) {
+                    for (Consumer<ColumnarCatalog> change : pending) {
+                        change.accept(built);
+                    }
+                    catalog = built;
+                    pending = null;
+                } else if (catalog != null) {
+                    // Changes were applied to the current catalog, only an unbuilt model keeps collecting them
+                    pending = null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long took = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        read(current -> {
+            long memory = current.memoryBytes();
+            log.info("Catalog read model built in {} ms: {} publications, {} authors, {} KB ({} bytes per publication)",
+                    took, current.publicationCount(), current.authorCount(),
+                    memory / 1024, current.publicationCount() == 0 ? 0 : memory / current.publicationCount());
+            return memory;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.read.model.publications", this, model -> model.measure(ColumnarCatalog::publicationCount))
+                .description("Publications held by the catalog read model")
+                .register(registry);
+        Gauge.builder("catalog.read.model.memory", this, model -> model.measure(ColumnarCatalog::memoryBytes))
+                .description("Approximate heap taken by the catalog read model")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Catalog read model rebuild failed, keeping the maintained model: {}", e.getMessage());
+        }
+    }
+
+    private ColumnarCatalog load() {
+        ColumnarCatalog built = new ColumnarCatalog(
+                Math.toIntExact(publicationRepository.count()), Math.toIntExact(authorRepository.count()));
+
+        try (Stream<AuthorRowView> authors = authorRepository.streamAllRows()) {
+            authors.forEach(author -> built.appendAuthor(
+                    new AuthorRow(author.getId(), author.getName(), author.getNationality(), author.getBirthDate())));
+        }
+        try (Stream<PublicationRowView> publications = publicationRepository.streamAllRows()) {
+            publications.forEach(publication -> built.appendPublication(new PublicationRow(publication.getId(),
+                    PublicationType.BOOK.name().equals(publication.getType()) ? ColumnarCatalog.BOOK : ColumnarCatalog.MAGAZINE,
+                    publication.getTitle(), publication.getPublicationDate(), publication.getIsbn(), publication.getIssueNumber(),
+                    publication.getAuthorId() == null ? new long[0] : new long[]{publication.getAuthorId()})));
+        }
+        try (Stream<MagazineAuthorLinkView> links = magazineRepository.streamAllAuthorLinks()) {
+            links.forEach(link -> built.linkMagazineAuthor(link.getMagazineId(), link.getAuthorId()));
+        }
+
+        built.sortAll();
+        return built;
+    }
+
+    private <T> Optional<T> read(Function<ColumnarCatalog, T> query) {
+        lock.readLock().lock();
+        try {
+            return catalog == null ? Optional.empty() : Optional.of(query.apply(catalog));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double measure(ToLongFunction<ColumnarCatalog> metric) {
+        return read(current -> (double) metric.applyAsLong(current)).orElse(0.0);
+    }
+
+    private void apply(Consumer<ColumnarCatalog> change) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (catalog != null) {
+                change.accept(catalog);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <T> Page<T> page(Pageable pageable, int total, IntFunction<T> element) {
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        return new PageImpl<>(IntStream.range(from, to).mapToObj(element).toList(), pageable, total);
+    }
+
+    private static int[] sortedBooks(ColumnarCatalog current, int[] books, boolean descending) {
+        Comparator<Integer> byTitle = Comparator.<Integer, String>comparing(current::title)
+                .thenComparingLong(current::publicationId);
+        return IntStream.of(books)
+                .boxed()
+                .sorted(descending ? byTitle.reversed() : byTitle)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * @return Whether the page is sorted descending on the given property, null for a sort the read model does not keep
+     */
+    private static Boolean descending(Pageable pageable, String property) {
+        if (pageable.isUnpaged()) {
+            return null;
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.isEmpty()) {
+            return false;
+        }
+        Sort.Order first = orders.get(0);
+        boolean keyed = first.getProperty().equals(property) && !first.isIgnoreCase();
+        // Ties are broken by ID in the same direction
+        boolean tieBreak = orders.size() == 1 || (orders.size() == 2
+                && orders.get(1).getProperty().equals(ID) && orders.get(1).getDirection() == first.getDirection());
+        return keyed && tieBreak ? first.isDescending() : null;
+    }
+
+    private static PublicationSummaryResponseDto toSummary(ColumnarCatalog current, int row) {
+        return current.type(row) == ColumnarCatalog.BOOK ? toBookSummary(current, row) : toMagazineSummary(current, row);
+    }
+
+    private static BookSummaryResponseDto toBookSummary(ColumnarCatalog current, int row) {
+        int author = current.bookAuthor(row);
+        return BookSummaryResponseDto.builder()
+                .id(current.publicationId(row))
+                .title(current.title(row))
+                .publicationDate(current.publicationDate(row))
+                .type(PublicationType.BOOK)
+                .isbn(current.isbn(row))
+                .authorName(author < 0 ? null : current.name(author))
+                .build();
+    }
+
+    private static MagazineSummaryResponseDto toMagazineSummary(ColumnarCatalog current, int row) {
+        return MagazineSummaryResponseDto.builder()
+                .id(current.publicationId(row))
+                .title(current.title(row))
+                .publicationDate(current.publicationDate(row))
+                .type(PublicationType.MAGAZINE)
+                .issueNumber(current.issueNumber(row))
+                .authors(IntStream.of(current.magazineAuthors(row)).mapToObj(author -> toAuthorSummary(current, author)).toList())
+                .build();
+    }
+
+    private static AuthorSummaryDto toAuthorSummary(ColumnarCatalog current, int row) {
+        return AuthorSummaryDto.builder()
+                .id(current.authorId(row))
+                .name(current.name(row))
+                .nationality(current.nationality(row))
+                .birthDate(current.birthDate(row))
+                .build();
+    }
+
+    private static AuthorResponseDto toAuthor(ColumnarCatalog current, int row) {
+        return AuthorResponseDto.builder()
+                .id(current.authorId(row))
+                .name(current.name(row))
+                .birthDate(current.birthDate(row))
+                .nationality(current.nationality(row))
+                .books(IntStream.of(current.authorBooks(row)).mapToObj(book -> toBookSummary(current, book)).toList())
+                .magazines(IntStream.of(current.authorMagazines(row)).mapToObj(magazine -> toMagazineSummary(current, magazine)).toList())
+                .build();
+    }
+}
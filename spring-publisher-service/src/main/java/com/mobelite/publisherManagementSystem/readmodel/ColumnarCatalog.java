@@ -0,0 +1,452 @@
+package com.mobelite.publisherManagementSystem.readmodel;
+
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Publications and authors held column by column in primitive arrays, one row position per publication
+ * or author, with primitive ID to row maps and the rows kept in title and name order.
+ * <p>
+ * Deleted rows are cleared and left in place until the catalog is rebuilt. Author names and nationalities
+ * are interned, as they repeat across authors. Not thread-safe, {@link CatalogReadModel} guards it with a lock.
+ */
+final class ColumnarCatalog {
+
+    static final byte DELETED = 0;
+    static final byte BOOK = 1;
+    static final byte MAGAZINE = 2;
+
+    /**
+     * Stored for a missing date or issue number.
+     */
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int NO_AUTHOR = -1;
+    private static final int[] NO_AUTHORS = new int[0];
+
+    /**
+     * Rough heap cost of a string besides its characters: object and array headers, hash and length.
+     */
+    private static final int STRING_OVERHEAD = 40;
+
+    /**
+     * Size of an object reference with compressed pointers.
+     */
+    private static final int REFERENCE = 4;
+
+    /**
+     * Columns of a publication, captured from an entity or a projection when it is written.
+     */
+    record PublicationRow(long id, byte type, String title, LocalDate publicationDate,
+                          String isbn, Integer issueNumber, long[] authorIds) {
+
+        static PublicationRow of(Publication publication) {
+            if (publication instanceof Book book) {
+                return new PublicationRow(book.getId(), BOOK, book.getTitle(), book.getPublicationDate(), book.getIsbn(), null,
+                        book.getAuthor() == null ? new long[0] : new long[]{book.getAuthor().getId()});
+            }
+            Magazine magazine = (Magazine) publication;
+            return new PublicationRow(magazine.getId(), MAGAZINE, magazine.getTitle(), magazine.getPublicationDate(), null,
+                    magazine.getIssueNumber(),
+                    magazine.getAuthors() == null ? new long[0] : magazine.getAuthors().stream().mapToLong(Author::getId).toArray());
+        }
+    }
+
+    /**
+     * Columns of an author, captured when it is written.
+     */
+    record AuthorRow(long id, String name, String nationality, LocalDate birthDate) {
+
+        static AuthorRow of(Author author) {
+            return new AuthorRow(author.getId(), author.getName(), author.getNationality(), author.getBirthDate());
+        }
+    }
+
+    private int publicationRows;
+    private long[] publicationIds;
+    private byte[] types;
+    private String[] titles;
+    private int[] publicationDates;
+    private String[] isbns;
+    private int[] issueNumbers;
+    private int[] bookAuthors;
+    private int[][] magazineAuthors;
+    private final LongIntMap publicationIndex;
+    private final RowOrder publicationsByTitle;
+
+    private int authorRows;
+    private long[] authorIds;
+    private String[] names;
+    private String[] nationalities;
+    private int[] birthDates;
+    private IntList[] authorBooks;
+    private IntList[] authorMagazines;
+    private final LongIntMap authorIndex;
+    private final RowOrder authorsByName;
+
+    private final Map<String, String> interned = new HashMap<>();
+    private long stringBytes;
+
+    ColumnarCatalog(int expectedPublications, int expectedAuthors) {
+        int publicationCapacity = Math.max(16, expectedPublications);
+        publicationIds = new long[publicationCapacity];
+        types = new byte[publicationCapacity];
+        titles = new String[publicationCapacity];
+        publicationDates = new int[publicationCapacity];
+        isbns = new String[publicationCapacity];
+        issueNumbers = new int[publicationCapacity];
+        bookAuthors = new int[publicationCapacity];
+        magazineAuthors = new int[publicationCapacity][];
+        publicationIndex = new LongIntMap(publicationCapacity);
+        publicationsByTitle = new RowOrder((first, second) -> {
+            int compared = titles[first].compareTo(titles[second]);
+            return compared != 0 ? compared : Long.compare(publicationIds[first], publicationIds[second]);
+        });
+
+        int authorCapacity = Math.max(16, expectedAuthors);
+        authorIds = new long[authorCapacity];
+        names = new String[authorCapacity];
+        nationalities = new String[authorCapacity];
+        birthDates = new int[authorCapacity];
+        authorBooks = new IntList[authorCapacity];
+        authorMagazines = new IntList[authorCapacity];
+        authorIndex = new LongIntMap(authorCapacity);
+        authorsByName = new RowOrder((first, second) -> {
+            int compared = names[first].compareTo(names[second]);
+            return compared != 0 ? compared : Long.compare(authorIds[first], authorIds[second]);
+        });
+    }
+
+    // Loading: rows are appended without maintaining the orders, sortAll() sorts them once at the end
+
+    void appendAuthor(AuthorRow author) {
+        int row = authorRows++;
+        ensureAuthorCapacity(authorRows);
+        authorIds[row] = author.id();
+        authorBooks[row] = new IntList(0);
+        authorMagazines[row] = new IntList(0);
+        setAuthorColumns(row, author);
+        authorIndex.put(author.id(), row);
+    }
+
+    void appendPublication(PublicationRow publication) {
+        int row = publicationRows++;
+        ensurePublicationCapacity(publicationRows);
+        publicationIds[row] = publication.id();
+        setPublicationColumns(row, publication);
+        publicationIndex.put(publication.id(), row);
+    }
+
+    void linkMagazineAuthor(long magazineId, long authorId) {
+        int row = publicationIndex.get(magazineId);
+        int author = authorIndex.get(authorId);
+        if (row == LongIntMap.ABSENT || author == LongIntMap.ABSENT || types[row] != MAGAZINE) {
+            return;
+        }
+        int[] authors = Arrays.copyOf(magazineAuthors[row], magazineAuthors[row].length + 1);
+        authors[authors.length - 1] = author;
+        magazineAuthors[row] = authors;
+        authorMagazines[author].add(row);
+    }
+
+    void sortAll() {
+        publicationsByTitle.reset(IntStream.range(0, publicationRows).filter(row -> types[row] != DELETED).toArray());
+        authorsByName.reset(IntStream.range(0, authorRows).filter(row -> names[row] != null).toArray());
+    }
+
+    // Changes, keeping the orders
+
+    void putAuthor(AuthorRow author) {
+        int row = authorIndex.get(author.id());
+        if (row == LongIntMap.ABSENT) {
+            appendAuthor(author);
+            authorsByName.insert(authorRows - 1);
+            return;
+        }
+        authorsByName.remove(row);
+        setAuthorColumns(row, author);
+        authorsByName.insert(row);
+    }
+
+    /**
+     * Remove an author with their books, and unlink them from their magazines.
+     */
+    void removeAuthor(long id) {
+        int row = authorIndex.get(id);
+        if (row == LongIntMap.ABSENT) {
+            return;
+        }
+        for (int book : authorBooks[row].toArray()) {
+            removePublication(publicationIds[book]);
+        }
+        for (int magazine : authorMagazines[row].toArray()) {
+            magazineAuthors[magazine] = IntStream.of(magazineAuthors[magazine]).filter(author -> author != row).toArray();
+        }
+
+        authorsByName.remove(row);
+        authorIndex.remove(id);
+        names[row] = null;
+        nationalities[row] = null;
+        authorBooks[row] = null;
+        authorMagazines[row] = null;
+    }
+
+    void putPublication(PublicationRow publication) {
+        int row = publicationIndex.get(publication.id());
+        if (row == LongIntMap.ABSENT) {
+            appendPublication(publication);
+            publicationsByTitle.insert(publicationRows - 1);
+            return;
+        }
+        publicationsByTitle.remove(row);
+        unlinkAuthors(row);
+        clearStrings(row);
+        setPublicationColumns(row, publication);
+        publicationsByTitle.insert(row);
+    }
+
+    void removePublication(long id) {
+        int row = publicationIndex.get(id);
+        if (row == LongIntMap.ABSENT) {
+            return;
+        }
+        publicationsByTitle.remove(row);
+        unlinkAuthors(row);
+        clearStrings(row);
+        publicationIndex.remove(id);
+        types[row] = DELETED;
+        titles[row] = null;
+        isbns[row] = null;
+        magazineAuthors[row] = NO_AUTHORS;
+        bookAuthors[row] = NO_AUTHOR;
+    }
+
+    // Reads
+
+    int publicationCount() {
+        return publicationsByTitle.size();
+    }
+
+    /**
+     * @param position Position in title order
+     * @param descending Whether to count the position from the end
+     */
+    int publicationInTitleOrder(int position, boolean descending) {
+        return publicationsByTitle.get(descending ? publicationsByTitle.size() - 1 - position : position);
+    }
+
+    /**
+     * @return Number of publication rows, deleted ones included
+     */
+    int publicationRows() {
+        return publicationRows;
+    }
+
+    long publicationId(int row) {
+        return publicationIds[row];
+    }
+
+    byte type(int row) {
+        return types[row];
+    }
+
+    String title(int row) {
+        return titles[row];
+    }
+
+    LocalDate publicationDate(int row) {
+        return toDate(publicationDates[row]);
+    }
+
+    String isbn(int row) {
+        return isbns[row];
+    }
+
+    Integer issueNumber(int row) {
+        return issueNumbers[row] == NONE ? null : issueNumbers[row];
+    }
+
+    /**
+     * @return Author row of a book, -1 when it has none
+     */
+    int bookAuthor(int row) {
+        return bookAuthors[row];
+    }
+
+    int[] magazineAuthors(int row) {
+        return magazineAuthors[row];
+    }
+
+    int authorCount() {
+        return authorsByName.size();
+    }
+
+    int authorInNameOrder(int position, boolean descending) {
+        return authorsByName.get(descending ? authorsByName.size() - 1 - position : position);
+    }
+
+    /**
+     * @return Row of the author, -1 when it does not exist
+     */
+    int authorRow(long id) {
+        return authorIndex.get(id);
+    }
+
+    long authorId(int row) {
+        return authorIds[row];
+    }
+
+    String name(int row) {
+        return names[row];
+    }
+
+    String nationality(int row) {
+        return nationalities[row];
+    }
+
+    LocalDate birthDate(int row) {
+        return toDate(birthDates[row]);
+    }
+
+    int[] authorBooks(int row) {
+        return authorBooks[row].toArray();
+    }
+
+    int[] authorMagazines(int row) {
+        return authorMagazines[row].toArray();
+    }
+
+    /**
+     * Approximate heap taken by the columns, indexes and strings.
+     */
+    long memoryBytes() {
+        // ID, type, title, date, ISBN, issue number, book author and magazine authors
+        long publicationColumns = (long) publicationIds.length * (Long.BYTES + 1 + 3L * REFERENCE + 3L * Integer.BYTES);
+        long magazineAuthorArrays = 0;
+        long authorLists = 0;
+        for (int row = 0; row < publicationRows; row++) {
+            if (types[row] == MAGAZINE) {
+                magazineAuthorArrays += 16 + (long) magazineAuthors[row].length * Integer.BYTES;
+            }
+        }
+        for (int row = 0; row < authorRows; row++) {
+            if (names[row] != null) {
+                authorLists += authorBooks[row].memoryBytes() + authorMagazines[row].memoryBytes();
+            }
+        }
+        // ID, name, nationality, birth date, books and magazines
+        long authorColumns = (long) authorIds.length * (Long.BYTES + 4L * REFERENCE + Integer.BYTES);
+        return publicationColumns + magazineAuthorArrays + authorColumns + authorLists + stringBytes
+                + publicationIndex.memoryBytes() + authorIndex.memoryBytes()
+                + publicationsByTitle.memoryBytes() + authorsByName.memoryBytes();
+    }
+
+    private void setAuthorColumns(int row, AuthorRow author) {
+        names[row] = intern(author.name() == null ? "" : author.name());
+        nationalities[row] = author.nationality() == null ? null : intern(author.nationality());
+        birthDates[row] = fromDate(author.birthDate());
+    }
+
+    private void setPublicationColumns(int row, PublicationRow publication) {
+        types[row] = publication.type();
+        titles[row] = publication.title() == null ? "" : publication.title();
+        publicationDates[row] = fromDate(publication.publicationDate());
+        isbns[row] = publication.isbn();
+        issueNumbers[row] = publication.issueNumber() == null ? NONE : publication.issueNumber();
+        stringBytes += stringSize(titles[row]) + stringSize(isbns[row]);
+
+        bookAuthors[row] = NO_AUTHOR;
+        magazineAuthors[row] = NO_AUTHORS;
+        // Magazine authors are listed in ID order, as the database returns them
+        long[] authorIds = publication.authorIds().clone();
+        Arrays.sort(authorIds);
+        int[] authors = new int[authorIds.length];
+        int linked = 0;
+        for (long authorId : authorIds) {
+            int author = authorIndex.get(authorId);
+            if (author != LongIntMap.ABSENT) {
+                authors[linked++] = author;
+            }
+        }
+        if (publication.type() == BOOK) {
+            if (linked > 0) {
+                bookAuthors[row] = authors[0];
+                authorBooks[authors[0]].add(row);
+            }
+        } else {
+            magazineAuthors[row] = Arrays.copyOf(authors, linked);
+            for (int i = 0; i < linked; i++) {
+                authorMagazines[authors[i]].add(row);
+            }
+        }
+    }
+
+    private void unlinkAuthors(int row) {
+        if (bookAuthors[row] != NO_AUTHOR) {
+            authorBooks[bookAuthors[row]].remove(row);
+        }
+        for (int author : magazineAuthors[row]) {
+            authorMagazines[author].remove(row);
+        }
+    }
+
+    private void clearStrings(int row) {
+        stringBytes -= stringSize(titles[row]) + stringSize(isbns[row]);
+    }
+
+    private String intern(String value) {
+        String existing = interned.putIfAbsent(value, value);
+        if (existing != null) {
+            return existing;
+        }
+        stringBytes += stringSize(value);
+        return value;
+    }
+
+    private void ensurePublicationCapacity(int rows) {
+        if (rows <= publicationIds.length) {
+            return;
+        }
+        int capacity = Math.max(rows, publicationIds.length + (publicationIds.length >> 1));
+        publicationIds = Arrays.copyOf(publicationIds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        publicationDates = Arrays.copyOf(publicationDates, capacity);
+        isbns = Arrays.copyOf(isbns, capacity);
+        issueNumbers = Arrays.copyOf(issueNumbers, capacity);
+        bookAuthors = Arrays.copyOf(bookAuthors, capacity);
+        magazineAuthors = Arrays.copyOf(magazineAuthors, capacity);
+    }
+
+    private void ensureAuthorCapacity(int rows) {
+        if (rows <= authorIds.length) {
+            return;
+        }
+        int capacity = Math.max(rows, authorIds.length + (authorIds.length >> 1));
+        authorIds = Arrays.copyOf(authorIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        nationalities = Arrays.copyOf(nationalities, capacity);
+        birthDates = Arrays.copyOf(birthDates, capacity);
+        authorBooks = Arrays.copyOf(authorBooks, capacity);
+        authorMagazines = Arrays.copyOf(authorMagazines, capacity);
+    }
+
+    private static int fromDate(LocalDate date) {
+        return date == null ? NONE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static long stringSize(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+}
@@ -0,0 +1,52 @@
+package com.mobelite.publisherManagementSystem.readmodel;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of int row positions. Not thread-safe.
+ */
+final class IntList {
+
+    private int[] values;
+    private int size;
+
+    IntList(int capacity) {
+        values = new int[capacity];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size * 2));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Remove the first occurrence of a value, keeping the order of the others.
+     */
+    void remove(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+                return;
+            }
+        }
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    long memoryBytes() {
+        return 16L + (long) values.length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mobelite.publisherManagementSystem.readmodel;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Row positions kept sorted by a total order, so that a page in that order is a slice of the array.
+ * Single rows are inserted and removed with a binary search and one array copy. Not thread-safe.
+ */
+final class RowOrder {
+
+    /**
+     * Total order over rows, ties broken by ID so that every row has exactly one position.
+     */
+    interface RowComparator {
+        int compare(int first, int second);
+    }
+
+    private final RowComparator comparator;
+    private int[] rows = new int[16];
+    private int size;
+
+    RowOrder(RowComparator comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Replace the content with the given rows, sorted once.
+     */
+    void reset(int[] unsorted) {
+        rows = IntStream.of(unsorted)
+                .boxed()
+                .sorted(comparator::compare)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        size = rows.length;
+    }
+
+    /**
+     * Insert a row whose sort key is set.
+     */
+    void insert(int row) {
+        int position = search(row);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(16, size + (size >> 1)));
+        }
+        System.arraycopy(rows, position, rows, position + 1, size - position);
+        rows[position] = row;
+        size++;
+    }
+
+    /**
+     * Remove a row. Must be called before its sort key changes.
+     */
+    void remove(int row) {
+        int position = search(row);
+        if (position >= 0) {
+            System.arraycopy(rows, position + 1, rows, position, size - position - 1);
+            size--;
+        }
+    }
+
+    int get(int position) {
+        return rows[position];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return (long) rows.length * Integer.BYTES;
+    }
+
+    private int search(int row) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = comparator.compare(rows[middle], row);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -1,27 +1,190 @@
 package com.mobelite.publisherManagementSystem.repository;
 
 import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorRowView;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorStatisticsView;
+import com.mobelite.publisherManagementSystem.repository.projection.EntityVersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorRepositoryCustom {
 
 
-    @EntityGraph(attributePaths = {"magazines"})
-    @Query("SELECT a FROM Author a")
-    Page<Author> findAllWithMagazines(Pageable pageable);
+    /**
+     * Page over author IDs only, so that the limit is applied by the database.
+     * @param pageable Pagination and sorting information
+     * @return Page of author IDs
+     */
+    @Query("SELECT a.id FROM Author a")
+    Page<Long> findAllIds(Pageable pageable);
+
+    /**
+     * Load the given authors with their books in a single query.
+     * @param ids Author IDs
+     * @return Authors, in no particular order
+     */
+    @Query("SELECT DISTINCT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id IN :ids")
+    List<Author> findAllWithBooksByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load the given authors with their magazines in a single query.
+     * @param ids Author IDs
+     * @return Authors, in no particular order
+     */
+    @Query("SELECT DISTINCT a FROM Author a LEFT JOIN FETCH a.magazines WHERE a.id IN :ids")
+    List<Author> findAllWithMagazinesByIdIn(@Param("ids") Collection<Long> ids);
 
     boolean existsByName(String name);
 
+    /**
+     * Stream all author names. Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of names
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT a.name FROM Author a")
+    Stream<String> streamAllNames();
+
+    /**
+     * Stream every author with the number of books and magazines they wrote, counted per table
+     * in one pass instead of once per author. Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of author statistics
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.STREAM_FETCH_SIZE))
+    @Query(value = """
+            SELECT a.id AS id, a.name AS name, a.nationality AS nationality,
+                   COALESCE(b.books, 0) + COALESCE(m.magazines, 0) AS publications
+            FROM authors a
+            LEFT JOIN (SELECT author_id, count(*) AS books FROM publications
+                       WHERE author_id IS NOT NULL GROUP BY author_id) b ON b.author_id = a.id
+            LEFT JOIN (SELECT author_id, count(*) AS magazines FROM magazine_authors
+                       GROUP BY author_id) m ON m.author_id = a.id
+            """, nativeQuery = true)
+    Stream<AuthorStatisticsView> streamAllStatistics();
+
+    /**
+     * Stream the columns of all authors held by the catalog read model and snapshot, in ID order.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of authors
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT a.id AS id, a.name AS name, a.nationality AS nationality, a.birthDate AS birthDate, a.version AS version
+            FROM Author a
+            ORDER BY a.id
+            """)
+    Stream<AuthorRowView> streamAllRows();
+
+    /**
+     * Stream the ID and version of all authors, in ID order.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of versions
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT a.id AS id, a.version AS version FROM Author a ORDER BY a.id")
+    Stream<EntityVersionView> streamAllVersions();
+
+    /**
+     * Versions of an author and of the publications embedded in its response, read through the author and
+     * magazine author indexes: the author row first, then its books and magazines in ID order.
+     * @param id Author ID
+     * @return ID and version rows, empty when the author does not exist
+     */
+    @Query(value = """
+            SELECT v.id AS id, v.version AS version
+            FROM (
+                SELECT 0 AS kind, a.id, a.version FROM authors a WHERE a.id = :id
+                UNION ALL
+                SELECT 1, p.id, p.version FROM publications p WHERE p.author_id = :id
+                UNION ALL
+                SELECT 1, p.id, p.version
+                FROM magazine_authors ma
+                JOIN publications p ON p.id = ma.magazine_id
+                WHERE ma.author_id = :id
+            ) v
+            ORDER BY v.kind, v.id
+            """, nativeQuery = true)
+    List<EntityVersionView> findVersionsForTagById(@Param("id") Long id);
+
+    /**
+     * IDs among the given ones that belong to an existing author.
+     * @param ids Author IDs
+     * @return Existing author IDs
+     */
+    @Query("SELECT a.id FROM Author a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * First authors in (name, id) order, for keyset pagination.
+     * @param limit Maximum number of rows
+     * @return Authors ordered by name then id
+     */
+    @Query(value = "SELECT a.* FROM authors a ORDER BY a.name, a.id LIMIT :limit", nativeQuery = true)
+    List<Author> findFirstByKeyset(@Param("limit") int limit);
+
+    /**
+     * Authors following the given (name, id) position.
+     * @param name Name of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param limit Maximum number of rows
+     * @return Authors ordered by name then id
+     */
+    @Query(value = """
+            SELECT a.* FROM authors a
+            WHERE (a.name, a.id) > (:name, :id)
+            ORDER BY a.name, a.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Author> findNextByKeyset(@Param("name") String name, @Param("id") Long id, @Param("limit") int limit);
+
     @EntityGraph(attributePaths = {"books", "magazines"})
     @Query("SELECT a FROM Author a WHERE a.id = :id")
     Optional<Author> findByIdWithPublications(Long id);
-}
\ No newline at end of file
+
+    /**
+     * @param authorId Author ID
+     * @return IDs of the books of the author
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.author.id = :authorId")
+    List<Long> findBookIdsByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * @param authorId Author ID
+     * @return IDs of the magazines the author is linked to
+     */
+    @Query("SELECT m.id FROM Magazine m JOIN m.authors a WHERE a.id = :authorId")
+    List<Long> findMagazineIdsByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Delete all books of an author in a single statement, without loading them.
+     * @param authorId Author ID
+     * @return Number of books deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.author.id = :authorId")
+    int deleteBooksByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Delete an author without loading it or its publications. Its books must be deleted first,
+     * Hibernate deletes its magazine links in the same bulk operation.
+     * @param id Author ID
+     * @return Number of rows deleted, 0 when no author has this ID
+     */
+    @Modifying
+    @Query("DELETE FROM Author a WHERE a.id = :id")
+    int deleteAuthorById(@Param("id") Long id);
+}
@@ -0,0 +1,28 @@
+package com.mobelite.publisherManagementSystem.repository;
+
+import com.mobelite.publisherManagementSystem.entity.Author;
+
+import java.util.List;
+
+/**
+ * Author lookups that need the Hibernate session rather than a query.
+ */
+public interface AuthorRepositoryCustom {
+
+    /**
+     * Load authors by ID, serving them from the persistence context or the second-level cache
+     * when possible and querying only the missing ones. Overrides the default implementation,
+     * which always issues an IN query.
+     * @param ids Author IDs
+     * @return Existing authors, in the order of the given IDs
+     */
+    List<Author> findAllById(Iterable<Long> ids);
+
+    /**
+     * Load authors by ID in a single {@code id = any(?)} statement, whatever the number of IDs,
+     * serving them from the persistence context or the second-level cache when possible.
+     * @param ids Distinct author IDs
+     * @return One element per given ID, in the same order, null where no author exists
+     */
+    List<Author> findAllByIdInRequestOrder(List<Long> ids);
+}
@@ -0,0 +1,39 @@
+package com.mobelite.publisherManagementSystem.repository;
+
+import com.mobelite.publisherManagementSystem.entity.Author;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Author> findAllById(Iterable<Long> ids) {
+        List<Long> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        return findAllByIdInRequestOrder(idList).stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Author> findAllByIdInRequestOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        // The second-level cache is only consulted when a cache mode is given explicitly
+        return session.byMultipleIds(Author.class)
+                .with(session.getCacheMode())
+                .enableSessionCheck(true)
+                .multiLoad(ids);
+    }
+}
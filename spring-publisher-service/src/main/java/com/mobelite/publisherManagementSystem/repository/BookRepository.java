@@ -1,24 +1,115 @@
 package com.mobelite.publisherManagementSystem.repository;
 import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.repository.projection.BookSummaryView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, PublicationRepositoryCustom {
+
+    /**
+     * Current version of a book, without loading the entity.
+     * @param id Book ID
+     * @return Version, empty when the book does not exist
+     */
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
     Optional<Book> findByIsbn(String isbn);
 
     boolean existsByIsbnAndIdNot(String isbn, Long id);
 
+    /**
+     * Stream all book ISBNs. Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of ISBNs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IS NOT NULL")
+    Stream<String> streamAllIsbns();
+
+    /**
+     * ISBNs among the given ones that are already used by a book.
+     * @param isbns ISBNs to check
+     * @return ISBNs already taken
+     */
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * Titles among the given ones that are already used by a publication of any type.
+     * @param titles Titles to check
+     * @return Titles already taken
+     */
+    @Query("SELECT p.title FROM Publication p WHERE p.title IN :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
     Page<Book> findByAuthorId(Long authorId, Pageable pageable);
 
-}
\ No newline at end of file
+    /**
+     * Summaries of an author's books, selecting only the summary columns in a single statement.
+     * @param authorId The author ID
+     * @param pageable Pagination information
+     * @return Page of book summaries
+     */
+    @Query(value = """
+            SELECT b.id AS id, b.title AS title, b.publicationDate AS publicationDate,
+                   b.isbn AS isbn, a.name AS authorName
+            FROM Book b JOIN b.author a
+            WHERE a.id = :authorId
+            """,
+            countQuery = "SELECT count(b) FROM Book b WHERE b.author.id = :authorId")
+    Page<BookSummaryView> findSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    /**
+     * First books in (title, id) order, for keyset pagination.
+     * @param limit Maximum number of rows
+     * @return Books ordered by title then id
+     */
+    @Query(value = """
+            SELECT p.* FROM publications p
+            WHERE p.publication_type = 'BOOK'
+            ORDER BY p.title, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Book> findFirstByKeyset(@Param("limit") int limit);
+
+    /**
+     * Books following the given (title, id) position. The row-value comparison seeks
+     * directly into the (publication_type, title, id) index, whatever the depth.
+     * @param title Title of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param limit Maximum number of rows
+     * @return Books ordered by title then id
+     */
+    @Query(value = """
+            SELECT p.* FROM publications p
+            WHERE p.publication_type = 'BOOK' AND (p.title, p.id) > (:title, :id)
+            ORDER BY p.title, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Book> findNextByKeyset(@Param("title") String title, @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Delete a book in a single statement, without loading it.
+     * @param id Book ID
+     * @return Number of rows deleted, 0 when no book has this ID
+     */
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+}
@@ -1,16 +1,136 @@
 package com.mobelite.publisherManagementSystem.repository;
 
 import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorLinkView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineSummaryView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Repository
-public interface MagazineRepository extends JpaRepository<Magazine, Long> {
+public interface MagazineRepository extends JpaRepository<Magazine, Long>, PublicationRepositoryCustom {
+
+    /**
+     * Current version of a magazine, without loading the entity.
+     * @param id Magazine ID
+     * @return Version, empty when the magazine does not exist
+     */
+    @Query("SELECT m.version FROM Magazine m WHERE m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Summaries of all magazines, selecting only the summary columns.
+     * @param pageable Pagination information
+     * @return Page of magazine summaries, without authors
+     */
+    @Query("SELECT m.id AS id, m.title AS title, m.publicationDate AS publicationDate, m.issueNumber AS issueNumber FROM Magazine m")
+    Page<MagazineSummaryView> findAllSummaries(Pageable pageable);
+
+    /**
+     * First magazine summaries in (title, id) order, for keyset pagination.
+     * @param limit Maximum number of rows
+     * @return Magazine summaries ordered by title then id
+     */
+    @Query("""
+            SELECT m.id AS id, m.title AS title, m.publicationDate AS publicationDate, m.issueNumber AS issueNumber
+            FROM Magazine m
+            ORDER BY m.title, m.id
+            LIMIT :limit
+            """)
+    List<MagazineSummaryView> findFirstSummariesByKeyset(@Param("limit") int limit);
+
+    /**
+     * Magazine summaries following the given (title, id) position.
+     * @param title Title of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param limit Maximum number of rows
+     * @return Magazine summaries ordered by title then id
+     */
+    @Query("""
+            SELECT m.id AS id, m.title AS title, m.publicationDate AS publicationDate, m.issueNumber AS issueNumber
+            FROM Magazine m
+            WHERE (m.title, m.id) > (:title, :id)
+            ORDER BY m.title, m.id
+            LIMIT :limit
+            """)
+    List<MagazineSummaryView> findNextSummariesByKeyset(@Param("title") String title, @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Authors of the given magazines in a single statement.
+     * @param magazineIds Magazine IDs
+     * @return Authors keyed by magazine ID, ordered by magazine then author ID
+     */
+    @Query("""
+            SELECT m.id AS magazineId, a.id AS id, a.name AS name, a.nationality AS nationality, a.birthDate AS birthDate
+            FROM Magazine m JOIN m.authors a
+            WHERE m.id IN :magazineIds
+            ORDER BY m.id, a.id
+            """)
+    List<MagazineAuthorView> findAuthorsByMagazineIdIn(@Param("magazineIds") Collection<Long> magazineIds);
+
+    /**
+     * Stream all magazine author links, {@value PublicationRepository#STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of links, ordered by magazine then author ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT m.id AS magazineId, a.id AS authorId FROM Magazine m JOIN m.authors a ORDER BY m.id, a.id")
+    Stream<MagazineAuthorLinkView> streamAllAuthorLinks();
+
+    /**
+     * Authors of the given magazines, grouped by magazine ID.
+     * @param magazineIds Magazine IDs
+     * @return Authors of each magazine that has any
+     */
+    default Map<Long, List<MagazineAuthorView>> findAuthorsGroupedByMagazineId(Collection<Long> magazineIds) {
+        if (magazineIds.isEmpty()) {
+            return Map.of();
+        }
+        return findAuthorsByMagazineIdIn(magazineIds).stream()
+                .collect(Collectors.groupingBy(MagazineAuthorView::getMagazineId));
+    }
 
+    /**
+     * Load the given magazines with their authors in a single query.
+     * @param ids Magazine IDs
+     * @return Magazines, in no particular order
+     */
+    @Query("SELECT DISTINCT m FROM Magazine m LEFT JOIN FETCH m.authors WHERE m.id IN :ids")
+    List<Magazine> findAllWithAuthorsByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Delete the author links of the given magazines in a single statement, needed before a bulk delete
+     * at the {@code Publication} level, which Hibernate does not extend to subclass collections.
+     * Only the cached magazine author collections are invalidated.
+     * @param magazineIds Magazine IDs, IDs of other publications are ignored
+     * @return Number of links deleted
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "magazine_authors"))
+    @Query(value = "DELETE FROM magazine_authors WHERE magazine_id IN (:magazineIds)", nativeQuery = true)
+    int deleteAuthorLinksByMagazineIdIn(@Param("magazineIds") Collection<Long> magazineIds);
 
-}
\ No newline at end of file
+    /**
+     * Delete a magazine without loading it. Hibernate deletes its author links in the same bulk operation.
+     * @param id Magazine ID
+     * @return Number of rows deleted, 0 when no magazine has this ID
+     */
+    @Modifying
+    @Query("DELETE FROM Magazine m WHERE m.id = :id")
+    int deleteMagazineById(@Param("id") Long id);
+}
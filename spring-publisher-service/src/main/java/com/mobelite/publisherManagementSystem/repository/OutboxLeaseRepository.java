@@ -0,0 +1,28 @@
+package com.mobelite.publisherManagementSystem.repository;
+
+import com.mobelite.publisherManagementSystem.entity.OutboxLease;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxLeaseRepository extends JpaRepository<OutboxLease, Integer> {
+
+    /**
+     * Lock the lease until the end of the transaction, without waiting ({@code FOR UPDATE SKIP LOCKED}).
+     * @param id Lease ID
+     * @return The lease, empty when another transaction holds it or it does not exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT l FROM OutboxLease l WHERE l.id = :id")
+    Optional<OutboxLease> tryLock(@Param("id") Integer id);
+}
@@ -3,32 +3,356 @@ package com.mobelite.publisherManagementSystem.repository;
 import com.mobelite.publisherManagementSystem.entity.Book;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
 import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.repository.projection.EntityVersionView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationCountView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationKeyView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRankView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRowView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationSummaryView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationTitleView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface PublicationRepository extends JpaRepository<Publication, Long> {
+public interface PublicationRepository extends JpaRepository<Publication, Long>, PublicationRepositoryCustom {
 
     /**
-     * Find publications by title containing the given text (case-insensitive).
-     * @param title The title to search for
-     * @param pageable Pagination information
+     * Rows fetched per round trip by the streaming queries.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Find publications whose title contains the given text (case-insensitive), ranked by relevance.
+     * Both the page and the count query are served by the trigram index on {@code publications.title}.
+     * @param title The raw search text, used for ranking
+     * @param pattern The search text with LIKE wildcards escaped
+     * @param pageable Pagination information (sorting is ignored, results are ranked)
+     * @return Page of publications
+     */
+    @Query(value = """
+            SELECT p.* FROM publications p
+            WHERE p.title ILIKE '%' || :pattern || '%'
+            ORDER BY word_similarity(:title, p.title) DESC, p.title, p.id
+            """,
+            countQuery = "SELECT count(*) FROM publications p WHERE p.title ILIKE '%' || :pattern || '%'",
+            nativeQuery = true)
+    Page<Publication> searchByTitle(@Param("title") String title, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same as {@link #searchByTitle} but also returns titles that are only similar to the search text,
+     * according to the threshold set with {@link #setWordSimilarityThreshold(String)}.
+     * @param title The raw search text
+     * @param pattern The search text with LIKE wildcards escaped
+     * @param pageable Pagination information (sorting is ignored, results are ranked)
      * @return Page of publications
      */
-    @Query("SELECT p FROM Publication p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    Page<Publication> findByTitleContainingIgnoreCase(@Param("title") String title, Pageable pageable);
+    @Query(value = """
+            SELECT p.* FROM publications p
+            WHERE p.title ILIKE '%' || :pattern || '%' OR :title <% p.title
+            ORDER BY word_similarity(:title, p.title) DESC, p.title, p.id
+            """,
+            countQuery = """
+            SELECT count(*) FROM publications p
+            WHERE p.title ILIKE '%' || :pattern || '%' OR :title <% p.title
+            """,
+            nativeQuery = true)
+    Page<Publication> searchByTitleFuzzy(@Param("title") String title, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Next publications matching {@link #searchByTitle} in relevance order, for streaming the search in chunks.
+     * The position is that of the last row of the previous chunk, a score above 1 starts from the first match.
+     * @param title The raw search text, used for ranking
+     * @param pattern The search text with LIKE wildcards escaped
+     * @param score Score of the last row of the previous chunk
+     * @param afterTitle Title of the last row of the previous chunk
+     * @param afterId ID of the last row of the previous chunk
+     * @param limit Maximum number of rows
+     * @return ID, title and score of the matches, ranked by relevance then title and ID
+     */
+    @Query(value = """
+            SELECT p.id AS id, p.title AS title, CAST(word_similarity(:title, p.title) AS double precision) AS score
+            FROM publications p
+            WHERE p.title ILIKE '%' || :pattern || '%'
+              AND (-CAST(word_similarity(:title, p.title) AS double precision), p.title, p.id)
+                  > (-CAST(:score AS double precision), :afterTitle, :afterId)
+            ORDER BY word_similarity(:title, p.title) DESC, p.title, p.id
+            LIMIT :limit
+            """,
+            nativeQuery = true)
+    List<PublicationRankView> findNextRankedByTitle(@Param("title") String title, @Param("pattern") String pattern,
+                                                    @Param("score") double score, @Param("afterTitle") String afterTitle,
+                                                    @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Chunked counterpart of {@link #searchByTitleFuzzy}, see {@link #findNextRankedByTitle}.
+     * @param title The raw search text
+     * @param pattern The search text with LIKE wildcards escaped
+     * @param score Score of the last row of the previous chunk
+     * @param afterTitle Title of the last row of the previous chunk
+     * @param afterId ID of the last row of the previous chunk
+     * @param limit Maximum number of rows
+     * @return ID, title and score of the matches, ranked by relevance then title and ID
+     */
+    @Query(value = """
+            SELECT p.id AS id, p.title AS title, CAST(word_similarity(:title, p.title) AS double precision) AS score
+            FROM publications p
+            WHERE (p.title ILIKE '%' || :pattern || '%' OR :title <% p.title)
+              AND (-CAST(word_similarity(:title, p.title) AS double precision), p.title, p.id)
+                  > (-CAST(:score AS double precision), :afterTitle, :afterId)
+            ORDER BY word_similarity(:title, p.title) DESC, p.title, p.id
+            LIMIT :limit
+            """,
+            nativeQuery = true)
+    List<PublicationRankView> findNextRankedByTitleFuzzy(@Param("title") String title, @Param("pattern") String pattern,
+                                                         @Param("score") double score, @Param("afterTitle") String afterTitle,
+                                                         @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Set the minimum word similarity used by the {@code <%} operator for the current transaction only.
+     * @param threshold A value between 0 and 1
+     * @return The applied setting
+     */
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+
+    /**
+     * Summaries of all publications, selecting only the summary columns with the book author
+     * joined in the same statement.
+     * @param pageable Pagination information
+     * @return Page of publication summaries, without magazine authors
+     */
+    @Query(value = """
+            SELECT p.id AS id, p.title AS title, p.publicationDate AS publicationDate,
+                   CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   TREAT(p AS Book).isbn AS isbn, a.name AS authorName,
+                   TREAT(p AS Magazine).issueNumber AS issueNumber
+            FROM Publication p LEFT JOIN TREAT(p AS Book).author a
+            """,
+            countQuery = "SELECT count(p) FROM Publication p")
+    Page<PublicationSummaryView> findAllSummaries(Pageable pageable);
+
+    /**
+     * First publication summaries in (title, id) order, for keyset pagination.
+     * @param limit Maximum number of rows
+     * @return Publication summaries ordered by title then id
+     */
+    @Query("""
+            SELECT p.id AS id, p.title AS title, p.publicationDate AS publicationDate,
+                   CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   TREAT(p AS Book).isbn AS isbn, a.name AS authorName,
+                   TREAT(p AS Magazine).issueNumber AS issueNumber
+            FROM Publication p LEFT JOIN TREAT(p AS Book).author a
+            ORDER BY p.title, p.id
+            LIMIT :limit
+            """)
+    List<PublicationSummaryView> findFirstSummariesByKeyset(@Param("limit") int limit);
+
+    /**
+     * Publication summaries following the given (title, id) position.
+     * @param title Title of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param limit Maximum number of rows
+     * @return Publication summaries ordered by title then id
+     */
+    @Query("""
+            SELECT p.id AS id, p.title AS title, p.publicationDate AS publicationDate,
+                   CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   TREAT(p AS Book).isbn AS isbn, a.name AS authorName,
+                   TREAT(p AS Magazine).issueNumber AS issueNumber
+            FROM Publication p LEFT JOIN TREAT(p AS Book).author a
+            WHERE (p.title, p.id) > (:title, :id)
+            ORDER BY p.title, p.id
+            LIMIT :limit
+            """)
+    List<PublicationSummaryView> findNextSummariesByKeyset(@Param("title") String title, @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Summaries of the given publications, selecting only the summary columns with the book author
+     * joined in the same statement.
+     * @param ids Publication IDs
+     * @return Publication summaries in no particular order, without magazine authors
+     */
+    @Query("""
+            SELECT p.id AS id, p.title AS title, p.publicationDate AS publicationDate,
+                   CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   TREAT(p AS Book).isbn AS isbn, a.name AS authorName,
+                   TREAT(p AS Magazine).issueNumber AS issueNumber
+            FROM Publication p LEFT JOIN TREAT(p AS Book).author a
+            WHERE p.id IN :ids
+            """)
+    List<PublicationSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keys the catalog statistics count the given publications under, one row per author.
+     * @param ids Publication IDs
+     * @return Publication keys, IDs that do not exist are skipped
+     */
+    @Query("""
+            SELECT p.id AS id, CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   p.publicationDate AS publicationDate, COALESCE(ba.id, ma.id) AS authorId
+            FROM Publication p LEFT JOIN TREAT(p AS Book).author ba LEFT JOIN TREAT(p AS Magazine).authors ma
+            WHERE p.id IN :ids
+            """)
+    List<PublicationKeyView> findStatisticsKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keys the catalog statistics count the books of an author under.
+     * @param authorId Author ID
+     * @return One row per book
+     */
+    @Query("""
+            SELECT b.id AS id, 'BOOK' AS type, b.publicationDate AS publicationDate, b.author.id AS authorId
+            FROM Book b
+            WHERE b.author.id = :authorId
+            """)
+    List<PublicationKeyView> findStatisticsKeysByBookAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Publication counts per type and publication year, used to reconcile the catalog statistics.
+     * @return One row per type and year
+     */
+    @Query("""
+            SELECT CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   year(p.publicationDate) AS year, count(p) AS count
+            FROM Publication p
+            GROUP BY TYPE(p), year(p.publicationDate)
+            """)
+    List<PublicationCountView> countByTypeAndYear();
+
+    /**
+     * Highest publication ID, read from the primary key index. Used as the first statement of a repeatable
+     * read transaction, which takes its snapshot there.
+     * @return Highest ID, null when there is no publication
+     */
+    @Query("SELECT max(p.id) FROM Publication p")
+    Long findMaxId();
 
     @Query("SELECT b FROM Book b")
     List<Book> findAllBooks();
 
+    /**
+     * Stream all books with their author through a forward-only cursor, reading
+     * {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of books ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author ORDER BY b.id")
+    Stream<Book> streamAllBooks();
+
+    /**
+     * Stream all magazines through a forward-only cursor, reading
+     * {@value #STREAM_FETCH_SIZE} rows per round trip. Authors are loaded lazily in batches.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of magazines ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Magazine m ORDER BY m.id")
+    Stream<Magazine> streamAllMagazines();
+
     @Query("SELECT m FROM Magazine m")
     List<Magazine> findAllMagazines();
 
+    /**
+     * Stream all publication IDs, {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT p.id FROM Publication p")
+    Stream<Long> streamAllIds();
+
+    /**
+     * Stream all publication titles, {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of titles
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT p.title FROM Publication p")
+    Stream<String> streamAllTitles();
+
+    /**
+     * Stream the columns of all publications held by the catalog read model and snapshot, in ID order,
+     * {@value #STREAM_FETCH_SIZE} rows per round trip. Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of publications, without magazine authors
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT p.id AS id, CASE WHEN TYPE(p) = Book THEN 'BOOK' ELSE 'MAGAZINE' END AS type,
+                   p.title AS title, p.publicationDate AS publicationDate, TREAT(p AS Book).isbn AS isbn,
+                   TREAT(p AS Magazine).issueNumber AS issueNumber, a.id AS authorId, p.version AS version
+            FROM Publication p LEFT JOIN TREAT(p AS Book).author a
+            ORDER BY p.id
+            """)
+    Stream<PublicationRowView> streamAllRows();
+
+    /**
+     * Stream the ID and version of all publications, in ID order, {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of versions
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT p.id AS id, p.version AS version FROM Publication p ORDER BY p.id")
+    Stream<EntityVersionView> streamAllVersions();
+
+    /**
+     * Stream the ID and title of all publications, {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return Stream of publication titles
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT p.id AS id, p.title AS title FROM Publication p")
+    Stream<PublicationTitleView> streamAllIdsAndTitles();
+
+    /**
+     * Find the publications whose title starts with the given text, compared on the normalized title key, in title order.
+     * @param pattern The title prefix normalized by {@link com.mobelite.publisherManagementSystem.suggest.TitleKeys},
+     *                with LIKE wildcards escaped
+     * @param pageable Number of titles to return
+     * @return Publication titles
+     */
+    @Query("""
+            SELECT p.id AS id, p.title AS title FROM Publication p
+            WHERE p.titleKey LIKE CONCAT(:pattern, '%') ESCAPE '\\'
+            ORDER BY p.titleKey, p.id
+            """)
+    List<PublicationTitleView> findTitlesByPrefix(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Publications written without a title key, by an earlier version or outside the application.
+     * @param pageable Number of titles to return
+     * @return Publication titles
+     */
+    @Query("SELECT p.id AS id, p.title AS title FROM Publication p WHERE p.titleKey IS NULL ORDER BY p.id")
+    List<PublicationTitleView> findTitlesWithoutKey(Pageable pageable);
+
+    /**
+     * Set the title key of a publication without loading it.
+     * @param id Publication ID
+     * @param titleKey Normalized title
+     * @return Number of updated publications
+     */
+    @Modifying
+    @Query("UPDATE Publication p SET p.titleKey = :titleKey WHERE p.id = :id")
+    int updateTitleKey(@Param("id") Long id, @Param("titleKey") String titleKey);
+
     /**
      * Check if a publication exists by title.
      * @param title The title to check
@@ -36,4 +360,13 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>
      */
     boolean existsByTitle(String title);
 
-}
\ No newline at end of file
+    /**
+     * Delete the given publications without loading them. The author links of the magazines
+     * among them must be deleted first.
+     * @param ids Publication IDs
+     * @return Number of rows deleted, IDs that do not exist are not counted
+     */
+    @Modifying
+    @Query("DELETE FROM Publication p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
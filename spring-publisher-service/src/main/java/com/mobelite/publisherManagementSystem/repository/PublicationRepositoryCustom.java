@@ -0,0 +1,39 @@
+package com.mobelite.publisherManagementSystem.repository;
+
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Publication lookups that need the Hibernate session or a statement built from the request,
+ * rather than a declared query.
+ */
+public interface PublicationRepositoryCustom {
+
+    /**
+     * Load publications of any type by ID in a single {@code id = any(?)} statement, whatever the number of IDs,
+     * serving them from the persistence context or the second-level cache when possible.
+     * @param ids Distinct publication IDs
+     * @return One element per given ID, in the same order, null where no publication exists
+     */
+    List<Publication> findAllByIdInRequestOrder(List<Long> ids);
+
+    /**
+     * IDs of a page of publications matching the search, in (title, id) order. Only the filters that are set
+     * appear in the statement, so that each combination of filters is planned on its own indexes.
+     * @param criteria Search filters
+     * @param pageable Page to return, sorting is ignored
+     * @return Publication IDs in (title, id) order
+     */
+    List<Long> findIdsBySearch(PublicationSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Count the publications matching the search per type, publication year, issue number, author
+     * and author nationality, plus their total, in a single statement using grouping sets.
+     * @param criteria Search filters
+     * @return One count per facet value, and one {@link PublicationFacetCount.Facet#TOTAL} count
+     */
+    List<PublicationFacetCount> countFacetsBySearch(PublicationSearchCriteria criteria);
+}
@@ -0,0 +1,155 @@
+package com.mobelite.publisherManagementSystem.repository;
+
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount.Facet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class PublicationRepositoryCustomImpl implements PublicationRepositoryCustom {
+
+    /**
+     * Publications written by a matching author, as the book author or as one of the magazine authors.
+     * Takes the author predicates on {@code a}.
+     */
+    private static final String AUTHOR_FILTER = """
+            p.id IN (SELECT b.id FROM publications b JOIN authors a ON a.id = b.author_id WHERE %1$s
+                     UNION ALL
+                     SELECT ma.magazine_id FROM magazine_authors ma JOIN authors a ON a.id = ma.author_id WHERE %1$s)""";
+
+    /**
+     * Facet counts of the matching publications, one grouped query per facet over the matches read once, and the
+     * total. Publications are counted once per value even when several of their authors share it. Kept to plain
+     * GROUP BY and UNION ALL so that it runs the same on H2 as on PostgreSQL.
+     * Takes the publication predicates on {@code p}.
+     */
+    private static final String FACET_COUNTS = """
+            WITH matches AS (
+                SELECT p.id, p.publication_type, p.author_id, p.issue_number,
+                       CAST(EXTRACT(YEAR FROM p.publication_date) AS integer) AS publication_year
+                FROM publications p
+                WHERE %s
+            ),
+            match_authors AS (
+                SELECT m.id, a.id AS author_id, a.nationality
+                FROM matches m
+                LEFT JOIN magazine_authors ma ON ma.magazine_id = m.id
+                LEFT JOIN authors a ON a.id = COALESCE(m.author_id, ma.author_id)
+            )
+            SELECT 'TYPE' AS facet, m.publication_type AS facet_value, count(*) AS publications
+            FROM matches m GROUP BY m.publication_type
+            UNION ALL
+            SELECT 'YEAR', CAST(m.publication_year AS varchar), count(*)
+            FROM matches m GROUP BY m.publication_year
+            UNION ALL
+            SELECT 'ISSUE_NUMBER', CAST(m.issue_number AS varchar), count(*)
+            FROM matches m GROUP BY m.issue_number
+            UNION ALL
+            SELECT 'AUTHOR', CAST(ma.author_id AS varchar), count(DISTINCT ma.id)
+            FROM match_authors ma GROUP BY ma.author_id
+            UNION ALL
+            SELECT 'NATIONALITY', ma.nationality, count(DISTINCT ma.id)
+            FROM match_authors ma GROUP BY ma.nationality
+            UNION ALL
+            SELECT 'TOTAL', NULL, count(*)
+            FROM matches m
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Publication> findAllByIdInRequestOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        // Binds the IDs as one array parameter on dialects with array support, so the statement is the same for any count
+        return session.byMultipleIds(Publication.class)
+                .with(session.getCacheMode())
+                .enableSessionCheck(true)
+                .multiLoad(ids);
+    }
+
+    @Override
+    public List<Long> findIdsBySearch(PublicationSearchCriteria criteria, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        Query query = entityManager.createNativeQuery(
+                "SELECT p.id FROM publications p WHERE " + predicates(criteria, parameters) + " ORDER BY p.title, p.id",
+                Long.class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Long> ids = query.getResultList();
+        return ids;
+    }
+
+    @Override
+    public List<PublicationFacetCount> countFacetsBySearch(PublicationSearchCriteria criteria) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        Query query = entityManager.createNativeQuery(FACET_COUNTS.formatted(predicates(criteria, parameters)));
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new PublicationFacetCount(Facet.valueOf((String) row[0]), (String) row[1],
+                        ((Number) row[2]).longValue()))
+                .toList();
+    }
+
+    /**
+     * Predicates on {@code p} for the filters that are set, collecting their parameters.
+     */
+    private static String predicates(PublicationSearchCriteria criteria, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>();
+        if (criteria.getType() != null) {
+            predicates.add("p.publication_type = :type");
+            parameters.put("type", criteria.getType().name());
+        }
+        if (criteria.getPublishedFrom() != null) {
+            predicates.add("p.publication_date >= :publishedFrom");
+            parameters.put("publishedFrom", criteria.getPublishedFrom());
+        }
+        if (criteria.getPublishedTo() != null) {
+            predicates.add("p.publication_date <= :publishedTo");
+            parameters.put("publishedTo", criteria.getPublishedTo());
+        }
+        if (criteria.getMinIssueNumber() != null) {
+            predicates.add("p.issue_number >= :minIssueNumber");
+            parameters.put("minIssueNumber", criteria.getMinIssueNumber());
+        }
+        if (criteria.getMaxIssueNumber() != null) {
+            predicates.add("p.issue_number <= :maxIssueNumber");
+            parameters.put("maxIssueNumber", criteria.getMaxIssueNumber());
+        }
+
+        List<String> authorPredicates = new ArrayList<>();
+        if (criteria.getAuthorId() != null) {
+            authorPredicates.add("a.id = :authorId");
+            parameters.put("authorId", criteria.getAuthorId());
+        }
+        if (criteria.getNationality() != null) {
+            authorPredicates.add("a.nationality = :nationality");
+            parameters.put("nationality", criteria.getNationality());
+        }
+        if (!authorPredicates.isEmpty()) {
+            predicates.add(AUTHOR_FILTER.formatted(String.join(" AND ", authorPredicates)));
+        }
+
+        return predicates.isEmpty() ? "1 = 1" : String.join(" AND ", predicates);
+    }
+}
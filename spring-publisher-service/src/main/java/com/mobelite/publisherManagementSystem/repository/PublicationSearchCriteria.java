@@ -0,0 +1,35 @@
+package com.mobelite.publisherManagementSystem.repository;
+
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a faceted publication search. Null filters are not applied, ranges are inclusive.
+ */
+@Getter
+@Builder
+public class PublicationSearchCriteria {
+
+    private final PublicationType type;
+    private final LocalDate publishedFrom;
+    private final LocalDate publishedTo;
+
+    /**
+     * Book author or one of the magazine authors.
+     */
+    private final Long authorId;
+
+    /**
+     * Nationality of the book author or of one of the magazine authors.
+     */
+    private final String nationality;
+
+    /**
+     * Issue number range, only magazines can match it.
+     */
+    private final Integer minIssueNumber;
+    private final Integer maxIssueNumber;
+}
@@ -0,0 +1,19 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the author columns held by the catalog read model and snapshot.
+ */
+public interface AuthorRowView {
+
+    Long getId();
+
+    String getName();
+
+    String getNationality();
+
+    LocalDate getBirthDate();
+
+    Long getVersion();
+}
@@ -0,0 +1,15 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+/**
+ * Read-only projection of an author with the number of books and magazines they wrote.
+ */
+public interface AuthorStatisticsView {
+
+    Long getId();
+
+    String getName();
+
+    String getNationality();
+
+    Long getPublications();
+}
@@ -0,0 +1,19 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the columns needed for a book summary.
+ */
+public interface BookSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDate getPublicationDate();
+
+    String getIsbn();
+
+    String getAuthorName();
+}
@@ -0,0 +1,11 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+/**
+ * Read-only projection of the ID and optimistic locking version of an entity.
+ */
+public interface EntityVersionView {
+
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,11 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+/**
+ * Read-only projection of a link between a magazine and one of its authors.
+ */
+public interface MagazineAuthorLinkView {
+
+    Long getMagazineId();
+
+    Long getAuthorId();
+}
@@ -0,0 +1,19 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of an author of a magazine, keyed by the magazine ID.
+ */
+public interface MagazineAuthorView {
+
+    Long getMagazineId();
+
+    Long getId();
+
+    String getName();
+
+    String getNationality();
+
+    LocalDate getBirthDate();
+}
@@ -0,0 +1,17 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the columns needed for a magazine summary, without its authors.
+ */
+public interface MagazineSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDate getPublicationDate();
+
+    Integer getIssueNumber();
+}
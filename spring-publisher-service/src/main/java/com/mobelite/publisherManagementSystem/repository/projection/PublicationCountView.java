@@ -0,0 +1,16 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+/**
+ * Number of publications of a type published in a year.
+ */
+public interface PublicationCountView {
+
+    /**
+     * @return BOOK or MAGAZINE
+     */
+    String getType();
+
+    Integer getYear();
+
+    Long getCount();
+}
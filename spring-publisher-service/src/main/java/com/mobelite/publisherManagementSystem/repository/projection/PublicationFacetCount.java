@@ -0,0 +1,33 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Number of publications matching a search that share one value of a facet.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PublicationFacetCount {
+
+    public enum Facet {
+        TYPE,
+        YEAR,
+        ISSUE_NUMBER,
+        AUTHOR,
+        NATIONALITY,
+        /**
+         * All matching publications, with a null value.
+         */
+        TOTAL
+    }
+
+    private final Facet facet;
+
+    /**
+     * Facet value as text, null for publications without one.
+     */
+    private final String value;
+
+    private final long count;
+}
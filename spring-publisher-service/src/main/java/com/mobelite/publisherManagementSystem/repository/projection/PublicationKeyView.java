@@ -0,0 +1,23 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the columns catalog statistics are keyed by, one row per publication author.
+ */
+public interface PublicationKeyView {
+
+    Long getId();
+
+    /**
+     * @return BOOK or MAGAZINE
+     */
+    String getType();
+
+    LocalDate getPublicationDate();
+
+    /**
+     * @return Book author or one of the magazine authors, null when the publication has none
+     */
+    Long getAuthorId();
+}
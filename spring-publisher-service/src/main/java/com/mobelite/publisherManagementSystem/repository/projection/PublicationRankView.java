@@ -0,0 +1,13 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+/**
+ * Read-only projection of a title search match with its relevance, used to stream the search in chunks.
+ */
+public interface PublicationRankView {
+
+    Long getId();
+
+    String getTitle();
+
+    Double getScore();
+}
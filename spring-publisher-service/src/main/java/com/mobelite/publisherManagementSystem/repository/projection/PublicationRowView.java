@@ -0,0 +1,32 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the publication columns held by the catalog read model and snapshot.
+ * Columns that do not apply to the publication type are null.
+ */
+public interface PublicationRowView {
+
+    Long getId();
+
+    /**
+     * @return BOOK or MAGAZINE
+     */
+    String getType();
+
+    String getTitle();
+
+    LocalDate getPublicationDate();
+
+    String getIsbn();
+
+    Integer getIssueNumber();
+
+    /**
+     * @return Author of a book
+     */
+    Long getAuthorId();
+
+    Long getVersion();
+}
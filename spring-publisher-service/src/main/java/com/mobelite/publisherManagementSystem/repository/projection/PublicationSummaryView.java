@@ -0,0 +1,27 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the columns needed for a publication summary of any type.
+ * Columns that do not apply to the publication type are null.
+ */
+public interface PublicationSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDate getPublicationDate();
+
+    /**
+     * @return BOOK or MAGAZINE
+     */
+    String getType();
+
+    String getIsbn();
+
+    String getAuthorName();
+
+    Integer getIssueNumber();
+}
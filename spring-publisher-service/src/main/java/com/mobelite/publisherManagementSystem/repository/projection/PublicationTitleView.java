@@ -0,0 +1,11 @@
+package com.mobelite.publisherManagementSystem.repository.projection;
+
+/**
+ * Read-only projection of a publication title, used by the title suggestions.
+ */
+public interface PublicationTitleView {
+
+    Long getId();
+
+    String getTitle();
+}
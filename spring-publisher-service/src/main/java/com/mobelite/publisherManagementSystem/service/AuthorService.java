@@ -1,6 +1,8 @@
 package com.mobelite.publisherManagementSystem.service;
 
 import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import org.springframework.data.domain.Page;
@@ -32,6 +34,22 @@ public interface AuthorService {
      */
     AuthorResponseDto getAuthorById(Long id);
 
+    /**
+     * Get many authors by ID in a single query, their books and magazines loaded in batches.
+     *
+     * @param ids Author IDs, duplicates allowed
+     * @return One item per requested ID in request order, with the missing IDs
+     */
+    BatchGetResponseDto<AuthorResponseDto> getAuthorsByIds(List<Long> ids);
+
+    /**
+     * Get a tag that changes whenever the author or one of its publications changes, without loading them.
+     *
+     * @param id Author ID
+     * @return Author version tag
+     */
+    String getAuthorVersionTag(Long id);
+
     /**
      * Get all authors with pagination.
      *
@@ -40,6 +58,14 @@ public interface AuthorService {
      */
     Page<AuthorResponseDto> getAllAuthors(Pageable pageable);
 
+    /**
+     * Get authors ordered by name with keyset (cursor) pagination.
+     * @param after Cursor returned by the previous page, blank for the first page
+     * @param size Page size
+     * @return Cursor page of authors
+     */
+    CursorPageResponseDto<AuthorResponseDto> getAllAuthors(String after, int size);
+
     /**
      * Delete an author by ID.
      *
@@ -1,12 +1,18 @@
 package com.mobelite.publisherManagementSystem.service;
 
+import com.mobelite.publisherManagementSystem.dto.request.book.BookBulkCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookBulkCreateResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Service interface for Book entity operations.
  * Defines business logic methods for book management.
@@ -21,6 +27,15 @@ public interface BookService {
      */
     BookResponseDto createBook(BookCreateRequestDto request);
 
+    /**
+     * Create many books in one transaction, inserting them in JDBC batches.
+     * Books whose author does not exist or whose ISBN or title is already taken are skipped
+     * and reported in the results instead of failing the whole request.
+     * @param request The books to create
+     * @return One result per requested book, in request order
+     */
+    BookBulkCreateResponseDto createBooks(BookBulkCreateRequestDto request);
+
     /**
      * Update an existing book.
      * @param id The book ID to update
@@ -30,6 +45,24 @@ public interface BookService {
      */
     BookResponseDto updateBook(Long id, BookUpdateRequestDto request);
 
+    /**
+     * Update an existing book if it is still at the expected version.
+     * @param id The book ID to update
+     * @param request The book update request
+     * @param expectedVersion Version the client last read, null to skip the check
+     * @return The updated book response, carrying its new version
+     * @throws PreconditionFailedException if the book is no longer at the expected version
+     */
+    BookResponseDto updateBook(Long id, BookUpdateRequestDto request, Long expectedVersion);
+
+    /**
+     * Get the current version of a book without loading it.
+     * @param id The book ID
+     * @return The book version
+     * @throws ResourceNotFoundException if book doesn't exist
+     */
+    Long getBookVersion(Long id);
+
     /**
      * Get a book by ID.
      * @param id The book ID
@@ -38,6 +71,14 @@ public interface BookService {
      */
     BookResponseDto getBookById(Long id);
 
+    /**
+     * Get many books by ID in a single query.
+     * @param ids Book IDs, duplicates allowed
+     * @return One item per requested ID in request order, with the IDs that are not books reported as missing
+     * @throws BusinessException if there are no IDs or too many
+     */
+    BatchGetResponseDto<BookResponseDto> getBooksByIds(List<Long> ids);
+
     /**
      * Get a book by ISBN.
      * @param isbn The ISBN
@@ -53,6 +94,14 @@ public interface BookService {
      */
     Page<BookResponseDto> getAllBooks(Pageable pageable);
 
+    /**
+     * Get books ordered by title with keyset (cursor) pagination.
+     * @param after Cursor returned by the previous page, blank for the first page
+     * @param size Page size
+     * @return Cursor page of books
+     */
+    CursorPageResponseDto<BookResponseDto> getAllBooks(String after, int size);
+
     /**
      * Get books by author ID.
      * @param authorId The author ID
@@ -1,11 +1,15 @@
 package com.mobelite.publisherManagementSystem.service;
 
 import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 
 /**
  * Service interface for Magazine operations.
@@ -28,6 +32,22 @@ public interface MagazineService {
      */
     MagazineResponseDto updateMagazine(Long id, MagazineRequestDto requestDto);
 
+    /**
+     * Update an existing magazine if it is still at the expected version.
+     * @param id Magazine ID
+     * @param requestDto Magazine update request
+     * @param expectedVersion Version the client last read, null to skip the check
+     * @return Updated magazine response, carrying its new version
+     */
+    MagazineResponseDto updateMagazine(Long id, MagazineRequestDto requestDto, Long expectedVersion);
+
+    /**
+     * Get the current version of a magazine without loading it.
+     * @param id Magazine ID
+     * @return Magazine version
+     */
+    Long getMagazineVersion(Long id);
+
     /**
      * Get magazine by ID.
      * @param id Magazine ID
@@ -35,6 +55,13 @@ public interface MagazineService {
      */
     MagazineResponseDto getMagazineById(Long id);
 
+    /**
+     * Get many magazines by ID in a single query.
+     * @param ids Magazine IDs, duplicates allowed
+     * @return One item per requested ID in request order, with the IDs that are not magazines reported as missing
+     */
+    BatchGetResponseDto<MagazineResponseDto> getMagazinesByIds(List<Long> ids);
+
 
     /**
      * Get all magazines with pagination.
@@ -44,6 +71,14 @@ public interface MagazineService {
      */
     Page<MagazineSummaryResponseDto> getAllMagazines(Pageable pageable);
 
+    /**
+     * Get magazines ordered by title with keyset (cursor) pagination.
+     * @param after Cursor returned by the previous page, blank for the first page
+     * @param size Page size
+     * @return Cursor page of magazines
+     */
+    CursorPageResponseDto<MagazineSummaryResponseDto> getAllMagazines(String after, int size);
+
 
 
     /**
@@ -1,11 +1,20 @@
 package com.mobelite.publisherManagementSystem.service;
 
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.CatalogStatisticsResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.GroupedPublicationsResponse;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSearchResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
+import com.mobelite.publisherManagementSystem.repository.PublicationSearchCriteria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 
 /**
  * Service interface for Publication operations.
@@ -20,6 +29,13 @@ public interface PublicationService {
      */
     PublicationResponseDto getPublicationById(Long id);
 
+    /**
+     * Get many publications of any type by ID in a single query.
+     * @param ids Publication IDs, duplicates allowed
+     * @return One item per requested ID in request order, with the missing IDs
+     */
+    BatchGetResponseDto<PublicationResponseDto> getPublicationsByIds(List<Long> ids);
+
     /**
      * Get all publications with pagination.
      * @param pageable Pagination information
@@ -27,12 +43,35 @@ public interface PublicationService {
      */
     Page<PublicationSummaryResponseDto> getAllPublications(Pageable pageable);
 
+    /**
+     * Get publications ordered by title with keyset (cursor) pagination.
+     * @param after Cursor returned by the previous page, blank for the first page
+     * @param size Page size
+     * @return Cursor page of publications
+     */
+    CursorPageResponseDto<PublicationSummaryResponseDto> getAllPublications(String after, int size);
+
     /**
      * Retrieves all publications grouped by type (books and magazines)
      * @return GroupedPublicationsResponse containing separate lists for books and magazines
      */
     GroupedPublicationsResponse getAllPublicationsGroupedByType();
 
+    /**
+     * Streams all publications, books first then magazines, to the given sink as they are read.
+     * Rows are read through a database cursor and detached in chunks, so memory use does not grow with the catalog.
+     * @param sink Receives each publication summary in order
+     */
+    void streamAllPublicationsGroupedByType(Consumer<PublicationSummaryResponseDto> sink);
+
+    /**
+     * Streams the summaries of all publications in title order to the given sink as they are read.
+     * Rows are read by keyset in chunks, each in a short transaction of its own, so that no connection is held
+     * while the sink blocks. Magazine authors are loaded with one query per chunk.
+     * @param sink Receives each publication summary in order
+     */
+    void streamAllPublications(Consumer<PublicationSummaryResponseDto> sink);
+
     /**
      * Search publications by title.
      * @param title The title to search for
@@ -41,12 +80,63 @@ public interface PublicationService {
      */
     Page<PublicationSummaryResponseDto> searchPublicationsByTitle(String title, Pageable pageable);
 
+    /**
+     * Search publications by title, ranked by relevance.
+     * @param title The title to search for
+     * @param minSimilarity Optional minimum word similarity (0-1) to also match titles that do not contain the text
+     * @param pageable Pagination information (sorting is ignored, results are ranked)
+     * @return Page of publication summaries
+     */
+    Page<PublicationSummaryResponseDto> searchPublicationsByTitle(String title, Double minSimilarity, Pageable pageable);
+
+    /**
+     * Search publications on any combination of filters, with the number of matches per type, publication year,
+     * issue number, author and author nationality. Facets are counted in one statement whatever the filters.
+     * @param criteria Search filters, unset filters are not applied
+     * @param pageable Pagination information (sorting is ignored, results are ordered by title)
+     * @return Page of publication summaries with the facet counts of all matches
+     */
+    PublicationSearchResponseDto searchPublications(PublicationSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Streams every publication matching the title search, ranked by relevance, to the given sink as they are read.
+     * Matches are read by keyset on their rank in chunks, each in a short transaction of its own.
+     * @param title The title to search for
+     * @param minSimilarity Optional minimum word similarity (0-1) to also match titles that do not contain the text
+     * @param sink Receives each publication summary in order
+     */
+    void streamPublicationsByTitle(String title, Double minSimilarity, Consumer<PublicationSummaryResponseDto> sink);
+
+    /**
+     * Get the catalog totals per type, publication year and author nationality, with the most prolific authors.
+     * Totals are maintained as publications and authors are written, no query is run.
+     * @param top Number of most prolific authors to list, between 1 and 100
+     * @return Catalog statistics
+     */
+    CatalogStatisticsResponseDto getCatalogStatistics(int top);
+
+    /**
+     * Suggest publication titles starting with a prefix, ignoring case and accents, in title order.
+     * Served from an in-memory prefix index, and from the database until the index is built.
+     * @param prefix Title prefix typed so far
+     * @param limit Maximum number of suggestions, between 1 and 50
+     * @return Suggested titles
+     */
+    List<TitleSuggestionDto> suggestTitles(String prefix, int limit);
+
     /**
      * Delete a publication by ID.
      * @param id The publication ID
      */
     void deletePublication(Long id);
 
+    /**
+     * Delete many publications of any type, with their magazine author links, in a fixed number of statements.
+     * @param ids Publication IDs, duplicates allowed, IDs that do not exist are skipped
+     * @return Number of publications deleted
+     */
+    int deletePublications(List<Long> ids);
+
     /**
      * Check if a publication exists by ID.
      * @param id The publication ID
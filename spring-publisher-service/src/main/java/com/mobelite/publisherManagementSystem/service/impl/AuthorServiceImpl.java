@@ -1,21 +1,42 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
 import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
 import com.mobelite.publisherManagementSystem.exception.DuplicateResourceException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
 import com.mobelite.publisherManagementSystem.mapper.AuthorMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
+import com.mobelite.publisherManagementSystem.pagination.KeysetPagination;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.EntityVersionView;
 import com.mobelite.publisherManagementSystem.service.AuthorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,8 +49,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class AuthorServiceImpl implements AuthorService {
 
+    // Digest bytes kept in author version tags
+    private static final int VERSION_TAG_DIGEST_BYTES = 12;
+
     private final AuthorRepository authorRepository;
+    private final MagazineRepository magazineRepository;
     private final AuthorMapper authorMapper;
+    private final CatalogReadModel catalogReadModel;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public AuthorResponseDto createAuthor(AuthorRequestDto authorRequestDto) {
@@ -41,6 +68,7 @@ public class AuthorServiceImpl implements AuthorService {
 
         Author author = authorMapper.toEntity(authorRequestDto);
         Author savedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(CatalogChangeEvent.authorCreated(savedAuthor));
 
         return authorMapper.toResponseDto(savedAuthor);
     }
@@ -54,23 +82,65 @@ public class AuthorServiceImpl implements AuthorService {
         return authorMapper.toResponseDto(author);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponseDto<AuthorResponseDto> getAuthorsByIds(List<Long> ids) {
+
+        List<Long> distinctIds = BatchLookup.distinctIds(ids);
+        List<Author> authors = authorRepository.findAllByIdInRequestOrder(distinctIds);
+        return BatchLookup.toResponse(ids, distinctIds, authors, authorMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAuthorVersionTag(Long id) {
+        List<EntityVersionView> versions = authorRepository.findVersionsForTagById(id);
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException("Author not found with ID: " + id);
+        }
+        return versionTag(versions);
+    }
+
+    /**
+     * Author version followed by a digest of the ID and version of each of its publications, so that adding,
+     * updating or removing one of them changes the tag.
+     * @param versions Author row first, then its publications in ID order
+     * @return Version tag
+     */
+    private static String versionTag(List<EntityVersionView> versions) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (EntityVersionView publication : versions.subList(1, versions.size())) {
+            digest.update((publication.getId() + ":" + publication.getVersion() + ";").getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] hash = Arrays.copyOf(digest.digest(), VERSION_TAG_DIGEST_BYTES);
+        return versions.get(0).getVersion() + "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
     /**
      * Get all authors with their books and magazines with pagination support.
      */
     @Transactional(readOnly = true)
     @Override
     public Page<AuthorResponseDto> getAllAuthors(Pageable pageable) {
+        Optional<Page<AuthorResponseDto>> fromReadModel = catalogReadModel.findAllAuthors(pageable);
+        if (fromReadModel.isPresent()) {
+            return fromReadModel.get();
+        }
+
         try {
-            // Use pageable in repository call - you'll need to update your repository method
-            Page<Author> authorPage = authorRepository.findAllWithMagazines(pageable);
+            // Page over IDs only, so the database applies the limit instead of Hibernate paginating in memory
+            Page<Long> idPage = authorRepository.findAllIds(pageable);
 
-            // Initialize books collection for each author in the current page
-            for (Author author : authorPage.getContent()) {
-                author.getBooks().size();
-            }
+            // Load the page with its books, magazines and magazine authors in a fixed number of queries
+            List<Author> authors = findAllWithPublications(idPage.getContent());
 
             // Map authors to response DTOs
-            List<AuthorResponseDto> authorResponseDtos = authorPage.getContent().stream()
+            List<AuthorResponseDto> authorResponseDtos = authors.stream()
                     .map(author -> {
                         try {
                             return authorMapper.toResponseDto(author);
@@ -82,7 +152,7 @@ public class AuthorServiceImpl implements AuthorService {
                     .collect(Collectors.toList());
 
             // Return a new Page with mapped content
-            return new PageImpl<>(authorResponseDtos, pageable, authorPage.getTotalElements());
+            return new PageImpl<>(authorResponseDtos, pageable, idPage.getTotalElements());
 
         } catch (Exception e) {
             log.error("Error fetching authors: {}", e.getMessage(), e);
@@ -90,24 +160,45 @@ public class AuthorServiceImpl implements AuthorService {
         }
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponseDto<AuthorResponseDto> getAllAuthors(String after, int size) {
+
+        int limit = KeysetPagination.fetchSize(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+
+        List<Author> rows = cursor == null
+                ? authorRepository.findFirstByKeyset(limit)
+                : authorRepository.findNextByKeyset(cursor.getKey(), cursor.getId(), limit);
+        List<Author> authors = findAllWithPublications(rows.stream().map(Author::getId).toList());
+
+        return KeysetPagination.toPage(authors, size,
+                author -> new KeysetCursor(author.getName(), author.getId()), authorMapper::toResponseDto);
+    }
+
     @Override
     public void deleteAuthor(Long id) {
         log.info("Attempting to delete author with ID: {}", id);
 
-        // Check if author exists before attempting to delete
-        if (!authorRepository.existsById(id)) {
-            log.warn("Author with ID {} not found for deletion", id);
-            throw new ResourceNotFoundException("Author not found with ID: " + id);
-        }
-
+        int deleted;
         try {
-            // Delete the author
-            authorRepository.deleteById(id);
-            log.info("Successfully deleted author with ID: {}", id);
+            // Read before the deletes, for the listeners to drop the author's publications only
+            eventPublisher.publishEvent(CatalogChangeEvent.authorDeleting(id,
+                    authorRepository.findBookIdsByAuthorId(id), authorRepository.findMagazineIdsByAuthorId(id)));
+            // Books and magazine links are removed set-based, instead of loading every association
+            int books = authorRepository.deleteBooksByAuthorId(id);
+            deleted = authorRepository.deleteAuthorById(id);
+            log.debug("Deleted {} books of author {}", books, id);
         } catch (Exception e) {
             log.error("Error deleting author with ID {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Failed to delete author with ID: " + id, e);
         }
+
+        if (deleted == 0) {
+            log.warn("Author with ID {} not found for deletion", id);
+            throw new ResourceNotFoundException("Author not found with ID: " + id);
+        }
+        log.info("Successfully deleted author with ID: {}", id);
     }
 
     @Override
@@ -115,4 +206,34 @@ public class AuthorServiceImpl implements AuthorService {
     public boolean existsById(Long id) {
         return authorRepository.existsById(id);
     }
+
+    /**
+     * Load authors with books, magazines and the magazines' authors using one query per association,
+     * whatever the number of authors. Fetch joins on separate queries avoid a cartesian product
+     * between books and magazines.
+     * @param ids Author IDs, in the order to return them
+     * @return Authors in the order of the given IDs
+     */
+    private List<Author> findAllWithPublications(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Author> authorsById = authorRepository.findAllWithBooksByIdIn(ids).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+
+        Set<Long> magazineIds = authorRepository.findAllWithMagazinesByIdIn(ids).stream()
+                .flatMap(author -> author.getMagazines().stream())
+                .map(Magazine::getId)
+                .collect(Collectors.toSet());
+        if (!magazineIds.isEmpty()) {
+            // Initializes Magazine.authors of the already loaded magazines
+            magazineRepository.findAllWithAuthorsByIdIn(magazineIds);
+        }
+
+        return ids.stream()
+                .map(authorsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.dto.request.BatchGetRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the batch get-by-IDs service methods.
+ */
+final class BatchLookup {
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Validate requested IDs and drop nulls and duplicates, so each ID is loaded once.
+     * @param ids Requested IDs
+     * @return Distinct IDs in request order
+     * @throws BusinessException if there are no IDs or more than {@link BatchGetRequestDto#MAX_IDS}
+     */
+    static List<Long> distinctIds(List<Long> ids) {
+        List<Long> distinct = ids == null ? List.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinct.isEmpty() || distinct.size() > BatchGetRequestDto.MAX_IDS) {
+            throw new BusinessException("Between 1 and " + BatchGetRequestDto.MAX_IDS + " IDs are required");
+        }
+        return distinct;
+    }
+
+    /**
+     * Map loaded entities back onto the requested IDs, repeating duplicates and reporting misses.
+     * @param ids Requested IDs
+     * @param distinctIds IDs that were loaded
+     * @param loaded Entities aligned with {@code distinctIds}, null where not found
+     * @param mapper Maps a found entity to its response
+     * @return One item per requested ID, in request order
+     */
+    static <E, T> BatchGetResponseDto<T> toResponse(List<Long> ids, List<Long> distinctIds, List<E> loaded,
+                                                    Function<E, T> mapper) {
+        Map<Long, T> found = new HashMap<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            E entity = loaded.get(i);
+            if (entity != null) {
+                found.put(distinctIds.get(i), mapper.apply(entity));
+            }
+        }
+
+        List<T> items = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T item = id == null ? null : found.get(id);
+            items.add(item);
+            if (item == null && id != null) {
+                missingIds.add(id);
+            }
+        }
+        return BatchGetResponseDto.<T>builder()
+                .items(items)
+                .missingIds(missingIds)
+                .build();
+    }
+}
@@ -1,24 +1,54 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex;
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex.KeySpace;
+import com.mobelite.publisherManagementSystem.cluster.CacheRegion;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookBulkCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookBulkCreateResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookBulkItemResultDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.enums.BulkItemStatus;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
 import com.mobelite.publisherManagementSystem.exception.DuplicateResourceException;
+import com.mobelite.publisherManagementSystem.exception.PreconditionFailedException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
 import com.mobelite.publisherManagementSystem.mapper.BookMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
+import com.mobelite.publisherManagementSystem.pagination.KeysetPagination;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
 import com.mobelite.publisherManagementSystem.repository.BookRepository;
 import com.mobelite.publisherManagementSystem.service.BookService;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import com.mobelite.publisherManagementSystem.statistics.CatalogStatistics.PublicationKeys;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation of BookService interface.
@@ -33,6 +63,21 @@ public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final BookResponseCache bookCache;
+    private final ExistenceIndex existenceIndex;
+    private final CatalogReadModel catalogReadModel;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ClusteredCache clusteredCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Books persisted between two flushes of a bulk creation. A multiple of hibernate.jdbc.batch_size.
+     */
+    private static final int BULK_FLUSH_SIZE = 500;
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
 
     @Override
     @Transactional
@@ -49,6 +94,7 @@ public class BookServiceImpl implements BookService {
 
             // Save and return response
             Book savedBook = bookRepository.save(book);
+            eventPublisher.publishEvent(CatalogChangeEvent.publicationsCreated(List.of(savedBook)));
 
             return bookMapper.toResponse(savedBook);
 
@@ -61,14 +107,100 @@ public class BookServiceImpl implements BookService {
         }
     }
 
+    @Override
+    @Transactional
+    public BookBulkCreateResponseDto createBooks(BookBulkCreateRequestDto request) {
+
+        List<BookCreateRequestDto> items = request.getBooks();
+
+        // Resolve all referenced authors and already taken ISBNs and titles up front
+        Set<Long> authorIds = new HashSet<>(queryInChunks(
+                items.stream().map(BookCreateRequestDto::getAuthorId).distinct().toList(),
+                authorRepository::findExistingIds));
+        Set<String> takenIsbns = new HashSet<>(queryInChunks(
+                items.stream().map(BookCreateRequestDto::getIsbn).distinct().toList(),
+                bookRepository::findExistingIsbns));
+        Set<String> takenTitles = new HashSet<>(queryInChunks(
+                items.stream().map(BookCreateRequestDto::getTitle).distinct().toList(),
+                bookRepository::findExistingTitles));
+
+        List<BookBulkItemResultDto> results = new ArrayList<>(items.size());
+        List<Book> batch = new ArrayList<>(BULK_FLUSH_SIZE);
+        List<BookBulkItemResultDto> batchResults = new ArrayList<>(BULK_FLUSH_SIZE);
+        int created = 0;
+
+        try {
+            for (int index = 0; index < items.size(); index++) {
+                BookCreateRequestDto item = items.get(index);
+
+                // Checks also catch duplicates within the request itself
+                BulkItemStatus status;
+                if (!authorIds.contains(item.getAuthorId())) {
+                    status = BulkItemStatus.AUTHOR_NOT_FOUND;
+                } else if (!takenIsbns.add(item.getIsbn())) {
+                    status = BulkItemStatus.DUPLICATE_ISBN;
+                } else if (!takenTitles.add(item.getTitle())) {
+                    status = BulkItemStatus.DUPLICATE_TITLE;
+                } else {
+                    status = BulkItemStatus.CREATED;
+                }
+
+                if (status != BulkItemStatus.CREATED) {
+                    results.add(rejected(index, item, status));
+                    continue;
+                }
+
+                Book book = bookMapper.toEntity(item);
+                book.setAuthor(authorRepository.getReferenceById(item.getAuthorId()));
+                BookBulkItemResultDto result = BookBulkItemResultDto.builder()
+                        .index(index)
+                        .status(BulkItemStatus.CREATED)
+                        .isbn(item.getIsbn())
+                        .build();
+                batch.add(book);
+                batchResults.add(result);
+                results.add(result);
+                created++;
+
+                if (batch.size() == BULK_FLUSH_SIZE) {
+                    insertBatch(batch, batchResults);
+                }
+            }
+            insertBatch(batch, batchResults);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent write took an ISBN or title after the up-front checks
+            throw new DuplicateResourceException("Bulk creation conflicts with existing books, no book was created");
+        }
+
+        log.info("Bulk book creation: {} created, {} rejected", created, items.size() - created);
+
+        return BookBulkCreateResponseDto.builder()
+                .created(created)
+                .rejected(items.size() - created)
+                .results(results)
+                .build();
+    }
+
     @Override
     @Transactional
     public BookResponseDto updateBook(Long id, BookUpdateRequestDto request) {
+        return updateBook(id, request, null);
+    }
+
+    @Override
+    @Transactional
+    public BookResponseDto updateBook(Long id, BookUpdateRequestDto request, Long expectedVersion) {
 
         // Find existing book
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book with ID " + id + " not found"));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingBook.getVersion())) {
+            throw new PreconditionFailedException("Book with ID " + id + " has been modified, current version is "
+                    + existingBook.getVersion());
+        }
+        PublicationKeys before = PublicationKeys.of(existingBook);
+
         // Validate ISBN uniqueness if ISBN is being updated
         if (request.getIsbn() != null && !request.getIsbn().equals(existingBook.getIsbn())) {
             if (bookRepository.existsByIsbnAndIdNot(request.getIsbn(), id)) {
@@ -88,26 +220,113 @@ public class BookServiceImpl implements BookService {
 
         // Save and return response
         Book updatedBook = bookRepository.save(existingBook);
+        // Flush so that the response carries the incremented version
+        bookRepository.flush();
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationUpdated(before, updatedBook));
 
         return bookMapper.toResponse(updatedBook);
     }
 
+    /**
+     * Insert a batch of books, flush it as JDBC batches and detach it so the persistence context stays small.
+     * IDs come from the pooled sequence at persist time and are copied into the matching results.
+     */
+    private void insertBatch(List<Book> batch, List<BookBulkItemResultDto> batchResults) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        bookRepository.saveAll(batch);
+        bookRepository.flush();
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationsCreated(batch));
+
+        for (int i = 0; i < batch.size(); i++) {
+            batchResults.get(i).setId(batch.get(i).getId());
+        }
+
+        entityManager.clear();
+        batch.clear();
+        batchResults.clear();
+    }
+
+    private static BookBulkItemResultDto rejected(int index, BookCreateRequestDto item, BulkItemStatus status) {
+        String message = switch (status) {
+            case AUTHOR_NOT_FOUND -> "Author with ID " + item.getAuthorId() + " not found";
+            case DUPLICATE_ISBN -> "Book with ISBN " + item.getIsbn() + " already exists";
+            case DUPLICATE_TITLE -> "Publication with title '" + item.getTitle() + "' already exists";
+            default -> null;
+        };
+        return BookBulkItemResultDto.builder()
+                .index(index)
+                .status(status)
+                .isbn(item.getIsbn())
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Run an IN query over the values in chunks, keeping each statement's parameter list bounded.
+     */
+    private static <T, R> List<R> queryInChunks(List<T> values, Function<List<T>, List<R>> query) {
+        List<R> found = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            found.addAll(query.apply(values.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, values.size()))));
+        }
+        return found;
+    }
+
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookResponseDto getBookById(Long id) {
 
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book with ID " + id + " not found"));
+        Supplier<BookResponseDto> lookup = () -> clusteredCache.get(CacheRegion.BOOKS, id, () -> inReadOnlyTransaction(() -> {
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book with ID " + id + " not found"));
+
+            return bookMapper.toResponse(book);
+        }));
+        // Books owned by another member are only near-cached by the cluster, their owner's evictions do not reach this member
+        return clusteredCache.isLocal(CacheRegion.BOOKS, id) ? bookCache.getById(id, lookup) : lookup.get();
+    }
+
+    @Override
+    public BatchGetResponseDto<BookResponseDto> getBooksByIds(List<Long> ids) {
+
+        List<Long> distinctIds = BatchLookup.distinctIds(ids);
+        // Magazine IDs resolve to magazines, reported as missing
+        List<Book> books = bookRepository.findAllByIdInRequestOrder(distinctIds).stream()
+                .map(publication -> publication instanceof Book book ? book : null)
+                .toList();
+        return BatchLookup.toResponse(ids, distinctIds, books, bookMapper::toResponse);
+    }
 
-        return bookMapper.toResponse(book);
+    @Override
+    public Long getBookVersion(Long id) {
+
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book with ID " + id + " not found"));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookResponseDto getBookByIsbn(String isbn) {
 
-        Book book = bookRepository.findByIsbn(isbn)
-                .orElseThrow(() -> new ResourceNotFoundException("Book with ISBN " + isbn + " not found"));
+        return catalogSnapshot.findBookByIsbn(isbn).orElseGet(() -> bookCache.getByIsbn(isbn, () -> inReadOnlyTransaction(() -> {
+            Book book = bookRepository.findByIsbn(isbn)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book with ISBN " + isbn + " not found"));
 
-        return bookMapper.toResponse(book);
+            return bookMapper.toResponse(book);
+        })));
+    }
+
+    /**
+     * Run a cache loader in its own read-only transaction: lookups answered from the caches
+     * or by another member do not hold a connection.
+     */
+    private <T> T inReadOnlyTransaction(Supplier<T> loader) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> loader.get());
     }
 
     @Override
@@ -117,11 +336,26 @@ public class BookServiceImpl implements BookService {
                 .map(bookMapper::toResponse);
     }
 
+    @Override
+    public CursorPageResponseDto<BookResponseDto> getAllBooks(String after, int size) {
+
+        int limit = KeysetPagination.fetchSize(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+
+        List<Book> books = cursor == null
+                ? bookRepository.findFirstByKeyset(limit)
+                : bookRepository.findNextByKeyset(cursor.getKey(), cursor.getId(), limit);
+
+        return KeysetPagination.toPage(books, size,
+                book -> new KeysetCursor(book.getTitle(), book.getId()), bookMapper::toResponse);
+    }
+
     @Override
     public Page<BookSummaryResponseDto> getBooksByAuthor(Long authorId, Pageable pageable) {
 
-        return bookRepository.findByAuthorId(authorId, pageable)
-                .map(bookMapper::toSummaryResponse);
+        return catalogReadModel.findBooksByAuthor(authorId, pageable)
+                .orElseGet(() -> bookRepository.findSummariesByAuthorId(authorId, pageable)
+                        .map(bookMapper::toSummaryResponse));
     }
 
 
@@ -129,16 +363,16 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public void deleteBook(Long id) {
 
-        if (!bookRepository.existsById(id)) {
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationsDeleting(List.of(id)));
+        if (bookRepository.deleteBookById(id) == 0) {
             throw new ResourceNotFoundException("Book with ID " + id + " not found");
         }
-
-        bookRepository.deleteById(id);
     }
 
     @Override
     public boolean existsById(Long id) {
-        return bookRepository.existsById(id);
+        return existenceIndex.mightContain(KeySpace.PUBLICATION_ID, id)
+                && bookRepository.existsById(id);
     }
 
 }
\ No newline at end of file
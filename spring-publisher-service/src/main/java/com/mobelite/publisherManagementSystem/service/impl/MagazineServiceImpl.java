@@ -1,22 +1,40 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
+import com.mobelite.publisherManagementSystem.cluster.CacheRegion;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
 import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.exception.PreconditionFailedException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
 import com.mobelite.publisherManagementSystem.mapper.MagazineMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
+import com.mobelite.publisherManagementSystem.pagination.KeysetPagination;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
 import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineSummaryView;
 import com.mobelite.publisherManagementSystem.service.MagazineService;
+import com.mobelite.publisherManagementSystem.statistics.CatalogStatistics.PublicationKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Implementation of MagazineService interface.
@@ -30,6 +48,9 @@ public class MagazineServiceImpl implements MagazineService {
     private final MagazineMapper magazineMapper;
     private final MagazineRepository magazineRepository;
     private final AuthorRepository authorRepository;
+    private final ClusteredCache clusteredCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public MagazineResponseDto createMagazine(MagazineRequestDto requestDto) {
@@ -43,15 +64,27 @@ public class MagazineServiceImpl implements MagazineService {
         Magazine magazine = magazineMapper.toEntity(requestDto);
         magazine.setAuthors(authors);
         Magazine savedMagazine = magazineRepository.save(magazine);
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationsCreated(List.of(savedMagazine)));
         return magazineMapper.toResponseDto(savedMagazine);
     }
 
     @Override
     public MagazineResponseDto updateMagazine(Long id, MagazineRequestDto requestDto) {
+        return updateMagazine(id, requestDto, null);
+    }
+
+    @Override
+    public MagazineResponseDto updateMagazine(Long id, MagazineRequestDto requestDto, Long expectedVersion) {
 
         Magazine existingMagazine = magazineRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Magazine not found with ID: " + id));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingMagazine.getVersion())) {
+            throw new PreconditionFailedException("Magazine with ID " + id + " has been modified, current version is "
+                    + existingMagazine.getVersion());
+        }
+        PublicationKeys before = PublicationKeys.of(existingMagazine);
+
         // Validate all authors exist
         List<Author> authors = authorRepository.findAllById(requestDto.getAuthorIds());
         if (authors.size() != requestDto.getAuthorIds().size()) {
@@ -60,35 +93,102 @@ public class MagazineServiceImpl implements MagazineService {
 
         // Update magazine fields
         magazineMapper.updateEntityFromDto(requestDto, existingMagazine);
-        existingMagazine.setAuthors(authors);
+        // Mutable copy: merging the managed magazine clears and refills its author list
+        existingMagazine.setAuthors(new ArrayList<>(authors));
         Magazine updatedMagazine = magazineRepository.save(existingMagazine);
+        // Flush so that the response carries the incremented version
+        magazineRepository.flush();
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationUpdated(before, updatedMagazine));
         return magazineMapper.toResponseDto(updatedMagazine);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Long getMagazineVersion(Long id) {
+        return magazineRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Magazine not found with ID: " + id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MagazineResponseDto getMagazineById(Long id) {
 
-        Magazine magazine = magazineRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Magazine not found with ID: " + id));
-        return magazineMapper.toResponseDto(magazine);
+        return clusteredCache.get(CacheRegion.MAGAZINES, id, () -> inReadOnlyTransaction(() -> {
+            Magazine magazine = magazineRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Magazine not found with ID: " + id));
+            return magazineMapper.toResponseDto(magazine);
+        }));
     }
 
+    /**
+     * Run a cache loader in its own read-only transaction: lookups answered from the cache
+     * or by another member do not hold a connection.
+     */
+    private <T> T inReadOnlyTransaction(Supplier<T> loader) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> loader.get());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponseDto<MagazineResponseDto> getMagazinesByIds(List<Long> ids) {
+
+        List<Long> distinctIds = BatchLookup.distinctIds(ids);
+        // Book IDs resolve to books, reported as missing
+        List<Magazine> magazines = magazineRepository.findAllByIdInRequestOrder(distinctIds).stream()
+                .map(publication -> publication instanceof Magazine magazine ? magazine : null)
+                .toList();
+        return BatchLookup.toResponse(ids, distinctIds, magazines, magazineMapper::toResponseDto);
+    }
 
     @Override
     @Transactional(readOnly = true)
     public Page<MagazineSummaryResponseDto> getAllMagazines(Pageable pageable) {
-        Page<Magazine> magazines = magazineRepository.findAll(pageable);
-        return magazines.map(magazineMapper::toSummaryDto);
+        Page<MagazineSummaryResponseDto> magazines = magazineRepository.findAllSummaries(pageable)
+                .map(magazineMapper::toSummaryDto);
+        attachAuthors(magazines.getContent());
+        return magazines;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<MagazineSummaryResponseDto> getAllMagazines(String after, int size) {
+
+        int limit = KeysetPagination.fetchSize(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+
+        List<MagazineSummaryView> magazines = cursor == null
+                ? magazineRepository.findFirstSummariesByKeyset(limit)
+                : magazineRepository.findNextSummariesByKeyset(cursor.getKey(), cursor.getId(), limit);
+
+        CursorPageResponseDto<MagazineSummaryResponseDto> page = KeysetPagination.toPage(magazines, size,
+                magazine -> new KeysetCursor(magazine.getTitle(), magazine.getId()), magazineMapper::toSummaryDto);
+        attachAuthors(page.getContent());
+        return page;
+    }
+
+    /**
+     * Fill in the authors of magazine summaries with one query for the whole page.
+     */
+    private void attachAuthors(List<MagazineSummaryResponseDto> magazines) {
+        Map<Long, List<MagazineAuthorView>> authorsByMagazineId = magazineRepository.findAuthorsGroupedByMagazineId(
+                magazines.stream().map(MagazineSummaryResponseDto::getId).toList());
+
+        for (MagazineSummaryResponseDto magazine : magazines) {
+            magazine.setAuthors(authorsByMagazineId.getOrDefault(magazine.getId(), List.of()).stream()
+                    .map(magazineMapper::toAuthorSummaryDto)
+                    .toList());
+        }
     }
 
 
     @Override
     public void deleteMagazine(Long id) {
 
-        if (!magazineRepository.existsById(id)) {
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationsDeleting(List.of(id)));
+        if (magazineRepository.deleteMagazineById(id) == 0) {
             throw new ResourceNotFoundException("Magazine not found with ID: " + id);
         }
-        magazineRepository.deleteById(id);
     }
 }
@@ -1,23 +1,71 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex;
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex.KeySpace;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.CatalogStatisticsResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.GroupedPublicationsResponse;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationFacetsDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSearchResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
 import com.mobelite.publisherManagementSystem.entity.Book;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
 import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapper;
 import com.mobelite.publisherManagementSystem.mapper.PublicationMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
+import com.mobelite.publisherManagementSystem.pagination.KeysetPagination;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
 import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationSearchCriteria;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount.Facet;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRankView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationSummaryView;
 import com.mobelite.publisherManagementSystem.service.PublicationService;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import com.mobelite.publisherManagementSystem.statistics.CatalogStatistics;
+import com.mobelite.publisherManagementSystem.suggest.TitleKeys;
+import com.mobelite.publisherManagementSystem.suggest.TitleSuggestIndex;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -31,28 +79,94 @@ import java.util.List;
 public class PublicationServiceImpl implements PublicationService {
     private final PublicationRepository publicationRepository;
     private final PublicationMapper publicationMapper;
+    private final MagazineRepository magazineRepository;
+    private final MagazineMapper magazineMapper;
+    private final EntityManager entityManager;
+    private final ExistenceIndex existenceIndex;
+    private final CatalogStatistics catalogStatistics;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final CatalogReadModel catalogReadModel;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    private static final int MAX_TOP_AUTHORS = 100;
+
+    private static final int MAX_AUTHOR_FACETS = 20;
+
+    private static final String UNKNOWN_NATIONALITY = "UNKNOWN";
+
+    private static final int MAX_TITLE_SUGGESTIONS = 50;
 
 
     @Override
     @Transactional(readOnly = true)
     public PublicationResponseDto getPublicationById(Long id) {
 
+        Optional<PublicationResponseDto> fromSnapshot = catalogSnapshot.findPublication(id);
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+
         Publication publication = publicationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with ID: " + id));
         return publicationMapper.toResponseDto(publication);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponseDto<PublicationResponseDto> getPublicationsByIds(List<Long> ids) {
+
+        List<Long> distinctIds = BatchLookup.distinctIds(ids);
+        List<Publication> publications = publicationRepository.findAllByIdInRequestOrder(distinctIds);
+        return BatchLookup.toResponse(ids, distinctIds, publications, publicationMapper::toResponseDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<PublicationSummaryResponseDto> getAllPublications(Pageable pageable) {
 
-        Page<Publication> publications = publicationRepository.findAll(pageable);
-        return publications.map(publicationMapper::toSummaryResponseDto);
+        Optional<Page<PublicationSummaryResponseDto>> fromReadModel = catalogReadModel.findAllPublications(pageable);
+        if (fromReadModel.isPresent()) {
+            return fromReadModel.get();
+        }
+
+        Page<PublicationSummaryResponseDto> publications = publicationRepository.findAllSummaries(pageable)
+                .map(publicationMapper::toSummaryResponseDto);
+        attachMagazineAuthors(publications.getContent());
+        return publications;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<PublicationSummaryResponseDto> getAllPublications(String after, int size) {
+
+        int limit = KeysetPagination.fetchSize(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+
+        List<PublicationSummaryView> publications = cursor == null
+                ? publicationRepository.findFirstSummariesByKeyset(limit)
+                : publicationRepository.findNextSummariesByKeyset(cursor.getKey(), cursor.getId(), limit);
+
+        CursorPageResponseDto<PublicationSummaryResponseDto> page = KeysetPagination.toPage(publications, size,
+                publication -> new KeysetCursor(publication.getTitle(), publication.getId()),
+                publicationMapper::toSummaryResponseDto);
+        attachMagazineAuthors(page.getContent());
+        return page;
     }
 
     @Override
     @Transactional(readOnly = true)
     public GroupedPublicationsResponse getAllPublicationsGroupedByType() {
+        Optional<GroupedPublicationsResponse> fromReadModel = catalogReadModel.findAllPublicationsGroupedByType();
+        if (fromReadModel.isPresent()) {
+            return fromReadModel.get();
+        }
+
         List<Book> books = publicationRepository.findAllBooks(); // Custom repository method
         List<Magazine> magazines = publicationRepository.findAllMagazines(); // Custom repository method
 
@@ -61,33 +175,316 @@ public class PublicationServiceImpl implements PublicationService {
                 .magazines(magazines.stream().map(publicationMapper::magazineToSummaryDto).toList())
                 .build();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllPublicationsGroupedByType(Consumer<PublicationSummaryResponseDto> sink) {
+        try (Stream<Book> books = publicationRepository.streamAllBooks()) {
+            forEachDetached(books, publicationMapper::bookToSummaryDto, sink);
+        }
+        try (Stream<Magazine> magazines = publicationRepository.streamAllMagazines()) {
+            forEachDetached(magazines, publicationMapper::magazineToSummaryDto, sink);
+        }
+    }
+
+    @Override
+    // Each chunk is read in a transaction of its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllPublications(Consumer<PublicationSummaryResponseDto> sink) {
+        List<PublicationSummaryResponseDto> chunk = inChunkTransaction(() ->
+                toSummaries(publicationRepository.findFirstSummariesByKeyset(STREAM_CHUNK_SIZE)));
+        while (true) {
+            chunk.forEach(sink);
+            if (chunk.size() < STREAM_CHUNK_SIZE) {
+                return;
+            }
+            PublicationSummaryResponseDto last = chunk.get(chunk.size() - 1);
+            chunk = inChunkTransaction(() -> toSummaries(
+                    publicationRepository.findNextSummariesByKeyset(last.getTitle(), last.getId(), STREAM_CHUNK_SIZE)));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<PublicationSummaryResponseDto> searchPublicationsByTitle(String title, Pageable pageable) {
+        return searchPublicationsByTitle(title, null, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PublicationSummaryResponseDto> searchPublicationsByTitle(String title, Double minSimilarity, Pageable pageable) {
 
-        Page<Publication> publications = publicationRepository.findByTitleContainingIgnoreCase(title, pageable);
+        // Results are ranked by relevance, so any requested sort is dropped
+        Pageable byRelevance = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        String pattern = escapeLikePattern(title);
+
+        Page<Publication> publications;
+        if (minSimilarity == null) {
+            publications = publicationRepository.searchByTitle(title, pattern, byRelevance);
+        } else {
+            applyMinSimilarity(minSimilarity);
+            publications = publicationRepository.searchByTitleFuzzy(title, pattern, byRelevance);
+        }
         return publications.map(publicationMapper::toSummaryResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PublicationSearchResponseDto searchPublications(PublicationSearchCriteria criteria, Pageable pageable) {
+
+        if (criteria.getPublishedFrom() != null && criteria.getPublishedTo() != null
+                && criteria.getPublishedFrom().isAfter(criteria.getPublishedTo())) {
+            throw new BusinessException("Publication date range start must not be after its end");
+        }
+        if (criteria.getMinIssueNumber() != null && criteria.getMaxIssueNumber() != null
+                && criteria.getMinIssueNumber() > criteria.getMaxIssueNumber()) {
+            throw new BusinessException("Minimum issue number must not be greater than the maximum");
+        }
+
+        List<Long> ids = publicationRepository.findIdsBySearch(criteria, pageable);
+        List<PublicationFacetCount> facetCounts = publicationRepository.countFacetsBySearch(criteria);
+
+        List<PublicationSummaryResponseDto> summaries = findSummariesInOrder(ids);
+
+        long total = facetCounts.stream()
+                .filter(count -> count.getFacet() == Facet.TOTAL)
+                .mapToLong(PublicationFacetCount::getCount)
+                .sum();
+
+        return PublicationSearchResponseDto.builder()
+                .results(new PageImpl<>(summaries, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), total))
+                .facets(toFacets(facetCounts))
+                .build();
+    }
+
+    @Override
+    // Each chunk is read in a transaction of its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamPublicationsByTitle(String title, Double minSimilarity, Consumer<PublicationSummaryResponseDto> sink) {
+
+        String pattern = escapeLikePattern(title);
+        // Above any word similarity: the first chunk starts from the best match
+        double score = 2;
+        String afterTitle = "";
+        long afterId = 0;
+        while (true) {
+            RankedChunk chunk = readRankedChunk(title, pattern, minSimilarity, score, afterTitle, afterId);
+            chunk.summaries().forEach(sink);
+            if (chunk.ranks().size() < STREAM_CHUNK_SIZE) {
+                return;
+            }
+            PublicationRankView last = chunk.ranks().get(chunk.ranks().size() - 1);
+            score = last.getScore();
+            afterTitle = last.getTitle();
+            afterId = last.getId();
+        }
+    }
+
+    @Override
+    // Read from memory, no transaction or connection needed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CatalogStatisticsResponseDto getCatalogStatistics(int top) {
+        if (top < 1 || top > MAX_TOP_AUTHORS) {
+            throw new BusinessException("Number of top authors must be between 1 and " + MAX_TOP_AUTHORS);
+        }
+        return catalogStatistics.getStatistics(top);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TitleSuggestionDto> suggestTitles(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BusinessException("Title prefix must not be blank");
+        }
+        if (limit < 1 || limit > MAX_TITLE_SUGGESTIONS) {
+            throw new BusinessException("Number of suggestions must be between 1 and " + MAX_TITLE_SUGGESTIONS);
+        }
+
+        return titleSuggestIndex.suggest(prefix, limit)
+                .orElseGet(() -> publicationRepository.findTitlesByPrefix(
+                                escapeLikePattern(TitleKeys.normalize(prefix)), PageRequest.of(0, limit))
+                        .stream()
+                        .map(title -> new TitleSuggestionDto(title.getId(), title.getTitle()))
+                        .toList());
+    }
+
     @Override
     public void deletePublication(Long id) {
 
-        if (!publicationRepository.existsById(id)) {
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationsDeleting(List.of(id)));
+        magazineRepository.deleteAuthorLinksByMagazineIdIn(List.of(id));
+        if (publicationRepository.deleteAllByIdIn(List.of(id)) == 0) {
             throw new ResourceNotFoundException("Publication not found with ID: " + id);
         }
-        publicationRepository.deleteById(id);
+    }
+
+    @Override
+    public int deletePublications(List<Long> ids) {
+
+        List<Long> distinctIds = BatchLookup.distinctIds(ids);
+        eventPublisher.publishEvent(CatalogChangeEvent.publicationsDeleting(distinctIds));
+        magazineRepository.deleteAuthorLinksByMagazineIdIn(distinctIds);
+        return publicationRepository.deleteAllByIdIn(distinctIds);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsById(Long id) {
-        return publicationRepository.existsById(id);
+        return existenceIndex.mightContain(KeySpace.PUBLICATION_ID, id)
+                && publicationRepository.existsById(id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByTitle(String title) {
-        return publicationRepository.existsByTitle(title);
+        return existenceIndex.mightContain(KeySpace.PUBLICATION_TITLE, title)
+                && publicationRepository.existsByTitle(title);
+    }
+
+    private static PublicationFacetsDto toFacets(List<PublicationFacetCount> facetCounts) {
+        Map<PublicationType, Long> byType = new EnumMap<>(PublicationType.class);
+        Map<Integer, Long> byYear = new TreeMap<>();
+        Map<Integer, Long> byIssueNumber = new TreeMap<>();
+        Map<Long, Long> byAuthor = new HashMap<>();
+        Map<String, Long> byNationality = new TreeMap<>();
+
+        for (PublicationFacetCount count : facetCounts) {
+            String value = count.getValue();
+            switch (count.getFacet()) {
+                case TYPE -> byType.put(PublicationType.fromString(value), count.getCount());
+                case YEAR -> putIfPresent(byYear, value == null ? null : Integer.valueOf(value), count.getCount());
+                case ISSUE_NUMBER -> putIfPresent(byIssueNumber, value == null ? null : Integer.valueOf(value), count.getCount());
+                case AUTHOR -> putIfPresent(byAuthor, value == null ? null : Long.valueOf(value), count.getCount());
+                case NATIONALITY -> byNationality.merge(value == null ? UNKNOWN_NATIONALITY : value, count.getCount(), Long::sum);
+                case TOTAL -> {
+                    // Already used as the page total
+                }
+            }
+        }
+
+        Map<Long, Long> topAuthors = new LinkedHashMap<>();
+        byAuthor.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_AUTHOR_FACETS)
+                .forEach(entry -> topAuthors.put(entry.getKey(), entry.getValue()));
+
+        return PublicationFacetsDto.builder()
+                .byType(byType)
+                .byYear(byYear)
+                .byIssueNumber(byIssueNumber)
+                .byAuthor(topAuthors)
+                .byNationality(byNationality)
+                .build();
+    }
+
+    private static <K> void putIfPresent(Map<K, Long> counts, K key, long count) {
+        if (key != null) {
+            counts.put(key, count);
+        }
+    }
+
+    /**
+     * Map summaries and fill in their magazine authors.
+     */
+    private List<PublicationSummaryResponseDto> toSummaries(List<PublicationSummaryView> publications) {
+        List<PublicationSummaryResponseDto> summaries = publications.stream()
+                .map(publicationMapper::toSummaryResponseDto)
+                .toList();
+        attachMagazineAuthors(summaries);
+        return summaries;
+    }
+
+    /**
+     * Summaries of the given publications in the order of their IDs, with their magazine authors.
+     * Rows deleted since the IDs were read are skipped.
+     */
+    private List<PublicationSummaryResponseDto> findSummariesInOrder(List<Long> ids) {
+        Map<Long, PublicationSummaryView> summariesById = ids.isEmpty() ? Map.of()
+                : publicationRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(PublicationSummaryView::getId, Function.identity()));
+        return toSummaries(ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Title search matches ranked after the given position, with their summaries in the same order.
+     */
+    private RankedChunk readRankedChunk(String title, String pattern, Double minSimilarity,
+                                        double score, String afterTitle, long afterId) {
+        return inChunkTransaction(() -> {
+            List<PublicationRankView> ranks;
+            if (minSimilarity == null) {
+                ranks = publicationRepository.findNextRankedByTitle(title, pattern, score, afterTitle, afterId, STREAM_CHUNK_SIZE);
+            } else {
+                applyMinSimilarity(minSimilarity);
+                ranks = publicationRepository.findNextRankedByTitleFuzzy(title, pattern, score, afterTitle, afterId, STREAM_CHUNK_SIZE);
+            }
+            return new RankedChunk(ranks, findSummariesInOrder(ranks.stream().map(PublicationRankView::getId).toList()));
+        });
+    }
+
+    /**
+     * Read one chunk of a stream in a short read-only transaction, so that no connection is held
+     * while the chunk is written to the client.
+     */
+    private <T> T inChunkTransaction(Supplier<T> read) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> read.get());
+    }
+
+    private record RankedChunk(List<PublicationRankView> ranks, List<PublicationSummaryResponseDto> summaries) {
+    }
+
+    /**
+     * Fill in the authors of the magazine summaries with one query for the whole page.
+     */
+    private void attachMagazineAuthors(List<PublicationSummaryResponseDto> publications) {
+        List<MagazineSummaryResponseDto> magazines = publications.stream()
+                .filter(MagazineSummaryResponseDto.class::isInstance)
+                .map(MagazineSummaryResponseDto.class::cast)
+                .toList();
+        Map<Long, List<MagazineAuthorView>> authorsByMagazineId = magazineRepository.findAuthorsGroupedByMagazineId(
+                magazines.stream().map(MagazineSummaryResponseDto::getId).toList());
+
+        for (MagazineSummaryResponseDto magazine : magazines) {
+            magazine.setAuthors(authorsByMagazineId.getOrDefault(magazine.getId(), List.of()).stream()
+                    .map(magazineMapper::toAuthorSummaryDto)
+                    .toList());
+        }
+    }
+
+    /**
+     * Map and emit each row, clearing the persistence context every {@value #STREAM_CLEAR_INTERVAL} rows
+     * so that already emitted entities can be garbage collected.
+     */
+    private <E, T> void forEachDetached(Stream<E> rows, Function<E, T> mapper, Consumer<? super T> sink) {
+        Iterator<E> iterator = rows.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            sink.accept(mapper.apply(iterator.next()));
+            if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+    }
+
+    /**
+     * Set the word similarity threshold of the fuzzy title search for the current transaction.
+     */
+    private void applyMinSimilarity(double minSimilarity) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new BusinessException("Minimum similarity must be greater than 0 and at most 1");
+        }
+        publicationRepository.setWordSimilarityThreshold(String.valueOf(minSimilarity));
+    }
+
+    private static String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
 }
\ No newline at end of file
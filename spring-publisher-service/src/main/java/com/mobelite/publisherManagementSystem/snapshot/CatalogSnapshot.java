@@ -0,0 +1,481 @@
+package com.mobelite.publisherManagementSystem.snapshot;
+
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationResponseDto;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorRowView;
+import com.mobelite.publisherManagementSystem.repository.projection.EntityVersionView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorLinkView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRowView;
+import com.mobelite.publisherManagementSystem.snapshot.SnapshotFile.AuthorEntry;
+import com.mobelite.publisherManagementSystem.snapshot.SnapshotFile.PublicationEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Catalog snapshot on local disk, so that a restarted instance answers ID and ISBN lookups before its caches
+ * and the database are warm.
+ * <p>
+ * The snapshot is written periodically from one consistent read of the catalog, and memory-mapped at startup
+ * after its format version, checksums and age are checked. Lookups are served from it at once, while the ID and
+ * version of every publication and author are replayed against the database in the background: entries the
+ * database changed or deleted since the snapshot was written are marked stale and looked up in the database.
+ * Writes made by this instance mark their entries stale too, so until the replay ends, only changes made by
+ * other instances since the last write can be served stale.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshot implements InitializingBean, DisposableBean, MeterBinder {
+
+    private final PublicationRepository publicationRepository;
+    private final AuthorRepository authorRepository;
+    private final MagazineRepository magazineRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration writeInterval;
+    private final Duration maxAge;
+
+    private volatile Mapped current;
+    /**
+     * Stale IDs of the snapshot being written, collected from changes committed while it is written.
+     */
+    private volatile StaleIds writing;
+    private final AtomicBoolean replayQueued = new AtomicBoolean();
+    private volatile ScheduledExecutorService writes;
+
+    /**
+     * A mapped snapshot with the IDs that must no longer be served from it.
+     */
+    private record Mapped(SnapshotFile file, StaleIds stale) {
+    }
+
+    private record StaleIds(Set<Long> publications, Set<Long> authors) {
+
+        StaleIds() {
+            this(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * @param path Snapshot file, on local disk
+     * @param writeInterval Time between two snapshot writes, zero to only write at startup
+     * @param maxAge Age beyond which the snapshot left by a previous run is not served
+     */
+    public CatalogSnapshot(PublicationRepository publicationRepository,
+                           AuthorRepository authorRepository,
+                           MagazineRepository magazineRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${catalog-snapshot.enabled:false}") boolean enabled,
+                           @Value("${catalog-snapshot.path:publisher-catalog.snapshot}") Path path,
+                           @Value("${catalog-snapshot.write-interval:15m}") Duration writeInterval,
+                           @Value("${catalog-snapshot.max-age:1h}") Duration maxAge) {
+        this.publicationRepository = publicationRepository;
+        this.authorRepository = authorRepository;
+        this.magazineRepository = magazineRepository;
+        this.enabled = enabled;
+        this.path = path;
+        this.writeInterval = writeInterval;
+        this.maxAge = maxAge;
+
+        // Written and replayed from one snapshot. Not read-only: a lagging replica would miss recent writes
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Map the snapshot left by a previous run, before the application takes traffic.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        try {
+            SnapshotFile file = SnapshotFile.open(path);
+            Duration age = Duration.ofMillis(System.currentTimeMillis() - file.createdAt());
+            if (age.compareTo(maxAge) > 0) {
+                // Too many entries may have changed since: a fresh snapshot is written at startup instead
+                log.info("Ignoring catalog snapshot {} written {} ago, older than {}", path, age, maxAge);
+                return;
+            }
+            current = new Mapped(file, new StaleIds());
+            log.info("Mapped catalog snapshot {}: {} publications, {} authors, written {} ago", path,
+                    file.publicationCount(), file.authorCount(), age);
+        } catch (IOException e) {
+            log.warn("Ignoring catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Replay the mapped snapshot against the database, or write one when there is none,
+     * then start the periodic writes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        writes = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot-write");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (current != null) {
+            replayLater();
+        } else {
+            writes.execute(() -> {
+                try {
+                    write();
+                } catch (RuntimeException e) {
+                    log.warn("Catalog snapshot startup failed: {}", e.getMessage());
+                }
+            });
+        }
+
+        if (!writeInterval.isZero() && !writeInterval.isNegative()) {
+            writes.scheduleWithFixedDelay(this::writeQuietly,
+                    writeInterval.toMillis(), writeInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (writes != null) {
+            writes.shutdownNow();
+        }
+    }
+
+    /**
+     * Publication with the given ID, as it was when the snapshot was written.
+     * @return Book or magazine response, empty when the snapshot does not hold it or it is stale
+     */
+    public Optional<PublicationResponseDto> findPublication(Long id) {
+        Mapped mapped = current;
+        if (mapped == null || id == null || mapped.stale().publications().contains(id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(mapped.file().findPublication(id)).flatMap(publication -> toResponse(mapped, publication));
+    }
+
+    /**
+     * Book with the given ISBN, as it was when the snapshot was written.
+     * @return Book response, empty when the snapshot does not hold it or it is stale
+     */
+    public Optional<BookResponseDto> findBookByIsbn(String isbn) {
+        Mapped mapped = current;
+        if (mapped == null || isbn == null) {
+            return Optional.empty();
+        }
+        PublicationEntry book = mapped.file().findBookByIsbn(isbn);
+        if (book == null || mapped.stale().publications().contains(book.id())) {
+            return Optional.empty();
+        }
+        return toResponse(mapped, book).map(BookResponseDto.class::cast);
+    }
+
+    /**
+     * Follow a write to the catalog: stop serving updated and deleted entries. Created ones are not served yet.
+     */
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.change() == ChangeType.CREATED) {
+            return;
+        }
+        if (event.isPublicationChange()) {
+            publicationsChanged(event.ids());
+        } else {
+            authorChanged(event.ids().get(0));
+        }
+    }
+
+    /**
+     * Stop serving publications that are updated or deleted in the current transaction.
+     */
+    public void publicationsChanged(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        markStale(stale -> stale.publications().addAll(changed));
+    }
+
+    /**
+     * Stop serving an author deleted in the current transaction, and the publications that embed them.
+     */
+    public void authorChanged(Long id) {
+        if (!enabled) {
+            return;
+        }
+        markStale(stale -> stale.authors().add(id));
+    }
+
+    /**
+     * Write a new snapshot from the database and serve from it.
+     */
+    public void write() {
+        StaleIds stale = new StaleIds();
+        // Changes committed from now on may be missing from the read below
+        writing = stale;
+        try {
+            Path written = readTransaction.execute(status -> {
+                try {
+                    return writeSnapshot();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            SnapshotFile file = SnapshotFile.open(written);
+            current = new Mapped(file, stale);
+            log.info("Wrote catalog snapshot {}: {} publications, {} authors, {} KB", written,
+                    file.publicationCount(), file.authorCount(), Files.size(written) / 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the catalog snapshot " + path, e);
+        } finally {
+            writing = null;
+        }
+    }
+
+    /**
+     * Compare the version of every entry of the mapped snapshot with the database, and mark those that changed stale.
+     */
+    public void replay() {
+        Mapped mapped = current;
+        if (mapped == null) {
+            return;
+        }
+        SnapshotFile file = mapped.file();
+        long start = System.nanoTime();
+        int[] stale = readTransaction.execute(status -> {
+            int publications;
+            try (Stream<EntityVersionView> versions = publicationRepository.streamAllVersions()) {
+                publications = replay(versions.iterator(), file.publicationCount(),
+                        file::publicationId, file::publicationVersion, mapped.stale().publications());
+            }
+            int authors;
+            try (Stream<EntityVersionView> versions = authorRepository.streamAllVersions()) {
+                authors = replay(versions.iterator(), file.authorCount(),
+                        file::authorId, file::authorVersion, mapped.stale().authors());
+            }
+            return new int[]{publications, authors};
+        });
+        log.info("Replayed catalog snapshot in {} ms: {} publications and {} authors changed since it was written",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), stale[0], stale[1]);
+    }
+
+    /**
+     * Replay the mapped snapshot in the background, after the writes and replays already running.
+     * Requests made while a replay waits to start are served by that replay. Before {@link #start()},
+     * the replay it runs serves them.
+     */
+    public void replayLater() {
+        ScheduledExecutorService executor = writes;
+        if (executor == null || current == null || !replayQueued.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            replayQueued.set(false);
+            try {
+                replay();
+            } catch (RuntimeException e) {
+                log.warn("Catalog snapshot replay failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.snapshot.age", this, snapshot -> {
+                    Mapped mapped = snapshot.current;
+                    return mapped == null ? Double.NaN : (System.currentTimeMillis() - mapped.file().createdAt()) / 1000.0;
+                })
+                .description("Time since the served catalog snapshot was written")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("catalog.snapshot.stale", this, snapshot -> {
+                    Mapped mapped = snapshot.current;
+                    return mapped == null ? 0 : mapped.stale().publications().size() + mapped.stale().authors().size();
+                })
+                .description("Catalog snapshot entries no longer served because they changed since it was written")
+                .register(registry);
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot write failed, keeping the mapped snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Mark IDs stale now, and again once the transaction completes for a snapshot being written meanwhile.
+     */
+    private void markStale(Consumer<StaleIds> mark) {
+        Mapped mapped = current;
+        if (mapped != null) {
+            mark.accept(mapped.stale());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markWritingAndCurrent(mark);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                markWritingAndCurrent(mark);
+            }
+        });
+    }
+
+    private void markWritingAndCurrent(Consumer<StaleIds> mark) {
+        StaleIds next = writing;
+        if (next != null) {
+            mark.accept(next);
+        }
+        Mapped mapped = current;
+        if (mapped != null) {
+            mark.accept(mapped.stale());
+        }
+    }
+
+    private Path writeSnapshot() throws IOException {
+        try (SnapshotFile.Writer writer = new SnapshotFile.Writer(path, System.currentTimeMillis());
+             Stream<AuthorRowView> authors = authorRepository.streamAllRows();
+             Stream<PublicationRowView> publications = publicationRepository.streamAllRows();
+             Stream<MagazineAuthorLinkView> links = magazineRepository.streamAllAuthorLinks()) {
+
+            for (Iterator<AuthorRowView> it = authors.iterator(); it.hasNext(); ) {
+                AuthorRowView author = it.next();
+                writer.author(new AuthorEntry(author.getId(), author.getVersion(),
+                        author.getName(), author.getNationality(), author.getBirthDate()));
+            }
+
+            // Both streams are in magazine ID order, merge the links into their magazines
+            Iterator<MagazineAuthorLinkView> linkIterator = links.iterator();
+            MagazineAuthorLinkView link = linkIterator.hasNext() ? linkIterator.next() : null;
+            for (Iterator<PublicationRowView> it = publications.iterator(); it.hasNext(); ) {
+                PublicationRowView publication = it.next();
+                boolean book = PublicationType.BOOK.name().equals(publication.getType());
+                long[] authorIds;
+                if (book) {
+                    authorIds = publication.getAuthorId() == null ? new long[0] : new long[]{publication.getAuthorId()};
+                } else {
+                    LongStream.Builder magazineAuthors = LongStream.builder();
+                    while (link != null && link.getMagazineId() <= publication.getId()) {
+                        if (link.getMagazineId().equals(publication.getId())) {
+                            magazineAuthors.add(link.getAuthorId());
+                        }
+                        link = linkIterator.hasNext() ? linkIterator.next() : null;
+                    }
+                    authorIds = magazineAuthors.build().toArray();
+                }
+                writer.publication(new PublicationEntry(publication.getId(), publication.getVersion(),
+                        book ? SnapshotFile.BOOK : SnapshotFile.MAGAZINE, publication.getTitle(),
+                        publication.getPublicationDate(), publication.getIsbn(), publication.getIssueNumber(), authorIds));
+            }
+
+            writer.commit();
+        }
+        return path;
+    }
+
+    /**
+     * Merge the database versions with the snapshot entries, both in ID order, marking changed and deleted entries.
+     * @return Number of entries marked stale
+     */
+    private static int replay(Iterator<EntityVersionView> versions, int count,
+                              IntToLongFunction id, IntToLongFunction version,
+                              Set<Long> stale) {
+        int marked = 0;
+        EntityVersionView row = versions.hasNext() ? versions.next() : null;
+        for (int index = 0; index < count; index++) {
+            long snapshotId = id.applyAsLong(index);
+            while (row != null && row.getId() < snapshotId) {
+                row = versions.hasNext() ? versions.next() : null;
+            }
+            boolean unchanged = row != null && row.getId() == snapshotId && row.getVersion() == version.applyAsLong(index);
+            if (!unchanged) {
+                stale.add(snapshotId);
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    private static Optional<PublicationResponseDto> toResponse(Mapped mapped, PublicationEntry publication) {
+        List<AuthorSummaryDto> authors = new ArrayList<>(publication.authorIds().length);
+        for (long authorId : publication.authorIds()) {
+            AuthorEntry author = mapped.stale().authors().contains(authorId) ? null : mapped.file().findAuthor(authorId);
+            if (author == null) {
+                return Optional.empty();
+            }
+            authors.add(AuthorSummaryDto.builder()
+                    .id(author.id())
+                    .name(author.name())
+                    .nationality(author.nationality())
+                    .birthDate(author.birthDate())
+                    .build());
+        }
+
+        if (publication.type() == SnapshotFile.BOOK) {
+            return Optional.of(BookResponseDto.builder()
+                    .id(publication.id())
+                    .title(publication.title())
+                    .publicationDate(publication.publicationDate())
+                    .version(publication.version())
+                    .isbn(publication.isbn())
+                    .author(authors.isEmpty() ? null : authors.get(0))
+                    .build());
+        }
+        return Optional.of(MagazineResponseDto.builder()
+                .id(publication.id())
+                .title(publication.title())
+                .publicationDate(publication.publicationDate())
+                .version(publication.version())
+                .issueNumber(publication.issueNumber())
+                .authors(authors)
+                .build());
+    }
+}
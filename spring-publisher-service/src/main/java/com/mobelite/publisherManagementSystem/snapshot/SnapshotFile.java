@@ -0,0 +1,420 @@
+package com.mobelite.publisherManagementSystem.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Read-only, memory-mapped catalog snapshot: authors and publications packed as binary records,
+ * with indexes sorted by ID and by ISBN searched in place, so that nothing is decoded until looked up.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * header   [magic 4][format version 4][created at 8][authors 4][publications 4][isbns 4]
+ *          [author index 4][publication index 4][isbn index 4][body length 8][body crc 4][header crc 4]
+ * records  author:      [id 8][version 8][birth date 4][name][nationality]
+ *          publication: [id 8][version 8][type 1][publication date 4][issue number 4][isbn][title][authors 2][author id 8]...
+ * indexes  author and publication: [id 8][record offset 4] in ID order
+ *          isbn: [record offset 4] in ISBN order
+ * </pre>
+ * Strings are {@code [length 2][UTF-8]}, a length of {@value #NULL_LENGTH} meaning null. Missing dates
+ * and issue numbers are stored as {@link Integer#MIN_VALUE}. Both checksums are CRC32C, and files of
+ * another format version are rejected rather than migrated: the next write replaces them.
+ */
+final class SnapshotFile {
+
+    static final int MAGIC = 0x50554253;
+    static final int FORMAT_VERSION = 1;
+    static final byte BOOK = 1;
+    static final byte MAGAZINE = 2;
+
+    private static final int HEADER_SIZE = 56;
+    private static final int HEADER_CRC_OFFSET = 52;
+    private static final int ID_INDEX_ENTRY = Long.BYTES + Integer.BYTES;
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    /**
+     * Columns of an author as written to the snapshot.
+     */
+    record AuthorEntry(long id, long version, String name, String nationality, LocalDate birthDate) {
+    }
+
+    /**
+     * Columns of a publication as written to the snapshot, with its book author or magazine authors.
+     */
+    record PublicationEntry(long id, long version, byte type, String title, LocalDate publicationDate,
+                            String isbn, Integer issueNumber, long[] authorIds) {
+    }
+
+    private final MappedByteBuffer buffer;
+    private final long createdAt;
+    private final int authorCount;
+    private final int publicationCount;
+    private final int isbnCount;
+    private final int authorIndex;
+    private final int publicationIndex;
+    private final int isbnIndex;
+
+    private SnapshotFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.createdAt = buffer.getLong(8);
+        this.authorCount = buffer.getInt(16);
+        this.publicationCount = buffer.getInt(20);
+        this.isbnCount = buffer.getInt(24);
+        this.authorIndex = buffer.getInt(28);
+        this.publicationIndex = buffer.getInt(32);
+        this.isbnIndex = buffer.getInt(36);
+    }
+
+    /**
+     * Map a snapshot file after checking its format version, bounds and checksums.
+     * @throws IOException When the file cannot be read, is of another format version or is corrupt
+     */
+    static SnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot size " + size + " is out of bounds");
+            }
+            // The mapping stays valid once the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a catalog snapshot");
+            }
+            if (crc(buffer, 0, HEADER_CRC_OFFSET) != buffer.getInt(HEADER_CRC_OFFSET)) {
+                throw new IOException("Snapshot header checksum mismatch");
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + buffer.getInt(4));
+            }
+            if (buffer.getLong(40) != size - HEADER_SIZE) {
+                throw new IOException("Snapshot is truncated");
+            }
+            if (crc(buffer, HEADER_SIZE, (int) size) != buffer.getInt(48)) {
+                throw new IOException("Snapshot body checksum mismatch");
+            }
+
+            SnapshotFile file = new SnapshotFile(buffer);
+            if (file.authorIndex + (long) file.authorCount * ID_INDEX_ENTRY > size
+                    || file.publicationIndex + (long) file.publicationCount * ID_INDEX_ENTRY > size
+                    || file.isbnIndex + (long) file.isbnCount * Integer.BYTES > size) {
+                throw new IOException("Snapshot index out of bounds");
+            }
+            return file;
+        }
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    int authorCount() {
+        return authorCount;
+    }
+
+    int publicationCount() {
+        return publicationCount;
+    }
+
+    long authorId(int index) {
+        return buffer.getLong(authorIndex + index * ID_INDEX_ENTRY);
+    }
+
+    long authorVersion(int index) {
+        return buffer.getLong(buffer.getInt(authorIndex + index * ID_INDEX_ENTRY + Long.BYTES) + Long.BYTES);
+    }
+
+    long publicationId(int index) {
+        return buffer.getLong(publicationIndex + index * ID_INDEX_ENTRY);
+    }
+
+    long publicationVersion(int index) {
+        return buffer.getLong(buffer.getInt(publicationIndex + index * ID_INDEX_ENTRY + Long.BYTES) + Long.BYTES);
+    }
+
+    /**
+     * @return The author, null when the snapshot does not hold it
+     */
+    AuthorEntry findAuthor(long id) {
+        int record = findById(authorIndex, authorCount, id);
+        if (record < 0) {
+            return null;
+        }
+        int[] cursor = {record + 2 * Long.BYTES + Integer.BYTES};
+        return new AuthorEntry(buffer.getLong(record), buffer.getLong(record + Long.BYTES),
+                readString(cursor), readString(cursor), toDate(buffer.getInt(record + 2 * Long.BYTES)));
+    }
+
+    /**
+     * @return The publication, null when the snapshot does not hold it
+     */
+    PublicationEntry findPublication(long id) {
+        int record = findById(publicationIndex, publicationCount, id);
+        return record < 0 ? null : readPublication(record);
+    }
+
+    /**
+     * @return The book, null when the snapshot does not hold it
+     */
+    PublicationEntry findBookByIsbn(String isbn) {
+        byte[] key = isbn.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = isbnCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int record = buffer.getInt(isbnIndex + middle * Integer.BYTES);
+            int compared = compareString(record + 2 * Long.BYTES + 1 + 2 * Integer.BYTES, key);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return readPublication(record);
+            }
+        }
+        return null;
+    }
+
+    private int findById(int index, int count, long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long found = buffer.getLong(index + middle * ID_INDEX_ENTRY);
+            if (found < id) {
+                low = middle + 1;
+            } else if (found > id) {
+                high = middle - 1;
+            } else {
+                return buffer.getInt(index + middle * ID_INDEX_ENTRY + Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    private PublicationEntry readPublication(int record) {
+        int[] cursor = {record + 2 * Long.BYTES + 1 + 2 * Integer.BYTES};
+        String isbn = readString(cursor);
+        String title = readString(cursor);
+        long[] authorIds = new long[Short.toUnsignedInt(buffer.getShort(cursor[0]))];
+        for (int i = 0; i < authorIds.length; i++) {
+            authorIds[i] = buffer.getLong(cursor[0] + Short.BYTES + i * Long.BYTES);
+        }
+        int issueNumber = buffer.getInt(record + 2 * Long.BYTES + 1 + Integer.BYTES);
+        return new PublicationEntry(buffer.getLong(record), buffer.getLong(record + Long.BYTES),
+                buffer.get(record + 2 * Long.BYTES), title, toDate(buffer.getInt(record + 2 * Long.BYTES + 1)),
+                isbn, issueNumber == NONE ? null : issueNumber, authorIds);
+    }
+
+    /**
+     * Read the string at the cursor and move the cursor past it.
+     */
+    private String readString(int[] cursor) {
+        int length = Short.toUnsignedInt(buffer.getShort(cursor[0]));
+        if (length == NULL_LENGTH) {
+            cursor[0] += Short.BYTES;
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(cursor[0] + Short.BYTES, bytes);
+        cursor[0] += Short.BYTES + length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int compareString(int offset, byte[] key) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        if (length == NULL_LENGTH) {
+            return -1;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + Short.BYTES, bytes);
+        return Arrays.compareUnsigned(bytes, key);
+    }
+
+    private static int crc(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(from, to - from));
+        return (int) crc.getValue();
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Writes a snapshot to a temporary file next to the target, moved over it on {@link #commit()}.
+     * Authors and publications must each be written in ascending ID order.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temporary;
+        private final long createdAt;
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private final DataOutputStream out;
+        private final IdIndex authors = new IdIndex();
+        private final IdIndex publications = new IdIndex();
+        private final List<IsbnEntry> isbns = new ArrayList<>();
+        private boolean committed;
+
+        private record IsbnEntry(byte[] isbn, int record) {
+        }
+
+        Writer(Path target, long createdAt) throws IOException {
+            this.target = target;
+            this.createdAt = createdAt;
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+            this.channel.position(HEADER_SIZE);
+            this.out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+        }
+
+        void author(AuthorEntry author) throws IOException {
+            authors.add(author.id(), offset());
+            out.writeLong(author.id());
+            out.writeLong(author.version());
+            out.writeInt(fromDate(author.birthDate()));
+            writeString(author.name());
+            writeString(author.nationality());
+        }
+
+        void publication(PublicationEntry publication) throws IOException {
+            int record = offset();
+            publications.add(publication.id(), record);
+            if (publication.isbn() != null) {
+                isbns.add(new IsbnEntry(publication.isbn().getBytes(StandardCharsets.UTF_8), record));
+            }
+            out.writeLong(publication.id());
+            out.writeLong(publication.version());
+            out.writeByte(publication.type());
+            out.writeInt(fromDate(publication.publicationDate()));
+            out.writeInt(publication.issueNumber() == null ? NONE : publication.issueNumber());
+            writeString(publication.isbn());
+            writeString(publication.title());
+            out.writeShort(publication.authorIds().length);
+            for (long authorId : publication.authorIds()) {
+                out.writeLong(authorId);
+            }
+        }
+
+        /**
+         * Write the indexes and the header, then replace the target with the written file.
+         */
+        void commit() throws IOException {
+            int authorIndex = authors.write();
+            int publicationIndex = publications.write();
+            int isbnIndex = offset();
+            isbns.sort((first, second) -> Arrays.compareUnsigned(first.isbn(), second.isbn()));
+            for (IsbnEntry isbn : isbns) {
+                out.writeInt(isbn.record());
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(createdAt)
+                    .putInt(authors.count)
+                    .putInt(publications.count)
+                    .putInt(isbns.size())
+                    .putInt(authorIndex)
+                    .putInt(publicationIndex)
+                    .putInt(isbnIndex)
+                    .putLong(out.size())
+                    .putInt((int) crc.getValue());
+            header.putInt(crc(header, 0, HEADER_CRC_OFFSET));
+            channel.write(header.flip(), 0);
+            channel.force(true);
+            channel.close();
+
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            if (!committed) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        private int offset() throws IOException {
+            long offset = HEADER_SIZE + (long) out.size();
+            if (out.size() < 0 || offset > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot exceeds 2 GB");
+            }
+            return (int) offset;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeShort(NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length >= NULL_LENGTH) {
+                throw new IOException("String of " + bytes.length + " bytes does not fit in a snapshot");
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        private static int fromDate(LocalDate date) {
+            return date == null ? NONE : Math.toIntExact(date.toEpochDay());
+        }
+
+        /**
+         * IDs and record offsets in write order, checked to be ascending.
+         */
+        private final class IdIndex {
+
+            private long[] ids = new long[1024];
+            private int[] records = new int[1024];
+            private int count;
+
+            void add(long id, int record) {
+                if (count > 0 && ids[count - 1] >= id) {
+                    throw new IllegalStateException("Snapshot entries must be written in ascending ID order");
+                }
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    records = Arrays.copyOf(records, count * 2);
+                }
+                ids[count] = id;
+                records[count++] = record;
+            }
+
+            int write() throws IOException {
+                int index = offset();
+                for (int i = 0; i < count; i++) {
+                    out.writeLong(ids[i]);
+                    out.writeInt(records[i]);
+                }
+                return index;
+            }
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package com.mobelite.publisherManagementSystem.statistics;
+
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorPublicationCountDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.CatalogStatisticsResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorStatisticsView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationKeyView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Catalog totals per publication type, publication year and author nationality, with the publication
+ * count of every author, kept in lock-free counters so that reading them costs no query.
+ * <p>
+ * Every create, update and delete is followed through its {@link CatalogChangeEvent}, and applied once its
+ * transaction commits. Deletes read the keys of the rows they are about to remove in one narrow query.
+ * <p>
+ * The counters are recounted from the database once the application is ready and then periodically,
+ * which corrects writes made outside the services and races such as a delete reading its keys while
+ * a concurrent update changes them. Changes committed after the recount took its snapshot are replayed
+ * onto its result, those it already saw are not.
+ */
+@Component
+@Slf4j
+public class CatalogStatistics implements DisposableBean {
+
+    private static final String UNKNOWN_NATIONALITY = "UNKNOWN";
+
+    private final PublicationRepository publicationRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate recountTransaction;
+    private final Duration reconcileInterval;
+
+    /**
+     * Changes applied while a recount is running, replayed onto its result before it is published.
+     */
+    private List<Consumer<Counters>> replayed;
+    private final ReadWriteLock publishLock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+    private volatile LocalDateTime reconciledAt;
+    private ScheduledExecutorService reconciliation;
+
+    /**
+     * @param reconcileInterval Time between two recounts, zero to only recount at startup
+     */
+    public CatalogStatistics(PublicationRepository publicationRepository,
+                             AuthorRepository authorRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${catalog-statistics.reconcile-interval:10m}") Duration reconcileInterval) {
+        this.publicationRepository = publicationRepository;
+        this.authorRepository = authorRepository;
+        this.reconcileInterval = reconcileInterval;
+
+        // Both counts read the same snapshot. Not read-only: a lagging replica would report drift that is not there
+        this.recountTransaction = new TransactionTemplate(transactionManager);
+        this.recountTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Keys a publication is counted under. Capture them before modifying a publication
+     * and pass them to {@link #publicationUpdated}.
+     */
+    public static final class PublicationKeys {
+
+        private final PublicationType type;
+        private final Integer year;
+        private final List<Long> authorIds;
+
+        private PublicationKeys(PublicationType type, Integer year, List<Long> authorIds) {
+            this.type = type;
+            this.year = year;
+            this.authorIds = authorIds;
+        }
+
+        public static PublicationKeys of(Publication publication) {
+            Integer year = publication.getPublicationDate() == null ? null : publication.getPublicationDate().getYear();
+            if (publication instanceof Book book) {
+                return new PublicationKeys(PublicationType.BOOK, year,
+                        book.getAuthor() == null ? List.of() : List.of(book.getAuthor().getId()));
+            }
+            if (publication instanceof Magazine magazine) {
+                return new PublicationKeys(PublicationType.MAGAZINE, year,
+                        magazine.getAuthors() == null ? List.of() : magazine.getAuthors().stream().map(Author::getId).toList());
+            }
+            return new PublicationKeys(PublicationType.UNKNOWN, year, List.of());
+        }
+
+        /**
+         * @param rows Key rows, one per publication author
+         * @return Keys of each publication
+         */
+        private static List<PublicationKeys> of(List<PublicationKeyView> rows) {
+            Map<Long, List<PublicationKeyView>> byPublication = new LinkedHashMap<>();
+            rows.forEach(row -> byPublication.computeIfAbsent(row.getId(), id -> new ArrayList<>()).add(row));
+
+            return byPublication.values().stream()
+                    .map(publicationRows -> {
+                        PublicationKeyView first = publicationRows.get(0);
+                        return new PublicationKeys(PublicationType.fromString(first.getType()),
+                                first.getPublicationDate() == null ? null : first.getPublicationDate().getYear(),
+                                publicationRows.stream().map(PublicationKeyView::getAuthorId).filter(id -> id != null).toList());
+                    })
+                    .toList();
+        }
+    }
+
+    /**
+     * Follow a write to the catalog, see the methods it is dispatched to.
+     */
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.change()) {
+            case CREATED -> {
+                if (event.isPublicationChange()) {
+                    publicationsCreated(event.publications());
+                } else {
+                    authorCreated(event.author());
+                }
+            }
+            case UPDATED -> {
+                if (event.isPublicationChange()) {
+                    publicationUpdated(event.before(), event.publications().get(0));
+                }
+            }
+            case DELETED -> {
+                if (event.isPublicationChange()) {
+                    publicationsDeleting(event.ids());
+                } else {
+                    authorDeleting(event.ids().get(0));
+                }
+            }
+        }
+    }
+
+    /**
+     * Count a new publication once the current transaction commits.
+     * @param publication Saved publication
+     */
+    public void publicationCreated(Publication publication) {
+        publicationsCreated(List.of(publication));
+    }
+
+    /**
+     * Count new publications once the current transaction commits.
+     * @param publications Saved publications
+     */
+    public void publicationsCreated(Collection<? extends Publication> publications) {
+        List<PublicationKeys> keys = publications.stream().map(PublicationKeys::of).toList();
+        afterCommit(current -> keys.forEach(key -> current.add(key, 1)));
+    }
+
+    /**
+     * Move an updated publication from its old keys to its new ones once the current transaction commits.
+     * @param before Keys captured before the update
+     * @param after Updated publication
+     */
+    public void publicationUpdated(PublicationKeys before, Publication after) {
+        PublicationKeys updated = PublicationKeys.of(after);
+        afterCommit(current -> {
+            current.add(before, -1);
+            current.add(updated, 1);
+        });
+    }
+
+    /**
+     * Read the keys of publications about to be deleted and uncount them once the current transaction commits.
+     * Must be called before the delete statement, in the same transaction.
+     * @param ids Publication IDs, IDs that do not exist are ignored
+     */
+    public void publicationsDeleting(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<PublicationKeys> keys = PublicationKeys.of(publicationRepository.findStatisticsKeysByIdIn(ids));
+        afterCommit(current -> keys.forEach(key -> current.add(key, -1)));
+    }
+
+    /**
+     * Count a new author once the current transaction commits.
+     * @param author Saved author
+     */
+    public void authorCreated(Author author) {
+        Long id = author.getId();
+        String name = author.getName();
+        String nationality = author.getNationality();
+        afterCommit(current -> current.addAuthor(id, name, nationality));
+    }
+
+    /**
+     * Read the keys of the books of an author about to be deleted, and uncount the author and their books
+     * once the current transaction commits. Must be called before the delete statements, in the same transaction.
+     * @param authorId Author ID
+     */
+    public void authorDeleting(Long authorId) {
+        List<PublicationKeys> books = PublicationKeys.of(publicationRepository.findStatisticsKeysByBookAuthorId(authorId));
+        afterCommit(current -> {
+            books.forEach(key -> current.add(key, -1));
+            current.removeAuthor(authorId);
+        });
+    }
+
+    /**
+     * Current totals, read from the counters without a query.
+     * @param top Number of most prolific authors to list
+     * @return Catalog statistics
+     */
+    public CatalogStatisticsResponseDto getStatistics(int top) {
+        Counters current = counters;
+
+        Map<PublicationType, Long> byType = new EnumMap<>(PublicationType.class);
+        current.byType.forEach((type, count) -> byType.put(type, Math.max(0, count.sum())));
+
+        return CatalogStatisticsResponseDto.builder()
+                .totalPublications(byType.values().stream().mapToLong(Long::longValue).sum())
+                .byType(byType)
+                .byYear(positiveSums(current.byYear))
+                .authorsByNationality(positiveSums(current.authorsByNationality))
+                .topAuthors(topAuthors(current, top))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Recount once the application is ready, then start the periodic recounts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcileQuietly();
+
+        if (reconcileInterval.isZero() || reconcileInterval.isNegative()) {
+            return;
+        }
+        reconciliation = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-statistics-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciliation.scheduleWithFixedDelay(this::reconcileQuietly,
+                reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (reconciliation != null) {
+            reconciliation.shutdownNow();
+        }
+    }
+
+    /**
+     * Recount every total from the database and replace the counters with the result.
+     */
+    public void reconcile() {
+        Counters recounted = null;
+        Counters previous = null;
+        boolean first = reconciledAt == null;
+        try {
+            recounted = recountTransaction.execute(status -> {
+                // Take the snapshot, then record what commits after it: changes committed earlier are counted
+                publicationRepository.findMaxId();
+                publishLock.writeLock().lock();
+                try {
+                    replayed = new ArrayList<>();
+                } finally {
+                    publishLock.writeLock().unlock();
+                }
+                return recount();
+            });
+        } finally {
+            publishLock.writeLock().lock();
+            try {
+                if (recounted != null) {
+                    replayed.forEach(recounted::apply);
+                    previous = counters;
+                    counters = recounted;
+                    reconciledAt = LocalDateTime.now();
+                }
+                replayed = null;
+            } finally {
+                publishLock.writeLock().unlock();
+            }
+        }
+
+        long drift = previous.drift(recounted);
+        if (drift > 0 && !first) {
+            log.warn("Catalog statistics were off by {} publications, corrected from the database", drift);
+        }
+        log.debug("Catalog statistics recounted: {} publications, {} authors",
+                recounted.total(), recounted.authors.size());
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Catalog statistics recount failed, keeping the maintained counters: {}", e.getMessage());
+        }
+    }
+
+    private Counters recount() {
+        Counters recounted = new Counters();
+        publicationRepository.countByTypeAndYear().forEach(row -> {
+            recounted.byType.get(PublicationType.fromString(row.getType())).add(row.getCount());
+            if (row.getYear() != null) {
+                counter(recounted.byYear, row.getYear()).add(row.getCount());
+            }
+        });
+
+        try (Stream<AuthorStatisticsView> authors = authorRepository.streamAllStatistics()) {
+            authors.forEach(author -> {
+                recounted.addAuthor(author.getId(), author.getName(), author.getNationality());
+                recounted.authors.get(author.getId()).publications.add(author.getPublications());
+            });
+        }
+        return recounted;
+    }
+
+    /**
+     * Apply a change once the current transaction commits, at once outside of a transaction.
+     */
+    private void afterCommit(Consumer<Counters> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Counters> change) {
+        publishLock.readLock().lock();
+        try {
+            change.accept(counters);
+            if (replayed != null) {
+                synchronized (replayed) {
+                    replayed.add(change);
+                }
+            }
+        } finally {
+            publishLock.readLock().unlock();
+        }
+    }
+
+    private static List<AuthorPublicationCountDto> topAuthors(Counters current, int top) {
+        // Min-heap of the best authors so far, ties broken by lowest ID
+        Comparator<Map.Entry<Long, Long>> order = Map.Entry.<Long, Long>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<Long, Long>> best = new PriorityQueue<>(top + 1, order);
+        current.authors.forEach((id, author) -> {
+            long publications = author.publications.sum();
+            if (publications > 0) {
+                best.offer(Map.entry(id, publications));
+                if (best.size() > top) {
+                    best.poll();
+                }
+            }
+        });
+
+        return best.stream()
+                .sorted(order.reversed())
+                .map(entry -> {
+                    AuthorCount author = current.authors.get(entry.getKey());
+                    return AuthorPublicationCountDto.builder()
+                            .id(entry.getKey())
+                            .name(author == null ? null : author.name)
+                            .publications(entry.getValue())
+                            .build();
+                })
+                .toList();
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> positiveSums(Map<K, LongAdder> counters) {
+        Map<K, Long> sums = new TreeMap<>();
+        counters.forEach((key, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                sums.put(key, sum);
+            }
+        });
+        return sums;
+    }
+
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static final class Counters {
+
+        private final Map<PublicationType, LongAdder> byType = new EnumMap<>(PublicationType.class);
+        private final Map<Integer, LongAdder> byYear = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> authorsByNationality = new ConcurrentHashMap<>();
+        private final Map<Long, AuthorCount> authors = new ConcurrentHashMap<>();
+
+        private Counters() {
+            // Filled once, only the adders change afterwards
+            for (PublicationType type : PublicationType.values()) {
+                byType.put(type, new LongAdder());
+            }
+        }
+
+        private void add(PublicationKeys keys, int delta) {
+            byType.get(keys.type).add(delta);
+            if (keys.year != null) {
+                counter(byYear, keys.year).add(delta);
+            }
+            for (Long authorId : keys.authorIds) {
+                authors.computeIfAbsent(authorId, id -> new AuthorCount()).publications.add(delta);
+            }
+        }
+
+        private void addAuthor(Long id, String name, String nationality) {
+            AuthorCount author = authors.computeIfAbsent(id, key -> new AuthorCount());
+            author.name = name;
+            author.nationality = nationality;
+            counter(authorsByNationality, nationalityKey(nationality)).increment();
+        }
+
+        private void removeAuthor(Long id) {
+            AuthorCount author = authors.remove(id);
+            // Authors only seen through their publications were never counted by nationality
+            if (author != null && author.name != null) {
+                counter(authorsByNationality, nationalityKey(author.nationality)).decrement();
+            }
+        }
+
+        private void apply(Consumer<Counters> change) {
+            change.accept(this);
+        }
+
+        private long total() {
+            return byType.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        /**
+         * @return Publications counted under another type than in the given counters
+         */
+        private long drift(Counters other) {
+            return byType.entrySet().stream()
+                    .mapToLong(entry -> Math.abs(entry.getValue().sum() - other.byType.get(entry.getKey()).sum()))
+                    .sum();
+        }
+
+        private static String nationalityKey(String nationality) {
+            return nationality == null || nationality.isBlank() ? UNKNOWN_NATIONALITY : nationality;
+        }
+    }
+
+    private static final class AuthorCount {
+
+        // Null until the author itself is counted, when only their publications were seen
+        private volatile String name;
+        private volatile String nationality;
+        private final LongAdder publications = new LongAdder();
+    }
+}
@@ -0,0 +1,66 @@
+package com.mobelite.publisherManagementSystem.suggest;
+
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationTitleView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills the title key of the publications written before the column existed, or outside the application,
+ * so that the database fallback of the title suggestions finds them. Publications saved through the entities
+ * get their key from {@link com.mobelite.publisherManagementSystem.entity.Publication} itself.
+ */
+@Component
+@Slf4j
+public class TitleKeyBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PublicationRepository publicationRepository;
+    private final TransactionTemplate batchTransaction;
+
+    public TitleKeyBackfill(PublicationRepository publicationRepository, PlatformTransactionManager transactionManager) {
+        this.publicationRepository = publicationRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Fill the missing keys once the application is ready, one short transaction per batch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            int filled = backfill();
+            if (filled > 0) {
+                log.info("Title keys filled for {} publications", filled);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Title key backfill failed, suggestions from the database may miss titles: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return Number of publications whose key was filled
+     */
+    public int backfill() {
+        int filled = 0;
+        while (true) {
+            Integer batch = batchTransaction.execute(status -> {
+                List<PublicationTitleView> titles = publicationRepository.findTitlesWithoutKey(PageRequest.of(0, BATCH_SIZE));
+                titles.forEach(title -> publicationRepository.updateTitleKey(title.getId(), TitleKeys.normalize(title.getTitle())));
+                return titles.size();
+            });
+            filled += batch;
+            if (batch < BATCH_SIZE) {
+                return filled;
+            }
+        }
+    }
+}
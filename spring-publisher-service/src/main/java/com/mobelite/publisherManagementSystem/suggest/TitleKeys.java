@@ -0,0 +1,27 @@
+package com.mobelite.publisherManagementSystem.suggest;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization title suggestions match on, shared by the {@link TitleSuggestIndex} and the
+ * {@code title_key} column the database fallback searches.
+ */
+public final class TitleKeys {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TitleKeys() {
+    }
+
+    /**
+     * @param title Title or title prefix
+     * @return The title with accents removed, in lower case, whitespace collapsed and stripped
+     */
+    public static String normalize(String title) {
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(title, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+}
@@ -0,0 +1,248 @@
+package com.mobelite.publisherManagementSystem.suggest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Immutable, compact set of publication titles sorted by normalized key, searched by prefix with a binary search.
+ * <p>
+ * Every entry is packed into one byte array as {@code [id: 8][key length: 2][key][title length: 2][title]},
+ * key and title in UTF-8, and an int array holds the entry offsets in (key, id) order. Comparing UTF-8 bytes
+ * unsigned gives code point order, so a prefix of the key bytes is a prefix of the normalized title.
+ */
+final class TitleSegment {
+
+    static final TitleSegment EMPTY = new TitleSegment(new byte[0], new int[0]);
+
+    /**
+     * Bytes an entry takes besides its key and title: the ID, both lengths and its offset.
+     */
+    static final int ENTRY_OVERHEAD = Long.BYTES + 2 * Short.BYTES + Integer.BYTES;
+
+    private static final int MAX_LENGTH = 0xFFFF;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final byte[] arena;
+    private final int[] entries;
+
+    private TitleSegment(byte[] arena, int[] entries) {
+        this.arena = arena;
+        this.entries = entries;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    long memoryBytes() {
+        return arena.length + (long) entries.length * Integer.BYTES;
+    }
+
+    long id(int index) {
+        return readLong(arena, entries[index]);
+    }
+
+    String title(int index) {
+        int keyLength = readShort(arena, entries[index] + Long.BYTES);
+        int titleOffset = entries[index] + Long.BYTES + Short.BYTES + keyLength;
+        return new String(arena, titleOffset + Short.BYTES, readShort(arena, titleOffset), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Position of the first entry whose key is not lower than the given one, {@link #size()} when none
+     */
+    int lowerBound(byte[] key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKey(arena, entries[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    boolean hasPrefix(int index, byte[] prefix) {
+        int offset = entries[index] + Long.BYTES;
+        int keyLength = readShort(arena, offset);
+        return keyLength >= prefix.length
+                && Arrays.equals(arena, offset + Short.BYTES, offset + Short.BYTES + prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Compare the entry at the given position with a key and ID, in (key, id) order.
+     */
+    int compareTo(int index, byte[] key, long id) {
+        int compared = compareKey(arena, entries[index], key);
+        return compared != 0 ? compared : Long.compare(id(index), id);
+    }
+
+    static Builder builder(long maxMemoryBytes) {
+        return new Builder(maxMemoryBytes);
+    }
+
+    /**
+     * Appends entries into a growing arena, refusing them once the segment would exceed its memory budget.
+     */
+    static final class Builder {
+
+        private final long maxMemoryBytes;
+        private byte[] arena = new byte[4096];
+        private int length;
+        private int[] entries = new int[256];
+        private int count;
+
+        private Builder(long maxMemoryBytes) {
+            this.maxMemoryBytes = Math.min(maxMemoryBytes, Integer.MAX_VALUE - 8);
+        }
+
+        /**
+         * @param key Normalized title in UTF-8
+         * @return false when the entry does not fit in the memory budget
+         */
+        boolean append(long id, byte[] key, String title) {
+            byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+            int keyLength = Math.min(key.length, MAX_LENGTH);
+            int titleLength = Math.min(titleBytes.length, MAX_LENGTH);
+            if (!reserve(Long.BYTES + 2 * Short.BYTES + keyLength + titleLength)) {
+                return false;
+            }
+
+            writeLong(arena, length, id);
+            length += Long.BYTES;
+            length = writeBytes(key, keyLength);
+            length = writeBytes(titleBytes, titleLength);
+            return true;
+        }
+
+        /**
+         * Copy an entry of another segment as is.
+         * @return false when the entry does not fit in the memory budget
+         */
+        boolean append(TitleSegment segment, int index) {
+            int offset = segment.entries[index];
+            int keyLength = readShort(segment.arena, offset + Long.BYTES);
+            int titleOffset = offset + Long.BYTES + Short.BYTES + keyLength;
+            int entryLength = titleOffset + Short.BYTES + readShort(segment.arena, titleOffset) - offset;
+            if (!reserve(entryLength)) {
+                return false;
+            }
+
+            System.arraycopy(segment.arena, offset, arena, length, entryLength);
+            length += entryLength;
+            return true;
+        }
+
+        /**
+         * @param sorted Whether the entries were appended in (key, id) order already
+         */
+        TitleSegment build(boolean sorted) {
+            byte[] packed = Arrays.copyOf(arena, length);
+            int[] offsets = Arrays.copyOf(entries, count);
+            if (!sorted) {
+                sort(packed, offsets, 0, offsets.length - 1);
+            }
+            return new TitleSegment(packed, offsets);
+        }
+
+        private boolean reserve(int entryLength) {
+            long required = (long) length + entryLength + (long) (count + 1) * Integer.BYTES;
+            if (required > maxMemoryBytes) {
+                return false;
+            }
+            if (length + entryLength > arena.length) {
+                arena = Arrays.copyOf(arena, (int) Math.min(maxMemoryBytes, Math.max((long) arena.length * 2, length + entryLength)));
+            }
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, count * 2);
+            }
+            entries[count++] = length;
+            return true;
+        }
+
+        private int writeBytes(byte[] bytes, int bytesLength) {
+            arena[length] = (byte) (bytesLength >>> 8);
+            arena[length + 1] = (byte) bytesLength;
+            System.arraycopy(bytes, 0, arena, length + Short.BYTES, bytesLength);
+            return length + Short.BYTES + bytesLength;
+        }
+    }
+
+    /**
+     * Quicksort of entry offsets by (key, id), sorting in place without boxing a comparator per entry.
+     */
+    private static void sort(byte[] arena, int[] offsets, int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int pivot = offsets[(low + high) >>> 1];
+            int left = low;
+            int right = high;
+            while (left <= right) {
+                while (compareEntries(arena, offsets[left], pivot) < 0) {
+                    left++;
+                }
+                while (compareEntries(arena, offsets[right], pivot) > 0) {
+                    right--;
+                }
+                if (left <= right) {
+                    int swapped = offsets[left];
+                    offsets[left++] = offsets[right];
+                    offsets[right--] = swapped;
+                }
+            }
+            // Recurse into the smaller side to bound the stack depth
+            if (right - low < high - left) {
+                sort(arena, offsets, low, right);
+                low = left;
+            } else {
+                sort(arena, offsets, left, high);
+                high = right;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            int offset = offsets[i];
+            int j = i - 1;
+            while (j >= low && compareEntries(arena, offsets[j], offset) > 0) {
+                offsets[j + 1] = offsets[j];
+                j--;
+            }
+            offsets[j + 1] = offset;
+        }
+    }
+
+    private static int compareEntries(byte[] arena, int first, int second) {
+        int firstLength = readShort(arena, first + Long.BYTES);
+        int secondLength = readShort(arena, second + Long.BYTES);
+        int compared = Arrays.compareUnsigned(
+                arena, first + Long.BYTES + Short.BYTES, first + Long.BYTES + Short.BYTES + firstLength,
+                arena, second + Long.BYTES + Short.BYTES, second + Long.BYTES + Short.BYTES + secondLength);
+        return compared != 0 ? compared : Long.compare(readLong(arena, first), readLong(arena, second));
+    }
+
+    private static int compareKey(byte[] arena, int offset, byte[] key) {
+        int keyOffset = offset + Long.BYTES + Short.BYTES;
+        return Arrays.compareUnsigned(arena, keyOffset, keyOffset + readShort(arena, offset + Long.BYTES), key, 0, key.length);
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
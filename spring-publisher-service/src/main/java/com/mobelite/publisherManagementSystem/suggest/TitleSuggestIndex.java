@@ -0,0 +1,427 @@
+package com.mobelite.publisherManagementSystem.suggest;
+
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationTitleView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over normalized publication titles, answering title suggestions without a query.
+ * <p>
+ * Titles are held in a compact {@link TitleSegment} sorted by normalized title, plus a small delta of the
+ * titles created, renamed or deleted since it was built. Every change is followed through its
+ * {@link CatalogChangeEvent}, and applied once its transaction commits. The delta is merged into a new segment in the background once it grows,
+ * and the segment is rebuilt from the database periodically to pick up writes made outside the services.
+ * Changes committed while a segment is being built are replayed onto it before it is published.
+ * <p>
+ * Until the first build completes, or when the titles do not fit in the memory budget, no suggestions are
+ * served and callers fall back to the database.
+ */
+@Component
+@Slf4j
+public class TitleSuggestIndex implements DisposableBean {
+
+    /**
+     * Delta size that always fits without merging, larger catalogs merge once the delta reaches an eighth of the segment.
+     */
+    private static final int MIN_MERGE_THRESHOLD = 4096;
+
+    private final PublicationRepository publicationRepository;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final Duration rebuildInterval;
+
+    private final Object writeLock = new Object();
+    /**
+     * Changes applied while a segment is being built, replayed onto it before it is published.
+     * Guarded by {@link #writeLock}, null when no build is running.
+     */
+    private List<Consumer<State>> pending = new ArrayList<>();
+    private volatile State state;
+    private final AtomicBoolean mergeScheduled = new AtomicBoolean();
+    private ScheduledExecutorService maintenance;
+
+    /**
+     * @param maxMemory Memory the titles may take, the index is disabled when they do not fit
+     * @param rebuildInterval Time between two rebuilds from the database, zero to only build at startup
+     */
+    public TitleSuggestIndex(PublicationRepository publicationRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${title-suggest.enabled:false}") boolean enabled,
+                             @Value("${title-suggest.max-memory:512MB}") DataSize maxMemory,
+                             @Value("${title-suggest.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.publicationRepository = publicationRepository;
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.rebuildInterval = rebuildInterval;
+
+        // Not read-only: a lagging replica would drop titles committed since, until the next rebuild
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * A title of the delta, ordered like the segment entries.
+     */
+    private record DeltaEntry(byte[] key, long id, String title) {
+    }
+
+    private static final Comparator<DeltaEntry> DELTA_ORDER = (first, second) -> {
+        int compared = Arrays.compareUnsigned(first.key(), second.key());
+        return compared != 0 ? compared : Long.compare(first.id(), second.id());
+    };
+
+    /**
+     * A segment with the changes made since it was built. Readers see it without locking, writers hold {@link #writeLock}.
+     */
+    private static final class State {
+
+        private final TitleSegment segment;
+        private final ConcurrentSkipListSet<DeltaEntry> added = new ConcurrentSkipListSet<>(DELTA_ORDER);
+        private final Map<Long, DeltaEntry> addedById = new ConcurrentHashMap<>();
+        /**
+         * IDs whose segment entry is deleted or replaced by a delta entry.
+         */
+        private final Set<Long> hidden = ConcurrentHashMap.newKeySet();
+
+        private State(TitleSegment segment) {
+            this.segment = segment;
+        }
+
+        private void put(long id, String title) {
+            DeltaEntry entry = new DeltaEntry(key(title), id, title);
+            hidden.add(id);
+            DeltaEntry replaced = addedById.put(id, entry);
+            if (replaced != null) {
+                added.remove(replaced);
+            }
+            added.add(entry);
+        }
+
+        private void remove(long id) {
+            hidden.add(id);
+            DeltaEntry removed = addedById.remove(id);
+            if (removed != null) {
+                added.remove(removed);
+            }
+        }
+
+        private int deltaSize() {
+            // The skip list counts its elements one by one, the map does not
+            return addedById.size() + hidden.size();
+        }
+    }
+
+    /**
+     * Titles starting with the given prefix, compared case- and accent-insensitively, in title order.
+     * @param prefix Title prefix
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, empty when the index is not built
+     */
+    public Optional<List<TitleSuggestionDto>> suggest(String prefix, int limit) {
+        State current = state;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        byte[] key = key(prefix);
+        TitleSegment segment = current.segment;
+        int position = segment.lowerBound(key);
+        Iterator<DeltaEntry> delta = current.added.tailSet(new DeltaEntry(key, Long.MIN_VALUE, null)).iterator();
+        DeltaEntry nextAdded = nextWithPrefix(delta, key);
+
+        List<TitleSuggestionDto> suggestions = new ArrayList<>(limit);
+        while (suggestions.size() < limit) {
+            while (position < segment.size() && segment.hasPrefix(position, key)
+                    && current.hidden.contains(segment.id(position))) {
+                position++;
+            }
+            boolean segmentHasNext = position < segment.size() && segment.hasPrefix(position, key);
+            if (!segmentHasNext && nextAdded == null) {
+                break;
+            }
+
+            if (segmentHasNext && (nextAdded == null || segment.compareTo(position, nextAdded.key(), nextAdded.id()) < 0)) {
+                suggestions.add(new TitleSuggestionDto(segment.id(position), segment.title(position)));
+                position++;
+            } else {
+                suggestions.add(new TitleSuggestionDto(nextAdded.id(), nextAdded.title()));
+                nextAdded = nextWithPrefix(delta, key);
+            }
+        }
+        return Optional.of(suggestions);
+    }
+
+    /**
+     * Follow a write to the catalog once it commits: index created and updated titles, drop deleted publications
+     * and the books of deleted authors.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!event.isPublicationChange()) {
+            if (event.change() == ChangeType.DELETED) {
+                publicationsDeleted(event.bookIds());
+            }
+            return;
+        }
+        switch (event.change()) {
+            case CREATED -> publicationsCreated(event.publications());
+            case UPDATED -> event.publications().forEach(this::publicationUpdated);
+            case DELETED -> publicationsDeleted(event.ids());
+        }
+    }
+
+    /**
+     * Index a new publication.
+     */
+    public void publicationCreated(Publication publication) {
+        publicationsCreated(List.of(publication));
+    }
+
+    /**
+     * Index new publications.
+     */
+    public void publicationsCreated(Collection<? extends Publication> publications) {
+        List<Map.Entry<Long, String>> titles = publications.stream()
+                .map(publication -> Map.entry(publication.getId(), publication.getTitle()))
+                .toList();
+        apply(current -> titles.forEach(title -> current.put(title.getKey(), title.getValue())));
+    }
+
+    /**
+     * Re-index an updated publication under its current title.
+     */
+    public void publicationUpdated(Publication publication) {
+        Long id = publication.getId();
+        String title = publication.getTitle();
+        apply(current -> current.put(id, title));
+    }
+
+    /**
+     * Drop deleted publications. IDs that do not exist are ignored.
+     */
+    public void publicationsDeleted(Collection<Long> ids) {
+        List<Long> deleted = List.copyOf(ids);
+        apply(current -> deleted.forEach(current::remove));
+    }
+
+    /**
+     * Build once the application is ready, then start the periodic rebuilds and background merges.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuildQuietly();
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "title-suggest-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!rebuildInterval.isZero() && !rebuildInterval.isNegative()) {
+            maintenance.scheduleWithFixedDelay(this::rebuildQuietly,
+                    rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+    }
+
+    /**
+     * Load every title from the database into a new segment and publish it.
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+        }
+        publish(() -> loadTransaction.execute(status -> load()));
+    }
+
+    /**
+     * Merge the delta into a new segment and publish it.
+     */
+    public void merge() {
+        State source;
+        synchronized (writeLock) {
+            source = state;
+            if (source == null || pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+        publish(() -> merge(source));
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Title suggest index rebuild failed, keeping the maintained index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publish a new segment with the changes made while it was built.
+     * @param build Builds the segment, returns null when the titles do not fit in the memory budget
+     */
+    private void publish(Supplier<TitleSegment> build) {
+        TitleSegment segment;
+        try {
+            segment = build.get();
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                // Changes were applied to the current state, only an unbuilt index keeps collecting them
+                if (state != null) {
+                    pending = null;
+                }
+            }
+            throw e;
+        }
+
+        synchronized (writeLock) {
+            if (segment == null) {
+                // Keep collecting changes for the next rebuild, which may fit again
+                state = null;
+                log.warn("Publication titles exceed the title suggest memory budget of {} bytes, "
+                        + "suggestions are served from the database", maxMemoryBytes);
+                return;
+            }
+
+            State built = new State(segment);
+            pending.forEach(change -> change.accept(built));
+            pending = null;
+            state = built;
+        }
+        log.debug("Title suggest index published with {} titles in {} bytes", segment.size(), segment.memoryBytes());
+    }
+
+    private TitleSegment load() {
+        TitleSegment.Builder builder = TitleSegment.builder(maxMemoryBytes);
+        try (Stream<PublicationTitleView> titles = publicationRepository.streamAllIdsAndTitles()) {
+            Iterator<PublicationTitleView> iterator = titles.iterator();
+            while (iterator.hasNext()) {
+                PublicationTitleView title = iterator.next();
+                if (!builder.append(title.getId(), key(title.getTitle()), title.getTitle())) {
+                    return null;
+                }
+            }
+        }
+        return builder.build(false);
+    }
+
+    /**
+     * Merge the visible segment entries and the delta, both already in order, into a new segment.
+     */
+    private TitleSegment merge(State source) {
+        TitleSegment.Builder builder = TitleSegment.builder(maxMemoryBytes);
+        TitleSegment segment = source.segment;
+        Iterator<DeltaEntry> delta = source.added.iterator();
+        DeltaEntry nextAdded = delta.hasNext() ? delta.next() : null;
+        int position = 0;
+
+        while (position < segment.size() || nextAdded != null) {
+            if (position < segment.size() && source.hidden.contains(segment.id(position))) {
+                position++;
+                continue;
+            }
+            boolean fits;
+            if (position < segment.size() && (nextAdded == null || segment.compareTo(position, nextAdded.key(), nextAdded.id()) < 0)) {
+                fits = builder.append(segment, position++);
+            } else {
+                fits = builder.append(nextAdded.id(), nextAdded.key(), nextAdded.title());
+                nextAdded = delta.hasNext() ? delta.next() : null;
+            }
+            if (!fits) {
+                return null;
+            }
+        }
+        return builder.build(true);
+    }
+
+    private void apply(Consumer<State> change) {
+        if (!enabled) {
+            return;
+        }
+        State current;
+        synchronized (writeLock) {
+            current = state;
+            if (current != null) {
+                change.accept(current);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+
+        if (current != null && maintenance != null
+                && current.deltaSize() > Math.max(MIN_MERGE_THRESHOLD, current.segment.size() / 8)
+                && mergeScheduled.compareAndSet(false, true)) {
+            maintenance.execute(() -> {
+                mergeScheduled.set(false);
+                try {
+                    merge();
+                } catch (RuntimeException e) {
+                    log.warn("Title suggest index merge failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    private static DeltaEntry nextWithPrefix(Iterator<DeltaEntry> delta, byte[] prefix) {
+        if (!delta.hasNext()) {
+            return null;
+        }
+        DeltaEntry entry = delta.next();
+        return entry.key().length >= prefix.length
+                && Arrays.equals(entry.key(), 0, prefix.length, prefix, 0, prefix.length) ? entry : null;
+    }
+
+    /**
+     * Normalized title, see {@link TitleKeys#normalize}, in UTF-8.
+     */
+    static byte[] key(String title) {
+        return TitleKeys.normalize(title).getBytes(StandardCharsets.UTF_8);
+    }
+}
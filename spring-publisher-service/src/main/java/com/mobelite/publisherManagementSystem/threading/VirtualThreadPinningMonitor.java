@@ -0,0 +1,140 @@
+package com.mobelite.publisherManagementSystem.threading;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, which happens when they block inside a
+ * {@code synchronized} block or a native frame. A pinned request holds a carrier like a platform thread
+ * would, so pinning in the JDBC driver or Hibernate caps the concurrency gained from virtual threads.
+ * <p>
+ * Pinned events come from JFR and are timed by the library found closest to the top of their stack.
+ * Only active with {@code spring.threads.virtual.enabled=true} on Java 21 or later.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean, MeterBinder {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Stack frames attributed to each source, in the order they are checked.
+     */
+    private static final Map<String, String> SOURCES = new LinkedHashMap<>();
+
+    static {
+        SOURCES.put("org.postgresql.", "jdbc");
+        SOURCES.put("com.zaxxer.hikari.", "connection-pool");
+        SOURCES.put("org.hibernate.", "hibernate");
+        SOURCES.put("com.mobelite.", "application");
+    }
+
+    /**
+     * Distinct pinning sites logged as warnings, later occurrences are only logged at debug level.
+     */
+    private static final int MAX_REPORTED_SITES = 256;
+
+    private final Duration threshold;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream recording;
+
+    /**
+     * @param threshold Shortest pinned time reported, shorter ones cost nothing worth measuring
+     */
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Monitoring virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SOURCES.values().forEach(source -> timers.put(source, timer(registry, source)));
+        timers.put("other", timer(registry, "other"));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedFrame site = pinningSite(event.getStackTrace());
+        String source = site == null ? "other" : source(site);
+        Timer timer = timers.get(source);
+        if (timer != null) {
+            timer.record(event.getDuration());
+        }
+
+        String location = site == null ? "unknown" : site.getMethod().getType().getName() + "."
+                + site.getMethod().getName() + ":" + site.getLineNumber();
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(location)) {
+            log.warn("Virtual thread pinned for {} ms in {} ({})", event.getDuration().toMillis(), location, source);
+        } else {
+            log.debug("Virtual thread pinned for {} ms in {} ({})", event.getDuration().toMillis(), location, source);
+        }
+    }
+
+    /**
+     * @return First frame outside the JDK, the innermost caller that could be holding the monitor
+     */
+    private static RecordedFrame pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isJdk(frame.getMethod().getType().getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String source(RecordedFrame frame) {
+        String className = frame.getMethod().getType().getName();
+        return SOURCES.entrySet().stream()
+                .filter(entry -> className.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("other");
+    }
+
+    private static Timer timer(MeterRegistry registry, String source) {
+        return Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("source", source)
+                .register(registry);
+    }
+}
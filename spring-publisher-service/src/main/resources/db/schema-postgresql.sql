@@ -0,0 +1,30 @@
+-- PostgreSQL objects that Hibernate cannot generate from the entity mappings.
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization),
+-- on every startup, so each statement must be idempotent.
+
+-- Trigram index backing the title search (ILIKE '%text%', word similarity ranking).
+-- Needs the pg_trgm extension, created once by the database owner with scripts/sql/create-extensions.sql.
+CREATE INDEX IF NOT EXISTS idx_publications_title_trgm ON publications USING gin (title gin_trgm_ops);
+
+-- Keyset pagination seeks on (title, id) / (name, id)
+CREATE INDEX IF NOT EXISTS idx_publications_title_id ON publications (title, id);
+CREATE INDEX IF NOT EXISTS idx_publications_type_title_id ON publications (publication_type, title, id);
+CREATE INDEX IF NOT EXISTS idx_authors_name_id ON authors (name, id);
+
+-- Title suggestions from the database: prefix match on the normalized title key (LIKE 'prefix%')
+CREATE INDEX IF NOT EXISTS idx_publications_title_key ON publications (title_key text_pattern_ops);
+
+-- Faceted search filters: type with a date or issue number range, and publications by author
+-- from both the book and the magazine side
+CREATE INDEX IF NOT EXISTS idx_publications_type_date ON publications (publication_type, publication_date);
+CREATE INDEX IF NOT EXISTS idx_publications_type_issue ON publications (publication_type, issue_number);
+CREATE INDEX IF NOT EXISTS idx_publications_date ON publications (publication_date);
+CREATE INDEX IF NOT EXISTS idx_publications_author_id ON publications (author_id);
+CREATE INDEX IF NOT EXISTS idx_magazine_authors_author_magazine ON magazine_authors (author_id, magazine_id);
+CREATE INDEX IF NOT EXISTS idx_authors_nationality_id ON authors (nationality, id);
+
+-- Publication IDs come from publications_seq (allocation size 50) so that inserts can be batched.
+-- On databases created with the former identity column, move the sequence past the existing rows,
+-- never backwards.
+SELECT setval('publications_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM publications),
+                                           (SELECT last_value FROM publications_seq)));
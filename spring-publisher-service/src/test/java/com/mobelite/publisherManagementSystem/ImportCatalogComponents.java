@@ -0,0 +1,31 @@
+package com.mobelite.publisherManagementSystem;
+
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.invalidation.CacheInvalidationBus;
+import com.mobelite.publisherManagementSystem.outbox.ChangeOutbox;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import com.mobelite.publisherManagementSystem.statistics.CatalogStatistics;
+import com.mobelite.publisherManagementSystem.suggest.TitleSuggestIndex;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Imports the components the services call or publish their
+ * {@link com.mobelite.publisherManagementSystem.event.CatalogChangeEvent} to, for slice tests running the services
+ * on a database. The services and mappers under test are imported next to it.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import({BookResponseCache.class, ExistenceIndex.class, CatalogStatistics.class, TitleSuggestIndex.class, CatalogReadModel.class,
+        CatalogSnapshot.class, ChangeOutbox.class, CacheInvalidationBus.class, ClusteredCache.class})
+public @interface ImportCatalogComponents {
+}
@@ -0,0 +1,86 @@
+package com.mobelite.publisherManagementSystem.cache;
+
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that a book loaded while a writer evicts it is not cached: the writer's eviction after
+ * its commit must not be undone by a reader that loaded the old row.
+ */
+@DisplayName("Book Response Cache Tests")
+class BookResponseCacheTest {
+
+    private BookResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookResponseCache(100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Should cache loaded books by ID and ISBN")
+    void shouldCacheLoadedBooks() {
+        // given
+        cache.getById(1L, () -> load(1L, "old"));
+
+        // when
+        BookResponseDto byId = cache.getById(1L, () -> load(1L, "new"));
+        BookResponseDto byIsbn = cache.getByIsbn("978-1", () -> load(1L, "new"));
+
+        // then
+        assertThat(byId.getTitle()).isEqualTo("old");
+        assertThat(byIsbn.getTitle()).isEqualTo("old");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a book loaded by ID while it is evicted")
+    void shouldNotCacheLoadOverlappingEvictionById() {
+        // given
+        BookResponseDto stale = cache.getById(1L, () -> {
+            BookResponseDto loaded = load(1L, "old");
+            // The writer commits and evicts after the reader read the old row
+            cache.evict(1L);
+            return loaded;
+        });
+
+        // when
+        BookResponseDto reloaded = cache.getById(1L, () -> load(1L, "new"));
+
+        // then
+        assertThat(stale.getTitle()).isEqualTo("old");
+        assertThat(reloaded.getTitle()).isEqualTo("new");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache a book loaded by ISBN while the cache is cleared")
+    void shouldNotCacheLoadOverlappingEvictionByIsbn() {
+        // given
+        cache.getByIsbn("978-1", () -> {
+            BookResponseDto loaded = load(1L, "old");
+            cache.clear();
+            return loaded;
+        });
+
+        // when
+        BookResponseDto reloaded = cache.getByIsbn("978-1", () -> load(1L, "new"));
+
+        // then
+        assertThat(reloaded.getTitle()).isEqualTo("new");
+        assertThat(cache.getById(1L, () -> load(1L, "newer")).getTitle()).isEqualTo("new");
+    }
+
+    private BookResponseDto load(Long id, String title) {
+        loads.incrementAndGet();
+        return BookResponseDto.builder().id(id).isbn("978-" + id).title(title).build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.mobelite.publisherManagementSystem.cache;
+
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex.KeySpace;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.BookRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Builds the existence index from an in-memory database and checks that it never reports a stored
+ * key as absent.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Existence Index Tests")
+class ExistenceIndexTest {
+
+    private static final int BOOK_COUNT = 200;
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExistenceIndex existenceIndex;
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("Indexed Author");
+        entityManager.persist(author);
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = new Book();
+            book.setTitle("Indexed Book " + i);
+            book.setIsbn("978-" + i);
+            book.setPublicationDate(LocalDate.of(2024, 1, 1));
+            book.setAuthor(author);
+            entityManager.persist(book);
+            bookIds.add(book.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        existenceIndex = new ExistenceIndex(publicationRepository, bookRepository, authorRepository, transactionManager,
+                true, 1000, 0.01, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should report every key as possibly present before the index is built")
+    void shouldReportEveryKeyBeforeBuild() {
+        assertThat(existenceIndex.mightContain(KeySpace.BOOK_ISBN, "missing")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should contain every stored key once built")
+    void shouldContainStoredKeys() {
+        // when
+        existenceIndex.build();
+
+        // then
+        assertThat(bookIds).allMatch(id -> existenceIndex.mightContain(KeySpace.PUBLICATION_ID, id));
+        assertThat(IntStream.range(0, BOOK_COUNT)).allMatch(i ->
+                existenceIndex.mightContain(KeySpace.PUBLICATION_TITLE, "Indexed Book " + i)
+                        && existenceIndex.mightContain(KeySpace.BOOK_ISBN, "978-" + i));
+        assertThat(existenceIndex.mightContain(KeySpace.AUTHOR_NAME, "Indexed Author")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rule out most absent keys")
+    void shouldRuleOutAbsentKeys() {
+        // when
+        existenceIndex.build();
+
+        // then
+        long falsePositives = IntStream.range(0, 1000)
+                .filter(i -> existenceIndex.mightContain(KeySpace.BOOK_ISBN, "979-" + i))
+                .count();
+        assertThat(falsePositives).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("Should keep keys added before and after the build")
+    void shouldKeepKeysAddedAroundBuild() {
+        // given
+        existenceIndex.add(KeySpace.PUBLICATION_TITLE, "Written During Build");
+
+        // when
+        existenceIndex.build();
+        existenceIndex.add(KeySpace.AUTHOR_NAME, "Written After Build");
+
+        // then
+        assertThat(existenceIndex.mightContain(KeySpace.PUBLICATION_TITLE, "Written During Build")).isTrue();
+        assertThat(existenceIndex.mightContain(KeySpace.AUTHOR_NAME, "Written After Build")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pick up keys written elsewhere and drop deleted keys on rebuild")
+    void shouldRefreshKeysOnRebuild() {
+        // given
+        existenceIndex.build();
+        Author author = new Author();
+        author.setName("Written Elsewhere");
+        entityManager.persist(author);
+        bookRepository.deleteBookById(bookIds.get(0));
+        entityManager.flush();
+
+        // when
+        existenceIndex.build();
+
+        // then
+        assertThat(existenceIndex.mightContain(KeySpace.AUTHOR_NAME, "Written Elsewhere")).isTrue();
+        assertThat(existenceIndex.mightContain(KeySpace.BOOK_ISBN, "978-0")).isFalse();
+    }
+}
@@ -0,0 +1,318 @@
+package com.mobelite.publisherManagementSystem.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Forms a two-member cluster on local ports, each member serving the peer endpoint from its own cache,
+ * and checks that keys are partitioned between them, near-cached, evicted on their owner, missing when their
+ * owner does not find them and still answered when the owner is down.
+ */
+@DisplayName("Clustered Cache Tests")
+class ClusteredCacheTest {
+
+    private static final ObjectMapper JSON = Jackson2ObjectMapperBuilder.json().build();
+    private static final Duration BACKOFF = Duration.ofMillis(200);
+
+    static {
+        // The JDK server writes headers and body separately, delayed ACKs would add 40 ms per request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private Member a;
+    private Member b;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        HttpServer serverA = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        HttpServer serverB = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        List<String> members = List.of(url(serverA), url(serverB));
+        a = new Member(serverA, members);
+        b = new Member(serverB, members);
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.cache.destroy();
+        b.cache.destroy();
+        a.server.stop(0);
+        b.server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should partition keys between the members, each loading only the keys it owns")
+    void shouldPartitionKeys() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 200).boxed().toList();
+        long ownedByA = ids.stream().filter(id -> a.owns(id)).count();
+
+        // when
+        ids.forEach(id -> assertThat(a.get(id).getTitle()).isEqualTo("Magazine " + id));
+        ids.forEach(b::get);
+
+        // then
+        assertThat(ownedByA).isBetween(60L, 140L);
+        assertThat(ids).allMatch(id -> a.owns(id) != b.owns(id));
+        assertThat(a.loads.get()).isEqualTo(ownedByA);
+        assertThat(b.loads.get()).isEqualTo(200 - ownedByA);
+        // B loaded its keys once, for A's lookups, and answered its own 200 lookups from memory
+        assertThat(b.metrics.get("cache.cluster.hit.ratio").tag("region", "magazines").gauge().value())
+                .isEqualTo(1.0 - (200.0 - ownedByA) / (400 - ownedByA));
+    }
+
+    @Test
+    @DisplayName("Should serve hot entries of another member from the near cache")
+    void shouldNearCacheRemoteEntries() {
+        // given
+        Long id = idOwnedBy(b);
+
+        // when
+        a.get(id);
+        a.get(id);
+
+        // then
+        assertThat(b.requests.get()).isEqualTo(1);
+        assertThat(a.loads.get()).isZero();
+        assertThat(b.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a key its owner does not find as missing, without loading it again")
+    void shouldNotLoadKeyMissingOnOwner() {
+        // given
+        Long id = idOwnedBy(b);
+        a.missing.add(id);
+        b.missing.add(id);
+
+        // when / then
+        assertThatThrownBy(() -> a.get(id))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Magazine " + id + " not found");
+        assertThat(a.loads.get()).isZero();
+        assertThat(b.loads.get()).isEqualTo(1);
+        assertThat(a.metrics.get("cache.cluster.remote.failures").functionCounter().count()).isZero();
+        assertThat(a.metrics.get("cache.cluster.members.skipped").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict a changed entry from its owner")
+    void shouldEvictFromOwner() {
+        // given
+        Long id = idOwnedBy(b);
+        a.get(id);
+
+        // when
+        a.cache.evict(CacheRegion.MAGAZINES, List.of(id));
+        await().atMost(Duration.ofSeconds(5)).until(() -> b.evictions.get() == 1);
+        a.get(id);
+
+        // then
+        assertThat(b.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict from the owner once the transaction commits, not when it rolls back")
+    void shouldEvictFromOwnerAfterCommitOnly() {
+        // given
+        Long id = idOwnedBy(b);
+        a.get(id);
+
+        // when
+        complete(() -> a.cache.evict(CacheRegion.MAGAZINES, List.of(id)), false);
+        complete(() -> a.cache.evict(CacheRegion.MAGAZINES, List.of(id)), true);
+        await().atMost(Duration.ofSeconds(5)).until(() -> b.evictions.get() == 1);
+
+        // then
+        assertThat(b.requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should load locally when the owner is down")
+    void shouldLoadLocallyWhenOwnerIsDown() {
+        // given
+        Long id = idOwnedBy(b);
+        b.server.stop(0);
+
+        // when
+        MagazineResponseDto magazine = a.get(id);
+
+        // then
+        assertThat(magazine.getTitle()).isEqualTo("Magazine " + id);
+        assertThat(a.loads.get()).isEqualTo(1);
+        assertThat(a.metrics.get("cache.cluster.remote.failures").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip a failed owner during its backoff and serve its keys locally until it answers again")
+    void shouldSkipFailedOwnerUntilItAnswers() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 100).boxed().filter(b::owns).limit(2).toList();
+        b.failing = true;
+        a.get(ids.get(0));
+
+        // when
+        a.get(ids.get(0));
+        a.get(ids.get(1));
+
+        // then
+        assertThat(b.requests.get()).isEqualTo(1);
+        assertThat(a.loads.get()).isEqualTo(2);
+        assertThat(a.metrics.get("cache.cluster.members.skipped").gauge().value()).isEqualTo(1);
+        assertThat(a.metrics.get("cache.cluster.remote.failures").functionCounter().count()).isEqualTo(1);
+
+        // when
+        b.failing = false;
+        await().atMost(Duration.ofSeconds(5)).until(() -> a.metrics.get("cache.cluster.members.skipped").gauge().value() == 0);
+        a.get(ids.get(0));
+        a.get(ids.get(1));
+
+        // then
+        assertThat(b.requests.get()).isEqualTo(3);
+        assertThat(a.loads.get()).isEqualTo(2);
+        assertThat(b.loads.get()).isEqualTo(2);
+    }
+
+    /**
+     * Run a write in a transaction synchronization, then complete it like a commit or a rollback.
+     */
+    private static void complete(Runnable write, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(commit
+                    ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Long idOwnedBy(Member member) {
+        return LongStream.rangeClosed(1, 100).boxed().filter(member::owns).findFirst().orElseThrow();
+    }
+
+    private static String url(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Member answering the peer endpoint like the peer controller, loading magazines it does not hold.
+     */
+    private static final class Member {
+
+        private final HttpServer server;
+        private final String url;
+        private final ClusteredCache cache;
+        private final SimpleMeterRegistry metrics = new SimpleMeterRegistry();
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger evictions = new AtomicInteger();
+        private final Set<Long> missing = ConcurrentHashMap.newKeySet();
+        private volatile boolean failing;
+
+        Member(HttpServer server, List<String> members) {
+            this.server = server;
+            this.url = url(server);
+            this.cache = new ClusteredCache(new StaticListableBeanFactory().getBeanProvider(RestClient.Builder.class),
+                    true, members, url, 1000, Duration.ofMinutes(10), 100, Duration.ofMinutes(1), Duration.ofSeconds(2),
+                    BACKOFF, Duration.ofSeconds(1), "cluster-secret");
+            cache.bindTo(metrics);
+            server.createContext(ClusteredCache.PEER_PATH, this::handle);
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+        }
+
+        boolean owns(Long id) {
+            return cache.owner(CacheRegion.MAGAZINES, id).equals(url);
+        }
+
+        MagazineResponseDto get(Long id) {
+            return cache.get(CacheRegion.MAGAZINES, id, () -> load(id));
+        }
+
+        private MagazineResponseDto load(Long id) {
+            loads.incrementAndGet();
+            if (missing.contains(id)) {
+                throw new ResourceNotFoundException("Magazine " + id + " not found");
+            }
+            return MagazineResponseDto.builder()
+                    .id(id)
+                    .title("Magazine " + id)
+                    .publicationDate(LocalDate.of(2024, 1, 1))
+                    .issueNumber(1)
+                    .build();
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            requests.incrementAndGet();
+            if (failing || !cache.isPeer(exchange.getRequestHeaders().getFirst(ClusteredCache.SECRET_HEADER))) {
+                exchange.sendResponseHeaders(failing ? 503 : 403, -1);
+                exchange.close();
+                return;
+            }
+            String[] path = exchange.getRequestURI().getPath().substring(ClusteredCache.PEER_PATH.length() + 1).split("/");
+            CacheRegion region = CacheRegion.fromPath(path[0]);
+            if ("GET".equals(exchange.getRequestMethod())) {
+                Long id = Long.valueOf(path[1]);
+                int status = 200;
+                byte[] body;
+                try {
+                    body = JSON.writeValueAsBytes(cache.serveForPeer(() -> get(id)));
+                } catch (ResourceNotFoundException e) {
+                    status = 404;
+                    body = JSON.writeValueAsBytes(ApiResponseDto.error(e.getMessage()));
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                return;
+            }
+            List<Long> ids = new ArrayList<>();
+            String query = exchange.getRequestURI().getQuery();
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    ids.add(Long.valueOf(parameter.substring("ids=".length())));
+                }
+            }
+            cache.evictLocal(region, ids);
+            evictions.incrementAndGet();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }
+    }
+}
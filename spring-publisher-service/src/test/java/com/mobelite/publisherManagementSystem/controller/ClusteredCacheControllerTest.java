@@ -0,0 +1,246 @@
+package com.mobelite.publisherManagementSystem.controller;
+
+import com.mobelite.publisherManagementSystem.PublisherManagementSystemApplication;
+import com.mobelite.publisherManagementSystem.cluster.CacheRegion;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import com.mobelite.publisherManagementSystem.service.AuthorService;
+import com.mobelite.publisherManagementSystem.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Starts two instances of the application on local ports over one H2 database, forming a cluster, and checks
+ * that lookups and evictions go through the peer endpoint of the member owning the key, and that the endpoint
+ * is only served on the cluster port and refuses requests without the cluster secret.
+ */
+@DisplayName("Clustered Cache Controller Tests")
+class ClusteredCacheControllerTest {
+
+    private static final String SECRET = "cluster-secret";
+    private static final AtomicLong ISBNS = new AtomicLong(9780000000000L);
+
+    private static ConfigurableApplicationContext a;
+    private static ConfigurableApplicationContext b;
+    private static String urlB;
+    private static String publicUrlB;
+    private static Long authorId;
+
+    @BeforeAll
+    static void startMembers() throws IOException {
+        int portA = freePort();
+        int portB = freePort();
+        int peerPortA = freePort();
+        int peerPortB = freePort();
+        String members = "http://127.0.0.1:" + peerPortA + ",http://127.0.0.1:" + peerPortB;
+        urlB = "http://127.0.0.1:" + peerPortB;
+        publicUrlB = "http://127.0.0.1:" + portB;
+        a = start(portA, peerPortA, members);
+        b = start(portB, peerPortB, members);
+        authorId = a.getBean(AuthorService.class)
+                .createAuthor(AuthorRequestDto.builder().name("Cluster Author").build())
+                .getId();
+    }
+
+    @AfterAll
+    static void stopMembers() {
+        if (b != null) {
+            b.close();
+        }
+        if (a != null) {
+            a.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read a key owned by the other member from its partition, and evict it there on update")
+    void shouldReadAndEvictThroughOwner() {
+        // given
+        BookService booksA = a.getBean(BookService.class);
+        Long bookId = createBookOwnedBy(urlB);
+        double remoteHits = remoteHits();
+
+        // when
+        BookResponseDto read = booksA.getBookById(bookId);
+
+        // then
+        assertThat(remoteHits()).isEqualTo(remoteHits + 1);
+
+        // when
+        String isbn = nextIsbn();
+        booksA.updateBook(bookId, BookUpdateRequestDto.builder().isbn(isbn).build());
+
+        // then
+        assertThat(read.getIsbn()).isNotEqualTo(isbn);
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(booksA.getBookById(bookId).getIsbn()).isEqualTo(isbn));
+    }
+
+    @Test
+    @DisplayName("Should keep a book owned by the other member no longer than the near cache")
+    void shouldExpireBooksOwnedElsewhere() {
+        // given
+        BookService booksA = a.getBean(BookService.class);
+        Long bookId = createBookOwnedBy(urlB);
+        booksA.getBookById(bookId);
+
+        // when
+        String isbn = nextIsbn();
+        // Written on the owner, which does not know who near-caches the book
+        b.getBean(BookService.class).updateBook(bookId, BookUpdateRequestDto.builder().isbn(isbn).build());
+
+        // then
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(booksA.getBookById(bookId).getIsbn()).isEqualTo(isbn));
+    }
+
+    @Test
+    @DisplayName("Should answer a book missing on its owner as not found")
+    void shouldAnswerMissingBookAsNotFound() {
+        // given
+        BookService booksA = a.getBean(BookService.class);
+        Long bookId = LongStream.iterate(1_000_000L, id -> id + 1)
+                .filter(id -> a.getBean(ClusteredCache.class).owner(CacheRegion.BOOKS, id).equals(urlB))
+                .findFirst()
+                .orElseThrow();
+        double remoteHits = remoteHits();
+
+        // when / then
+        assertThatThrownBy(() -> booksA.getBookById(bookId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Book with ID " + bookId + " not found");
+        assertThat(remoteHits()).isEqualTo(remoteHits + 1);
+    }
+
+    @Test
+    @DisplayName("Should refuse peer requests without the cluster secret")
+    void shouldRefuseRequestsWithoutSecret() {
+        // given
+        RestClient client = RestClient.create(urlB);
+
+        // when / then
+        assertThatThrownBy(() -> client.get().uri(ClusteredCache.PEER_PATH + "/books/1").retrieve().toBodilessEntity())
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        assertThatThrownBy(() -> client.delete().uri(ClusteredCache.PEER_PATH + "/books?ids=1")
+                .header(ClusteredCache.SECRET_HEADER, "wrong").retrieve().toBodilessEntity())
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+
+    @Test
+    @DisplayName("Should serve the peer endpoint on the cluster port only, and nothing else there")
+    void shouldServePeerEndpointOnClusterPortOnly() {
+        // given
+        RestClient publicPort = RestClient.create(publicUrlB);
+        RestClient peerPort = RestClient.create(urlB);
+
+        // when / then
+        assertThatThrownBy(() -> publicPort.delete().uri(ClusteredCache.PEER_PATH + "/books?ids=1")
+                .header(ClusteredCache.SECRET_HEADER, SECRET).retrieve().toBodilessEntity())
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> peerPort.get().uri("/api/v1/authors").retrieve().toBodilessEntity())
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThat(publicPort.get().uri("/api/v1/authors").retrieve().toBodilessEntity().getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(peerPort.delete().uri(ClusteredCache.PEER_PATH + "/books?ids=1")
+                .header(ClusteredCache.SECRET_HEADER, SECRET).retrieve().toBodilessEntity().getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should refuse an eviction listing no IDs")
+    void shouldRefuseEvictionWithoutIds() {
+        // given
+        RestClient client = RestClient.create(urlB);
+
+        // when / then
+        assertThatThrownBy(() -> client.delete().uri(ClusteredCache.PEER_PATH + "/books")
+                .header(ClusteredCache.SECRET_HEADER, SECRET).retrieve().toBodilessEntity())
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static ConfigurableApplicationContext start(int port, int peerPort, String members) {
+        // Arguments, to take precedence over application.properties
+        return new SpringApplicationBuilder(PublisherManagementSystemApplication.class).run(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--cache.cluster.enabled=true",
+                "--cache.cluster.members=" + members,
+                "--cache.cluster.self=http://127.0.0.1:" + peerPort,
+                "--cache.cluster.port=" + peerPort,
+                "--cache.cluster.timeout=2s",
+                "--cache.cluster.near-expire-after-write=1s",
+                "--cache.cluster.secret=" + SECRET);
+    }
+
+    /**
+     * Create books until one is owned by the given member, as keys are spread by hashing.
+     */
+    private static Long createBookOwnedBy(String member) {
+        ClusteredCache cache = a.getBean(ClusteredCache.class);
+        BookService books = a.getBean(BookService.class);
+        for (int i = 0; i < 50; i++) {
+            // Titles are unique too
+            String isbn = nextIsbn();
+            Long id = books.createBook(BookCreateRequestDto.builder()
+                    .title("Clustered " + isbn)
+                    .publicationDate(LocalDate.of(2020, 1, 1))
+                    .isbn(isbn)
+                    .authorId(authorId)
+                    .build()).getId();
+            if (cache.owner(CacheRegion.BOOKS, id).equals(member)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("No book owned by " + member);
+    }
+
+    private static String nextIsbn() {
+        return Long.toString(ISBNS.incrementAndGet());
+    }
+
+    private static double remoteHits() {
+        return a.getBean(MeterRegistry.class).get("cache.cluster.remote.hits").functionCounter().count();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.mobelite.publisherManagementSystem.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Routes read-only connections over H2 replicas whose PostgreSQL recovery functions are backed by a
+ * {@code replica_state} table, so each test sets the state a health check then reads.
+ */
+@DisplayName("Replica Routing Data Source Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String REPLICA_1 = "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_2 = "jdbc:h2:mem:replica2;DB_CLOSE_DELAY=-1";
+    private static final String DOWN = "jdbc:h2:mem:down;IFEXISTS=TRUE";
+
+    private final SimpleMeterRegistry metrics = new SimpleMeterRegistry();
+    private final List<Connection> keepAlive = new ArrayList<>();
+    private HikariDataSource primary;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+        config.setPoolName("primary");
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(250);
+        primary = new HikariDataSource(config);
+        createReplica(REPLICA_1);
+        createReplica(REPLICA_2);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (routing != null) {
+            routing.destroy();
+        }
+        primary.close();
+        for (Connection connection : keepAlive) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread connections round-robin over the replicas in rotation")
+    void shouldRouteRoundRobinOverHealthyReplicas() throws SQLException {
+        // given
+        routing = routing(REPLICA_1, REPLICA_2);
+        routing.checkReplicas();
+
+        // when
+        List<String> routes = List.of(route(), route(), route(), route());
+
+        // then
+        assertThat(routes).containsExactly("REPLICA1", "REPLICA2", "REPLICA1", "REPLICA2");
+        assertThat(metrics.get("datasource.routing.connections").tag("route", "replica-1").counter().count()).isEqualTo(2);
+        assertThat(metrics.get("datasource.replica.healthy").tag("replica", "replica-2").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when no replica is in rotation")
+    void shouldFallBackToPrimary() throws SQLException {
+        // given
+        routing = routing(DOWN);
+        routing.checkReplicas();
+
+        // when
+        String route = route();
+
+        // then
+        assertThat(route).isEqualTo("PRIMARY");
+        assertThat(metrics.get("datasource.routing.connections").tag("route", "primary").counter().count()).isEqualTo(1);
+        assertThat(metrics.get("datasource.replica.healthy").tag("replica", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip a replica lagging behind more than the maximum lag")
+    void shouldSkipLaggingReplica() throws SQLException {
+        // given
+        setState(REPLICA_1, true, true, 10, 5, OffsetDateTime.now().minusMinutes(5));
+        setState(REPLICA_2, true, true, 10, 8, OffsetDateTime.now());
+        routing = routing(REPLICA_1, REPLICA_2);
+        routing.checkReplicas();
+
+        // when
+        List<String> routes = List.of(route(), route());
+
+        // then
+        assertThat(routes).containsOnly("REPLICA2");
+        assertThat(metrics.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()).isGreaterThan(200);
+    }
+
+    @Test
+    @DisplayName("Should count a replica that replayed all it received as not lagging, however old its last transaction")
+    void shouldNotCountIdleReplicaAsLagging() throws SQLException {
+        // given
+        setState(REPLICA_1, true, true, 10, 10, OffsetDateTime.now().minusHours(1));
+        routing = routing(REPLICA_1);
+        routing.checkReplicas();
+
+        // when
+        String route = route();
+
+        // then
+        assertThat(route).isEqualTo("REPLICA1");
+        assertThat(metrics.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip a replica whose WAL receiver is not streaming, even with all received WAL replayed")
+    void shouldSkipDisconnectedReplica() throws SQLException {
+        // given
+        setState(REPLICA_1, true, false, 10, 10, OffsetDateTime.now());
+        routing = routing(REPLICA_1, REPLICA_2);
+        routing.checkReplicas();
+
+        // when
+        List<String> routes = List.of(route(), route());
+
+        // then
+        assertThat(routes).containsOnly("REPLICA2");
+        assertThat(metrics.get("datasource.replica.healthy").tag("replica", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse connections with other credentials")
+    void shouldRefuseOtherCredentials() {
+        // given
+        routing = routing(REPLICA_1);
+
+        // when / then
+        assertThatThrownBy(() -> routing.getConnection("user", "password"))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+    }
+
+    private ReplicaRoutingDataSource routing(String... replicaUrls) {
+        return new ReplicaRoutingDataSource(primary, List.of(replicaUrls), Duration.ofSeconds(30),
+                Duration.ofMinutes(1), metrics);
+    }
+
+    /**
+     * Name of the database the next read-only connection comes from.
+     */
+    private String route() throws SQLException {
+        try (Connection connection = routing.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT DATABASE()")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    /**
+     * Create an in-sync streaming replica, kept open until the test ends.
+     */
+    private void createReplica(String url) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        keepAlive.add(connection);
+        String functions = RecoveryFunctions.class.getName();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE replica_state (
+                        in_recovery BOOLEAN, streaming BOOLEAN, received_lsn BIGINT, replayed_lsn BIGINT,
+                        replayed_at TIMESTAMP WITH TIME ZONE)
+                    """);
+            statement.execute("INSERT INTO replica_state VALUES (TRUE, TRUE, 1, 1, CURRENT_TIMESTAMP)");
+            statement.execute("""
+                    CREATE VIEW pg_stat_wal_receiver AS
+                    SELECT CASE WHEN streaming THEN 'streaming' ELSE 'stopping' END AS status FROM replica_state
+                    """);
+            statement.execute("CREATE ALIAS pg_is_in_recovery FOR '" + functions + ".inRecovery'");
+            statement.execute("CREATE ALIAS pg_last_wal_receive_lsn FOR '" + functions + ".receivedLsn'");
+            statement.execute("CREATE ALIAS pg_last_wal_replay_lsn FOR '" + functions + ".replayedLsn'");
+            statement.execute("CREATE ALIAS pg_last_xact_replay_timestamp FOR '" + functions + ".replayedAt'");
+        }
+    }
+
+    private void setState(String url, boolean inRecovery, boolean streaming, long receivedLsn, long replayedLsn,
+                          OffsetDateTime replayedAt) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE replica_state SET in_recovery = " + inRecovery + ", streaming = " + streaming
+                    + ", received_lsn = " + receivedLsn + ", replayed_lsn = " + replayedLsn
+                    + ", replayed_at = TIMESTAMP WITH TIME ZONE '" + replayedAt + "'");
+        }
+    }
+
+    /**
+     * PostgreSQL recovery functions, read from the replica state. Public for H2 to call them.
+     */
+    public static final class RecoveryFunctions {
+
+        private RecoveryFunctions() {
+        }
+
+        public static Boolean inRecovery(Connection connection) throws SQLException {
+            return (Boolean) state(connection, "in_recovery");
+        }
+
+        public static Long receivedLsn(Connection connection) throws SQLException {
+            return (Long) state(connection, "received_lsn");
+        }
+
+        public static Long replayedLsn(Connection connection) throws SQLException {
+            return (Long) state(connection, "replayed_lsn");
+        }
+
+        public static OffsetDateTime replayedAt(Connection connection) throws SQLException {
+            return (OffsetDateTime) state(connection, "replayed_at");
+        }
+
+        private static Object state(Connection connection, String column) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT " + column + " FROM replica_state")) {
+                resultSet.next();
+                return resultSet.getObject(1);
+            }
+        }
+    }
+}
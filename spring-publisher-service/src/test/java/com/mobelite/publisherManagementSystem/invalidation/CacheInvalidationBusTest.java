@@ -0,0 +1,213 @@
+package com.mobelite.publisherManagementSystem.invalidation;
+
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.cluster.CacheRegion;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that the changes of a transaction are sent as one notification at commit, and that the other
+ * instances evict what it lists, or flush everything when it cannot list it.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Invalidation Bus Tests")
+class CacheInvalidationBusTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private ClusteredCache clusteredCache;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    private BookResponseCache bookCache;
+    private CacheInvalidationBus sender;
+    private CacheInvalidationBus receiver;
+
+    @BeforeEach
+    void setUp() {
+        bookCache = new BookResponseCache(100, Duration.ofMinutes(10));
+        sender = bus(new BookResponseCache(100, Duration.ofMinutes(10)));
+        receiver = bus(bookCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send the changes of a transaction as one notification when it commits")
+    void shouldCoalesceChangesPerTransaction() throws SQLException {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        sender.changed(ChangedEntity.PUBLICATION, ChangeType.UPDATED, List.of(1L, 2L));
+        sender.changed(ChangedEntity.PUBLICATION, ChangeType.DELETED, List.of(2L, 3L));
+        sender.changed(ChangedEntity.PUBLICATION, ChangeType.CREATED, List.of(5L));
+        sender.changed(ChangedEntity.AUTHOR, ChangeType.DELETED, List.of(4L));
+        verifyNoInteractions(dataSource);
+
+        // when
+        String payload = commit();
+
+        // then
+        assertThat(payload).matches("[0-9a-f-]{36};\\d+;P1,2,3;A4");
+    }
+
+    @Test
+    @DisplayName("Should evict what another instance changed, and ignore its own messages")
+    void shouldEvictChangesOfOtherInstances() throws SQLException {
+        // given
+        cacheBook(1L, 4L);
+        cacheBook(2L, 9L);
+        cacheBook(3L, 9L);
+        TransactionSynchronizationManager.initSynchronization();
+        sender.changed(ChangedEntity.PUBLICATION, ChangeType.UPDATED, List.of(1L));
+        sender.changed(ChangedEntity.AUTHOR, ChangeType.DELETED, List.of(9L));
+        String payload = commit();
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+
+        // when
+        sender.receive(payload);
+        receiver.receive(payload);
+
+        // then
+        assertThat(cachedIds()).isEmpty();
+        verify(catalogSnapshot).publicationsChanged(List.of(1L));
+        verify(catalogSnapshot).authorChanged(9L);
+        verify(clusteredCache).evictLocal(CacheRegion.MAGAZINES, List.of(1L));
+        verify(secondLevelCache).evictEntityData(Publication.class, 1L);
+        verify(secondLevelCache).evictEntityData(Author.class, 9L);
+        verify(secondLevelCache).evictEntityData(Publication.class);
+        verify(catalogSnapshot, never()).replayLater();
+    }
+
+    @Test
+    @DisplayName("Should flush everything for messages too large to list the IDs, or unreadable")
+    void shouldFlushWhenIdsAreNotListed() throws SQLException {
+        // given
+        cacheBook(1L, 4L);
+        stubNotify();
+        sender.changed(ChangedEntity.PUBLICATION, ChangeType.DELETED,
+                LongStream.rangeClosed(1_000_000L, 1_002_000L).boxed().toList());
+        String payload = sentPayload();
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
+        // when
+        receiver.receive(payload);
+
+        // then
+        assertThat(payload).endsWith(";*");
+        assertThat(cachedIds()).isEmpty();
+        verify(catalogSnapshot).replayLater();
+        verify(secondLevelCache).evictAll();
+
+        // when
+        receiver.receive("garbage");
+
+        // then
+        verify(catalogSnapshot, times(2)).replayLater();
+    }
+
+    private CacheInvalidationBus bus(BookResponseCache cache) {
+        return new CacheInvalidationBus(dataSource, new DataSourceProperties(), cache, catalogSnapshot, clusteredCache, entityManagerFactory,
+                true, "catalog_invalidation", Duration.ofSeconds(5));
+    }
+
+    /**
+     * Run the registered synchronizations like a committing transaction.
+     * @return Payload of the notification sent before the commit
+     */
+    private String commit() throws SQLException {
+        stubNotify();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        String payload = sentPayload();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        return payload;
+    }
+
+    private String sentPayload() throws SQLException {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(statement).setString(eq(2), payload.capture());
+        return payload.getValue();
+    }
+
+    private void stubNotify() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private void cacheBook(Long id, Long authorId) {
+        bookCache.getById(id, () -> BookResponseDto.builder()
+                .id(id)
+                .isbn("978-" + id)
+                .author(AuthorSummaryDto.builder().id(authorId).build())
+                .build());
+    }
+
+    private List<Long> cachedIds() {
+        return LongStream.rangeClosed(1, 3)
+                .filter(id -> bookCache.getById(id, () -> null) != null)
+                .boxed()
+                .toList();
+    }
+}
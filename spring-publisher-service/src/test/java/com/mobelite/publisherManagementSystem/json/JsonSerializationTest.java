@@ -0,0 +1,125 @@
+package com.mobelite.publisherManagementSystem.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.mobelite.publisherManagementSystem.dto.response.ApiResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the tuned serializers write books as the bean serialization did, leave everything else
+ * unchanged, and that CBOR responses decode to the same tree as the JSON ones.
+ */
+@DisplayName("JSON Serialization Tests")
+class JsonSerializationTest {
+
+    // Configured as Spring Boot does, dates as strings
+    private static final ObjectMapper DEFAULT = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final ObjectMapper TUNED = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new CatalogJsonModule())
+            .build();
+    private static final ObjectMapper CBOR = Jackson2ObjectMapperBuilder.json()
+            .factory(new CBORFactory())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new CatalogJsonModule())
+            .build();
+
+    @Test
+    @DisplayName("Should write books as the bean serialization does")
+    void shouldWriteBooksAsBeans() throws IOException {
+        // given
+        List<BookResponseDto> books = books(3);
+        books.get(1).setAuthor(null);
+        books.get(2).setPublicationDate(null);
+        books.get(2).setTitle("Été \"quoted\"");
+
+        // when
+        String tuned = TUNED.writeValueAsString(books);
+
+        // then
+        assertThat(tuned).isEqualTo(DEFAULT.writeValueAsString(books));
+        assertThat(TUNED.readTree(tuned).get(0).get("publicationDate").asText()).isEqualTo("0987-03-04");
+        assertThat(TUNED.readTree(tuned).get(0).get("author").get("birthDate").asText()).isEqualTo("1950-11-30");
+    }
+
+    @Test
+    @DisplayName("Should leave pages and other dates as the bean serialization writes them")
+    void shouldLeavePagesAndDatesUnchanged() throws IOException {
+        // given
+        ApiResponseDto<Page<BookResponseDto>> response = ApiResponseDto.success(
+                new PageImpl<>(books(3), PageRequest.of(2, 3, Sort.by("title")), 20));
+        LocalDate date = LocalDate.of(2024, 2, 29);
+
+        // when
+        String tuned = TUNED.writeValueAsString(response);
+
+        // then
+        assertThat(tuned).isEqualTo(DEFAULT.writeValueAsString(response));
+        assertThat(TUNED.readTree(tuned).get("data").has("pageable")).isTrue();
+        assertThat(TUNED.writeValueAsString(date)).isEqualTo(DEFAULT.writeValueAsString(date));
+    }
+
+    @Test
+    @DisplayName("Should write CBOR responses decoding to the JSON ones")
+    void shouldWriteCbor() throws IOException {
+        // given
+        List<BookResponseDto> books = books(1000);
+        books.get(7).setTitle("Ünïcödé " + "x".repeat(300));
+        books.get(8).setIsbn(null);
+        ApiResponseDto<Page<BookResponseDto>> response = ApiResponseDto.success(
+                new PageImpl<>(books, PageRequest.of(0, 1000), 5000));
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(CBOR);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // when
+        converter.write(response, MediaType.APPLICATION_CBOR, output);
+
+        // then
+        byte[] cbor = output.getBodyAsBytes();
+        byte[] json = TUNED.writeValueAsBytes(response);
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(CBOR.readTree(cbor)).isEqualTo(TUNED.readTree(json));
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    private static List<BookResponseDto> books(int count) {
+        List<BookResponseDto> books = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            books.add(BookResponseDto.builder()
+                    .id(id)
+                    .title("Book " + id)
+                    .publicationDate(id == 1 ? LocalDate.of(987, 3, 4) : LocalDate.of(2000, 1, 1).plusDays(id))
+                    .version(id % 3)
+                    .isbn("978-" + (1_000_000_000L + id))
+                    .author(AuthorSummaryDto.builder()
+                            .id(-id)
+                            .name("Author " + id)
+                            .nationality("French")
+                            .birthDate(LocalDate.of(1950, 11, 30))
+                            .build())
+                    .build());
+        }
+        return books;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mobelite.publisherManagementSystem.limiter;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry metrics = new SimpleMeterRegistry();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(1, 1, 1, 0, Duration.ZERO, Duration.ofSeconds(1),
+                new StaticListableBeanFactory().getBeanProvider(HikariDataSource.class), Jackson2ObjectMapperBuilder.json().build());
+        filter.bindTo(metrics);
+    }
+
+    @Test
+    @DisplayName("Should release the slot when a synchronous request returns")
+    void shouldReleaseSynchronousRequest() throws Exception {
+        // given
+        FilterChain chain = (request, response) -> response.getWriter().write("done");
+
+        // when
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), chain);
+
+        // then
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold the slot of a streaming request until its response completes")
+    void shouldHoldSlotUntilStreamingResponseCompletes() throws Exception {
+        // given
+        MockHttpServletRequest request = apiRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain streaming = (req, res) -> req.startAsync(req, res);
+
+        // when
+        filter.doFilter(request, response, streaming);
+
+        // then
+        assertThat(inFlight()).isEqualTo(1);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), rejected, (req, res) -> fail("Limit of one exceeded"));
+        assertThat(rejected.getStatus()).isEqualTo(503);
+
+        // when
+        AsyncContext asyncContext = request.getAsyncContext();
+        asyncContext.getResponse().getOutputStream().write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        asyncContext.complete();
+
+        // then
+        assertThat(inFlight()).isZero();
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}\n");
+        assertThat(metrics.get("http.server.concurrency.latency").gauge().value())
+                .as("A stream's duration is not a latency sample").isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the slot of a failed streaming request once")
+    void shouldReleaseFailedStreamingRequestOnce() throws Exception {
+        // given
+        MockHttpServletRequest request = apiRequest();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync(req, res));
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+
+        // when
+        asyncContext.getListeners().forEach(listener -> {
+            try {
+                listener.onError(new AsyncEvent(asyncContext, new IllegalStateException("Client gone")));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        asyncContext.complete();
+
+        // then
+        assertThat(inFlight()).isZero();
+        MockHttpServletRequest next = apiRequest();
+        filter.doFilter(next, new MockHttpServletResponse(), (req, res) -> req.startAsync(req, res));
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    private MockHttpServletRequest apiRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/publications");
+        request.addHeader("Accept", "application/x-ndjson");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private double inFlight() {
+        return metrics.get("http.server.concurrency.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,127 @@
+package com.mobelite.publisherManagementSystem.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("GradientConcurrencyLimit Tests")
+class GradientConcurrencyLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("Should reject once the limit and the queue are full")
+    void shouldRejectBeyondLimit() throws InterruptedException {
+        // given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 0);
+
+        // when & then
+        assertThat(limit.tryAcquire(Duration.ZERO)).isTrue();
+        assertThat(limit.tryAcquire(Duration.ZERO)).isTrue();
+        assertThat(limit.tryAcquire(Duration.ofMillis(10))).isFalse();
+        limit.release(RTT, 0);
+        assertThat(limit.tryAcquire(Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow while latency is stable under load")
+    void shouldGrowWithStableLatency() throws InterruptedException {
+        // given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 0);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, RTT, 0);
+        }
+
+        // then
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Should shrink when latency rises or the pool has waiters")
+    void shouldShrinkUnderCongestion() throws InterruptedException {
+        // given
+        GradientConcurrencyLimit slower = new GradientConcurrencyLimit(50, 1, 100, 0);
+        GradientConcurrencyLimit poolBound = new GradientConcurrencyLimit(50, 1, 100, 0);
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(slower, RTT, 0);
+            saturateAndRelease(poolBound, RTT, 0);
+        }
+        int slowerStart = slower.getLimit();
+        int poolBoundStart = poolBound.getLimit();
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(slower, RTT * 5, 0);
+            saturateAndRelease(poolBound, RTT, 3);
+        }
+
+        // then
+        assertThat(slower.getLimit()).isLessThan(slowerStart);
+        assertThat(poolBound.getLimit()).isLessThan(poolBoundStart);
+        assertThat(slower.getLimit()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should admit one waiter per slot freed when the limit grows")
+    void shouldWakeWaiterPerFreeSlot() throws Exception {
+        // given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 1, 200, 2);
+        saturateAndRelease(limit, RTT, 0);
+        assertThat(limit.tryAcquire(Duration.ZERO)).isTrue();
+        ExecutorService waiters = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = waiters.submit(() -> limit.tryAcquire(Duration.ofSeconds(10)));
+            Future<Boolean> second = waiters.submit(() -> limit.tryAcquire(Duration.ofSeconds(10)));
+            await().atMost(Duration.ofSeconds(5)).until(() -> limit.getQueued() == 2);
+
+            // when
+            limit.release(RTT, 0);
+
+            // then
+            assertThat(limit.getLimit()).isGreaterThan(100);
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            waiters.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the limit and latency unchanged when released without a sample")
+    void shouldReleaseWithoutSample() throws InterruptedException {
+        // given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 0);
+        saturateAndRelease(limit, RTT, 0);
+        assertThat(limit.tryAcquire(Duration.ZERO)).isTrue();
+        double latency = limit.getLongRttMillis();
+
+        // when
+        limit.release();
+
+        // then
+        assertThat(limit.getLimit()).isEqualTo(10);
+        assertThat(limit.getLongRttMillis()).isEqualTo(latency);
+        assertThat(limit.getInFlight()).isEqualTo(9);
+    }
+
+    /**
+     * Fill every slot, then release one with the given latency.
+     */
+    private void saturateAndRelease(GradientConcurrencyLimit limit, long rttNanos, int poolWaiters)
+            throws InterruptedException {
+        while (limit.tryAcquire(Duration.ZERO)) {
+            // take every free slot
+        }
+        limit.release(rttNanos, poolWaiters);
+    }
+}
@@ -0,0 +1,238 @@
+package com.mobelite.publisherManagementSystem.outbox;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
+import com.mobelite.publisherManagementSystem.enums.ChangeType;
+import com.mobelite.publisherManagementSystem.enums.ChangedEntity;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.PublicationMapperImpl;
+import com.mobelite.publisherManagementSystem.repository.OutboxEventRepository;
+import com.mobelite.publisherManagementSystem.repository.OutboxLeaseRepository;
+import com.mobelite.publisherManagementSystem.service.impl.AuthorServiceImpl;
+import com.mobelite.publisherManagementSystem.service.impl.BookServiceImpl;
+import com.mobelite.publisherManagementSystem.service.impl.MagazineServiceImpl;
+import com.mobelite.publisherManagementSystem.service.impl.PublicationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that committed writes reach the subscribers once drained, in order and only once,
+ * and that rolled back writes and failed deliveries are not lost or delivered.
+ * Runs without a test transaction: change records are only visible to the poller once committed.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "outbox.enabled=true",
+        "outbox.batch-size=2",
+        "outbox.poll-interval=0"
+})
+@ImportCatalogComponents
+@Import({AuthorServiceImpl.class, BookServiceImpl.class, MagazineServiceImpl.class, PublicationServiceImpl.class,
+        AuthorMapperImpl.class, BookMapperImpl.class, MagazineMapperImpl.class, PublicationMapperImpl.class,
+        OutboxPoller.class, OutboxTest.RecordingSubscriberConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Outbox Tests")
+class OutboxTest {
+
+    @Autowired
+    private OutboxPoller outboxPoller;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private PublicationServiceImpl publicationService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxLeaseRepository outboxLeaseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM outbox_events").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM magazine_authors").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM publications").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM authors").executeUpdate();
+        });
+        subscriber.reset();
+    }
+
+    @Test
+    @DisplayName("Should deliver committed changes in order, one event per entity, and only once")
+    void shouldDeliverCommittedChangesInOrder() {
+        // given
+        Long authorId = authorService.createAuthor(AuthorRequestDto.builder().name("Author").build()).getId();
+        Long first = bookService.createBook(book("Book 1", "978-1", authorId)).getId();
+        Long second = bookService.createBook(book("Book 2", "978-2", authorId)).getId();
+        bookService.updateBook(first, BookUpdateRequestDto.builder().isbn("978-3").build());
+        publicationService.deletePublications(List.of(first, second));
+
+        // when
+        int drained = outboxPoller.drain();
+
+        // then
+        assertThat(drained).isEqualTo(5);
+        assertThat(subscriber.received)
+                .extracting(ChangeEvent::entity, ChangeEvent::entityId, ChangeEvent::change)
+                .containsExactly(
+                        tuple(ChangedEntity.AUTHOR, authorId, ChangeType.CREATED),
+                        tuple(ChangedEntity.PUBLICATION, first, ChangeType.CREATED),
+                        tuple(ChangedEntity.PUBLICATION, second, ChangeType.CREATED),
+                        tuple(ChangedEntity.PUBLICATION, first, ChangeType.UPDATED),
+                        tuple(ChangedEntity.PUBLICATION, first, ChangeType.DELETED),
+                        tuple(ChangedEntity.PUBLICATION, second, ChangeType.DELETED));
+        assertThat(subscriber.received).extracting(ChangeEvent::position).isSorted();
+
+        // when
+        subscriber.reset();
+
+        // then
+        assertThat(outboxPoller.drain()).isZero();
+        assertThat(subscriber.received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not deliver changes of rolled back writes")
+    void shouldIgnoreRolledBackWrites() {
+        // when
+        transaction.executeWithoutResult(status -> {
+            authorService.createAuthor(AuthorRequestDto.builder().name("Author").build());
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(outboxPoller.drain()).isZero();
+        assertThat(subscriber.received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should deliver a batch again when a subscriber fails")
+    void shouldRedeliverFailedBatch() {
+        // given
+        Long authorId = authorService.createAuthor(AuthorRequestDto.builder().name("Author").build()).getId();
+        subscriber.failing = true;
+
+        // when & then
+        assertThatThrownBy(() -> outboxPoller.drain()).isInstanceOf(IllegalStateException.class);
+
+        // when
+        subscriber.reset();
+
+        // then
+        assertThat(outboxPoller.drain()).isEqualTo(1);
+        assertThat(subscriber.received)
+                .extracting(ChangeEvent::entity, ChangeEvent::entityId, ChangeEvent::change)
+                .containsExactly(tuple(ChangedEntity.AUTHOR, authorId, ChangeType.CREATED));
+    }
+
+    @Test
+    @DisplayName("Should refuse to record a change outside of a transaction")
+    void shouldRequireTransaction() {
+        assertThatThrownBy(() -> changeOutbox.record(ChangedEntity.AUTHOR, ChangeType.CREATED, 1L))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should neither record nor poll changes without a subscriber")
+    void shouldIgnoreChangesWithoutSubscriber() {
+        // given
+        ChangeOutbox unsubscribedOutbox = new ChangeOutbox(outboxEventRepository,
+                new StaticListableBeanFactory().getBeanProvider(ChangeSubscriber.class), true);
+        unsubscribedOutbox.afterSingletonsInstantiated();
+        OutboxPoller unsubscribedPoller = new OutboxPoller(outboxEventRepository, outboxLeaseRepository,
+                new StaticListableBeanFactory().getBeanProvider(ChangeSubscriber.class), transactionManager,
+                true, 2, Duration.ZERO);
+        authorService.createAuthor(AuthorRequestDto.builder().name("Author").build());
+
+        // when
+        transaction.executeWithoutResult(status ->
+                unsubscribedOutbox.record(ChangedEntity.AUTHOR, ChangeType.DELETED, 1L));
+
+        // then
+        assertThat(unsubscribedPoller.drain()).isZero();
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+    }
+
+    private static BookCreateRequestDto book(String title, String isbn, Long authorId) {
+        return BookCreateRequestDto.builder()
+                .title(title)
+                .isbn(isbn)
+                .publicationDate(LocalDate.of(2020, 1, 1))
+                .authorId(authorId)
+                .build();
+    }
+
+    @TestConfiguration
+    static class RecordingSubscriberConfiguration {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements ChangeSubscriber {
+
+        private final List<ChangeEvent> received = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void onChanges(List<ChangeEvent> changes) {
+            if (failing) {
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            received.addAll(changes);
+        }
+
+        void reset() {
+            received.clear();
+            failing = false;
+        }
+    }
+}
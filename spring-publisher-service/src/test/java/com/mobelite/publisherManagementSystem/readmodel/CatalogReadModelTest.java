@@ -0,0 +1,309 @@
+package com.mobelite.publisherManagementSystem.readmodel;
+
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.GroupedPublicationsResponse;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorRowView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorLinkView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRowView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that the read model answers the listings like the database would, and follows the changes
+ * committed by the services.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Catalog Read Model Tests")
+class CatalogReadModelTest {
+
+    private static final LocalDate DATE = LocalDate.of(2020, 1, 1);
+
+    @Mock
+    private PublicationRepository publicationRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private MagazineRepository magazineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new CatalogReadModel(publicationRepository, authorRepository, magazineRepository,
+                transactionManager, true, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should page publications in title order with book authors and magazine authors")
+    void shouldPagePublicationsByTitle() {
+        // given
+        build();
+
+        // when
+        Page<PublicationSummaryResponseDto> first = readModel.findAllPublications(PageRequest.of(0, 2, Sort.by("title"))).orElseThrow();
+        Page<PublicationSummaryResponseDto> last = readModel.findAllPublications(PageRequest.of(1, 2, Sort.by("title"))).orElseThrow();
+        Page<PublicationSummaryResponseDto> descending = readModel.findAllPublications(
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "title", "id"))).orElseThrow();
+
+        // then
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).extracting(PublicationSummaryResponseDto::getTitle).containsExactly("Dune", "Emma");
+        assertThat(((BookSummaryResponseDto) first.getContent().get(0)).getAuthorName()).isEqualTo("Frank Herbert");
+        MagazineSummaryResponseDto magazine = (MagazineSummaryResponseDto) last.getContent().get(0);
+        assertThat(magazine.getTitle()).isEqualTo("Weekly");
+        assertThat(magazine.getIssueNumber()).isEqualTo(7);
+        assertThat(magazine.getAuthors()).extracting(AuthorSummaryDto::getName).containsExactly("Frank Herbert", "Jane Austen");
+        assertThat(descending.getContent()).extracting(PublicationSummaryResponseDto::getTitle).containsExactly("Weekly");
+    }
+
+    @Test
+    @DisplayName("Should serve books by author and authors with their publications")
+    void shouldServeAuthorListings() {
+        // given
+        build();
+
+        // when
+        Page<BookSummaryResponseDto> books = readModel.findBooksByAuthor(2L, PageRequest.of(0, 10)).orElseThrow();
+        Page<BookSummaryResponseDto> unknown = readModel.findBooksByAuthor(99L, PageRequest.of(0, 10)).orElseThrow();
+        Page<AuthorResponseDto> authors = readModel.findAllAuthors(PageRequest.of(0, 10, Sort.by("name"))).orElseThrow();
+
+        // then
+        assertThat(books.getContent()).extracting(BookSummaryResponseDto::getTitle).containsExactly("Emma");
+        assertThat(unknown.getContent()).isEmpty();
+        assertThat(authors.getContent()).extracting(AuthorResponseDto::getName).containsExactly("Frank Herbert", "Jane Austen");
+        AuthorResponseDto austen = authors.getContent().get(1);
+        assertThat(austen.getBooks()).extracting(BookSummaryResponseDto::getTitle).containsExactly("Emma");
+        assertThat(austen.getMagazines()).extracting(MagazineSummaryResponseDto::getTitle).containsExactly("Weekly");
+    }
+
+    @Test
+    @DisplayName("Should group publications by type")
+    void shouldGroupByType() {
+        // given
+        build();
+
+        // when
+        GroupedPublicationsResponse grouped = readModel.findAllPublicationsGroupedByType().orElseThrow();
+
+        // then
+        assertThat(grouped.getBooks()).extracting(PublicationSummaryResponseDto::getTitle).containsExactlyInAnyOrder("Dune", "Emma");
+        assertThat(grouped.getMagazines()).extracting(PublicationSummaryResponseDto::getTitle).containsExactly("Weekly");
+    }
+
+    @Test
+    @DisplayName("Should follow created, updated and deleted publications and authors")
+    void shouldFollowChanges() {
+        // given
+        build();
+        Author herbert = author(1L, "Frank Herbert");
+
+        // when
+        readModel.authorCreated(author(3L, "Agatha Christie"));
+        readModel.publicationCreated(book(13L, "Children of Dune", herbert));
+        readModel.publicationUpdated(book(10L, "Zodiac", herbert));
+        readModel.authorDeleted(2L);
+
+        // then
+        assertThat(titles(readModel.findAllPublications(PageRequest.of(0, 10)).orElseThrow()))
+                .containsExactly("Children of Dune", "Weekly", "Zodiac");
+        assertThat(readModel.findBooksByAuthor(1L, PageRequest.of(0, 10, Sort.by("title"))).orElseThrow().getContent())
+                .extracting(BookSummaryResponseDto::getTitle).containsExactly("Children of Dune", "Zodiac");
+        assertThat(readModel.findAllAuthors(PageRequest.of(0, 10)).orElseThrow().getContent())
+                .extracting(AuthorResponseDto::getName).containsExactly("Agatha Christie", "Frank Herbert");
+        MagazineSummaryResponseDto weekly = (MagazineSummaryResponseDto) readModel
+                .findAllPublications(PageRequest.of(1, 1)).orElseThrow().getContent().get(0);
+        assertThat(weekly.getAuthors()).extracting(AuthorSummaryDto::getName).containsExactly("Frank Herbert");
+
+        // when
+        readModel.publicationsDeleted(List.of(12L, 404L));
+
+        // then
+        assertThat(titles(readModel.findAllPublications(PageRequest.of(0, 10)).orElseThrow()))
+                .containsExactly("Children of Dune", "Zodiac");
+    }
+
+    @Test
+    @DisplayName("Should replay the changes made while it was not built yet")
+    void shouldReplayChangesMadeBeforeBuild() {
+        // given
+        readModel.publicationCreated(book(20L, "Anathem", author(1L, "Frank Herbert")));
+        assertThat(readModel.findAllPublications(PageRequest.of(0, 10))).isEmpty();
+
+        // when
+        build();
+
+        // then
+        assertThat(titles(readModel.findAllPublications(PageRequest.of(0, 10)).orElseThrow()))
+                .containsExactly("Anathem", "Dune", "Emma", "Weekly");
+    }
+
+    @Test
+    @DisplayName("Should leave sorts it does not keep and disabled models to the database")
+    void shouldFallBackForUnsupportedRequests() {
+        // given
+        build();
+        CatalogReadModel disabled = new CatalogReadModel(publicationRepository, authorRepository, magazineRepository,
+                transactionManager, false, Duration.ZERO);
+
+        // when & then
+        assertThat(readModel.findAllPublications(PageRequest.of(0, 10, Sort.by("publicationDate")))).isEmpty();
+        assertThat(readModel.findAllPublications(PageRequest.of(0, 10, Sort.by(Sort.Order.asc("title").ignoreCase())))).isEmpty();
+        assertThat(readModel.findAllAuthors(Pageable.unpaged())).isEmpty();
+        assertThat(disabled.findAllPublicationsGroupedByType()).isEmpty();
+    }
+
+    /**
+     * Two authors, a book each, and a magazine written by both.
+     */
+    private void build() {
+        when(authorRepository.streamAllRows()).thenReturn(Stream.of(
+                authorRow(1L, "Frank Herbert"), authorRow(2L, "Jane Austen")));
+        when(publicationRepository.streamAllRows()).thenReturn(Stream.of(
+                publicationRow(10L, "BOOK", "Dune", null, 1L),
+                publicationRow(11L, "BOOK", "Emma", null, 2L),
+                publicationRow(12L, "MAGAZINE", "Weekly", 7, null)));
+        when(magazineRepository.streamAllAuthorLinks()).thenReturn(Stream.of(link(12L, 1L), link(12L, 2L)));
+        readModel.rebuild();
+    }
+
+    private static List<String> titles(Page<PublicationSummaryResponseDto> page) {
+        return page.getContent().stream().map(PublicationSummaryResponseDto::getTitle).toList();
+    }
+
+    private static Author author(long id, String name) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        author.setNationality("British");
+        author.setBirthDate(DATE);
+        return author;
+    }
+
+    private static Book book(long id, String title, Author author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setPublicationDate(DATE);
+        book.setIsbn("978" + id);
+        book.setAuthor(author);
+        return book;
+    }
+
+    private static AuthorRowView authorRow(Long id, String name) {
+        return new AuthorRowView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getNationality() {
+                return "British";
+            }
+
+            @Override
+            public LocalDate getBirthDate() {
+                return DATE;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
+
+    private static PublicationRowView publicationRow(Long id, String type, String title, Integer issueNumber, Long authorId) {
+        return new PublicationRowView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public LocalDate getPublicationDate() {
+                return DATE;
+            }
+
+            @Override
+            public String getIsbn() {
+                return authorId == null ? null : "978" + id;
+            }
+
+            @Override
+            public Integer getIssueNumber() {
+                return issueNumber;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return authorId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
+
+    private static MagazineAuthorLinkView link(Long magazineId, Long authorId) {
+        return new MagazineAuthorLinkView() {
+            @Override
+            public Long getMagazineId() {
+                return magazineId;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return authorId;
+            }
+        };
+    }
+}
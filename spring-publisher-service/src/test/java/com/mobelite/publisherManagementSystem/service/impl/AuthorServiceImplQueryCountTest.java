@@ -0,0 +1,122 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Asserts the number of SQL statements issued per author page against an in-memory database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({AuthorServiceImpl.class, AuthorMapperImpl.class})
+@DisplayName("AuthorServiceImpl Query Count Tests")
+class AuthorServiceImplQueryCountTest {
+
+    private static final int AUTHOR_COUNT = 30;
+
+    /**
+     * IDs page, count, books, magazines and magazine authors.
+     */
+    private static final int MAX_STATEMENTS_PER_PAGE = 5;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < AUTHOR_COUNT; i++) {
+            Author author = new Author();
+            author.setName(String.format("Author %02d", i));
+            entityManager.persist(author);
+
+            for (int j = 0; j < 2; j++) {
+                Book book = new Book();
+                book.setTitle("Book " + i + "-" + j);
+                book.setIsbn("978-" + i + "-" + j);
+                book.setPublicationDate(LocalDate.of(2024, 1, 1));
+                book.setAuthor(author);
+                entityManager.persist(book);
+            }
+
+            Magazine magazine = new Magazine();
+            magazine.setTitle("Magazine " + i);
+            magazine.setIssueNumber(i);
+            magazine.setPublicationDate(LocalDate.of(2024, 1, 1));
+            magazine.setAuthors(new ArrayList<>(List.of(author)));
+            entityManager.persist(magazine);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 25})
+    @DisplayName("Should load a page of authors with publications in a bounded number of statements")
+    void shouldLoadPageInBoundedStatements(int size) {
+        // when
+        Page<AuthorResponseDto> result = authorService.getAllAuthors(PageRequest.of(1, size, Sort.by("name")));
+
+        // then
+        assertThat(result.getContent()).hasSize(Math.min(size, AUTHOR_COUNT - size));
+        assertThat(result.getContent()).allSatisfy(author -> {
+            assertThat(author.getBooks()).hasSize(2);
+            assertThat(author.getMagazines()).singleElement()
+                    .satisfies(magazine -> assertThat(magazine.getAuthors()).hasSize(1));
+        });
+        assertThat(result.getContent().get(0).getName()).isEqualTo(String.format("Author %02d", size));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    @DisplayName("Should load a cursor page of authors with publications in a bounded number of statements")
+    void shouldLoadCursorPageInBoundedStatements() {
+        // when
+        CursorPageResponseDto<AuthorResponseDto> result = authorService.getAllAuthors(null, 20);
+
+        // then
+        assertThat(result.getContent()).hasSize(20);
+        assertThat(result.getContent()).allSatisfy(author -> assertThat(author.getBooks()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE - 1);
+    }
+}
@@ -1,23 +1,31 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
 import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import com.mobelite.publisherManagementSystem.entity.Book;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.exception.DuplicateResourceException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
 import com.mobelite.publisherManagementSystem.mapper.AuthorMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -26,6 +34,9 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -36,9 +47,18 @@ class AuthorServiceImplTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private MagazineRepository magazineRepository;
+
     @Mock
     private AuthorMapper authorMapper;
 
+    @Mock
+    private CatalogReadModel catalogReadModel;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthorServiceImpl authorService;
 
@@ -98,6 +118,22 @@ class AuthorServiceImplTest {
             verify(authorMapper, never()).toEntity(any());
             verify(authorRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should publish the created author for the listeners")
+        void shouldPublishCreatedAuthor() {
+            // given
+            given(authorRepository.existsByName(AUTHOR_NAME)).willReturn(false);
+            given(authorMapper.toEntity(authorRequestDto)).willReturn(author);
+            given(authorRepository.save(author)).willReturn(author);
+            given(authorMapper.toResponseDto(author)).willReturn(authorResponseDto);
+
+            // when
+            authorService.createAuthor(authorRequestDto);
+
+            // then
+            verify(eventPublisher).publishEvent(CatalogChangeEvent.authorCreated(author));
+        }
     }
 
     @Nested
@@ -150,7 +186,7 @@ class AuthorServiceImplTest {
             List<AuthorResponseDto> expectedResponses = createAuthorResponseDtos();
             Pageable pageable = PageRequest.of(0, 10);
 
-            given(authorRepository.findAllWithMagazines(pageable)).willReturn(new PageImpl<>(authors));
+            givenAuthorPage(pageable, authors);
             given(authorMapper.toResponseDto(authors.get(0))).willReturn(expectedResponses.get(0));
             given(authorMapper.toResponseDto(authors.get(1))).willReturn(expectedResponses.get(1));
 
@@ -172,17 +208,40 @@ class AuthorServiceImplTest {
             assertThat(secondAuthor.getNationality()).isEqualTo("British");
 
             // Verify interactions
-            verify(authorRepository).findAllWithMagazines(pageable);
+            verify(authorRepository).findAllIds(pageable);
+            verify(magazineRepository).findAllWithAuthorsByIdIn(Set.of(1L, 2L));
             verify(authorMapper).toResponseDto(authors.get(0));
             verify(authorMapper).toResponseDto(authors.get(1));
         }
 
+        @Test
+        @DisplayName("Should keep the page order of IDs when publications are fetched in another order")
+        void shouldKeepPageOrder_WhenPublicationsFetchedInAnotherOrder() {
+            // given
+            List<Author> authors = createAuthorsWithPublications();
+            List<AuthorResponseDto> expectedResponses = createAuthorResponseDtos();
+            Pageable pageable = PageRequest.of(0, 10);
+            List<Long> ids = List.of(1L, 2L);
+
+            given(authorRepository.findAllIds(pageable)).willReturn(new PageImpl<>(ids));
+            given(authorRepository.findAllWithBooksByIdIn(ids)).willReturn(List.of(authors.get(1), authors.get(0)));
+            given(authorMapper.toResponseDto(authors.get(0))).willReturn(expectedResponses.get(0));
+            given(authorMapper.toResponseDto(authors.get(1))).willReturn(expectedResponses.get(1));
+
+            // when
+            Page<AuthorResponseDto> result = authorService.getAllAuthors(pageable);
+
+            // then
+            assertThat(result.getContent()).containsExactlyElementsOf(expectedResponses);
+            verify(magazineRepository, never()).findAllWithAuthorsByIdIn(any());
+        }
+
         @Test
         @DisplayName("Should return empty page when no authors exist")
         void shouldReturnEmptyList_WhenNoAuthorsExist() {
             // given
             Pageable pageable = PageRequest.of(0, 10);
-            given(authorRepository.findAllWithMagazines(pageable)).willReturn(new PageImpl<>(Collections.emptyList()));
+            given(authorRepository.findAllIds(pageable)).willReturn(new PageImpl<>(Collections.emptyList()));
 
             // when
             Page<AuthorResponseDto> result = authorService.getAllAuthors(pageable);
@@ -192,7 +251,7 @@ class AuthorServiceImplTest {
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isZero();
 
-            verify(authorRepository).findAllWithMagazines(pageable);
+            verify(authorRepository).findAllIds(pageable);
             verify(authorMapper, never()).toResponseDto(any());
         }
 
@@ -201,7 +260,7 @@ class AuthorServiceImplTest {
         void shouldThrowRuntimeException_WhenRepositoryThrowsException() {
             // given
             Pageable pageable = PageRequest.of(0, 10);
-            given(authorRepository.findAllWithMagazines(pageable)).willThrow(new RuntimeException("Database error"));
+            given(authorRepository.findAllIds(pageable)).willThrow(new RuntimeException("Database error"));
 
             // when & then
             assertThatThrownBy(() -> authorService.getAllAuthors(pageable))
@@ -209,7 +268,7 @@ class AuthorServiceImplTest {
                     .hasMessage("Failed to fetch authors")
                     .hasCauseInstanceOf(RuntimeException.class);
 
-            verify(authorRepository).findAllWithMagazines(pageable);
+            verify(authorRepository).findAllIds(pageable);
             verify(authorMapper, never()).toResponseDto(any());
         }
 
@@ -219,7 +278,7 @@ class AuthorServiceImplTest {
             // given
             Pageable pageable = PageRequest.of(0, 10);
             List<Author> authors = createAuthorsWithPublications();
-            given(authorRepository.findAllWithMagazines(pageable)).willReturn(new PageImpl<>(authors));
+            givenAuthorPage(pageable, authors);
             given(authorMapper.toResponseDto(any(Author.class)))
                     .willThrow(new RuntimeException("Mapping error"));
 
@@ -229,7 +288,7 @@ class AuthorServiceImplTest {
                     .hasMessage("Failed to fetch authors")
                     .hasCauseInstanceOf(RuntimeException.class);
 
-            verify(authorRepository).findAllWithMagazines(pageable);
+            verify(authorRepository).findAllIds(pageable);
             verify(authorMapper).toResponseDto(any(Author.class));
         }
 
@@ -241,7 +300,7 @@ class AuthorServiceImplTest {
             List<Author> authors = createAuthorsWithEmptyPublications();
             List<AuthorResponseDto> expectedResponses = createAuthorResponseDtos();
 
-            given(authorRepository.findAllWithMagazines(pageable)).willReturn(new PageImpl<>(authors));
+            givenAuthorPage(pageable, authors);
             given(authorMapper.toResponseDto(authors.get(0))).willReturn(expectedResponses.get(0));
 
             // when
@@ -252,11 +311,115 @@ class AuthorServiceImplTest {
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).getName()).isEqualTo("John Doe");
 
-            verify(authorRepository).findAllWithMagazines(pageable);
+            verify(authorRepository).findAllIds(pageable);
             verify(authorMapper).toResponseDto(any(Author.class));
         }
     }
 
+    @Nested
+    @DisplayName("Get All Authors By Cursor Tests")
+    class GetAllAuthorsByCursorTests {
+
+        private Author author(Long id, String name) {
+            Author author = new Author();
+            author.setId(id);
+            author.setName(name);
+            return author;
+        }
+
+        @Test
+        @DisplayName("Should return first page with next cursor when more rows exist")
+        void shouldReturnFirstPageWithNextCursor() {
+            // given
+            Author first = author(1L, "Alice");
+            Author second = author(2L, "Bob");
+            Author extra = author(3L, "Carol");
+            given(authorRepository.findFirstByKeyset(3)).willReturn(List.of(first, second, extra));
+            given(authorRepository.findAllWithBooksByIdIn(List.of(1L, 2L, 3L))).willReturn(List.of(first, second, extra));
+            given(authorMapper.toResponseDto(any(Author.class))).willReturn(authorResponseDto);
+
+            // when
+            CursorPageResponseDto<AuthorResponseDto> result = authorService.getAllAuthors(null, 2);
+
+            // then
+            assertThat(result.getContent()).hasSize(2);
+            assertThat(result.isHasNext()).isTrue();
+            KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+            assertThat(cursor.getKey()).isEqualTo("Bob");
+            assertThat(cursor.getId()).isEqualTo(2L);
+            verify(authorMapper, never()).toResponseDto(extra);
+            verify(authorRepository, never()).findNextByKeyset(anyString(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should seek past the decoded cursor and report the last page")
+        void shouldSeekPastCursor() {
+            // given
+            String after = new KeysetCursor("Bob", 2L).encode();
+            Author last = author(3L, "Carol");
+            given(authorRepository.findNextByKeyset("Bob", 2L, 3)).willReturn(List.of(last));
+            given(authorRepository.findAllWithBooksByIdIn(List.of(3L))).willReturn(List.of(last));
+            given(authorMapper.toResponseDto(last)).willReturn(authorResponseDto);
+
+            // when
+            CursorPageResponseDto<AuthorResponseDto> result = authorService.getAllAuthors(after, 2);
+
+            // then
+            assertThat(result.getContent()).containsExactly(authorResponseDto);
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+            verify(authorRepository, never()).findFirstByKeyset(anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            // when & then
+            assertThatThrownBy(() -> authorService.getAllAuthors("not-a-cursor", 20))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("Invalid cursor");
+
+            verifyNoInteractions(authorRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Delete Author Tests")
+    class DeleteAuthorTests {
+
+        @Test
+        @DisplayName("Should publish the author's books and magazines before deleting them")
+        void shouldPublishAuthorPublications_BeforeDeletes() {
+            // given
+            given(authorRepository.findBookIdsByAuthorId(AUTHOR_ID)).willReturn(List.of(10L, 11L));
+            given(authorRepository.findMagazineIdsByAuthorId(AUTHOR_ID)).willReturn(List.of(20L));
+            given(authorRepository.deleteAuthorById(AUTHOR_ID)).willReturn(1);
+
+            // when
+            authorService.deleteAuthor(AUTHOR_ID);
+
+            // then
+            InOrder inOrder = inOrder(authorRepository, eventPublisher);
+            inOrder.verify(authorRepository).findBookIdsByAuthorId(AUTHOR_ID);
+            inOrder.verify(authorRepository).findMagazineIdsByAuthorId(AUTHOR_ID);
+            inOrder.verify(eventPublisher)
+                    .publishEvent(CatalogChangeEvent.authorDeleting(AUTHOR_ID, List.of(10L, 11L), List.of(20L)));
+            inOrder.verify(authorRepository).deleteBooksByAuthorId(AUTHOR_ID);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when author does not exist")
+        void shouldThrowResourceNotFoundException_WhenAuthorDoesNotExist() {
+            // given
+            given(authorRepository.deleteAuthorById(AUTHOR_ID)).willReturn(0);
+
+            // when & then
+            assertThatThrownBy(() -> authorService.deleteAuthor(AUTHOR_ID))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessage("Author not found with ID: " + AUTHOR_ID);
+        }
+    }
+
     @Nested
     @DisplayName("Exists By ID Tests")
     class ExistsByIdTests {
@@ -316,6 +479,13 @@ class AuthorServiceImplTest {
         return dto;
     }
 
+    private void givenAuthorPage(Pageable pageable, List<Author> authors) {
+        List<Long> ids = authors.stream().map(Author::getId).toList();
+        given(authorRepository.findAllIds(pageable)).willReturn(new PageImpl<>(ids));
+        given(authorRepository.findAllWithBooksByIdIn(ids)).willReturn(authors);
+        given(authorRepository.findAllWithMagazinesByIdIn(ids)).willReturn(authors);
+    }
+
     private List<Author> createAuthorsWithPublications() {
         List<Author> authors = new ArrayList<>();
 
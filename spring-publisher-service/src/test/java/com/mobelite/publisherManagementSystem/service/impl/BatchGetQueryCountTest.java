@@ -0,0 +1,165 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.PublicationMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Asserts that batch get-by-IDs lookups cost one statement for the entities, whatever the number of IDs,
+ * and answer in request order.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({AuthorServiceImpl.class, BookServiceImpl.class, MagazineServiceImpl.class, PublicationServiceImpl.class,
+        AuthorMapperImpl.class, BookMapperImpl.class, MagazineMapperImpl.class, PublicationMapperImpl.class})
+@DisplayName("Batch Get Query Count Tests")
+class BatchGetQueryCountTest {
+
+    private static final int BOOK_COUNT = 60;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MagazineServiceImpl magazineService;
+
+    @Autowired
+    private PublicationServiceImpl publicationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> bookIds = new ArrayList<>();
+    private Long magazineId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Author author = new Author();
+            author.setName("Author " + i);
+            entityManager.persist(author);
+            authorIds.add(author.getId());
+        }
+        List<Author> authors = authorIds.stream().map(id -> entityManager.find(Author.class, id)).toList();
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setIsbn("978-" + i);
+            book.setPublicationDate(LocalDate.of(2024, 1, 1));
+            book.setAuthor(authors.get(i % authors.size()));
+            entityManager.persist(book);
+            bookIds.add(book.getId());
+        }
+
+        Magazine magazine = new Magazine();
+        magazine.setTitle("Magazine");
+        magazine.setIssueNumber(1);
+        magazine.setPublicationDate(LocalDate.of(2024, 1, 1));
+        magazine.setAuthors(new ArrayList<>(authors));
+        entityManager.persist(magazine);
+        magazineId = magazine.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load many books with their authors in two statements")
+    void shouldLoadBooksInTwoStatements() {
+        // given
+        List<Long> ids = new ArrayList<>(bookIds);
+        Collections.reverse(ids);
+        ids.add(-1L);
+
+        // when
+        BatchGetResponseDto<BookResponseDto> result = bookService.getBooksByIds(ids);
+
+        // then
+        assertThat(result.getItems()).hasSize(BOOK_COUNT + 1);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(bookIds.get(BOOK_COUNT - 1));
+        assertThat(result.getItems().get(0).getAuthor().getName()).isNotNull();
+        assertThat(result.getItems().get(BOOK_COUNT)).isNull();
+        assertThat(result.getMissingIds()).containsExactly(-1L);
+        // Books, then their authors in one batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report a magazine ID as missing from books and resolve it as a publication")
+    void shouldResolveIdsByType() {
+        // when
+        BatchGetResponseDto<BookResponseDto> books = bookService.getBooksByIds(List.of(magazineId, bookIds.get(0)));
+        BatchGetResponseDto<MagazineResponseDto> magazines = magazineService.getMagazinesByIds(List.of(magazineId, bookIds.get(0)));
+        BatchGetResponseDto<PublicationResponseDto> publications = publicationService.getPublicationsByIds(
+                List.of(bookIds.get(0), magazineId));
+
+        // then
+        assertThat(books.getMissingIds()).containsExactly(magazineId);
+        assertThat(magazines.getMissingIds()).containsExactly(bookIds.get(0));
+        assertThat(magazines.getItems().get(0).getAuthors()).hasSize(3);
+        assertThat(publications.getMissingIds()).isEmpty();
+        assertThat(publications.getItems()).extracting(PublicationResponseDto::getTitle)
+                .containsExactly("Book 0", "Magazine");
+    }
+
+    @Test
+    @DisplayName("Should load authors with their books and magazines in a bounded number of statements")
+    void shouldLoadAuthorsInBoundedStatements() {
+        // when
+        BatchGetResponseDto<AuthorResponseDto> result = authorService.getAuthorsByIds(
+                List.of(authorIds.get(2), authorIds.get(1), authorIds.get(0)));
+
+        // then
+        assertThat(result.getItems()).extracting(AuthorResponseDto::getName)
+                .containsExactly("Author 2", "Author 1", "Author 0");
+        assertThat(result.getItems()).allSatisfy(author -> {
+            assertThat(author.getBooks()).hasSize(BOOK_COUNT / 3);
+            assertThat(author.getMagazines()).hasSize(1);
+        });
+        // Authors, then their books, their magazines and the magazines' authors in one batch each
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+}
@@ -1,35 +1,63 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex;
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
+import com.mobelite.publisherManagementSystem.dto.request.BatchGetRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookBulkCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
 import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.BatchGetResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookBulkCreateResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookBulkItemResultDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.enums.BulkItemStatus;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.exception.DuplicateResourceException;
+import com.mobelite.publisherManagementSystem.exception.PreconditionFailedException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
 import com.mobelite.publisherManagementSystem.mapper.BookMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
+import com.mobelite.publisherManagementSystem.pagination.KeysetPagination;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
 import com.mobelite.publisherManagementSystem.repository.BookRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.BookSummaryView;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -48,6 +76,31 @@ class BookServiceImplTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private BookResponseCache bookCache = new BookResponseCache(100, Duration.ofMinutes(10));
+
+    @Mock
+    private ExistenceIndex existenceIndex;
+
+    @Mock
+    private CatalogReadModel catalogReadModel;
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Spy
+    private ClusteredCache clusteredCache = new ClusteredCache(null, false, List.of(), "", 100,
+            Duration.ofMinutes(10), 100, Duration.ofSeconds(30), Duration.ofMillis(250), Duration.ofSeconds(1), Duration.ofMinutes(1), "");
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -61,6 +114,8 @@ class BookServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Index not built yet: every key may exist
+        lenient().when(existenceIndex.mightContain(any(), any())).thenReturn(true);
         testAuthor = createTestAuthor();
         testBook = createTestBook();
         createRequestDto = createBookCreateRequestDto();
@@ -158,6 +213,41 @@ class BookServiceImplTest {
     @DisplayName("Update Book Tests")
     class UpdateBookTests {
 
+        @Test
+        @DisplayName("Should reject the update when the book is no longer at the expected version")
+        void shouldRejectUpdateWhenVersionIsStale() {
+            // Given
+            testBook.setVersion(5L);
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.updateBook(1L, updateRequestDto, 4L))
+                    .isInstanceOf(PreconditionFailedException.class)
+                    .hasMessage("Book with ID 1 has been modified, current version is 5");
+
+            verify(bookRepository, never()).save(any(Book.class));
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should flush the update so that the response carries the new version")
+        void shouldFlushUpdateWhenVersionMatches() {
+            // Given
+            testBook.setVersion(5L);
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+            when(bookRepository.save(testBook)).thenReturn(testBook);
+            when(bookMapper.toResponse(testBook)).thenReturn(responseDto);
+
+            // When
+            bookService.updateBook(1L, BookUpdateRequestDto.builder().isbn("978-9876543210").build(), 5L);
+
+            // Then
+            InOrder inOrder = inOrder(bookRepository, bookMapper);
+            inOrder.verify(bookRepository).save(testBook);
+            inOrder.verify(bookRepository).flush();
+            inOrder.verify(bookMapper).toResponse(testBook);
+        }
+
         @Test
         @DisplayName("Should update book successfully")
         void shouldUpdateBookSuccessfully() {
@@ -315,6 +405,32 @@ class BookServiceImplTest {
     @DisplayName("Get Book Tests")
     class GetBookTests {
 
+        @Test
+        @DisplayName("Should get the book version without loading the book")
+        void shouldGetBookVersion() {
+            // Given
+            when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+
+            // When
+            Long version = bookService.getBookVersion(1L);
+
+            // Then
+            assertThat(version).isEqualTo(7L);
+            verify(bookRepository, never()).findById(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when getting the version of a missing book")
+        void shouldThrowWhenGettingVersionOfMissingBook() {
+            // Given
+            when(bookRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.getBookVersion(1L))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessage("Book with ID 1 not found");
+        }
+
         @Test
         @DisplayName("Should get book by ID successfully")
         void shouldGetBookByIdSuccessfully() {
@@ -460,11 +576,11 @@ class BookServiceImplTest {
             // Given
             Long authorId = 1L;
             Pageable pageable = PageRequest.of(0, 10);
-            List<Book> books = List.of(testBook);
-            Page<Book> bookPage = new PageImpl<>(books, pageable, 1);
+            BookSummaryView view = mock(BookSummaryView.class);
+            Page<BookSummaryView> bookPage = new PageImpl<>(List.of(view), pageable, 1);
 
-            when(bookRepository.findByAuthorId(authorId, pageable)).thenReturn(bookPage);
-            when(bookMapper.toSummaryResponse(testBook)).thenReturn(summaryResponseDto);
+            when(bookRepository.findSummariesByAuthorId(authorId, pageable)).thenReturn(bookPage);
+            when(bookMapper.toSummaryResponse(view)).thenReturn(summaryResponseDto);
 
             // When
             Page<BookSummaryResponseDto> result = bookService.getBooksByAuthor(authorId, pageable);
@@ -476,8 +592,9 @@ class BookServiceImplTest {
             assertThat(result.getTotalElements()).isEqualTo(1);
             assertThat(result.getContent().get(0).getAuthorName()).isEqualTo("Test Author");
 
-            verify(bookRepository).findByAuthorId(authorId, pageable);
-            verify(bookMapper).toSummaryResponse(testBook);
+            verify(bookRepository).findSummariesByAuthorId(authorId, pageable);
+            verify(bookMapper).toSummaryResponse(view);
+            verify(bookRepository, never()).findByAuthorId(any(), any());
         }
 
         @Test
@@ -486,9 +603,9 @@ class BookServiceImplTest {
             // Given
             Long authorId = 1L;
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Book> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Page<BookSummaryView> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-            when(bookRepository.findByAuthorId(authorId, pageable)).thenReturn(emptyPage);
+            when(bookRepository.findSummariesByAuthorId(authorId, pageable)).thenReturn(emptyPage);
 
             // When
             Page<BookSummaryResponseDto> result = bookService.getBooksByAuthor(authorId, pageable);
@@ -498,8 +615,8 @@ class BookServiceImplTest {
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isEqualTo(0);
 
-            verify(bookRepository).findByAuthorId(authorId, pageable);
-            verify(bookMapper, never()).toSummaryResponse(any(Book.class));
+            verify(bookRepository).findSummariesByAuthorId(authorId, pageable);
+            verify(bookMapper, never()).toSummaryResponse(any(BookSummaryView.class));
         }
 
         @Test
@@ -555,6 +672,324 @@ class BookServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Book Cache Tests")
+    class BookCacheTests {
+
+        @BeforeEach
+        void setUpIds() {
+            responseDto.setId(1L);
+        }
+
+        @Test
+        @DisplayName("Should serve repeated ISBN and ID lookups from the cache")
+        void shouldServeRepeatedLookupsFromCache() {
+            // Given
+            String isbn = "978-0123456789";
+            when(bookRepository.findByIsbn(isbn)).thenReturn(Optional.of(testBook));
+            when(bookMapper.toResponse(testBook)).thenReturn(responseDto);
+
+            // When
+            bookService.getBookByIsbn(isbn);
+            BookResponseDto byIsbn = bookService.getBookByIsbn(isbn);
+            BookResponseDto byId = bookService.getBookById(1L);
+
+            // Then
+            assertThat(byIsbn).isSameAs(responseDto);
+            assertThat(byId).isSameAs(responseDto);
+            verify(bookRepository, times(1)).findByIsbn(isbn);
+            verify(bookRepository, never()).findById(anyLong());
+            verify(bookMapper, times(1)).toResponse(testBook);
+        }
+
+        @Test
+        @DisplayName("Should open a transaction only to load a book missing from the cache")
+        void shouldLoadInTransactionOnlyOnMiss() {
+            // Given
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+            when(bookMapper.toResponse(testBook)).thenReturn(responseDto);
+
+            // When
+            bookService.getBookById(1L);
+            bookService.getBookById(1L);
+
+            // Then
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should evict the old ISBN when a book is updated")
+        void shouldEvictOldIsbnOnUpdate() {
+            // Given
+            String oldIsbn = "978-0123456789";
+            BookResponseDto updatedDto = createBookResponseDto();
+            updatedDto.setId(1L);
+            updatedDto.setIsbn("978-9876543210");
+            when(bookRepository.findByIsbn(oldIsbn)).thenReturn(Optional.of(testBook)).thenReturn(Optional.empty());
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+            when(bookRepository.existsByIsbnAndIdNot(anyString(), eq(1L))).thenReturn(false);
+            when(bookRepository.save(testBook)).thenReturn(testBook);
+            when(bookMapper.toResponse(testBook)).thenReturn(responseDto, updatedDto);
+            deliverEventsToBookCache();
+            bookService.getBookByIsbn(oldIsbn);
+
+            // When
+            bookService.updateBook(1L, BookUpdateRequestDto.builder().isbn("978-9876543210").build());
+
+            // Then
+            assertThatThrownBy(() -> bookService.getBookByIsbn(oldIsbn))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(bookCache).evictAll(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("Should reload a book after it is deleted")
+        void shouldReloadAfterDelete() {
+            // Given
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook)).thenReturn(Optional.empty());
+            when(bookMapper.toResponse(testBook)).thenReturn(responseDto);
+            when(bookRepository.deleteBookById(1L)).thenReturn(1);
+            deliverEventsToBookCache();
+            bookService.getBookById(1L);
+
+            // When
+            bookService.deleteBook(1L);
+
+            // Then
+            assertThatThrownBy(() -> bookService.getBookById(1L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(bookRepository, times(2)).findById(1L);
+        }
+
+        /**
+         * Deliver the published changes to the book cache, as the application context would.
+         */
+        private void deliverEventsToBookCache() {
+            doAnswer(invocation -> {
+                bookCache.onCatalogChange(invocation.getArgument(0));
+                return null;
+            }).when(eventPublisher).publishEvent(any(CatalogChangeEvent.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Create Books Tests")
+    class BulkCreateBooksTests {
+
+        private BookCreateRequestDto item(String title, String isbn, Long authorId) {
+            return BookCreateRequestDto.builder()
+                    .title(title)
+                    .isbn(isbn)
+                    .publicationDate(LocalDate.of(2023, 1, 1))
+                    .authorId(authorId)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should create valid books and report rejected ones per item")
+        void shouldCreateValidBooksAndReportRejected() {
+            // Given
+            List<BookCreateRequestDto> items = List.of(
+                    item("New Book", "978-0000000001", 1L),
+                    item("Other Book", "978-0000000002", 99L),
+                    item("Taken Isbn", "978-0123456789", 1L),
+                    item("Test Book", "978-0000000003", 1L),
+                    item("Repeated Isbn", "978-0000000001", 1L));
+            BookBulkCreateRequestDto request = BookBulkCreateRequestDto.builder().books(items).build();
+
+            when(authorRepository.findExistingIds(anyList())).thenReturn(List.of(1L));
+            when(bookRepository.findExistingIsbns(anyList())).thenReturn(List.of("978-0123456789"));
+            when(bookRepository.findExistingTitles(anyList())).thenReturn(List.of("Test Book"));
+            when(authorRepository.getReferenceById(1L)).thenReturn(testAuthor);
+            when(bookMapper.toEntity(any(BookCreateRequestDto.class))).thenAnswer(invocation -> new Book());
+            when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Book> books = invocation.getArgument(0);
+                books.forEach(book -> book.setId(100L));
+                return books;
+            });
+
+            // When
+            BookBulkCreateResponseDto result = bookService.createBooks(request);
+
+            // Then
+            assertThat(result.getCreated()).isEqualTo(1);
+            assertThat(result.getRejected()).isEqualTo(4);
+            assertThat(result.getResults()).extracting(BookBulkItemResultDto::getStatus).containsExactly(
+                    BulkItemStatus.CREATED,
+                    BulkItemStatus.AUTHOR_NOT_FOUND,
+                    BulkItemStatus.DUPLICATE_ISBN,
+                    BulkItemStatus.DUPLICATE_TITLE,
+                    BulkItemStatus.DUPLICATE_ISBN);
+            assertThat(result.getResults().get(0).getId()).isEqualTo(100L);
+            assertThat(result.getResults().get(1).getId()).isNull();
+
+            verify(authorRepository, never()).findById(any());
+            verify(bookRepository).flush();
+            verify(entityManager).clear();
+        }
+
+        @Test
+        @DisplayName("Should flush and clear the persistence context every batch")
+        void shouldFlushAndClearEveryBatch() {
+            // Given
+            List<BookCreateRequestDto> items = IntStream.range(0, 1200)
+                    .mapToObj(i -> item("Book " + i, "978-" + i, 1L))
+                    .toList();
+            BookBulkCreateRequestDto request = BookBulkCreateRequestDto.builder().books(items).build();
+
+            when(authorRepository.findExistingIds(anyList())).thenReturn(List.of(1L));
+            when(bookMapper.toEntity(any(BookCreateRequestDto.class))).thenAnswer(invocation -> new Book());
+
+            // When
+            BookBulkCreateResponseDto result = bookService.createBooks(request);
+
+            // Then
+            assertThat(result.getCreated()).isEqualTo(1200);
+            verify(bookRepository, times(2)).findExistingIsbns(anyList());
+            verify(bookRepository, times(3)).saveAll(anyList());
+            verify(bookRepository, times(3)).flush();
+            verify(entityManager, times(3)).clear();
+        }
+
+        @Test
+        @DisplayName("Should throw DuplicateResourceException when a concurrent write wins")
+        void shouldThrowWhenConcurrentWriteConflicts() {
+            // Given
+            BookBulkCreateRequestDto request = BookBulkCreateRequestDto.builder()
+                    .books(List.of(item("New Book", "978-0000000001", 1L)))
+                    .build();
+
+            when(authorRepository.findExistingIds(anyList())).thenReturn(List.of(1L));
+            when(bookMapper.toEntity(any(BookCreateRequestDto.class))).thenReturn(new Book());
+            doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                    .when(bookRepository).flush();
+
+            // When & Then
+            assertThatThrownBy(() -> bookService.createBooks(request))
+                    .isInstanceOf(DuplicateResourceException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Books By IDs Tests")
+    class GetBooksByIdsTests {
+
+        @Test
+        @DisplayName("Should load distinct IDs once and answer in request order with misses")
+        void shouldAnswerInRequestOrderWithMisses() {
+            // Given
+            Magazine magazine = new Magazine();
+            magazine.setId(2L);
+            when(bookRepository.findAllByIdInRequestOrder(List.of(1L, 2L, 3L)))
+                    .thenReturn(Arrays.asList(testBook, magazine, null));
+            when(bookMapper.toResponse(testBook)).thenReturn(responseDto);
+
+            // When
+            BatchGetResponseDto<BookResponseDto> result = bookService.getBooksByIds(List.of(1L, 2L, 3L, 1L));
+
+            // Then
+            assertThat(result.getItems()).containsExactly(responseDto, null, null, responseDto);
+            assertThat(result.getMissingIds()).containsExactly(2L, 3L);
+            verify(bookRepository).findAllByIdInRequestOrder(List.of(1L, 2L, 3L));
+            verify(bookMapper, times(1)).toResponse(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty or oversized ID list")
+        void shouldRejectInvalidIdLists() {
+            List<Long> tooMany = LongStream.rangeClosed(1, BatchGetRequestDto.MAX_IDS + 1).boxed().toList();
+
+            assertThatThrownBy(() -> bookService.getBooksByIds(List.of()))
+                    .isInstanceOf(BusinessException.class);
+            assertThatThrownBy(() -> bookService.getBooksByIds(tooMany))
+                    .isInstanceOf(BusinessException.class);
+            verifyNoInteractions(bookRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get All Books By Cursor Tests")
+    class GetAllBooksByCursorTests {
+
+        private Book book(Long id, String title) {
+            Book book = new Book();
+            book.setId(id);
+            book.setTitle(title);
+            book.setAuthor(testAuthor);
+            return book;
+        }
+
+        @Test
+        @DisplayName("Should return first page with next cursor when more rows exist")
+        void shouldReturnFirstPageWithNextCursor() {
+            // Given
+            Book first = book(1L, "Alpha");
+            Book second = book(2L, "Beta");
+            Book extra = book(3L, "Gamma");
+
+            when(bookRepository.findFirstByKeyset(3)).thenReturn(List.of(first, second, extra));
+            when(bookMapper.toResponse(any(Book.class))).thenReturn(responseDto);
+
+            // When
+            CursorPageResponseDto<BookResponseDto> result = bookService.getAllBooks(null, 2);
+
+            // Then
+            assertThat(result.getContent()).hasSize(2);
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(result.getSize()).isEqualTo(2);
+
+            KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+            assertThat(cursor.getKey()).isEqualTo("Beta");
+            assertThat(cursor.getId()).isEqualTo(2L);
+
+            verify(bookMapper, never()).toResponse(extra);
+            verify(bookRepository, never()).findNextByKeyset(anyString(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should seek past the cursor and report the last page")
+        void shouldSeekPastCursor() {
+            // Given
+            String after = new KeysetCursor("Beta", 2L).encode();
+            Book last = book(3L, "Gamma");
+
+            when(bookRepository.findNextByKeyset("Beta", 2L, 3)).thenReturn(List.of(last));
+            when(bookMapper.toResponse(last)).thenReturn(responseDto);
+
+            // When
+            CursorPageResponseDto<BookResponseDto> result = bookService.getAllBooks(after, 2);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(responseDto);
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+
+            verify(bookRepository, never()).findFirstByKeyset(anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            // When & Then
+            assertThatThrownBy(() -> bookService.getAllBooks("not-a-cursor", 20))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("Invalid cursor");
+
+            verifyNoInteractions(bookRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject page size out of range")
+        void shouldRejectPageSizeOutOfRange() {
+            // When & Then
+            assertThatThrownBy(() -> bookService.getAllBooks(null, KeysetPagination.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(BusinessException.class);
+
+            verifyNoInteractions(bookRepository);
+        }
+    }
+
 
     @Nested
     @DisplayName("Edge Cases and Error Handling")
@@ -594,49 +1029,45 @@ class BookServiceImplTest {
         class DeleteBookTests {
 
             @Test
-            @DisplayName("Should delete book successfully when it exists")
+            @DisplayName("Should delete book in a single statement when it exists")
             void shouldDeleteBookSuccessfullyWhenItExists() {
                 // Given
-                when(bookRepository.existsById(1L)).thenReturn(true);
-                doNothing().when(bookRepository).deleteById(1L);
+                when(bookRepository.deleteBookById(1L)).thenReturn(1);
 
                 // When
                 bookService.deleteBook(1L);
 
                 // Then
-                verify(bookRepository).existsById(1L);
-                verify(bookRepository).deleteById(1L);
+                verify(bookRepository).deleteBookById(1L);
+                verify(bookRepository, never()).existsById(anyLong());
+                verify(bookRepository, never()).deleteById(anyLong());
+                verify(eventPublisher).publishEvent(CatalogChangeEvent.publicationsDeleting(List.of(1L)));
             }
 
             @Test
             @DisplayName("Should throw ResourceNotFoundException when book to delete doesn't exist")
             void shouldThrowResourceNotFoundExceptionWhenBookToDeleteDoesntExist() {
                 // Given
-                when(bookRepository.existsById(1L)).thenReturn(false);
+                when(bookRepository.deleteBookById(1L)).thenReturn(0);
 
                 // When & Then
                 assertThatThrownBy(() -> bookService.deleteBook(1L))
                         .isInstanceOf(ResourceNotFoundException.class)
                         .hasMessage("Book with ID 1 not found");
-
-                verify(bookRepository).existsById(1L);
-                verify(bookRepository, never()).deleteById(anyLong());
             }
 
             @Test
             @DisplayName("Should handle repository exception during deletion")
             void shouldHandleRepositoryExceptionDuringDeletion() {
                 // Given
-                when(bookRepository.existsById(1L)).thenReturn(true);
-                doThrow(new RuntimeException("Database error")).when(bookRepository).deleteById(1L);
+                when(bookRepository.deleteBookById(1L)).thenThrow(new RuntimeException("Database error"));
 
                 // When & Then
                 assertThatThrownBy(() -> bookService.deleteBook(1L))
                         .isInstanceOf(RuntimeException.class)
                         .hasMessage("Database error");
 
-                verify(bookRepository).existsById(1L);
-                verify(bookRepository).deleteById(1L);
+                verify(bookRepository).deleteBookById(1L);
             }
         }
 
@@ -0,0 +1,194 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.PublicationMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Asserts that deletes run a fixed number of statements, without loading the deleted rows
+ * or their associations, and leave no dangling magazine author links.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({AuthorServiceImpl.class, BookServiceImpl.class, MagazineServiceImpl.class, PublicationServiceImpl.class,
+        AuthorMapperImpl.class, BookMapperImpl.class, MagazineMapperImpl.class, PublicationMapperImpl.class})
+@DisplayName("Delete Query Count Tests")
+class DeleteQueryCountTest {
+
+    private static final int BOOK_COUNT = 20;
+
+    /**
+     * Catalog statistics read the keys of the rows to delete before the delete statements.
+     */
+    private static final int STATISTICS_KEY_QUERIES = 1;
+
+    /**
+     * A deleted author's book and magazine IDs are read for the listeners of the change.
+     */
+    private static final int AUTHOR_PUBLICATION_ID_QUERIES = 2;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MagazineServiceImpl magazineService;
+
+    @Autowired
+    private PublicationServiceImpl publicationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long authorId;
+    private Long otherAuthorId;
+    private final List<Long> bookIds = new ArrayList<>();
+    private Long magazineId;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("Author");
+        entityManager.persist(author);
+        authorId = author.getId();
+
+        Author otherAuthor = new Author();
+        otherAuthor.setName("Other Author");
+        entityManager.persist(otherAuthor);
+        otherAuthorId = otherAuthor.getId();
+
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setIsbn("978-" + i);
+            book.setPublicationDate(LocalDate.of(2024, 1, 1));
+            book.setAuthor(author);
+            entityManager.persist(book);
+            bookIds.add(book.getId());
+        }
+
+        Magazine magazine = new Magazine();
+        magazine.setTitle("Magazine");
+        magazine.setIssueNumber(1);
+        magazine.setPublicationDate(LocalDate.of(2024, 1, 1));
+        magazine.setAuthors(new ArrayList<>(List.of(author, otherAuthor)));
+        entityManager.persist(magazine);
+        magazineId = magazine.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should delete a book in one statement")
+    void shouldDeleteBookInOneStatement() {
+        // when
+        bookService.deleteBook(bookIds.get(0));
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + STATISTICS_KEY_QUERIES);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.find(Book.class, bookIds.get(0))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report a missing book from the row count")
+    void shouldReportMissingBook() {
+        // when & then
+        assertThatThrownBy(() -> bookService.deleteBook(-1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + STATISTICS_KEY_QUERIES);
+    }
+
+    @Test
+    @DisplayName("Should delete a magazine and its author links in two statements")
+    void shouldDeleteMagazineInTwoStatements() {
+        // when
+        magazineService.deleteMagazine(magazineId);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 + STATISTICS_KEY_QUERIES);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.find(Magazine.class, magazineId)).isNull();
+        assertThat(entityManager.find(Author.class, otherAuthorId)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should delete an author with all its books and magazine links in three statements")
+    void shouldDeleteAuthorInThreeStatements() {
+        // when
+        authorService.deleteAuthor(authorId);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3 + STATISTICS_KEY_QUERIES + AUTHOR_PUBLICATION_ID_QUERIES);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        entityManager.clear();
+        assertThat(entityManager.find(Author.class, authorId)).isNull();
+        assertThat(bookIds).allSatisfy(id -> assertThat(entityManager.find(Book.class, id)).isNull());
+        assertThat(entityManager.find(Magazine.class, magazineId).getAuthors())
+                .extracting(Author::getId)
+                .containsExactly(otherAuthorId);
+    }
+
+    @Test
+    @DisplayName("Should bulk delete books and magazines with their links in two statements")
+    void shouldBulkDeletePublicationsInTwoStatements() {
+        // given
+        List<Long> ids = new ArrayList<>(bookIds);
+        ids.add(magazineId);
+        ids.add(-1L);
+
+        // when
+        int deleted = publicationService.deletePublications(ids);
+
+        // then
+        assertThat(deleted).isEqualTo(BOOK_COUNT + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 + STATISTICS_KEY_QUERIES);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        entityManager.clear();
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT count(p) FROM Publication p", Long.class)
+                .getSingleResult()).isZero();
+        assertThat(entityManager.find(Author.class, otherAuthorId)).isNotNull();
+        assertThat(entityManager.find(Publication.class, magazineId)).isNull();
+    }
+}
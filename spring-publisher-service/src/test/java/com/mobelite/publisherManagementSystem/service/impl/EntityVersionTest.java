@@ -0,0 +1,158 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookUpdateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the version-only queries behind ETags and the versions returned by updates.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({AuthorServiceImpl.class, BookServiceImpl.class, MagazineServiceImpl.class, AuthorMapperImpl.class,
+        BookMapperImpl.class, MagazineMapperImpl.class})
+@DisplayName("Entity Version Tests")
+class EntityVersionTest {
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MagazineServiceImpl magazineService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Author author;
+    private Book book;
+    private Magazine magazine;
+
+    @BeforeEach
+    void setUp() {
+        author = new Author();
+        author.setName("Author");
+        entityManager.persist(author);
+
+        book = new Book();
+        book.setTitle("Book");
+        book.setIsbn("978-0");
+        book.setPublicationDate(LocalDate.of(2024, 1, 1));
+        book.setAuthor(author);
+        entityManager.persist(book);
+
+        magazine = new Magazine();
+        magazine.setTitle("Magazine");
+        magazine.setIssueNumber(1);
+        magazine.setPublicationDate(LocalDate.of(2024, 1, 1));
+        magazine.setAuthors(new ArrayList<>(List.of(author)));
+        entityManager.persist(magazine);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should read versions with a single statement and no entity load")
+    void shouldReadVersionsWithoutLoadingEntities() {
+        // when
+        Long bookVersion = bookService.getBookVersion(book.getId());
+        Long magazineVersion = magazineService.getMagazineVersion(magazine.getId());
+        String authorTag = authorService.getAuthorVersionTag(author.getId());
+
+        // then
+        assertThat(bookVersion).isZero();
+        assertThat(magazineVersion).isZero();
+        assertThat(authorTag).matches("0-[A-Za-z0-9_-]{16}");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return the incremented version from an update")
+    void shouldReturnIncrementedVersionFromUpdate() {
+        // when
+        BookResponseDto updated = bookService.updateBook(book.getId(),
+                BookUpdateRequestDto.builder().isbn("978-9").build(), 0L);
+
+        // then
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(bookService.getBookVersion(book.getId())).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should change the author tag when one of its publications changes")
+    void shouldChangeAuthorTagWhenPublicationChanges() {
+        // given
+        String before = authorService.getAuthorVersionTag(author.getId());
+
+        // when
+        bookService.updateBook(book.getId(), BookUpdateRequestDto.builder().isbn("978-9").build());
+        String afterUpdate = authorService.getAuthorVersionTag(author.getId());
+
+        Book another = new Book();
+        another.setTitle("Another Book");
+        another.setIsbn("978-1");
+        another.setPublicationDate(LocalDate.of(2024, 1, 1));
+        another.setAuthor(entityManager.find(Author.class, author.getId()));
+        entityManager.persistAndFlush(another);
+        String afterCreate = authorService.getAuthorVersionTag(author.getId());
+
+        // then
+        assertThat(List.of(before, afterUpdate, afterCreate)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should change the author tag when a magazine is unlinked and report missing authors")
+    void shouldChangeAuthorTagWhenMagazineUnlinked() {
+        // given
+        String before = authorService.getAuthorVersionTag(author.getId());
+
+        // when
+        Magazine linked = entityManager.find(Magazine.class, magazine.getId());
+        linked.getAuthors().clear();
+        entityManager.flush();
+        String after = authorService.getAuthorVersionTag(author.getId());
+
+        // then
+        assertThat(after).isNotEqualTo(before).startsWith("0-");
+        assertThatThrownBy(() -> authorService.getAuthorVersionTag(-1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -1,14 +1,22 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
+import com.mobelite.publisherManagementSystem.cluster.ClusteredCache;
 import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
+import com.mobelite.publisherManagementSystem.exception.PreconditionFailedException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
 import com.mobelite.publisherManagementSystem.mapper.MagazineMapper;
+import com.mobelite.publisherManagementSystem.pagination.KeysetCursor;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
 import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineSummaryView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,15 +24,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -44,6 +57,16 @@ class MagazineServiceImplTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Spy
+    private ClusteredCache clusteredCache = new ClusteredCache(null, false, List.of(), "", 100,
+            Duration.ofMinutes(10), 100, Duration.ofSeconds(30), Duration.ofMillis(250), Duration.ofSeconds(1), Duration.ofMinutes(1), "");
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MagazineServiceImpl magazineService;
 
@@ -155,6 +178,40 @@ class MagazineServiceImplTest {
     @DisplayName("Update Magazine Tests")
     class UpdateMagazineTests {
 
+        @Test
+        @DisplayName("Should reject the update when the magazine is no longer at the expected version")
+        void shouldRejectUpdate_WhenVersionIsStale() {
+            // Arrange
+            magazine.setVersion(3L);
+            when(magazineRepository.findById(1L)).thenReturn(Optional.of(magazine));
+
+            // Act & Assert
+            assertThatThrownBy(() -> magazineService.updateMagazine(1L, requestDto, 2L))
+                    .isInstanceOf(PreconditionFailedException.class)
+                    .hasMessage("Magazine with ID 1 has been modified, current version is 3");
+
+            verify(magazineMapper, never()).updateEntityFromDto(any(), any());
+            verify(magazineRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should update and flush the magazine when it is at the expected version")
+        void shouldUpdateMagazine_WhenVersionMatches() {
+            // Arrange
+            magazine.setVersion(3L);
+            when(magazineRepository.findById(1L)).thenReturn(Optional.of(magazine));
+            when(authorRepository.findAllById(authorIds)).thenReturn(authors);
+            when(magazineRepository.save(magazine)).thenReturn(magazine);
+            when(magazineMapper.toResponseDto(magazine)).thenReturn(responseDto);
+
+            // Act
+            magazineService.updateMagazine(1L, requestDto, 3L);
+
+            // Assert
+            verify(magazineRepository).save(magazine);
+            verify(magazineRepository).flush();
+        }
+
         @Test
         @DisplayName("Should update magazine successfully when magazine and authors exist")
         void shouldUpdateMagazineSuccessfully_WhenMagazineAndAuthorsExist() {
@@ -265,11 +322,17 @@ class MagazineServiceImplTest {
         void shouldReturnPaginatedMagazines_Successfully() {
             // Arrange
             Pageable pageable = PageRequest.of(0, 10);
-            List<Magazine> magazineList = Arrays.asList(magazine);
-            Page<Magazine> magazinePage = new PageImpl<>(magazineList, pageable, 1);
+            MagazineSummaryView view = mock(MagazineSummaryView.class);
+            Page<MagazineSummaryView> magazinePage = new PageImpl<>(List.of(view), pageable, 1);
+            summaryDto.setId(1L);
+
+            MagazineAuthorView authorView = mock(MagazineAuthorView.class);
+            AuthorSummaryDto authorSummary = AuthorSummaryDto.builder().id(1L).name("Test Author").build();
 
-            when(magazineRepository.findAll(pageable)).thenReturn(magazinePage);
-            when(magazineMapper.toSummaryDto(magazine)).thenReturn(summaryDto);
+            when(magazineRepository.findAllSummaries(pageable)).thenReturn(magazinePage);
+            when(magazineMapper.toSummaryDto(view)).thenReturn(summaryDto);
+            when(magazineRepository.findAuthorsGroupedByMagazineId(List.of(1L))).thenReturn(Map.of(1L, List.of(authorView)));
+            when(magazineMapper.toAuthorSummaryDto(authorView)).thenReturn(authorSummary);
 
             // Act
             Page<MagazineSummaryResponseDto> result = magazineService.getAllMagazines(pageable);
@@ -278,10 +341,12 @@ class MagazineServiceImplTest {
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).getTitle()).isEqualTo("Test Magazine");
+            assertThat(result.getContent().get(0).getAuthors()).containsExactly(authorSummary);
             assertThat(result.getTotalElements()).isEqualTo(1);
 
-            verify(magazineRepository).findAll(pageable);
-            verify(magazineMapper).toSummaryDto(magazine);
+            verify(magazineRepository).findAllSummaries(pageable);
+            verify(magazineRepository, never()).findAll(any(Pageable.class));
+            verify(magazineMapper).toSummaryDto(view);
         }
 
         @Test
@@ -289,9 +354,9 @@ class MagazineServiceImplTest {
         void shouldReturnEmptyPage_WhenNoMagazinesFound() {
             // Arrange
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Magazine> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Page<MagazineSummaryView> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-            when(magazineRepository.findAll(pageable)).thenReturn(emptyPage);
+            when(magazineRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
 
             // Act
             Page<MagazineSummaryResponseDto> result = magazineService.getAllMagazines(pageable);
@@ -301,8 +366,92 @@ class MagazineServiceImplTest {
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isEqualTo(0);
 
-            verify(magazineRepository).findAll(pageable);
-            verify(magazineMapper, never()).toSummaryDto(any());
+            verify(magazineRepository).findAllSummaries(pageable);
+            verify(magazineMapper, never()).toSummaryDto(any(MagazineSummaryView.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Get All Magazines By Cursor Tests")
+    class GetAllMagazinesByCursorTests {
+
+        private MagazineSummaryView view(Long id, String title) {
+            MagazineSummaryView view = mock(MagazineSummaryView.class);
+            lenient().when(view.getId()).thenReturn(id);
+            lenient().when(view.getTitle()).thenReturn(title);
+            return view;
+        }
+
+        private MagazineSummaryResponseDto summary(Long id) {
+            MagazineSummaryResponseDto summary = new MagazineSummaryResponseDto();
+            summary.setId(id);
+            return summary;
+        }
+
+        @Test
+        @DisplayName("Should return first page with next cursor and authors when more rows exist")
+        void shouldReturnFirstPageWithNextCursor() {
+            // Arrange
+            MagazineSummaryView first = view(1L, "Alpha");
+            MagazineSummaryView second = view(2L, "Beta");
+            MagazineSummaryView extra = view(3L, "Gamma");
+            MagazineAuthorView authorView = mock(MagazineAuthorView.class);
+            AuthorSummaryDto authorSummary = AuthorSummaryDto.builder().id(1L).name("Test Author").build();
+
+            when(magazineRepository.findFirstSummariesByKeyset(3)).thenReturn(List.of(first, second, extra));
+            when(magazineMapper.toSummaryDto(first)).thenReturn(summary(1L));
+            when(magazineMapper.toSummaryDto(second)).thenReturn(summary(2L));
+            when(magazineRepository.findAuthorsGroupedByMagazineId(List.of(1L, 2L)))
+                    .thenReturn(Map.of(1L, List.of(authorView)));
+            when(magazineMapper.toAuthorSummaryDto(authorView)).thenReturn(authorSummary);
+
+            // Act
+            CursorPageResponseDto<MagazineSummaryResponseDto> result = magazineService.getAllMagazines(null, 2);
+
+            // Assert
+            assertThat(result.getContent()).extracting(MagazineSummaryResponseDto::getId).containsExactly(1L, 2L);
+            assertThat(result.getContent().get(0).getAuthors()).containsExactly(authorSummary);
+            assertThat(result.getContent().get(1).getAuthors()).isEmpty();
+            assertThat(result.isHasNext()).isTrue();
+            KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+            assertThat(cursor.getKey()).isEqualTo("Beta");
+            assertThat(cursor.getId()).isEqualTo(2L);
+
+            verify(magazineMapper, never()).toSummaryDto(extra);
+            verify(magazineRepository, never()).findNextSummariesByKeyset(anyString(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should seek past the decoded cursor and report the last page")
+        void shouldSeekPastCursor() {
+            // Arrange
+            String after = new KeysetCursor("Beta", 2L).encode();
+            MagazineSummaryView last = view(3L, "Gamma");
+
+            when(magazineRepository.findNextSummariesByKeyset("Beta", 2L, 3)).thenReturn(List.of(last));
+            when(magazineMapper.toSummaryDto(last)).thenReturn(summary(3L));
+            when(magazineRepository.findAuthorsGroupedByMagazineId(List.of(3L))).thenReturn(Map.of());
+
+            // Act
+            CursorPageResponseDto<MagazineSummaryResponseDto> result = magazineService.getAllMagazines(after, 2);
+
+            // Assert
+            assertThat(result.getContent()).extracting(MagazineSummaryResponseDto::getId).containsExactly(3L);
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+
+            verify(magazineRepository, never()).findFirstSummariesByKeyset(anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            // Act & Assert
+            assertThatThrownBy(() -> magazineService.getAllMagazines("not-a-cursor", 20))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("Invalid cursor");
+
+            verifyNoInteractions(magazineRepository);
         }
     }
 
@@ -311,18 +460,19 @@ class MagazineServiceImplTest {
     class DeleteMagazineTests {
 
         @Test
-        @DisplayName("Should delete magazine successfully when exists")
+        @DisplayName("Should delete magazine without loading it")
         void shouldDeleteMagazineSuccessfully_WhenExists() {
             // Arrange
             Long magazineId = 1L;
-            when(magazineRepository.existsById(magazineId)).thenReturn(true);
+            when(magazineRepository.deleteMagazineById(magazineId)).thenReturn(1);
 
             // Act
             magazineService.deleteMagazine(magazineId);
 
             // Assert
-            verify(magazineRepository).existsById(magazineId);
-            verify(magazineRepository).deleteById(magazineId);
+            verify(magazineRepository).deleteMagazineById(magazineId);
+            verify(magazineRepository, never()).existsById(any());
+            verify(magazineRepository, never()).deleteById(any());
         }
 
         @Test
@@ -330,15 +480,12 @@ class MagazineServiceImplTest {
         void shouldThrowResourceNotFoundException_WhenMagazineNotFoundForDeletion() {
             // Arrange
             Long magazineId = 999L;
-            when(magazineRepository.existsById(magazineId)).thenReturn(false);
+            when(magazineRepository.deleteMagazineById(magazineId)).thenReturn(0);
 
             // Act & Assert
             assertThatThrownBy(() -> magazineService.deleteMagazine(magazineId))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessage("Magazine not found with ID: " + magazineId);
-
-            verify(magazineRepository).existsById(magazineId);
-            verify(magazineRepository, never()).deleteById(any());
         }
     }
 
@@ -0,0 +1,186 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationSearchCriteria;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount.Facet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the filters of the faceted search page query, which only includes the predicates of the filters set,
+ * and the facet counts of the matches.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@DisplayName("Publication Search Query Tests")
+class PublicationSearchQueryTest {
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long frenchAuthorId;
+    private Long otherAuthorId;
+    private Long bookId;
+    private Long oldBookId;
+    private Long magazineId;
+
+    @BeforeEach
+    void setUp() {
+        Author frenchAuthor = author("French Author", "French");
+        Author otherAuthor = author("Other Author", "Italian");
+        frenchAuthorId = frenchAuthor.getId();
+        otherAuthorId = otherAuthor.getId();
+
+        bookId = book("B Book", "978-1", LocalDate.of(2022, 5, 1), frenchAuthor);
+        oldBookId = book("A Old Book", "978-2", LocalDate.of(2010, 5, 1), otherAuthor);
+
+        Magazine magazine = new Magazine();
+        magazine.setTitle("C Magazine");
+        magazine.setIssueNumber(12);
+        magazine.setPublicationDate(LocalDate.of(2023, 1, 1));
+        magazine.setAuthors(new ArrayList<>(List.of(otherAuthor, frenchAuthor)));
+        entityManager.persist(magazine);
+        magazineId = magazine.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should return every publication in title order without filters")
+    void shouldReturnAllWithoutFilters() {
+        // when
+        List<Long> ids = publicationRepository.findIdsBySearch(PublicationSearchCriteria.builder().build(), PageRequest.of(0, 20));
+
+        // then
+        assertThat(ids).containsExactly(oldBookId, bookId, magazineId);
+    }
+
+    @Test
+    @DisplayName("Should match books and magazines of an author nationality once each")
+    void shouldFilterOnNationality() {
+        // given
+        PublicationSearchCriteria criteria = PublicationSearchCriteria.builder()
+                .nationality("French")
+                .publishedFrom(LocalDate.of(2020, 1, 1))
+                .build();
+
+        // when
+        List<Long> ids = publicationRepository.findIdsBySearch(criteria, PageRequest.of(0, 20));
+
+        // then
+        assertThat(ids).containsExactly(bookId, magazineId);
+    }
+
+    @Test
+    @DisplayName("Should combine type, author and issue number filters")
+    void shouldCombineFilters() {
+        // given
+        PublicationSearchCriteria criteria = PublicationSearchCriteria.builder()
+                .type(PublicationType.MAGAZINE)
+                .authorId(frenchAuthorId)
+                .minIssueNumber(10)
+                .maxIssueNumber(12)
+                .build();
+
+        // when
+        List<Long> ids = publicationRepository.findIdsBySearch(criteria, PageRequest.of(0, 20));
+
+        // then
+        assertThat(ids).containsExactly(magazineId);
+    }
+
+    @Test
+    @DisplayName("Should page the matches")
+    void shouldPageMatches() {
+        // when
+        List<Long> ids = publicationRepository.findIdsBySearch(PublicationSearchCriteria.builder().build(), PageRequest.of(1, 2));
+
+        // then
+        assertThat(ids).containsExactly(magazineId);
+    }
+
+    @Test
+    @DisplayName("Should count every facet value of the matches and their total")
+    void shouldCountFacets() {
+        // when
+        List<PublicationFacetCount> counts = publicationRepository.countFacetsBySearch(PublicationSearchCriteria.builder().build());
+
+        // then
+        assertThat(counts)
+                .extracting(PublicationFacetCount::getFacet, PublicationFacetCount::getValue, PublicationFacetCount::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(Facet.TYPE, "BOOK", 2L),
+                        tuple(Facet.TYPE, "MAGAZINE", 1L),
+                        tuple(Facet.YEAR, "2010", 1L),
+                        tuple(Facet.YEAR, "2022", 1L),
+                        tuple(Facet.YEAR, "2023", 1L),
+                        tuple(Facet.ISSUE_NUMBER, null, 2L),
+                        tuple(Facet.ISSUE_NUMBER, "12", 1L),
+                        tuple(Facet.AUTHOR, String.valueOf(frenchAuthorId), 2L),
+                        tuple(Facet.AUTHOR, String.valueOf(otherAuthorId), 2L),
+                        tuple(Facet.NATIONALITY, "French", 2L),
+                        tuple(Facet.NATIONALITY, "Italian", 2L),
+                        tuple(Facet.TOTAL, null, 3L));
+    }
+
+    @Test
+    @DisplayName("Should count a magazine once per nationality of its authors, within the filters")
+    void shouldCountFacetsOfFilteredMatches() {
+        // given
+        PublicationSearchCriteria criteria = PublicationSearchCriteria.builder()
+                .nationality("French")
+                .build();
+
+        // when
+        List<PublicationFacetCount> counts = publicationRepository.countFacetsBySearch(criteria);
+
+        // then
+        assertThat(counts)
+                .filteredOn(count -> count.getFacet() == Facet.NATIONALITY || count.getFacet() == Facet.TOTAL)
+                .extracting(PublicationFacetCount::getFacet, PublicationFacetCount::getValue, PublicationFacetCount::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(Facet.NATIONALITY, "French", 2L),
+                        tuple(Facet.NATIONALITY, "Italian", 1L),
+                        tuple(Facet.TOTAL, null, 2L));
+    }
+
+    private Author author(String name, String nationality) {
+        Author author = new Author();
+        author.setName(name);
+        author.setNationality(nationality);
+        entityManager.persist(author);
+        return author;
+    }
+
+    private Long book(String title, String isbn, LocalDate publicationDate, Author author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setIsbn(isbn);
+        book.setPublicationDate(publicationDate);
+        book.setAuthor(author);
+        entityManager.persist(book);
+        return book.getId();
+    }
+}
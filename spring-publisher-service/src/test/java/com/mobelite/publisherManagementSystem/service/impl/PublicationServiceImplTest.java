@@ -1,18 +1,40 @@
 package com.mobelite.publisherManagementSystem.service.impl;
 
+import com.mobelite.publisherManagementSystem.cache.ExistenceIndex;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
 import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.CatalogStatisticsResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.GroupedPublicationsResponse;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSearchResponseDto;
 import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
 import com.mobelite.publisherManagementSystem.entity.Author;
 import com.mobelite.publisherManagementSystem.entity.Book;
 import com.mobelite.publisherManagementSystem.entity.Magazine;
 import com.mobelite.publisherManagementSystem.entity.Publication;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.event.CatalogChangeEvent;
+import com.mobelite.publisherManagementSystem.exception.BusinessException;
 import com.mobelite.publisherManagementSystem.exception.ResourceNotFoundException;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapper;
 import com.mobelite.publisherManagementSystem.mapper.PublicationMapper;
 import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
 import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationSearchCriteria;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationFacetCount.Facet;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRankView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationSummaryView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationTitleView;
+import com.mobelite.publisherManagementSystem.statistics.CatalogStatistics;
+import com.mobelite.publisherManagementSystem.readmodel.CatalogReadModel;
+import com.mobelite.publisherManagementSystem.snapshot.CatalogSnapshot;
+import com.mobelite.publisherManagementSystem.suggest.TitleSuggestIndex;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,15 +43,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -49,6 +79,36 @@ class PublicationServiceImplTest {
     @Mock
     private PublicationMapper publicationMapper;
 
+    @Mock
+    private MagazineRepository magazineRepository;
+
+    @Mock
+    private MagazineMapper magazineMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ExistenceIndex existenceIndex;
+
+    @Mock
+    private CatalogStatistics catalogStatistics;
+
+    @Mock
+    private TitleSuggestIndex titleSuggestIndex;
+
+    @Mock
+    private CatalogReadModel catalogReadModel;
+
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private PublicationServiceImpl publicationService;
 
@@ -59,6 +119,8 @@ class PublicationServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Index not built yet: every key may exist
+        lenient().when(existenceIndex.mightContain(any(), any())).thenReturn(true);
         // Test Author
         testAuthor = new Author();
         testAuthor.setId(1L);
@@ -131,11 +193,11 @@ class PublicationServiceImplTest {
         void shouldGetAllPublicationsWithPagination() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            List<Publication> publications = Arrays.asList(testPublication);
-            Page<Publication> publicationPage = new PageImpl<>(publications, pageable, 1);
+            PublicationSummaryView view = mock(PublicationSummaryView.class);
+            Page<PublicationSummaryView> publicationPage = new PageImpl<>(List.of(view), pageable, 1);
 
-            when(publicationRepository.findAll(pageable)).thenReturn(publicationPage);
-            when(publicationMapper.toSummaryResponseDto(testPublication)).thenReturn(summaryResponseDto);
+            when(publicationRepository.findAllSummaries(pageable)).thenReturn(publicationPage);
+            when(publicationMapper.toSummaryResponseDto(view)).thenReturn(summaryResponseDto);
 
             // When
             Page<PublicationSummaryResponseDto> result = publicationService.getAllPublications(pageable);
@@ -146,8 +208,70 @@ class PublicationServiceImplTest {
             assertThat(result.getContent().get(0).getId()).isEqualTo(1L);
             assertThat(result.getContent().get(0).getTitle()).isEqualTo("Test Publication");
 
-            verify(publicationRepository).findAll(pageable);
-            verify(publicationMapper).toSummaryResponseDto(testPublication);
+            verify(publicationRepository).findAllSummaries(pageable);
+            verify(publicationRepository, never()).findAll(any(Pageable.class));
+            verify(publicationMapper).toSummaryResponseDto(view);
+        }
+
+        @Test
+        @DisplayName("Should load authors of all magazines on the page in one query")
+        void shouldLoadMagazineAuthorsInOneQuery() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 10);
+            PublicationSummaryView bookView = mock(PublicationSummaryView.class);
+            PublicationSummaryView magazineView = mock(PublicationSummaryView.class);
+            Page<PublicationSummaryView> publicationPage = new PageImpl<>(List.of(bookView, magazineView), pageable, 2);
+
+            BookSummaryResponseDto bookDto = new BookSummaryResponseDto();
+            bookDto.setId(1L);
+            MagazineSummaryResponseDto magazineDto = new MagazineSummaryResponseDto();
+            magazineDto.setId(2L);
+            MagazineAuthorView authorView = mock(MagazineAuthorView.class);
+            AuthorSummaryDto authorSummary = AuthorSummaryDto.builder().id(1L).name("Test Author").build();
+
+            when(publicationRepository.findAllSummaries(pageable)).thenReturn(publicationPage);
+            when(publicationMapper.toSummaryResponseDto(bookView)).thenReturn(bookDto);
+            when(publicationMapper.toSummaryResponseDto(magazineView)).thenReturn(magazineDto);
+            when(magazineRepository.findAuthorsGroupedByMagazineId(List.of(2L))).thenReturn(Map.of(2L, List.of(authorView)));
+            when(magazineMapper.toAuthorSummaryDto(authorView)).thenReturn(authorSummary);
+
+            // When
+            Page<PublicationSummaryResponseDto> result = publicationService.getAllPublications(pageable);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(bookDto, magazineDto);
+            assertThat(magazineDto.getAuthors()).containsExactly(authorSummary);
+            verify(magazineRepository).findAuthorsGroupedByMagazineId(List.of(2L));
+        }
+
+        @Test
+        @DisplayName("Should stream summaries in title order by keyset chunks, one transaction and author query per chunk")
+        void shouldStreamSummariesByKeysetChunks() {
+            // Given
+            List<PublicationSummaryView> views = IntStream.rangeClosed(1, 600)
+                    .mapToObj(i -> mock(PublicationSummaryView.class))
+                    .toList();
+
+            when(publicationRepository.findFirstSummariesByKeyset(500)).thenReturn(views.subList(0, 500));
+            when(publicationRepository.findNextSummariesByKeyset("Title 500", 500L, 500)).thenReturn(views.subList(500, 600));
+            when(publicationMapper.toSummaryResponseDto(any(PublicationSummaryView.class))).thenAnswer(invocation -> {
+                long id = views.indexOf(invocation.getArgument(0)) + 1;
+                MagazineSummaryResponseDto magazineDto = new MagazineSummaryResponseDto();
+                magazineDto.setId(id);
+                magazineDto.setTitle("Title " + id);
+                return magazineDto;
+            });
+
+            // When
+            List<PublicationSummaryResponseDto> emitted = new ArrayList<>();
+            publicationService.streamAllPublications(emitted::add);
+
+            // Then
+            assertThat(emitted).hasSize(600);
+            assertThat(emitted.get(599).getId()).isEqualTo(600L);
+            verify(transactionManager, times(2)).commit(any());
+            verify(magazineRepository, times(2)).findAuthorsGroupedByMagazineId(anyList());
+            verify(publicationRepository, never()).findAllSummaries(any());
         }
 
         @Test
@@ -155,9 +279,9 @@ class PublicationServiceImplTest {
         void shouldReturnEmptyPageWhenNoPublicationsExist() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Publication> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+            Page<PublicationSummaryView> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-            when(publicationRepository.findAll(pageable)).thenReturn(emptyPage);
+            when(publicationRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
 
             // When
             Page<PublicationSummaryResponseDto> result = publicationService.getAllPublications(pageable);
@@ -167,7 +291,7 @@ class PublicationServiceImplTest {
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isEqualTo(0);
 
-            verify(publicationRepository).findAll(pageable);
+            verify(publicationRepository).findAllSummaries(pageable);
             verifyNoInteractions(publicationMapper);
         }
     }
@@ -185,7 +309,7 @@ class PublicationServiceImplTest {
             List<Publication> publications = Arrays.asList(testPublication);
             Page<Publication> publicationPage = new PageImpl<>(publications, pageable, 1);
 
-            when(publicationRepository.findByTitleContainingIgnoreCase(searchTitle, pageable)).thenReturn(publicationPage);
+            when(publicationRepository.searchByTitle(searchTitle, searchTitle, pageable)).thenReturn(publicationPage);
             when(publicationMapper.toSummaryResponseDto(testPublication)).thenReturn(summaryResponseDto);
 
             // When
@@ -196,7 +320,7 @@ class PublicationServiceImplTest {
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).getTitle()).isEqualTo("Test Publication");
 
-            verify(publicationRepository).findByTitleContainingIgnoreCase(searchTitle, pageable);
+            verify(publicationRepository).searchByTitle(searchTitle, searchTitle, pageable);
             verify(publicationMapper).toSummaryResponseDto(testPublication);
         }
 
@@ -208,7 +332,7 @@ class PublicationServiceImplTest {
             Pageable pageable = PageRequest.of(0, 10);
             Page<Publication> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-            when(publicationRepository.findByTitleContainingIgnoreCase(searchTitle, pageable)).thenReturn(emptyPage);
+            when(publicationRepository.searchByTitle(searchTitle, searchTitle, pageable)).thenReturn(emptyPage);
 
             // When
             Page<PublicationSummaryResponseDto> result = publicationService.searchPublicationsByTitle(searchTitle, pageable);
@@ -217,9 +341,192 @@ class PublicationServiceImplTest {
             assertThat(result).isNotNull();
             assertThat(result.getContent()).isEmpty();
 
-            verify(publicationRepository).findByTitleContainingIgnoreCase(searchTitle, pageable);
+            verify(publicationRepository).searchByTitle(searchTitle, searchTitle, pageable);
             verifyNoInteractions(publicationMapper);
         }
+
+        @Test
+        @DisplayName("Should rank by relevance and ignore the requested sort")
+        void shouldIgnoreRequestedSortWhenSearching() {
+            // Given
+            String searchTitle = "Test";
+            Pageable sortedPageable = PageRequest.of(1, 10, Sort.by("title"));
+            Pageable byRelevance = PageRequest.of(1, 10);
+
+            when(publicationRepository.searchByTitle(searchTitle, searchTitle, byRelevance))
+                    .thenReturn(new PageImpl<>(List.of(), byRelevance, 0));
+
+            // When
+            publicationService.searchPublicationsByTitle(searchTitle, sortedPageable);
+
+            // Then
+            verify(publicationRepository).searchByTitle(searchTitle, searchTitle, byRelevance);
+        }
+
+        @Test
+        @DisplayName("Should escape LIKE wildcards in the search text")
+        void shouldEscapeLikeWildcards() {
+            // Given
+            String searchTitle = "100%_sure";
+            Pageable pageable = PageRequest.of(0, 10);
+
+            when(publicationRepository.searchByTitle(searchTitle, "100\\%\\_sure", pageable))
+                    .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+            // When
+            publicationService.searchPublicationsByTitle(searchTitle, pageable);
+
+            // Then
+            verify(publicationRepository).searchByTitle(searchTitle, "100\\%\\_sure", pageable);
+        }
+
+        @Test
+        @DisplayName("Should apply the similarity threshold for fuzzy search")
+        void shouldApplySimilarityThresholdForFuzzySearch() {
+            // Given
+            String searchTitle = "Tset";
+            Pageable pageable = PageRequest.of(0, 10);
+            Page<Publication> publicationPage = new PageImpl<>(List.of(testPublication), pageable, 1);
+
+            when(publicationRepository.searchByTitleFuzzy(searchTitle, searchTitle, pageable)).thenReturn(publicationPage);
+            when(publicationMapper.toSummaryResponseDto(testPublication)).thenReturn(summaryResponseDto);
+
+            // When
+            Page<PublicationSummaryResponseDto> result = publicationService.searchPublicationsByTitle(searchTitle, 0.4, pageable);
+
+            // Then
+            assertThat(result.getContent()).hasSize(1);
+
+            verify(publicationRepository).setWordSimilarityThreshold("0.4");
+            verify(publicationRepository).searchByTitleFuzzy(searchTitle, searchTitle, pageable);
+            verify(publicationRepository, never()).searchByTitle(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should stream fuzzy search results in rank order with the similarity threshold applied")
+        void shouldStreamFuzzySearchResults() {
+            // Given
+            String searchTitle = "Tset";
+            PublicationRankView rank = mock(PublicationRankView.class);
+            PublicationSummaryView view = mock(PublicationSummaryView.class);
+
+            when(rank.getId()).thenReturn(1L);
+            when(view.getId()).thenReturn(1L);
+            when(publicationRepository.findNextRankedByTitleFuzzy(searchTitle, searchTitle, 2, "", 0, 500))
+                    .thenReturn(List.of(rank));
+            when(publicationRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(view));
+            when(publicationMapper.toSummaryResponseDto(view)).thenReturn(summaryResponseDto);
+
+            // When
+            List<PublicationSummaryResponseDto> emitted = new ArrayList<>();
+            publicationService.streamPublicationsByTitle(searchTitle, 0.4, emitted::add);
+
+            // Then
+            assertThat(emitted).containsExactly(summaryResponseDto);
+            verify(transactionManager).commit(any());
+            verify(publicationRepository).setWordSimilarityThreshold("0.4");
+            verify(publicationRepository, never()).findNextRankedByTitle(any(), any(), anyDouble(), any(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject a similarity threshold outside (0, 1]")
+        void shouldRejectInvalidSimilarityThreshold() {
+            // When & Then
+            assertThatThrownBy(() -> publicationService.searchPublicationsByTitle("Test", 1.5, PageRequest.of(0, 10)))
+                    .isInstanceOf(BusinessException.class);
+
+            verifyNoInteractions(publicationRepository, magazineRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Faceted Search Tests")
+    class FacetedSearchTests {
+
+        private final PublicationSearchCriteria criteria = PublicationSearchCriteria.builder()
+                .type(PublicationType.MAGAZINE)
+                .publishedFrom(LocalDate.of(2020, 1, 1))
+                .build();
+
+        @Test
+        @DisplayName("Should return the page in search order with the facet counts of all matches")
+        void shouldReturnPageWithFacets() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 2);
+            PublicationSummaryView first = mock(PublicationSummaryView.class);
+            PublicationSummaryView second = mock(PublicationSummaryView.class);
+            when(first.getId()).thenReturn(7L);
+            when(second.getId()).thenReturn(3L);
+            PublicationSummaryResponseDto firstDto = new BookSummaryResponseDto();
+            PublicationSummaryResponseDto secondDto = new BookSummaryResponseDto();
+
+            when(publicationRepository.findIdsBySearch(criteria, pageable)).thenReturn(List.of(7L, 3L));
+            when(publicationRepository.countFacetsBySearch(criteria)).thenReturn(List.of(
+                    new PublicationFacetCount(Facet.TYPE, "MAGAZINE", 5),
+                    new PublicationFacetCount(Facet.YEAR, "2021", 3),
+                    new PublicationFacetCount(Facet.YEAR, "2020", 2),
+                    new PublicationFacetCount(Facet.ISSUE_NUMBER, "12", 5),
+                    new PublicationFacetCount(Facet.AUTHOR, "4", 2),
+                    new PublicationFacetCount(Facet.AUTHOR, "9", 5),
+                    new PublicationFacetCount(Facet.NATIONALITY, "French", 4),
+                    new PublicationFacetCount(Facet.NATIONALITY, null, 1),
+                    new PublicationFacetCount(Facet.TOTAL, null, 5)));
+            when(publicationRepository.findSummariesByIdIn(List.of(7L, 3L))).thenReturn(List.of(second, first));
+            when(publicationMapper.toSummaryResponseDto(first)).thenReturn(firstDto);
+            when(publicationMapper.toSummaryResponseDto(second)).thenReturn(secondDto);
+
+            // When
+            PublicationSearchResponseDto result = publicationService.searchPublications(criteria, pageable);
+
+            // Then
+            assertThat(result.getResults().getContent()).containsExactly(firstDto, secondDto);
+            assertThat(result.getResults().getTotalElements()).isEqualTo(5);
+            assertThat(result.getFacets().getByType()).containsExactly(Map.entry(PublicationType.MAGAZINE, 5L));
+            assertThat(result.getFacets().getByYear()).containsExactly(Map.entry(2020, 2L), Map.entry(2021, 3L));
+            assertThat(result.getFacets().getByIssueNumber()).containsExactly(Map.entry(12, 5L));
+            assertThat(result.getFacets().getByAuthor()).containsExactly(Map.entry(9L, 5L), Map.entry(4L, 2L));
+            assertThat(result.getFacets().getByNationality()).containsExactly(Map.entry("French", 4L), Map.entry("UNKNOWN", 1L));
+        }
+
+        @Test
+        @DisplayName("Should not load summaries when nothing matches")
+        void shouldSkipSummariesWhenNothingMatches() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 20);
+            when(publicationRepository.findIdsBySearch(criteria, pageable)).thenReturn(List.of());
+            when(publicationRepository.countFacetsBySearch(criteria))
+                    .thenReturn(List.of(new PublicationFacetCount(Facet.TOTAL, null, 0)));
+
+            // When
+            PublicationSearchResponseDto result = publicationService.searchPublications(criteria, pageable);
+
+            // Then
+            assertThat(result.getResults().getContent()).isEmpty();
+            assertThat(result.getResults().getTotalElements()).isZero();
+            verify(publicationRepository, never()).findSummariesByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should reject inverted date and issue number ranges")
+        void shouldRejectInvertedRanges() {
+            // Given
+            PublicationSearchCriteria invertedDates = PublicationSearchCriteria.builder()
+                    .publishedFrom(LocalDate.of(2024, 1, 1))
+                    .publishedTo(LocalDate.of(2023, 1, 1))
+                    .build();
+            PublicationSearchCriteria invertedIssues = PublicationSearchCriteria.builder()
+                    .minIssueNumber(10)
+                    .maxIssueNumber(2)
+                    .build();
+
+            // When & Then
+            assertThatThrownBy(() -> publicationService.searchPublications(invertedDates, PageRequest.of(0, 20)))
+                    .isInstanceOf(BusinessException.class);
+            assertThatThrownBy(() -> publicationService.searchPublications(invertedIssues, PageRequest.of(0, 20)))
+                    .isInstanceOf(BusinessException.class);
+
+            verifyNoInteractions(publicationRepository);
+        }
     }
 
     @Nested
@@ -227,32 +534,138 @@ class PublicationServiceImplTest {
     class DeletePublicationTests {
 
         @Test
-        @DisplayName("Should delete publication successfully")
+        @DisplayName("Should delete publication and its author links without loading it")
         void shouldDeletePublicationSuccessfully() {
             // Given
-            when(publicationRepository.existsById(1L)).thenReturn(true);
+            when(publicationRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
 
             // When
             publicationService.deletePublication(1L);
 
             // Then
-            verify(publicationRepository).existsById(1L);
-            verify(publicationRepository).deleteById(1L);
+            verify(magazineRepository).deleteAuthorLinksByMagazineIdIn(List.of(1L));
+            verify(publicationRepository, never()).existsById(1L);
+            verify(publicationRepository, never()).deleteById(1L);
+            verify(eventPublisher).publishEvent(CatalogChangeEvent.publicationsDeleting(List.of(1L)));
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when publication not found")
         void shouldThrowResourceNotFoundExceptionWhenPublicationNotFound() {
             // Given
-            when(publicationRepository.existsById(1L)).thenReturn(false);
+            when(publicationRepository.deleteAllByIdIn(List.of(1L))).thenReturn(0);
 
             // When & Then
             assertThatThrownBy(() -> publicationService.deletePublication(1L))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessage("Publication not found with ID: 1");
+        }
 
-            verify(publicationRepository).existsById(1L);
-            verify(publicationRepository, never()).deleteById(1L);
+        @Test
+        @DisplayName("Should bulk delete distinct IDs with set-based statements")
+        void shouldBulkDeletePublications() {
+            // Given
+            when(publicationRepository.deleteAllByIdIn(List.of(3L, 1L, 2L))).thenReturn(2);
+
+            // When
+            int deleted = publicationService.deletePublications(Arrays.asList(3L, 1L, null, 3L, 2L));
+
+            // Then
+            assertThat(deleted).isEqualTo(2);
+            verify(magazineRepository).deleteAuthorLinksByMagazineIdIn(List.of(3L, 1L, 2L));
+            verify(eventPublisher).publishEvent(CatalogChangeEvent.publicationsDeleting(List.of(3L, 1L, 2L)));
+            verify(publicationRepository, never()).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a bulk delete without IDs")
+        void shouldRejectBulkDeleteWithoutIds() {
+            // When & Then
+            assertThatThrownBy(() -> publicationService.deletePublications(List.of()))
+                    .isInstanceOf(BusinessException.class);
+
+            verifyNoInteractions(publicationRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Catalog Statistics Tests")
+    class CatalogStatisticsTests {
+
+        @Test
+        @DisplayName("Should read catalog statistics from the maintained counters")
+        void shouldReadMaintainedStatistics() {
+            // Given
+            CatalogStatisticsResponseDto statistics = CatalogStatisticsResponseDto.builder().totalPublications(3).build();
+            when(catalogStatistics.getStatistics(5)).thenReturn(statistics);
+
+            // When
+            CatalogStatisticsResponseDto result = publicationService.getCatalogStatistics(5);
+
+            // Then
+            assertThat(result).isSameAs(statistics);
+            verifyNoInteractions(publicationRepository, magazineRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a top author count out of range")
+        void shouldRejectTopOutOfRange() {
+            // When & Then
+            assertThatThrownBy(() -> publicationService.getCatalogStatistics(0))
+                    .isInstanceOf(BusinessException.class);
+            assertThatThrownBy(() -> publicationService.getCatalogStatistics(101))
+                    .isInstanceOf(BusinessException.class);
+
+            verifyNoInteractions(catalogStatistics);
+        }
+    }
+
+    @Nested
+    @DisplayName("Title Suggestion Tests")
+    class TitleSuggestionTests {
+
+        @Test
+        @DisplayName("Should suggest titles from the prefix index")
+        void shouldSuggestFromIndex() {
+            // Given
+            List<TitleSuggestionDto> suggestions = List.of(new TitleSuggestionDto(1L, "The Hobbit"));
+            when(titleSuggestIndex.suggest("the h", 10)).thenReturn(Optional.of(suggestions));
+
+            // When
+            List<TitleSuggestionDto> result = publicationService.suggestTitles("the h", 10);
+
+            // Then
+            assertThat(result).isSameAs(suggestions);
+            verifyNoInteractions(publicationRepository);
+        }
+
+        @Test
+        @DisplayName("Should suggest titles from the database until the index is built")
+        void shouldFallBackToDatabase() {
+            // Given
+            PublicationTitleView title = mock(PublicationTitleView.class);
+            when(title.getId()).thenReturn(2L);
+            when(title.getTitle()).thenReturn("100% Java");
+            when(titleSuggestIndex.suggest("100%", 5)).thenReturn(Optional.empty());
+            when(publicationRepository.findTitlesByPrefix("100\\%", PageRequest.of(0, 5))).thenReturn(List.of(title));
+
+            // When
+            List<TitleSuggestionDto> result = publicationService.suggestTitles("100%", 5);
+
+            // Then
+            assertThat(result).containsExactly(new TitleSuggestionDto(2L, "100% Java"));
+        }
+
+        @Test
+        @DisplayName("Should reject a blank prefix or a limit out of range")
+        void shouldRejectInvalidRequest() {
+            // When & Then
+            assertThatThrownBy(() -> publicationService.suggestTitles(" ", 10))
+                    .isInstanceOf(BusinessException.class);
+            assertThatThrownBy(() -> publicationService.suggestTitles("the", 51))
+                    .isInstanceOf(BusinessException.class);
+
+            verifyNoInteractions(titleSuggestIndex, publicationRepository);
         }
     }
 
@@ -315,6 +728,20 @@ class PublicationServiceImplTest {
             assertThat(result).isFalse();
             verify(publicationRepository).existsByTitle("NonExistent");
         }
+
+        @Test
+        @DisplayName("Should not query the database when the existence index rules the title out")
+        void shouldSkipDatabaseWhenIndexRulesTitleOut() {
+            // Given
+            when(existenceIndex.mightContain(ExistenceIndex.KeySpace.PUBLICATION_TITLE, "NonExistent")).thenReturn(false);
+
+            // When
+            boolean result = publicationService.existsByTitle("NonExistent");
+
+            // Then
+            assertThat(result).isFalse();
+            verify(publicationRepository, never()).existsByTitle(any());
+        }
     }
     @Nested
     @DisplayName("Grouped Publications Tests")
@@ -383,5 +810,59 @@ class PublicationServiceImplTest {
             verify(publicationRepository).findAllMagazines();
             verifyNoInteractions(publicationMapper);
         }
+
+        @Test
+        @DisplayName("Should stream books then magazines and close both cursors")
+        void shouldStreamBooksThenMagazines() {
+            // Given
+            Book book = new Book();
+            book.setId(1L);
+            Magazine magazine = new Magazine();
+            magazine.setId(2L);
+
+            BookSummaryResponseDto bookDto = new BookSummaryResponseDto();
+            MagazineSummaryResponseDto magazineDto = new MagazineSummaryResponseDto();
+
+            AtomicBoolean booksClosed = new AtomicBoolean();
+            AtomicBoolean magazinesClosed = new AtomicBoolean();
+            when(publicationRepository.streamAllBooks()).thenReturn(Stream.of(book).onClose(() -> booksClosed.set(true)));
+            when(publicationRepository.streamAllMagazines()).thenReturn(Stream.of(magazine).onClose(() -> magazinesClosed.set(true)));
+            when(publicationMapper.bookToSummaryDto(book)).thenReturn(bookDto);
+            when(publicationMapper.magazineToSummaryDto(magazine)).thenReturn(magazineDto);
+
+            // When
+            List<PublicationSummaryResponseDto> emitted = new ArrayList<>();
+            publicationService.streamAllPublicationsGroupedByType(emitted::add);
+
+            // Then
+            assertThat(emitted).containsExactly(bookDto, magazineDto);
+            assertThat(booksClosed).isTrue();
+            assertThat(magazinesClosed).isTrue();
+            verify(publicationRepository, never()).findAllBooks();
+            verify(publicationRepository, never()).findAllMagazines();
+        }
+
+        @Test
+        @DisplayName("Should clear the persistence context in chunks while streaming")
+        void shouldClearPersistenceContextInChunks() {
+            // Given
+            List<Book> books = IntStream.rangeClosed(1, 1200).mapToObj(i -> {
+                Book book = new Book();
+                book.setId((long) i);
+                return book;
+            }).toList();
+
+            when(publicationRepository.streamAllBooks()).thenReturn(books.stream());
+            when(publicationRepository.streamAllMagazines()).thenReturn(Stream.empty());
+            when(publicationMapper.bookToSummaryDto(any(Book.class))).thenReturn(new BookSummaryResponseDto());
+
+            // When
+            List<PublicationSummaryResponseDto> emitted = new ArrayList<>();
+            publicationService.streamAllPublicationsGroupedByType(emitted::add);
+
+            // Then
+            assertThat(emitted).hasSize(1200);
+            verify(entityManager, times(2)).clear();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.cache.BookResponseCache;
+import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that hot lookups are served from the second-level cache once it is enabled.
+ * Runs without a test transaction: cache entries only become readable to transactions
+ * started after the one that loaded them.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({BookServiceImpl.class, MagazineServiceImpl.class, AuthorMapperImpl.class, BookMapperImpl.class,
+        MagazineMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-Level Cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MagazineServiceImpl magazineService;
+
+    @Autowired
+    private BookResponseCache bookCache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Long authorId;
+    private Long bookId;
+    private Long magazineId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        entityManagerFactory.getCache().evictAll();
+        transaction.executeWithoutResult(status -> persistFixtures());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM magazine_authors").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM publications").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM authors").executeUpdate();
+        });
+    }
+
+    private void persistFixtures() {
+        Author author = new Author();
+        author.setName("Author");
+        entityManager.persist(author);
+        authorId = author.getId();
+
+        Book book = new Book();
+        book.setTitle("Book");
+        book.setIsbn("978-0");
+        book.setPublicationDate(LocalDate.of(2024, 1, 1));
+        book.setAuthor(author);
+        entityManager.persist(book);
+        bookId = book.getId();
+
+        Magazine magazine = new Magazine();
+        magazine.setTitle("Magazine");
+        magazine.setIssueNumber(1);
+        magazine.setPublicationDate(LocalDate.of(2024, 1, 1));
+        magazine.setAuthors(new ArrayList<>(List.of(author)));
+        entityManager.persist(magazine);
+        magazineId = magazine.getId();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated book lookup without SQL")
+    void shouldServeRepeatedBookLookupFromCache() {
+        // given
+        bookService.getBookById(bookId);
+        bookCache.evict(bookId);
+        statistics.clear();
+
+        // when
+        BookResponseDto result = bookService.getBookById(bookId);
+
+        // then
+        assertThat(result.getAuthor().getName()).isEqualTo("Author");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated magazine lookup with its authors without SQL")
+    void shouldServeRepeatedMagazineLookupFromCache() {
+        // given
+        magazineService.getMagazineById(magazineId);
+        statistics.clear();
+
+        // when
+        MagazineResponseDto result = magazineService.getMagazineById(magazineId);
+
+        // then
+        assertThat(result.getAuthors()).singleElement()
+                .satisfies(author -> assertThat(author.getName()).isEqualTo("Author"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resolve magazine authors from the cache")
+    void shouldResolveMagazineAuthorsFromCache() {
+        // given
+        transaction.executeWithoutResult(status -> entityManager.find(Author.class, authorId));
+        statistics.clear();
+        MagazineRequestDto request = MagazineRequestDto.builder()
+                .title("New Magazine")
+                .issueNumber(2)
+                .publicationDate(LocalDate.of(2024, 2, 1))
+                .authorIds(List.of(authorId))
+                .build();
+
+        // when
+        magazineService.createMagazine(request);
+
+        // then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
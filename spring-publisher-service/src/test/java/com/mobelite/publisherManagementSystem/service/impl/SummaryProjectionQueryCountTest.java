@@ -0,0 +1,168 @@
+package com.mobelite.publisherManagementSystem.service.impl;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.response.CursorPageResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.PublicationSummaryResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.entity.Magazine;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.PublicationMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the summary projection queries against an in-memory database and asserts that no entity
+ * is loaded and that magazine authors cost a single extra statement per page.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({BookServiceImpl.class, MagazineServiceImpl.class, PublicationServiceImpl.class, AuthorMapperImpl.class,
+        BookMapperImpl.class, MagazineMapperImpl.class, PublicationMapperImpl.class})
+@DisplayName("Summary Projection Query Count Tests")
+class SummaryProjectionQueryCountTest {
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MagazineServiceImpl magazineService;
+
+    @Autowired
+    private PublicationServiceImpl publicationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            Author author = new Author();
+            author.setName("Author " + i);
+            entityManager.persist(author);
+            authorId = author.getId();
+
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setIsbn("978-" + i);
+            book.setPublicationDate(LocalDate.of(2024, 1, 1));
+            book.setAuthor(author);
+            entityManager.persist(book);
+
+            Magazine magazine = new Magazine();
+            magazine.setTitle("Magazine " + i);
+            magazine.setIssueNumber(i);
+            magazine.setPublicationDate(LocalDate.of(2024, 1, 1));
+            magazine.setAuthors(new ArrayList<>(List.of(author)));
+            entityManager.persist(magazine);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list publications of both types from projections")
+    void shouldListPublicationsFromProjections() {
+        // when
+        Page<PublicationSummaryResponseDto> result = publicationService.getAllPublications(
+                PageRequest.of(0, 20, Sort.by("title")));
+
+        // then
+        assertThat(result.getTotalElements()).isEqualTo(20);
+        assertThat(result.getContent().get(0)).isInstanceOfSatisfying(BookSummaryResponseDto.class, book -> {
+            assertThat(book.getTitle()).isEqualTo("Book 0");
+            assertThat(book.getType()).isEqualTo(PublicationType.BOOK);
+            assertThat(book.getIsbn()).isEqualTo("978-0");
+            assertThat(book.getAuthorName()).isEqualTo("Author 0");
+        });
+        assertThat(result.getContent().get(10)).isInstanceOfSatisfying(MagazineSummaryResponseDto.class, magazine -> {
+            assertThat(magazine.getTitle()).isEqualTo("Magazine 0");
+            assertThat(magazine.getType()).isEqualTo(PublicationType.MAGAZINE);
+            assertThat(magazine.getIssueNumber()).isZero();
+            assertThat(magazine.getAuthors()).singleElement()
+                    .satisfies(author -> assertThat(author.getName()).isEqualTo("Author 0"));
+        });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should page publications by cursor from projections")
+    void shouldPagePublicationsByCursor() {
+        // when
+        CursorPageResponseDto<PublicationSummaryResponseDto> first = publicationService.getAllPublications(null, 15);
+        CursorPageResponseDto<PublicationSummaryResponseDto> second = publicationService.getAllPublications(first.getNextCursor(), 15);
+
+        // then
+        assertThat(first.getContent()).hasSize(15);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(PublicationSummaryResponseDto::getTitle)
+                .containsExactly("Magazine 5", "Magazine 6", "Magazine 7", "Magazine 8", "Magazine 9");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should list magazines with their authors from projections")
+    void shouldListMagazinesFromProjections() {
+        // when
+        Page<MagazineSummaryResponseDto> result = magazineService.getAllMagazines(PageRequest.of(0, 5, Sort.by("title")));
+        CursorPageResponseDto<MagazineSummaryResponseDto> byCursor = magazineService.getAllMagazines("", 5);
+
+        // then
+        assertThat(result.getContent()).extracting(MagazineSummaryResponseDto::getTitle)
+                .containsExactlyElementsOf(byCursor.getContent().stream().map(MagazineSummaryResponseDto::getTitle).toList());
+        assertThat(result.getContent()).allSatisfy(magazine -> assertThat(magazine.getAuthors()).hasSize(1));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should list an author's books from projections")
+    void shouldListBooksByAuthorFromProjections() {
+        // when
+        Page<BookSummaryResponseDto> result = bookService.getBooksByAuthor(authorId, PageRequest.of(0, 10));
+
+        // then
+        assertThat(result.getContent()).singleElement().satisfies(book -> {
+            assertThat(book.getTitle()).isEqualTo("Book 9");
+            assertThat(book.getAuthorName()).isEqualTo("Author 9");
+        });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
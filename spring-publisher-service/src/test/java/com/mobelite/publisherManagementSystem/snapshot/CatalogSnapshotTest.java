@@ -0,0 +1,321 @@
+package com.mobelite.publisherManagementSystem.snapshot;
+
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorSummaryDto;
+import com.mobelite.publisherManagementSystem.dto.response.book.BookResponseDto;
+import com.mobelite.publisherManagementSystem.dto.response.magazine.MagazineResponseDto;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.MagazineRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.AuthorRowView;
+import com.mobelite.publisherManagementSystem.repository.projection.EntityVersionView;
+import com.mobelite.publisherManagementSystem.repository.projection.MagazineAuthorLinkView;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationRowView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that a written snapshot is served after a restart, that the replay and local writes stop serving
+ * changed entries, and that corrupt, foreign or old snapshots are ignored.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Catalog Snapshot Tests")
+class CatalogSnapshotTest {
+
+    private static final LocalDate DATE = LocalDate.of(2020, 1, 1);
+
+    @Mock
+    private PublicationRepository publicationRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private MagazineRepository magazineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("catalog.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should serve books and magazines from the snapshot written by the previous run")
+    void shouldServeSnapshotAfterRestart() {
+        // given
+        write();
+
+        // when
+        CatalogSnapshot restarted = restart();
+
+        // then
+        BookResponseDto dune = (BookResponseDto) restarted.findPublication(10L).orElseThrow();
+        assertThat(dune.getTitle()).isEqualTo("Dune");
+        assertThat(dune.getVersion()).isEqualTo(3L);
+        assertThat(dune.getAuthor().getName()).isEqualTo("Frank Herbert");
+        assertThat(restarted.findBookByIsbn("9780441013593").orElseThrow().getId()).isEqualTo(10L);
+        MagazineResponseDto weekly = (MagazineResponseDto) restarted.findPublication(12L).orElseThrow();
+        assertThat(weekly.getTitle()).isEqualTo("Weekly");
+        assertThat(weekly.getIssueNumber()).isEqualTo(7);
+        assertThat(weekly.getAuthors()).extracting(AuthorSummaryDto::getName).containsExactly("Frank Herbert", "Jane Austen");
+        assertThat(restarted.findPublication(404L)).isEmpty();
+        assertThat(restarted.findBookByIsbn("0000000000")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop serving entries the database changed or deleted since the snapshot was written")
+    void shouldReplayChangesSinceWrite() {
+        // given
+        write();
+        CatalogSnapshot restarted = restart();
+        when(publicationRepository.streamAllVersions()).thenReturn(Stream.of(version(10L, 4L), version(12L, 0L)));
+        when(authorRepository.streamAllVersions()).thenReturn(Stream.of(version(1L, 0L)));
+
+        // when
+        restarted.replay();
+
+        // then
+        assertThat(restarted.findPublication(10L)).isEmpty();
+        assertThat(restarted.findPublication(11L)).isEmpty();
+        // Jane Austen was deleted, the magazine embedding her is looked up in the database
+        assertThat(restarted.findPublication(12L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop serving publications changed by this instance")
+    void shouldStopServingLocalChanges() {
+        // given
+        write();
+        CatalogSnapshot restarted = restart();
+
+        // when
+        restarted.publicationsChanged(List.of(10L));
+        restarted.authorChanged(2L);
+
+        // then
+        assertThat(restarted.findBookByIsbn("9780441013593")).isEmpty();
+        assertThat(restarted.findPublication(11L)).isEmpty();
+        assertThat(restarted.findPublication(12L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a corrupt snapshot")
+    void shouldIgnoreCorruptSnapshot() throws IOException {
+        // given
+        write();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        // when & then
+        assertThat(restart().findPublication(10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot of another format version")
+    void shouldIgnoreOtherFormatVersion() throws IOException {
+        // given
+        write();
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(path));
+        header.putInt(4, 99);
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, 52);
+        header.putInt(52, (int) crc.getValue());
+        Files.write(path, header.array());
+
+        // when & then
+        assertThat(restart().findPublication(10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot older than the maximum age")
+    void shouldIgnoreOldSnapshot() throws IOException {
+        // given
+        write();
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(path));
+        header.putLong(8, System.currentTimeMillis() - Duration.ofHours(2).toMillis());
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, 52);
+        header.putInt(52, (int) crc.getValue());
+        Files.write(path, header.array());
+
+        // when & then
+        assertThat(restart().findPublication(10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay in the background once started, requests made before are served by the startup replay")
+    void shouldReplayLater() {
+        // given
+        write();
+        CatalogSnapshot restarted = restart();
+        restarted.replayLater();
+        verify(publicationRepository, never()).streamAllVersions();
+        when(publicationRepository.streamAllVersions()).thenAnswer(invocation -> Stream.of(version(10L, 4L), version(11L, 0L), version(12L, 0L)));
+        when(authorRepository.streamAllVersions()).thenAnswer(invocation -> Stream.of(version(1L, 0L), version(2L, 0L)));
+
+        // when
+        restarted.start();
+
+        // then
+        try {
+            await().untilAsserted(() -> assertThat(restarted.findPublication(10L)).isEmpty());
+            assertThat(restarted.findPublication(11L)).isPresent();
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    /**
+     * Two authors, a book each, and a magazine written by both.
+     */
+    private void write() {
+        when(authorRepository.streamAllRows()).thenReturn(Stream.of(
+                authorRow(1L, "Frank Herbert"), authorRow(2L, "Jane Austen")));
+        when(publicationRepository.streamAllRows()).thenReturn(Stream.of(
+                publicationRow(10L, "BOOK", "Dune", "9780441013593", null, 1L, 3L),
+                publicationRow(11L, "BOOK", "Emma", "9780141439587", null, 2L, 0L),
+                publicationRow(12L, "MAGAZINE", "Weekly", null, 7, null, 0L)));
+        when(magazineRepository.streamAllAuthorLinks()).thenReturn(Stream.of(link(12L, 1L), link(12L, 2L)));
+        snapshot().write();
+    }
+
+    private CatalogSnapshot restart() {
+        CatalogSnapshot restarted = snapshot();
+        restarted.afterPropertiesSet();
+        return restarted;
+    }
+
+    private CatalogSnapshot snapshot() {
+        return new CatalogSnapshot(publicationRepository, authorRepository, magazineRepository,
+                transactionManager, true, path, Duration.ZERO, Duration.ofHours(1));
+    }
+
+    private static EntityVersionView version(Long id, Long version) {
+        return new EntityVersionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static AuthorRowView authorRow(Long id, String name) {
+        return new AuthorRowView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getNationality() {
+                return "British";
+            }
+
+            @Override
+            public LocalDate getBirthDate() {
+                return DATE;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
+
+    private static PublicationRowView publicationRow(Long id, String type, String title, String isbn,
+                                                     Integer issueNumber, Long authorId, Long version) {
+        return new PublicationRowView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public LocalDate getPublicationDate() {
+                return DATE;
+            }
+
+            @Override
+            public String getIsbn() {
+                return isbn;
+            }
+
+            @Override
+            public Integer getIssueNumber() {
+                return issueNumber;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return authorId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static MagazineAuthorLinkView link(Long magazineId, Long authorId) {
+        return new MagazineAuthorLinkView() {
+            @Override
+            public Long getMagazineId() {
+                return magazineId;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return authorId;
+            }
+        };
+    }
+}
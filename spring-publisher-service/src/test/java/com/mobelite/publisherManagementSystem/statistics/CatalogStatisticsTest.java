@@ -0,0 +1,269 @@
+package com.mobelite.publisherManagementSystem.statistics;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.request.author.AuthorRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.book.BookCreateRequestDto;
+import com.mobelite.publisherManagementSystem.dto.request.magazine.MagazineRequestDto;
+import com.mobelite.publisherManagementSystem.dto.response.author.AuthorPublicationCountDto;
+import com.mobelite.publisherManagementSystem.dto.response.publication.CatalogStatisticsResponseDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.enums.PublicationType;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.PublicationMapperImpl;
+import com.mobelite.publisherManagementSystem.repository.AuthorRepository;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.service.impl.AuthorServiceImpl;
+import com.mobelite.publisherManagementSystem.service.impl.BookServiceImpl;
+import com.mobelite.publisherManagementSystem.service.impl.MagazineServiceImpl;
+import com.mobelite.publisherManagementSystem.service.impl.PublicationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the catalog statistics follow committed writes made through the services
+ * and that a recount corrects writes made around them.
+ * Runs without a test transaction: changes are only counted once their transaction commits.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@ImportCatalogComponents
+@Import({AuthorServiceImpl.class, BookServiceImpl.class, MagazineServiceImpl.class, PublicationServiceImpl.class,
+        AuthorMapperImpl.class, BookMapperImpl.class, MagazineMapperImpl.class, PublicationMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Catalog Statistics Tests")
+class CatalogStatisticsTest {
+
+    @Autowired
+    private CatalogStatistics catalogStatistics;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private MagazineServiceImpl magazineService;
+
+    @Autowired
+    private PublicationServiceImpl publicationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private TransactionTemplate transaction;
+    private Long frenchAuthorId;
+    private Long otherAuthorId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM magazine_authors").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM publications").executeUpdate();
+            entityManager.getEntityManager().createNativeQuery("DELETE FROM authors").executeUpdate();
+        });
+        catalogStatistics.reconcile();
+
+        frenchAuthorId = authorService.createAuthor(author("French Author", "French")).getId();
+        otherAuthorId = authorService.createAuthor(author("Other Author", null)).getId();
+    }
+
+    @Test
+    @DisplayName("Should count committed creations by type, year, nationality and author")
+    void shouldCountCreatedPublications() {
+        // when
+        bookService.createBook(book("Book 1", "978-1", 2020, frenchAuthorId));
+        bookService.createBook(book("Book 2", "978-2", 2021, frenchAuthorId));
+        magazineService.createMagazine(magazine("Magazine", 2021, List.of(frenchAuthorId, otherAuthorId)));
+
+        // then
+        CatalogStatisticsResponseDto statistics = catalogStatistics.getStatistics(10);
+        assertThat(statistics.getTotalPublications()).isEqualTo(3);
+        assertThat(statistics.getByType()).containsEntry(PublicationType.BOOK, 2L)
+                .containsEntry(PublicationType.MAGAZINE, 1L)
+                .containsEntry(PublicationType.UNKNOWN, 0L);
+        assertThat(statistics.getByYear()).containsExactly(Map.entry(2020, 1L), Map.entry(2021, 2L));
+        assertThat(statistics.getAuthorsByNationality()).containsExactly(Map.entry("French", 1L), Map.entry("UNKNOWN", 1L));
+        assertThat(statistics.getTopAuthors())
+                .extracting(AuthorPublicationCountDto::getName, AuthorPublicationCountDto::getPublications)
+                .containsExactly(tuple("French Author", 3L), tuple("Other Author", 1L));
+    }
+
+    @Test
+    @DisplayName("Should move an updated publication to its new year and authors")
+    void shouldMoveUpdatedPublication() {
+        // given
+        Long magazineId = magazineService.createMagazine(magazine("Magazine", 2021, List.of(frenchAuthorId))).getId();
+
+        // when
+        magazineService.updateMagazine(magazineId, magazine("Magazine", 2023, List.of(otherAuthorId)));
+
+        // then
+        CatalogStatisticsResponseDto statistics = catalogStatistics.getStatistics(10);
+        assertThat(statistics.getByYear()).containsExactly(Map.entry(2023, 1L));
+        assertThat(statistics.getTopAuthors())
+                .extracting(AuthorPublicationCountDto::getId)
+                .containsExactly(otherAuthorId);
+    }
+
+    @Test
+    @DisplayName("Should uncount deleted publications and authors")
+    void shouldUncountDeletions() {
+        // given
+        Long bookId = bookService.createBook(book("Book 1", "978-1", 2020, frenchAuthorId)).getId();
+        bookService.createBook(book("Book 2", "978-2", 2021, otherAuthorId));
+        Long magazineId = magazineService.createMagazine(magazine("Magazine", 2021, List.of(frenchAuthorId))).getId();
+
+        // when
+        publicationService.deletePublications(List.of(bookId, magazineId));
+        authorService.deleteAuthor(otherAuthorId);
+
+        // then
+        CatalogStatisticsResponseDto statistics = catalogStatistics.getStatistics(10);
+        assertThat(statistics.getTotalPublications()).isZero();
+        assertThat(statistics.getByYear()).isEmpty();
+        assertThat(statistics.getAuthorsByNationality()).containsExactly(Map.entry("French", 1L));
+        assertThat(statistics.getTopAuthors()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not count writes that are rolled back")
+    void shouldIgnoreRolledBackWrites() {
+        // when
+        transaction.executeWithoutResult(status -> {
+            bookService.createBook(book("Book 1", "978-1", 2020, frenchAuthorId));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(catalogStatistics.getStatistics(10).getTotalPublications()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should correct the counters from the database on recount")
+    void shouldReconcileWithDatabase() {
+        // given
+        bookService.createBook(book("Book 1", "978-1", 2020, frenchAuthorId));
+        transaction.executeWithoutResult(status -> {
+            // Written around the services
+            Book book = new Book();
+            book.setTitle("Book 2");
+            book.setIsbn("978-2");
+            book.setPublicationDate(LocalDate.of(2019, 1, 1));
+            book.setAuthor(entityManager.find(Author.class, otherAuthorId));
+            entityManager.persist(book);
+        });
+        assertThat(catalogStatistics.getStatistics(10).getTotalPublications()).isEqualTo(1);
+
+        // when
+        catalogStatistics.reconcile();
+
+        // then
+        CatalogStatisticsResponseDto statistics = catalogStatistics.getStatistics(1);
+        assertThat(statistics.getTotalPublications()).isEqualTo(2);
+        assertThat(statistics.getByYear()).containsExactly(Map.entry(2019, 1L), Map.entry(2020, 1L));
+        assertThat(statistics.getAuthorsByNationality()).containsExactly(Map.entry("French", 1L), Map.entry("UNKNOWN", 1L));
+        // Ties go to the lowest author ID
+        assertThat(statistics.getTopAuthors())
+                .extracting(AuthorPublicationCountDto::getId)
+                .containsExactly(frenchAuthorId);
+        assertThat(statistics.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not replay a change the recount already saw")
+    void shouldNotReplayChangeInSnapshot() {
+        // given
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CatalogStatistics[] statistics = new CatalogStatistics[1];
+        // Commits a book once the recount transaction has begun, right before its first statement
+        PublicationRepository committingFirst = (PublicationRepository) Proxy.newProxyInstance(
+                PublicationRepository.class.getClassLoader(), new Class<?>[]{PublicationRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findMaxId")) {
+                        concurrent.executeWithoutResult(status -> {
+                            Book book = new Book();
+                            book.setTitle("Book 1");
+                            book.setIsbn("978-1");
+                            book.setPublicationDate(LocalDate.of(2020, 1, 1));
+                            book.setAuthor(entityManager.find(Author.class, frenchAuthorId));
+                            entityManager.persist(book);
+                            statistics[0].publicationCreated(book);
+                        });
+                    }
+                    try {
+                        return method.invoke(publicationRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        statistics[0] = new CatalogStatistics(committingFirst, authorRepository, transactionManager, Duration.ZERO);
+
+        // when
+        statistics[0].reconcile();
+
+        // then
+        assertThat(statistics[0].getStatistics(10).getTotalPublications()).isEqualTo(1);
+        assertThat(statistics[0].getStatistics(10).getByYear()).containsExactly(Map.entry(2020, 1L));
+    }
+
+    private static AuthorRequestDto author(String name, String nationality) {
+        return AuthorRequestDto.builder()
+                .name(name)
+                .nationality(nationality)
+                .build();
+    }
+
+    private static BookCreateRequestDto book(String title, String isbn, int year, Long authorId) {
+        return BookCreateRequestDto.builder()
+                .title(title)
+                .isbn(isbn)
+                .publicationDate(LocalDate.of(year, 1, 1))
+                .authorId(authorId)
+                .build();
+    }
+
+    private static MagazineRequestDto magazine(String title, int year, List<Long> authorIds) {
+        return MagazineRequestDto.builder()
+                .title(title)
+                .issueNumber(1)
+                .publicationDate(LocalDate.of(year, 1, 1))
+                .authorIds(authorIds)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.mobelite.publisherManagementSystem.suggest;
+
+import com.mobelite.publisherManagementSystem.ImportCatalogComponents;
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
+import com.mobelite.publisherManagementSystem.entity.Author;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.mapper.AuthorMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.BookMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.MagazineMapperImpl;
+import com.mobelite.publisherManagementSystem.mapper.PublicationMapperImpl;
+import com.mobelite.publisherManagementSystem.service.impl.PublicationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the title suggestions with the index disabled, and checks that the database fallback matches titles as the
+ * index does, publications written without a title key included once they are backfilled.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "title-suggest.enabled=false"
+})
+@ImportCatalogComponents
+@Import({TitleKeyBackfill.class, PublicationServiceImpl.class, AuthorMapperImpl.class, BookMapperImpl.class,
+        MagazineMapperImpl.class, PublicationMapperImpl.class})
+@DisplayName("Title Suggest Fallback Tests")
+class TitleSuggestFallbackTest {
+
+    @Autowired
+    private PublicationServiceImpl publicationService;
+
+    @Autowired
+    private TitleKeyBackfill titleKeyBackfill;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Author author;
+
+    @BeforeEach
+    void setUp() {
+        author = new Author();
+        author.setName("Author");
+        entityManager.persist(author);
+    }
+
+    @Test
+    @DisplayName("Should suggest titles by prefix ignoring case, accents and extra spaces, as the index does")
+    void shouldMatchLikeIndex() {
+        // given
+        persist("The Hobbit", "978-1");
+        persist("the  HOUSE of Spirits", "978-2");
+        persist("Théâtre complet", "978-3");
+        persist("Dune", "978-4");
+        entityManager.flush();
+
+        // when & then
+        assertThat(titles(publicationService.suggestTitles("THE  ho", 10))).containsExactly("The Hobbit", "the  HOUSE of Spirits");
+        assertThat(titles(publicationService.suggestTitles("thea", 10))).containsExactly("Théâtre complet");
+        assertThat(titles(publicationService.suggestTitles("Thé", 10))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should find publications written without a title key once they are backfilled")
+    void shouldBackfillMissingKeys() {
+        // given
+        Long id = persist("Écume des jours", "978-5").getId();
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("UPDATE publications SET title_key = NULL WHERE id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+        assertThat(publicationService.suggestTitles("ecume", 10)).isEmpty();
+
+        // when
+        int filled = titleKeyBackfill.backfill();
+
+        // then
+        assertThat(filled).isEqualTo(1);
+        assertThat(publicationService.suggestTitles("ecume", 10)).containsExactly(new TitleSuggestionDto(id, "Écume des jours"));
+    }
+
+    private Book persist(String title, String isbn) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setIsbn(isbn);
+        book.setPublicationDate(LocalDate.of(2024, 1, 1));
+        book.setAuthor(author);
+        return entityManager.persist(book);
+    }
+
+    private static List<String> titles(List<TitleSuggestionDto> suggestions) {
+        return suggestions.stream().map(TitleSuggestionDto::getTitle).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.mobelite.publisherManagementSystem.suggest;
+
+import com.mobelite.publisherManagementSystem.dto.response.publication.TitleSuggestionDto;
+import com.mobelite.publisherManagementSystem.entity.Book;
+import com.mobelite.publisherManagementSystem.repository.PublicationRepository;
+import com.mobelite.publisherManagementSystem.repository.projection.PublicationTitleView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that title suggestions follow the changes committed by the services, before and after the index is built
+ * and across merges.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Title Suggest Index Tests")
+class TitleSuggestIndexTest {
+
+    @Mock
+    private PublicationRepository publicationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TitleSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleSuggestIndex(publicationRepository, transactionManager, true, DataSize.ofMegabytes(1), Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should suggest titles by prefix ignoring case, accents and extra spaces, in title order")
+    void shouldSuggestByNormalizedPrefix() {
+        // given
+        build(Map.of(1L, "The Hobbit", 2L, "the  HOUSE of Spirits", 3L, "Théâtre complet", 4L, "Dune"));
+
+        // when & then
+        assertThat(titles(index.suggest("THE ho", 10))).containsExactly("The Hobbit", "the  HOUSE of Spirits");
+        assertThat(titles(index.suggest("the", 10))).containsExactly("The Hobbit", "the  HOUSE of Spirits", "Théâtre complet");
+        assertThat(titles(index.suggest("the", 1))).containsExactly("The Hobbit");
+        assertThat(titles(index.suggest("x", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow created, renamed and deleted publications")
+    void shouldFollowChanges() {
+        // given
+        build(Map.of(1L, "Alpha", 2L, "Alphabet", 3L, "Beta"));
+
+        // when
+        index.publicationCreated(book(4L, "Alpine"));
+        index.publicationUpdated(book(2L, "Gamma"));
+        index.publicationsDeleted(List.of(1L));
+
+        // then
+        assertThat(index.suggest("al", 10).orElseThrow()).containsExactly(new TitleSuggestionDto(4L, "Alpine"));
+        assertThat(titles(index.suggest("g", 10))).containsExactly("Gamma");
+    }
+
+    @Test
+    @DisplayName("Should serve nothing before the first build and replay the changes made until then")
+    void shouldReplayChangesMadeBeforeBuild() {
+        // given
+        index.publicationCreated(book(5L, "Echo"));
+        assertThat(index.suggest("e", 10)).isEmpty();
+
+        // when
+        build(Map.of(1L, "Delta"));
+
+        // then
+        assertThat(titles(index.suggest("e", 10))).containsExactly("Echo");
+        assertThat(titles(index.suggest("d", 10))).containsExactly("Delta");
+    }
+
+    @Test
+    @DisplayName("Should keep the same suggestions once the changes are merged")
+    void shouldMergeChanges() {
+        // given
+        build(Map.of(1L, "Book 1", 2L, "Book 2", 3L, "Other"));
+        IntStream.rangeClosed(10, 12).forEach(id -> index.publicationCreated(book(id, "Book " + id)));
+        index.publicationUpdated(book(1L, "Book 99"));
+        index.publicationsDeleted(List.of(2L));
+
+        // when
+        index.merge();
+
+        // then
+        assertThat(titles(index.suggest("book", 10))).containsExactly("Book 10", "Book 11", "Book 12", "Book 99");
+        verify(publicationRepository, times(1)).streamAllIdsAndTitles();
+    }
+
+    @Test
+    @DisplayName("Should serve nothing when the titles do not fit in the memory budget")
+    void shouldDisableOverMemoryBudget() {
+        // given
+        index = new TitleSuggestIndex(publicationRepository, transactionManager, true, DataSize.ofBytes(64), Duration.ZERO);
+
+        // when
+        build(Map.of(1L, "A title that does not fit", 2L, "Another title that does not fit"));
+
+        // then
+        assertThat(index.suggest("a", 10)).isEmpty();
+    }
+
+    private void build(Map<Long, String> titles) {
+        when(publicationRepository.streamAllIdsAndTitles()).thenReturn(titles.entrySet().stream()
+                .map(entry -> title(entry.getKey(), entry.getValue())));
+        index.rebuild();
+    }
+
+    private static PublicationTitleView title(Long id, String title) {
+        return new PublicationTitleView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+
+    private static Book book(long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        return book;
+    }
+
+    private static List<String> titles(Optional<List<TitleSuggestionDto>> suggestions) {
+        return suggestions.orElseThrow().stream().map(TitleSuggestionDto::getTitle).toList();
+    }
+}